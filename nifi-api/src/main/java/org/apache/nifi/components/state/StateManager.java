@@ -18,7 +18,9 @@
 package org.apache.nifi.components.state;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import org.apache.nifi.annotation.behavior.Stateful;
 import org.apache.nifi.components.state.exception.StateTooLargeException;
 
@@ -90,6 +92,28 @@ public interface StateManager {
      */
     boolean replace(StateMap oldValue, Map<String, String> newValue, Scope scope) throws IOException;
 
+    /**
+     * Updates the given entries of the component's state and removes the given keys, if and only if the value currently
+     * is the same as the given oldValue. All other entries of oldValue are retained. Unlike {@link #replace(StateMap, Map, Scope)},
+     * this allows the underlying storage mechanism to persist only the entries that changed, which is considerably cheaper
+     * for components that keep a large state but update only a few keys at a time.
+     *
+     * @param oldValue the old value to compare against
+     * @param updatedEntries the entries to add or update
+     * @param removedKeys the keys to remove
+     * @param scope the scope to use for storing the new state
+     * @return <code>true</code> if the state was updated, <code>false</code> if the state's value was not equal to oldValue
+     *
+     * @throws StateTooLargeException if attempting to store more state than is allowed by the backing storage mechanism
+     * @throws IOException if unable to communicate with the underlying storage mechanism
+     */
+    default boolean replaceEntries(StateMap oldValue, Map<String, String> updatedEntries, Set<String> removedKeys, Scope scope) throws IOException {
+        final Map<String, String> newValue = new HashMap<>(oldValue.toMap());
+        removedKeys.forEach(newValue::remove);
+        newValue.putAll(updatedEntries);
+        return replace(oldValue, newValue, scope);
+    }
+
     /**
      * Clears all keys and values from the component's state
      *
@@ -39,6 +39,9 @@ public class ProcessorStatus implements Cloneable {
     private long bytesWritten;
     private int invocations;
     private long processingNanos;
+    private long cpuNanos;
+    private long allocatedBytes;
+    private long lockWaitNanos;
     private int flowFilesRemoved;
     private long averageLineageDuration;
     private int activeThreadCount;
@@ -161,6 +164,42 @@ public class ProcessorStatus implements Cloneable {
         this.processingNanos = processingNanos;
     }
 
+    /**
+     * @return the CPU time, in nanoseconds, consumed by the processor. This value is extrapolated from sampled
+     * invocations and is 0 unless performance tracking is enabled.
+     */
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public void setCpuNanos(final long cpuNanos) {
+        this.cpuNanos = cpuNanos;
+    }
+
+    /**
+     * @return the number of bytes of heap allocated by the processor's threads. This value is extrapolated from sampled
+     * invocations and is 0 unless performance tracking is enabled and the JVM supports per-thread allocation counters.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public void setAllocatedBytes(final long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * @return the time, in nanoseconds, that the processor's threads spent waiting to obtain framework locks, such as
+     * those guarding connection queues. This value is extrapolated from sampled invocations and is 0 unless performance tracking is enabled.
+     */
+    public long getLockWaitNanos() {
+        return lockWaitNanos;
+    }
+
+    public void setLockWaitNanos(final long lockWaitNanos) {
+        this.lockWaitNanos = lockWaitNanos;
+    }
+
     public long getAverageLineageDuration(final TimeUnit timeUnit) {
         return TimeUnit.MILLISECONDS.convert(averageLineageDuration, timeUnit);
     }
@@ -261,6 +300,9 @@ public class ProcessorStatus implements Cloneable {
         clonedObj.outputBytes = outputBytes;
         clonedObj.outputCount = outputCount;
         clonedObj.processingNanos = processingNanos;
+        clonedObj.cpuNanos = cpuNanos;
+        clonedObj.allocatedBytes = allocatedBytes;
+        clonedObj.lockWaitNanos = lockWaitNanos;
         clonedObj.averageLineageDuration = averageLineageDuration;
         clonedObj.flowFilesRemoved = flowFilesRemoved;
         clonedObj.runStatus = runStatus;
@@ -301,6 +343,12 @@ public class ProcessorStatus implements Cloneable {
         builder.append(invocations);
         builder.append(", processingNanos=");
         builder.append(processingNanos);
+        builder.append(", cpuNanos=");
+        builder.append(cpuNanos);
+        builder.append(", allocatedBytes=");
+        builder.append(allocatedBytes);
+        builder.append(", lockWaitNanos=");
+        builder.append(lockWaitNanos);
         builder.append(", activeThreadCount=");
         builder.append(activeThreadCount);
         builder.append(", terminatedThreadCount=");
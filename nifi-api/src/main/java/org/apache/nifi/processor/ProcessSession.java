@@ -898,4 +898,39 @@ public interface ProcessSession {
      * @throws IOException if unable to communicate with the underlying storage mechanism.
      */
     void clearState(Scope scope) throws IOException;
+
+    /**
+     * Offers an in-memory representation ("view") of the current content of the given {@link FlowFile}, such as the records that were
+     * just written to it, so that a downstream component may use the view in place of parsing the content. The view is associated with
+     * the content rather than with the {@link FlowFile}, so any subsequent change to the content means that the view will no longer be
+     * offered. A view is handed to at most one caller of {@link #takeContentView(FlowFile, Class)}, which is free to modify it, so the
+     * caller of this method must not modify the view after providing it.
+     * <p>
+     * Caching is best-effort: the framework may discard the view at any time, for instance in order to remain within its memory budget,
+     * and implementations that do not support caching views ignore this method.
+     *
+     * @param flowFile the {@link FlowFile} whose current content the view represents
+     * @param view the in-memory representation of the content
+     * @param estimatedSize the estimated number of bytes of heap that the view occupies
+     * @throws FlowFileHandlingException if the given {@link FlowFile} is already transferred or removed or doesn't belong to this session.
+     *              Automatic rollback will occur.
+     */
+    default void cacheContentView(FlowFile flowFile, Object view, long estimatedSize) {
+    }
+
+    /**
+     * Removes and returns the in-memory representation of the current content of the given {@link FlowFile} that was offered by a call to
+     * {@link #cacheContentView(FlowFile, Object, long)}, if one is still available and is of the given type. Callers must be prepared
+     * to read the content of the {@link FlowFile} whenever {@code null} is returned.
+     *
+     * @param flowFile the {@link FlowFile} whose content view should be returned
+     * @param viewType the type of view that the caller is able to use
+     * @param <T> the type of view
+     * @return the view of the {@link FlowFile}'s current content, or {@code null} if no such view is available
+     * @throws FlowFileHandlingException if the given {@link FlowFile} is already transferred or removed or doesn't belong to this session.
+     *              Automatic rollback will occur.
+     */
+    default <T> T takeContentView(FlowFile flowFile, Class<T> viewType) {
+        return null;
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance;
+
+import java.util.Objects;
+
+/**
+ * A single row of the result of a {@link ProvenanceAggregateQuery}: the number of events and the total
+ * FlowFile size for one time bucket and one combination of the dimensions that the query grouped by.
+ * Values for dimensions that the query did not group by are <code>null</code>.
+ */
+public final class ProvenanceAggregate {
+    private final long bucketStart;
+    private final String componentId;
+    private final String componentType;
+    private final ProvenanceEventType eventType;
+    private final long eventCount;
+    private final long totalBytes;
+
+    public ProvenanceAggregate(final long bucketStart, final String componentId, final String componentType, final ProvenanceEventType eventType,
+                               final long eventCount, final long totalBytes) {
+        this.bucketStart = bucketStart;
+        this.componentId = componentId;
+        this.componentType = componentType;
+        this.eventType = eventType;
+        this.eventCount = eventCount;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * @return the start of the time bucket, in milliseconds since epoch
+     */
+    public long getBucketStart() {
+        return bucketStart;
+    }
+
+    /**
+     * @return the identifier of the component, or <code>null</code> if the query did not group by component identifier
+     */
+    public String getComponentId() {
+        return componentId;
+    }
+
+    /**
+     * @return the type of the component, or <code>null</code> if the query did not group by component type
+     */
+    public String getComponentType() {
+        return componentType;
+    }
+
+    /**
+     * @return the type of event, or <code>null</code> if the query did not group by event type
+     */
+    public ProvenanceEventType getEventType() {
+        return eventType;
+    }
+
+    /**
+     * @return the number of events in the group
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @return the sum of the sizes of the FlowFiles that the events in the group refer to
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ProvenanceAggregate)) {
+            return false;
+        }
+
+        final ProvenanceAggregate other = (ProvenanceAggregate) obj;
+        return bucketStart == other.bucketStart && eventCount == other.eventCount && totalBytes == other.totalBytes
+            && Objects.equals(componentId, other.componentId) && Objects.equals(componentType, other.componentType) && eventType == other.eventType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bucketStart, componentId, componentType, eventType, eventCount, totalBytes);
+    }
+
+    @Override
+    public String toString() {
+        return "ProvenanceAggregate[bucketStart=" + bucketStart + ", componentId=" + componentId + ", componentType=" + componentType
+            + ", eventType=" + eventType + ", eventCount=" + eventCount + ", totalBytes=" + totalBytes + "]";
+    }
+}
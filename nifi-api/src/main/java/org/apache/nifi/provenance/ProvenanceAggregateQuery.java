@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * An aggregate query against a {@link ProvenanceEventRepository}. Events whose Event Time falls within
+ * the time range of the query are divided into buckets of a fixed duration and, within each bucket,
+ * grouped by the requested {@link ProvenanceAggregateDimension dimensions}. For each group, the number
+ * of events and the sum of the FlowFile sizes are reported.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and are created via the {@link Builder}.
+ * </p>
+ */
+public final class ProvenanceAggregateQuery {
+
+    /**
+     * The maximum number of time buckets that the time range of a query may span
+     */
+    public static final int MAX_BUCKET_COUNT = 10_000;
+
+    private final long startTime;
+    private final long endTime;
+    private final long bucketMillis;
+    private final Set<ProvenanceAggregateDimension> groupBy;
+    private final Set<String> componentIds;
+    private final Set<ProvenanceEventType> eventTypes;
+
+    private ProvenanceAggregateQuery(final Builder builder) {
+        this.startTime = builder.startTime;
+        this.endTime = builder.endTime;
+        this.bucketMillis = builder.bucketMillis;
+        this.groupBy = Collections.unmodifiableSet(builder.groupBy.isEmpty() ? EnumSet.noneOf(ProvenanceAggregateDimension.class) : EnumSet.copyOf(builder.groupBy));
+        this.componentIds = Collections.unmodifiableSet(new HashSet<>(builder.componentIds));
+        this.eventTypes = Collections.unmodifiableSet(builder.eventTypes.isEmpty() ? EnumSet.noneOf(ProvenanceEventType.class) : EnumSet.copyOf(builder.eventTypes));
+    }
+
+    /**
+     * @return the earliest Event Time, in milliseconds since epoch, to include (inclusive)
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the latest Event Time, in milliseconds since epoch, to include (exclusive)
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * @return the duration of each time bucket, in milliseconds
+     */
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * @return the dimensions to group by within each time bucket; an empty set yields a single aggregate per bucket
+     */
+    public Set<ProvenanceAggregateDimension> getGroupBy() {
+        return groupBy;
+    }
+
+    /**
+     * @return the identifiers of the components whose events should be included, or an empty set to include all components
+     */
+    public Set<String> getComponentIds() {
+        return componentIds;
+    }
+
+    /**
+     * @return the types of events that should be included, or an empty set to include all event types
+     */
+    public Set<ProvenanceEventType> getEventTypes() {
+        return eventTypes;
+    }
+
+    /**
+     * Returns the start of the bucket that the given Event Time falls into
+     *
+     * @param eventTime the Event Time, in milliseconds since epoch
+     * @return the start of the bucket, in milliseconds since epoch
+     */
+    public long getBucketStart(final long eventTime) {
+        return startTime + ((eventTime - startTime) / bucketMillis) * bucketMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ProvenanceAggregateQuery[startTime=" + startTime + ", endTime=" + endTime + ", bucketMillis=" + bucketMillis
+            + ", groupBy=" + groupBy + ", componentIds=" + componentIds + ", eventTypes=" + eventTypes + "]";
+    }
+
+    /**
+     * Builds a {@link ProvenanceAggregateQuery}. The time range of the query may span at most {@link #MAX_BUCKET_COUNT} buckets,
+     * so the start and end time normally need to be set.
+     */
+    public static final class Builder {
+        private long startTime = 0L;
+        private long endTime = Long.MAX_VALUE;
+        private long bucketMillis = TimeUnit.MINUTES.toMillis(1L);
+        private final Set<ProvenanceAggregateDimension> groupBy = new HashSet<>();
+        private final Set<String> componentIds = new HashSet<>();
+        private final Set<ProvenanceEventType> eventTypes = new HashSet<>();
+
+        public Builder startTime(final long startTime) {
+            this.startTime = startTime;
+            return this;
+        }
+
+        public Builder endTime(final long endTime) {
+            this.endTime = endTime;
+            return this;
+        }
+
+        public Builder bucketSize(final long duration, final TimeUnit timeUnit) {
+            this.bucketMillis = timeUnit.toMillis(duration);
+            return this;
+        }
+
+        public Builder groupBy(final ProvenanceAggregateDimension... dimensions) {
+            for (final ProvenanceAggregateDimension dimension : dimensions) {
+                groupBy.add(Objects.requireNonNull(dimension, "Dimension required"));
+            }
+            return this;
+        }
+
+        public Builder componentId(final String componentId) {
+            componentIds.add(Objects.requireNonNull(componentId, "Component ID required"));
+            return this;
+        }
+
+        public Builder eventType(final ProvenanceEventType eventType) {
+            eventTypes.add(Objects.requireNonNull(eventType, "Event Type required"));
+            return this;
+        }
+
+        public ProvenanceAggregateQuery build() {
+            if (bucketMillis < 1) {
+                throw new IllegalArgumentException("Bucket size must be at least 1 millisecond");
+            }
+            if (endTime <= startTime) {
+                throw new IllegalArgumentException("End Time must be later than Start Time");
+            }
+
+            // End Time is later than Start Time, so the range always fits in an unsigned long
+            final long rangeMillis = endTime - startTime;
+            if (Long.divideUnsigned(rangeMillis - 1, bucketMillis) >= MAX_BUCKET_COUNT) {
+                throw new IllegalArgumentException("Time range spans more than " + MAX_BUCKET_COUNT + " buckets of " + bucketMillis + " milliseconds");
+            }
+
+            return new ProvenanceAggregateQuery(this);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.nifi.provenance;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -70,6 +71,31 @@ public interface ProvenanceEventRepository {
     List<ProvenanceEventRecord> getEvents(long firstRecordId, final int maxRecords) throws IOException;
 
 
+    /**
+     * Computes aggregate statistics, such as event counts and bytes per component per time bucket, for the
+     * events in the repository that match the given query. This method performs no authorization of the events.
+     * Repositories that do not maintain the data needed to answer aggregate queries efficiently return
+     * an empty list; see {@link #isAggregateQuerySupported()}.
+     *
+     * @param query the aggregate query
+     * @return the aggregates, ordered by bucket start time
+     * @throws IOException if unable to read from the repository
+     */
+    default List<ProvenanceAggregate> aggregateEvents(final ProvenanceAggregateQuery query) throws IOException {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Indicates whether this repository is currently able to answer aggregate queries. When this method returns
+     * <code>false</code>, {@link #aggregateEvents(ProvenanceAggregateQuery)} returns an empty list regardless of the
+     * events in the repository, so callers can tell an unsupported query apart from one that matched no events.
+     *
+     * @return <code>true</code> if aggregate queries are supported, <code>false</code> otherwise
+     */
+    default boolean isAggregateQuerySupported() {
+        return false;
+    }
+
     /**
      * @return the largest ID of any event that is queryable in the repository.
      *         If no queryable events exists, returns null
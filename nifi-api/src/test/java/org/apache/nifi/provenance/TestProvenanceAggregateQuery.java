@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestProvenanceAggregateQuery {
+
+    @Test
+    public void testMaximumBucketCountAllowed() {
+        final ProvenanceAggregateQuery query = new ProvenanceAggregateQuery.Builder()
+            .startTime(0L)
+            .endTime(ProvenanceAggregateQuery.MAX_BUCKET_COUNT * TimeUnit.MINUTES.toMillis(1L))
+            .bucketSize(1, TimeUnit.MINUTES)
+            .build();
+
+        assertEquals(0L, query.getStartTime());
+    }
+
+    @Test
+    public void testTooManyBucketsRejected() {
+        final ProvenanceAggregateQuery.Builder builder = new ProvenanceAggregateQuery.Builder()
+            .startTime(0L)
+            .endTime(ProvenanceAggregateQuery.MAX_BUCKET_COUNT * TimeUnit.MINUTES.toMillis(1L) + 1L)
+            .bucketSize(1, TimeUnit.MINUTES);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    public void testUnboundedTimeRangeRejected() {
+        final ProvenanceAggregateQuery.Builder builder = new ProvenanceAggregateQuery.Builder()
+            .startTime(Long.MIN_VALUE)
+            .endTime(Long.MAX_VALUE)
+            .bucketSize(1, TimeUnit.DAYS);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+}
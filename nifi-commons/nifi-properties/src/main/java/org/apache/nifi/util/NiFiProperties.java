@@ -103,7 +103,11 @@ public class NiFiProperties extends ApplicationProperties {
     public static final String CONTENT_ARCHIVE_BACK_PRESSURE_PERCENTAGE = "nifi.content.repository.archive.backpressure.percentage";
     public static final String CONTENT_ARCHIVE_ENABLED = "nifi.content.repository.archive.enabled";
     public static final String CONTENT_ARCHIVE_CLEANUP_FREQUENCY = "nifi.content.repository.archive.cleanup.frequency";
+    public static final String CONTENT_WRITE_BEHIND_ENABLED = "nifi.content.repository.write.behind.enabled";
+    public static final String CONTENT_WRITE_BEHIND_BUFFER_SIZE = "nifi.content.repository.write.behind.buffer.size";
+    public static final String CONTENT_CONTAINER_SELECTION_STRATEGY = "nifi.content.repository.container.selection.strategy";
     public static final String CONTENT_VIEWER_URL = "nifi.content.viewer.url";
+    public static final String CONTENT_VIEW_CACHE_MAX_SIZE = "nifi.content.view.cache.max.size";
 
     // flowfile repository properties
     public static final String FLOWFILE_REPOSITORY_IMPLEMENTATION = "nifi.flowfile.repository.implementation";
@@ -113,6 +117,7 @@ public class NiFiProperties extends ApplicationProperties {
     public static final String FLOWFILE_REPOSITORY_CHECKPOINT_INTERVAL = "nifi.flowfile.repository.checkpoint.interval";
     public static final String FLOWFILE_SWAP_MANAGER_IMPLEMENTATION = "nifi.swap.manager.implementation";
     public static final String QUEUE_SWAP_THRESHOLD = "nifi.queue.swap.threshold";
+    public static final String SWAP_COMPRESSION_CODEC = "nifi.swap.compression.codec";
 
     // provenance properties
     public static final String PROVENANCE_REPO_IMPLEMENTATION_CLASS = "nifi.provenance.repository.implementation";
@@ -125,6 +130,10 @@ public class NiFiProperties extends ApplicationProperties {
     public static final String PROVENANCE_QUERY_THREAD_POOL_SIZE = "nifi.provenance.repository.query.threads";
     public static final String PROVENANCE_INDEX_THREAD_POOL_SIZE = "nifi.provenance.repository.index.threads";
     public static final String PROVENANCE_COMPRESS_ON_ROLLOVER = "nifi.provenance.repository.compress.on.rollover";
+    public static final String PROVENANCE_COMPRESSION_CODEC = "nifi.provenance.repository.compression.codec";
+    public static final String PROVENANCE_ANALYTICS_ENABLED = "nifi.provenance.repository.analytics.enabled";
+    public static final String PROVENANCE_ANALYTICS_SEGMENT_DURATION = "nifi.provenance.repository.analytics.segment.duration";
+    public static final String PROVENANCE_LINEAGE_INDEX_ENABLED = "nifi.provenance.repository.lineage.index.enabled";
     public static final String PROVENANCE_INDEXED_FIELDS = "nifi.provenance.repository.indexed.fields";
     public static final String PROVENANCE_INDEXED_ATTRIBUTES = "nifi.provenance.repository.indexed.attributes";
     public static final String PROVENANCE_INDEX_SHARD_SIZE = "nifi.provenance.repository.index.shard.size";
@@ -154,6 +163,7 @@ public class NiFiProperties extends ApplicationProperties {
     public static final String SECURITY_AUTO_RELOAD_ENABLED = "nifi.security.autoreload.enabled";
     public static final String SECURITY_AUTO_RELOAD_INTERVAL = "nifi.security.autoreload.interval";
     public static final String SECURITY_USER_AUTHORIZER = "nifi.security.user.authorizer";
+    public static final String SECURITY_USER_AUTHORIZER_CACHE_EXPIRATION = "nifi.security.user.authorizer.cache.expiration";
     public static final String SECURITY_ANONYMOUS_AUTHENTICATION = "nifi.security.allow.anonymous.authentication";
     public static final String SECURITY_USER_LOGIN_IDENTITY_PROVIDER = "nifi.security.user.login.identity.provider";
     public static final String SECURITY_OCSP_RESPONDER_URL = "nifi.security.ocsp.responder.url";
@@ -229,6 +239,7 @@ public class NiFiProperties extends ApplicationProperties {
     // cluster common properties
     public static final String CLUSTER_PROTOCOL_HEARTBEAT_INTERVAL = "nifi.cluster.protocol.heartbeat.interval";
     public static final String CLUSTER_PROTOCOL_HEARTBEAT_MISSABLE_MAX = "nifi.cluster.protocol.heartbeat.missable.max";
+    public static final String CLUSTER_PROTOCOL_HEARTBEAT_STATUS_MAX_AGE = "nifi.cluster.protocol.heartbeat.status.max.age";
     public static final String CLUSTER_PROTOCOL_IS_SECURE = "nifi.cluster.protocol.is.secure";
     public static final String CLUSTER_LEADER_ELECTION_IMPLEMENTATION = "nifi.cluster.leader.election.implementation";
 
@@ -353,7 +364,11 @@ public class NiFiProperties extends ApplicationProperties {
     public static final String DEFAULT_NAR_LIBRARY_AUTOLOAD_DIR = "./extensions";
     public static final String DEFAULT_FLOWFILE_CHECKPOINT_INTERVAL = "20 secs";
     public static final String DEFAULT_MAX_APPENDABLE_CLAIM_SIZE = "1 MB";
+    public static final String DEFAULT_CONTENT_VIEW_CACHE_MAX_SIZE = "50 MB";
+    public static final String DEFAULT_CONTENT_WRITE_BEHIND_BUFFER_SIZE = "16 MB";
+    public static final String DEFAULT_CONTENT_CONTAINER_SELECTION_STRATEGY = "ROUND_ROBIN";
     public static final int DEFAULT_QUEUE_SWAP_THRESHOLD = 20000;
+    public static final String DEFAULT_SWAP_COMPRESSION_CODEC = "NONE";
     public static final long DEFAULT_BACKPRESSURE_COUNT = 10_000L;
     public static final String DEFAULT_BACKPRESSURE_SIZE = "1 GB";
     public static final String DEFAULT_ADMINISTRATIVE_YIELD_DURATION = "30 sec";
@@ -370,6 +385,7 @@ public class NiFiProperties extends ApplicationProperties {
     // Based on org.apache.jute.BinaryInputArchive.maxBuffer hexadecimal 0xfffff from ZooKeeper NIOServerCnxn
     public static final int DEFAULT_ZOOKEEPER_JUTE_MAXBUFFER = 1048575;
     public static final String DEFAULT_SECURITY_AUTO_RELOAD_INTERVAL = "10 secs";
+    public static final String DEFAULT_SECURITY_USER_AUTHORIZER_CACHE_EXPIRATION = "0 secs";
     public static final String DEFAULT_SITE_TO_SITE_HTTP_TRANSACTION_TTL = "30 secs";
     public static final String DEFAULT_FLOW_CONFIGURATION_ARCHIVE_ENABLED = "true";
     public static final String DEFAULT_FLOW_CONFIGURATION_ARCHIVE_MAX_TIME = "30 days";
@@ -835,6 +851,16 @@ public class NiFiProperties extends ApplicationProperties {
         return getProperty(SECURITY_AUTO_RELOAD_INTERVAL, DEFAULT_SECURITY_AUTO_RELOAD_INTERVAL);
     }
 
+    /**
+     * Returns how long an authorization decision of a managed authorizer may be cached before it is evaluated again. A duration of zero,
+     * the default, disables the cache.
+     *
+     * @return the expiration of cached authorization decisions
+     */
+    public String getSecurityUserAuthorizerCacheExpiration() {
+        return getProperty(SECURITY_USER_AUTHORIZER_CACHE_EXPIRATION, DEFAULT_SECURITY_USER_AUTHORIZER_CACHE_EXPIRATION);
+    }
+
     public Duration getSecurityUserJwsKeyRotationPeriod() {
         return Duration.parse(getProperty(SECURITY_USER_JWS_KEY_ROTATION_PERIOD, DEFAULT_SECURITY_USER_JWS_KEY_ROTATION_PERIOD));
     }
@@ -849,6 +875,16 @@ public class NiFiProperties extends ApplicationProperties {
         return getClusterProtocolHeartbeatInterval();
     }
 
+    /**
+     * Returns the maximum age of the Process Group status that nodes report in their heartbeats for that status to be used by the Cluster Coordinator
+     * to answer status requests instead of replicating them to every node. A blank value indicates that nodes do not report status in their heartbeats.
+     *
+     * @return the maximum age of reported status or <code>null</code> if not configured
+     */
+    public String getClusterProtocolHeartbeatStatusMaxAge() {
+        return getProperty(CLUSTER_PROTOCOL_HEARTBEAT_STATUS_MAX_AGE);
+    }
+
     public String getClusterNodeReadTimeout() {
         return getProperty(CLUSTER_NODE_READ_TIMEOUT, DEFAULT_CLUSTER_NODE_READ_TIMEOUT);
     }
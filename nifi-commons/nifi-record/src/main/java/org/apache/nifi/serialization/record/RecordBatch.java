@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record;
+
+import org.apache.nifi.serialization.RecordReader;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An in-memory batch of Records that were written to a FlowFile, along with the schema that they were written with. A batch may be
+ * left alongside the FlowFile's content so that a downstream component can read the Records without parsing the content again.
+ */
+public class RecordBatch {
+    private final RecordSchema schema;
+    private final List<Record> records;
+
+    public RecordBatch(final RecordSchema schema, final List<Record> records) {
+        this.schema = schema;
+        this.records = records;
+    }
+
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    public List<Record> getRecords() {
+        return records;
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * @return a RecordReader that returns each of the Records in this batch, in order. Records are returned as they were written,
+     * regardless of whether the caller requests that types be coerced or unknown fields be dropped.
+     */
+    public RecordReader createRecordReader() {
+        final Iterator<Record> recordItr = records.iterator();
+
+        return new RecordReader() {
+            @Override
+            public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) {
+                return recordItr.hasNext() ? recordItr.next() : null;
+            }
+
+            @Override
+            public RecordSchema getSchema() {
+                return schema;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
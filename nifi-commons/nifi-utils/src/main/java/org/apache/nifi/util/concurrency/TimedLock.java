@@ -24,6 +24,12 @@ import org.slf4j.LoggerFactory;
 
 public class TimedLock {
 
+    /**
+     * Nanoseconds that the current thread has spent blocked in {@link #lock()} since {@link #startTrackingWaitTime()} was called,
+     * or <code>null</code> if wait time is not being tracked for the current thread.
+     */
+    private static final ThreadLocal<long[]> trackedWaitNanos = new ThreadLocal<>();
+
     private final DebugEnabledTimedLock enabled;
     private final DebugDisabledTimedLock disabled;
 
@@ -49,11 +55,43 @@ public class TimedLock {
     }
 
     public void lock() {
+        final long[] waitNanos = trackedWaitNanos.get();
+        if (waitNanos == null) {
+            getLock().lock();
+            return;
+        }
+
+        final long start = System.nanoTime();
         getLock().lock();
+        waitNanos[0] += System.nanoTime() - start;
     }
 
     public void unlock(final String task) {
         getLock().unlock(task);
     }
 
+    /**
+     * Begins accumulating the time that the current thread spends waiting to obtain any TimedLock. Any previously
+     * accumulated time for the current thread is discarded.
+     */
+    public static void startTrackingWaitTime() {
+        trackedWaitNanos.set(new long[1]);
+    }
+
+    /**
+     * Stops accumulating lock wait time for the current thread
+     *
+     * @return the number of nanoseconds that the current thread spent waiting to obtain locks since {@link #startTrackingWaitTime()}
+     * was called, or 0 if wait time was not being tracked
+     */
+    public static long stopTrackingWaitTime() {
+        final long[] waitNanos = trackedWaitNanos.get();
+        if (waitNanos == null) {
+            return 0L;
+        }
+
+        trackedWaitNanos.remove();
+        return waitNanos[0];
+    }
+
 }
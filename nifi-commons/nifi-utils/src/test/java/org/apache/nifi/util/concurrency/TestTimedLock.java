@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.util.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestTimedLock {
+
+    @Test
+    public void testWaitTimeNotTrackedByDefault() {
+        final TimedLock lock = new TimedLock(new ReentrantLock(), "test", 100);
+        lock.lock();
+        lock.unlock("test");
+
+        assertEquals(0L, TimedLock.stopTrackingWaitTime());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testWaitTimeTracked() throws InterruptedException {
+        final TimedLock lock = new TimedLock(new ReentrantLock(), "test", 100);
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Thread holder = new Thread(() -> {
+            lock.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock("holder");
+            }
+        });
+        holder.start();
+        locked.await();
+
+        final Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50L);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        });
+
+        TimedLock.startTrackingWaitTime();
+        releaser.start();
+        lock.lock();
+        lock.unlock("test");
+        final long waitNanos = TimedLock.stopTrackingWaitTime();
+
+        assertTrue(waitNanos >= TimeUnit.MILLISECONDS.toNanos(40), "Expected lock wait to be tracked but was " + waitNanos + " nanos");
+
+        // Tracking is cleared once stopped
+        assertEquals(0L, TimedLock.stopTrackingWaitTime());
+
+        holder.join();
+        releaser.join();
+    }
+}
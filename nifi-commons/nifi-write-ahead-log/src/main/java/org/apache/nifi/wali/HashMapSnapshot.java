@@ -25,6 +25,8 @@ import org.wali.UpdateType;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -34,27 +36,62 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * A Write-Ahead Snapshot that keeps the latest state of every active record in a ConcurrentHashMap and writes them all on checkpoint.
+ * </p>
+ *
+ * <p>
+ * Beginning with version 2 of the encoding, the serde header is written as a length-delimited block and the records are written in
+ * length-delimited chunks of roughly {@value #TARGET_CHUNK_BYTES} bytes, each preceded by the number of records in it and the last one
+ * followed by a record count of 0. Because each chunk can be deserialized independently of the others, recovery reads the file on a
+ * single thread but deserializes the chunks on several threads. Snapshots written with version 1 are still recovered sequentially.
+ * Every snapshot is written with version 2, so once a snapshot has been written, versions of this class that only understand
+ * version 1 are no longer able to recover it.
+ * </p>
+ */
 public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T> {
     private static final Logger logger = LoggerFactory.getLogger(HashMapSnapshot.class);
-    private static final int ENCODING_VERSION = 1;
+    private static final int ENCODING_VERSION = 2;
+    private static final int TARGET_CHUNK_BYTES = 1024 * 1024;
+    private static final int MAX_RECORDS_PER_CHUNK = 10_000;
 
     private final ConcurrentMap<Object, T> recordMap = new ConcurrentHashMap<>();
     private final SerDeFactory<T> serdeFactory;
     private final Set<String> swapLocations = Collections.synchronizedSet(new HashSet<>());
     private final File storageDirectory;
+    private final int recoveryThreads;
 
     public HashMapSnapshot(final File storageDirectory, final SerDeFactory<T> serdeFactory) {
+        this(storageDirectory, serdeFactory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param storageDirectory the directory to write the snapshot to
+     * @param serdeFactory the factory for the SerDe that is used to serialize and deserialize records
+     * @param recoveryThreads the maximum number of threads to use for deserializing records on recovery
+     */
+    public HashMapSnapshot(final File storageDirectory, final SerDeFactory<T> serdeFactory, final int recoveryThreads) {
         this.serdeFactory = serdeFactory;
         this.storageDirectory = storageDirectory;
+        this.recoveryThreads = Math.max(1, recoveryThreads);
     }
 
     private SnapshotHeader validateHeader(final DataInputStream dataIn) throws IOException {
@@ -85,9 +122,16 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
         logger.debug("Number of Records for Snapshot at {} is {}", storageDirectory, numRecords);
 
         final SerDe<T> serde = serdeFactory.createSerDe(serdeEncoding);
-        serde.readHeader(dataIn);
+        if (snapshotVersion < 2) {
+            serde.readHeader(dataIn);
+            return new SnapshotHeader(serde, serdeEncoding, null, snapshotVersion, serdeVersion, maxTransactionId, numRecords);
+        }
+
+        final byte[] serdeHeader = new byte[dataIn.readInt()];
+        dataIn.readFully(serdeHeader);
+        serde.readHeader(new DataInputStream(new ByteArrayInputStream(serdeHeader)));
 
-        return new SnapshotHeader(serde, serdeVersion, maxTransactionId, numRecords);
+        return new SnapshotHeader(serde, serdeEncoding, serdeHeader, snapshotVersion, serdeVersion, maxTransactionId, numRecords);
     }
 
     @Override
@@ -125,26 +169,14 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
             // Ensure that the header contains the information that we expect and retrieve the relevant information from the header.
             final SnapshotHeader header = validateHeader(dataIn);
 
-            final SerDe<T> serde = header.getSerDe();
-            final int serdeVersion = header.getSerDeVersion();
             final int numRecords = header.getNumRecords();
             final long maxTransactionId = header.getMaxTransactionId();
 
             // Read all of the records that we expect to receive.
-            for (int i = 0; i < numRecords; i++) {
-                final T record = serde.deserializeRecord(dataIn, serdeVersion);
-                if (record == null) {
-                    throw new EOFException();
-                }
-
-                final UpdateType updateType = serde.getUpdateType(record);
-                if (updateType == UpdateType.DELETE) {
-                    logger.warn("While recovering from snapshot, found record with type 'DELETE'; this record will not be restored");
-                    continue;
-                }
-
-                logger.trace("Recovered from snapshot: {}", record);
-                recordMap.put(serde.getRecordIdentifier(record), record);
+            if (header.getSnapshotVersion() < 2) {
+                recoverRecords(header.getSerDe(), dataIn, numRecords, header.getSerDeVersion());
+            } else {
+                recoverChunks(header, dataIn);
             }
 
             // Determine the location of any swap files.
@@ -161,6 +193,104 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
         }
     }
 
+    private int recoverRecords(final SerDe<T> serde, final DataInputStream in, final int numRecords, final int serdeVersion) throws IOException {
+        for (int i = 0; i < numRecords; i++) {
+            final T record = serde.deserializeRecord(in, serdeVersion);
+            if (record == null) {
+                throw new EOFException();
+            }
+
+            final UpdateType updateType = serde.getUpdateType(record);
+            if (updateType == UpdateType.DELETE) {
+                logger.warn("While recovering from snapshot, found record with type 'DELETE'; this record will not be restored");
+                continue;
+            }
+
+            logger.trace("Recovered from snapshot: {}", record);
+            recordMap.put(serde.getRecordIdentifier(record), record);
+        }
+
+        return numRecords;
+    }
+
+    private void recoverChunks(final SnapshotHeader header, final DataInputStream dataIn) throws IOException {
+        // Each chunk must be deserialized with its own SerDe because a SerDe keeps state while reading. If the factory hands out a single
+        // SerDe instance, the chunks are deserialized one at a time on this thread.
+        final SerDe<T> firstSerDe = serdeFactory.createSerDe(header.getSerDeEncoding());
+        final boolean parallel = recoveryThreads > 1 && firstSerDe != serdeFactory.createSerDe(header.getSerDeEncoding());
+        final int threadCount = parallel ? recoveryThreads : 1;
+
+        final AtomicInteger threadIndex = new AtomicInteger(0);
+        final ExecutorService executor = parallel ? Executors.newFixedThreadPool(threadCount, runnable -> {
+            final Thread thread = new Thread(runnable, "Recover Snapshot-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+
+        // Bound the number of chunks that have been read but not yet deserialized so that the file is not read into memory all at once
+        final Semaphore pendingChunks = new Semaphore(threadCount * 2);
+        final List<Future<Integer>> futures = new ArrayList<>();
+        int recordsRead = 0;
+
+        try {
+            int chunkRecordCount;
+            while ((chunkRecordCount = dataIn.readInt()) > 0) {
+                final byte[] chunk = new byte[dataIn.readInt()];
+                dataIn.readFully(chunk);
+                recordsRead += chunkRecordCount;
+
+                final int recordCount = chunkRecordCount;
+                if (executor == null) {
+                    recoverChunk(header.getSerDe(), null, chunk, recordCount, header.getSerDeVersion());
+                    continue;
+                }
+
+                pendingChunks.acquireUninterruptibly();
+                futures.add(executor.submit(() -> {
+                    try {
+                        final SerDe<T> serde = serdeFactory.createSerDe(header.getSerDeEncoding());
+                        return recoverChunk(serde, header.getSerDeHeader(), chunk, recordCount, header.getSerDeVersion());
+                    } finally {
+                        pendingChunks.release();
+                    }
+                }));
+            }
+
+            for (final Future<Integer> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while recovering Snapshot at " + storageDirectory, e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IOException("Failed to recover Snapshot at " + storageDirectory, cause);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+
+        if (recordsRead != header.getNumRecords()) {
+            throw new EOFException("Snapshot at " + storageDirectory + " should contain " + header.getNumRecords() + " records but contained " + recordsRead);
+        }
+    }
+
+    private int recoverChunk(final SerDe<T> serde, final byte[] serdeHeader, final byte[] chunk, final int recordCount, final int serdeVersion) throws IOException {
+        if (serdeHeader != null) {
+            serde.readHeader(new DataInputStream(new ByteArrayInputStream(serdeHeader)));
+        }
+
+        return recoverRecords(serde, new DataInputStream(new ByteArrayInputStream(chunk)), recordCount, serdeVersion);
+    }
+
     @Override
     public void update(final Collection<T> records) {
         // This implementation of Snapshot keeps a ConcurrentHashMap of all 'active' records
@@ -271,14 +401,31 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
             dataOut.writeInt(serde.getVersion());
             dataOut.writeLong(snapshot.getMaxTransactionId());
             dataOut.writeInt(snapshot.getRecords().size());
-            serde.writeHeader(dataOut);
 
-            // Serialize each record
+            final ByteArrayOutputStream serdeHeader = new ByteArrayOutputStream();
+            serde.writeHeader(new DataOutputStream(serdeHeader));
+            dataOut.writeInt(serdeHeader.size());
+            serdeHeader.writeTo(dataOut);
+
+            // Serialize the records in chunks that can be deserialized independently of one another
+            final ByteArrayDataOutputStream chunk = new ByteArrayDataOutputStream(TARGET_CHUNK_BYTES + TARGET_CHUNK_BYTES / 4);
+            int chunkRecordCount = 0;
             for (final T record : snapshot.getRecords().values()) {
                 logger.trace("Checkpointing {}", record);
-                serde.serializeRecord(record, dataOut);
+                serde.serializeRecord(record, chunk.getDataOutputStream());
+                chunkRecordCount++;
+
+                if (chunkRecordCount >= MAX_RECORDS_PER_CHUNK || chunk.getByteArrayOutputStream().size() >= TARGET_CHUNK_BYTES) {
+                    writeChunk(chunk, chunkRecordCount, dataOut);
+                    chunkRecordCount = 0;
+                }
             }
 
+            if (chunkRecordCount > 0) {
+                writeChunk(chunk, chunkRecordCount, dataOut);
+            }
+            dataOut.writeInt(0);
+
             // Write out the number of swap locations, followed by the swap locations themselves.
             dataOut.writeInt(snapshot.getSwapLocations().size());
             for (final String swapLocation : snapshot.getSwapLocations()) {
@@ -305,6 +452,13 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
         }
     }
 
+    private void writeChunk(final ByteArrayDataOutputStream chunk, final int recordCount, final DataOutputStream dataOut) throws IOException {
+        final ByteArrayOutputStream chunkBytes = chunk.getByteArrayOutputStream();
+        dataOut.writeInt(recordCount);
+        dataOut.writeInt(chunkBytes.size());
+        chunkBytes.writeTo(dataOut);
+        chunkBytes.reset();
+    }
 
     public class Snapshot implements SnapshotCapture<T> {
         private final Map<Object, T> records;
@@ -335,12 +489,19 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
 
     private class SnapshotHeader {
         private final SerDe<T> serde;
+        private final String serdeEncoding;
+        private final byte[] serdeHeader;
+        private final int snapshotVersion;
         private final int serdeVersion;
         private final int numRecords;
         private final long maxTransactionId;
 
-        public SnapshotHeader(final SerDe<T> serde, final int serdeVersion, final long maxTransactionId, final int numRecords) {
+        public SnapshotHeader(final SerDe<T> serde, final String serdeEncoding, final byte[] serdeHeader, final int snapshotVersion, final int serdeVersion,
+                              final long maxTransactionId, final int numRecords) {
             this.serde = serde;
+            this.serdeEncoding = serdeEncoding;
+            this.serdeHeader = serdeHeader;
+            this.snapshotVersion = snapshotVersion;
             this.serdeVersion = serdeVersion;
             this.maxTransactionId = maxTransactionId;
             this.numRecords = numRecords;
@@ -350,6 +511,18 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
             return serde;
         }
 
+        public String getSerDeEncoding() {
+            return serdeEncoding;
+        }
+
+        public byte[] getSerDeHeader() {
+            return serdeHeader;
+        }
+
+        public int getSnapshotVersion() {
+            return snapshotVersion;
+        }
+
         public int getSerDeVersion() {
             return serdeVersion;
         }
@@ -212,7 +212,8 @@ public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T>
 
         final long recoverNanos = System.nanoTime() - recoverStart;
         final long recoveryMillis = TimeUnit.MILLISECONDS.convert(recoverNanos, TimeUnit.NANOSECONDS);
-        logger.info("Successfully recovered {} records in {} milliseconds. Now checkpointing to ensure that Write-Ahead Log is in a consistent state", recoveredRecords.size(), recoveryMillis);
+        logger.info("Successfully recovered {} records in {} milliseconds ({} millis recovering Snapshot, {} millis replaying journals). "
+            + "Now checkpointing to ensure that Write-Ahead Log is in a consistent state", recoveredRecords.size(), recoveryMillis, snapshotRecoveryMillis, recoveryMillis - snapshotRecoveryMillis);
 
         this.recoveredSwapLocations.addAll(swapLocations);
 
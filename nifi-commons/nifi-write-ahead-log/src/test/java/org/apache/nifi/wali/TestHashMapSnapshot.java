@@ -21,6 +21,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.wali.DummyRecord;
 import org.wali.DummyRecordSerde;
+import org.wali.SerDe;
 import org.wali.SerDeFactory;
 import org.wali.SingletonSerDeFactory;
 import org.wali.UpdateType;
@@ -115,6 +116,48 @@ public class TestHashMapSnapshot {
         assertEquals(records, recoveredRecords);
     }
 
+    @Test
+    public void testRoundTripWithMultipleChunksRecoveredInParallel() throws IOException {
+        final SerDeFactory<DummyRecord> parallelFactory = new SerDeFactory<>() {
+            @Override
+            public SerDe<DummyRecord> createSerDe(final String encodingName) {
+                return new DummyRecordSerde();
+            }
+
+            @Override
+            public Object getRecordIdentifier(final DummyRecord record) {
+                return record.getId();
+            }
+
+            @Override
+            public UpdateType getUpdateType(final DummyRecord record) {
+                return record.getUpdateType();
+            }
+
+            @Override
+            public String getLocation(final DummyRecord record) {
+                return record.getSwapLocation();
+            }
+        };
+
+        final HashMapSnapshot<DummyRecord> snapshot = new HashMapSnapshot<>(storageDirectory, parallelFactory, 4);
+        final int recordCount = 25_000;
+        for (int i = 0; i < recordCount; i++) {
+            final DummyRecord record = new DummyRecord(String.valueOf(i), UpdateType.CREATE);
+            record.setProperty("key", String.valueOf(i));
+            snapshot.update(Collections.singleton(record));
+        }
+
+        final SnapshotCapture<DummyRecord> capture = snapshot.prepareSnapshot(recordCount);
+        snapshot.writeSnapshot(capture);
+
+        final HashMapSnapshot<DummyRecord> recovered = new HashMapSnapshot<>(storageDirectory, parallelFactory, 4);
+        final SnapshotRecovery<DummyRecord> recovery = recovered.recover();
+        assertEquals(recordCount, recovery.getMaxTransactionId());
+        assertEquals(capture.getRecords(), recovery.getRecords());
+        assertEquals(String.valueOf(recordCount - 1), recovered.lookup(String.valueOf(recordCount - 1)).getProperty("key"));
+    }
+
     @Test
     public void testOOMEWhenWritingResultsInPreviousSnapshotStillRecoverable() throws IOException {
         final HashMapSnapshot<DummyRecord> snapshot = new HashMapSnapshot<>(storageDirectory, serdeFactory);
@@ -31,4 +31,20 @@ public interface EventServer {
      * @return the port that the server is listening on, or 0 if unable to determine the port
      */
     int getListeningPort();
+
+    /**
+     * Returns the number of datagrams received across listening sockets, if tracked for the transport protocol.
+     * @return the number of datagrams received, or 0 if not tracked
+     */
+    default long getDatagramsReceived() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of datagrams dropped by the operating system due to receive buffer overflow on the listening port, if available.
+     * @return the number of datagrams dropped, or 0 if not available
+     */
+    default long getDatagramsDropped() {
+        return 0;
+    }
 }
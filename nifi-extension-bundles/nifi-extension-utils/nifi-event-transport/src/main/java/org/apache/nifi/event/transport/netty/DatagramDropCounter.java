@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.event.transport.netty;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Datagram Drop Counter reads Linux UDP socket tables to sum datagrams dropped for sockets bound to a local port
+ */
+class DatagramDropCounter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatagramDropCounter.class);
+
+    private static final List<Path> DEFAULT_SOCKET_TABLES = Arrays.asList(Paths.get("/proc/net/udp"), Paths.get("/proc/net/udp6"));
+
+    private static final String FIELD_SEPARATOR = "\\s+";
+
+    private static final char PORT_SEPARATOR = ':';
+
+    private static final int LOCAL_ADDRESS_FIELD = 1;
+
+    private static final int MINIMUM_FIELDS = 13;
+
+    private static final int HEXADECIMAL_RADIX = 16;
+
+    private final List<Path> socketTables;
+
+    DatagramDropCounter() {
+        this(DEFAULT_SOCKET_TABLES);
+    }
+
+    /**
+     * Datagram Drop Counter with socket table paths formatted according to Linux /proc/net/udp
+     *
+     * @param socketTables Socket Table Paths
+     */
+    DatagramDropCounter(final List<Path> socketTables) {
+        this.socketTables = Objects.requireNonNull(socketTables, "Socket Tables required");
+    }
+
+    /**
+     * Get number of datagrams dropped for all sockets bound to the local port, including sockets sharing the port using SO_REUSEPORT
+     *
+     * @param port Local Port Number
+     * @return Datagrams dropped or 0 when socket tables are not available
+     */
+    long getDropped(final int port) {
+        long dropped = 0;
+        for (final Path socketTable : socketTables) {
+            if (Files.isReadable(socketTable)) {
+                dropped += getDropped(socketTable, port);
+            }
+        }
+        return dropped;
+    }
+
+    private long getDropped(final Path socketTable, final int port) {
+        long dropped = 0;
+        try (final BufferedReader reader = Files.newBufferedReader(socketTable)) {
+            // Skip header line
+            reader.readLine();
+
+            String line = reader.readLine();
+            while (line != null) {
+                final String[] fields = line.trim().split(FIELD_SEPARATOR);
+                if (fields.length >= MINIMUM_FIELDS && port == getLocalPort(fields[LOCAL_ADDRESS_FIELD])) {
+                    dropped += Long.parseLong(fields[fields.length - 1]);
+                }
+                line = reader.readLine();
+            }
+        } catch (final IOException | NumberFormatException e) {
+            LOGGER.debug("Failed to read dropped datagrams from [{}]", socketTable, e);
+        }
+        return dropped;
+    }
+
+    private int getLocalPort(final String localAddress) {
+        final int separatorIndex = localAddress.lastIndexOf(PORT_SEPARATOR);
+        return Integer.parseInt(localAddress.substring(separatorIndex + 1), HEXADECIMAL_RADIX);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.event.transport.netty;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import org.apache.nifi.event.transport.netty.channel.CountingChannelHandler;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Netty Event Server for Datagram Channels with tracking of datagrams received and dropped
+ */
+class DatagramNettyEventServer extends NettyEventServer {
+    private final CountingChannelHandler countingChannelHandler;
+
+    private final DatagramDropCounter datagramDropCounter;
+
+    /**
+     * Datagram Netty Event Server with Event Loop Group, bound Channels, Shutdown Configuration and tracking components
+     *
+     * @param group Event Loop Group
+     * @param channels Bound Channels
+     * @param quietPeriod server shutdown quiet period
+     * @param timeout server shutdown timeout
+     * @param countingChannelHandler Counting Channel Handler configured in each Channel Pipeline
+     * @param datagramDropCounter Datagram Drop Counter for reading operating system statistics
+     */
+    DatagramNettyEventServer(
+            final EventLoopGroup group,
+            final List<Channel> channels,
+            final Duration quietPeriod,
+            final Duration timeout,
+            final CountingChannelHandler countingChannelHandler,
+            final DatagramDropCounter datagramDropCounter
+    ) {
+        super(group, channels, quietPeriod, timeout);
+        this.countingChannelHandler = countingChannelHandler;
+        this.datagramDropCounter = datagramDropCounter;
+    }
+
+    @Override
+    public long getDatagramsReceived() {
+        return countingChannelHandler.getMessagesRead();
+    }
+
+    @Override
+    public long getDatagramsDropped() {
+        final int port = getListeningPort();
+        return port == 0 ? 0 : datagramDropCounter.getDropped(port);
+    }
+}
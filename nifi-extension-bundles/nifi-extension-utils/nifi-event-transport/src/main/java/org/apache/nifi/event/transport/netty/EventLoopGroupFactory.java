@@ -17,8 +17,20 @@
 package org.apache.nifi.event.transport.netty;
 
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.DefaultThreadFactory;
+import org.apache.nifi.event.transport.configuration.ChannelTransport;
 
 import java.util.Objects;
 import java.util.concurrent.ThreadFactory;
@@ -35,6 +47,8 @@ class EventLoopGroupFactory {
 
     private int workerThreads;
 
+    private ChannelTransport channelTransport = ChannelTransport.NIO;
+
     /**
      * Set Thread Name Prefix used in Netty NioEventLoopGroup defaults to NettyChannel
      *
@@ -53,8 +67,42 @@ class EventLoopGroupFactory {
         this.workerThreads = workerThreads;
     }
 
+    /**
+     * Set Channel Transport overriding the default NIO configuration
+     *
+     * @param channelTransport Channel Transport
+     */
+    public void setChannelTransport(final ChannelTransport channelTransport) {
+        this.channelTransport = Objects.requireNonNull(channelTransport, "Channel Transport required");
+    }
+
+    /**
+     * Is native epoll transport enabled based on configuration and availability of the native library
+     *
+     * @return Native epoll transport enabled
+     */
+    protected boolean isEpollEnabled() {
+        return ChannelTransport.EPOLL == channelTransport && Epoll.isAvailable();
+    }
+
     protected EventLoopGroup getEventLoopGroup() {
-        return new NioEventLoopGroup(workerThreads, getThreadFactory());
+        final ThreadFactory threadFactory = getThreadFactory();
+        if (isEpollEnabled()) {
+            return new EpollEventLoopGroup(workerThreads, threadFactory);
+        }
+        return new NioEventLoopGroup(workerThreads, threadFactory);
+    }
+
+    protected Class<? extends DatagramChannel> getDatagramChannelClass() {
+        return isEpollEnabled() ? EpollDatagramChannel.class : NioDatagramChannel.class;
+    }
+
+    protected Class<? extends ServerSocketChannel> getServerSocketChannelClass() {
+        return isEpollEnabled() ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+
+    protected Class<? extends SocketChannel> getSocketChannelClass() {
+        return isEpollEnabled() ? EpollSocketChannel.class : NioSocketChannel.class;
     }
 
     private ThreadFactory getThreadFactory() {
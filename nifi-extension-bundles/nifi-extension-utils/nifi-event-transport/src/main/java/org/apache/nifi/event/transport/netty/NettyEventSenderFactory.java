@@ -26,8 +26,6 @@ import io.netty.channel.pool.ChannelHealthChecker;
 import io.netty.channel.pool.ChannelPool;
 import io.netty.channel.pool.ChannelPoolHandler;
 import io.netty.channel.pool.FixedChannelPool;
-import io.netty.channel.socket.nio.NioDatagramChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import org.apache.nifi.event.transport.EventSender;
 import org.apache.nifi.event.transport.EventSenderFactory;
 import org.apache.nifi.event.transport.configuration.ShutdownQuietPeriod;
@@ -173,9 +171,9 @@ public class NettyEventSenderFactory<T> extends EventLoopGroupFactory implements
         bootstrap.group(group);
 
         if (TransportProtocol.UDP.equals(protocol)) {
-            bootstrap.channel(NioDatagramChannel.class);
+            bootstrap.channel(getDatagramChannelClass());
         } else {
-            bootstrap.channel(NioSocketChannel.class);
+            bootstrap.channel(getSocketChannelClass());
         }
 
         setChannelOptions(bootstrap);
@@ -27,6 +27,8 @@ import org.apache.nifi.event.transport.configuration.ShutdownTimeout;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -35,7 +37,7 @@ import java.util.concurrent.TimeUnit;
 class NettyEventServer implements EventServer {
     private final EventLoopGroup group;
 
-    private final Channel channel;
+    private final List<Channel> channels;
 
     private final Duration shutdownQuietPeriod;
 
@@ -60,26 +62,33 @@ class NettyEventServer implements EventServer {
      * @param timeout server shutdown timeout
      */
     NettyEventServer(final EventLoopGroup group, final Channel channel, final Duration quietPeriod, final Duration timeout) {
+        this(group, Collections.singletonList(channel), quietPeriod, timeout);
+    }
+
+    /**
+     * Netty Event Server with Event Loop Group, one or more Channels bound to the same address and port, and Shutdown Configuration
+     *
+     * @param group Event Loop Group
+     * @param channels Bound Channels
+     * @param quietPeriod server shutdown quiet period
+     * @param timeout server shutdown timeout
+     */
+    NettyEventServer(final EventLoopGroup group, final List<Channel> channels, final Duration quietPeriod, final Duration timeout) {
         this.group = group;
-        this.channel = channel;
+        this.channels = channels;
         this.shutdownQuietPeriod = quietPeriod;
         this.shutdownTimeout = timeout;
     }
 
     /**
-     * Close Channel and shutdown Event Loop Group
+     * Close Channels and shutdown Event Loop Group
      */
     @Override
     public void shutdown() {
         try {
-            if (channel.isOpen()) {
-                final ChannelFuture closeFuture = channel.close();
-                closeFuture.await(shutdownQuietPeriod.toMillis(), TimeUnit.MILLISECONDS);
+            for (final Channel channel : channels) {
+                close(channel);
             }
-        } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-            final String message = String.format("Close channel interrupted: Remote Address [%s]", channel.remoteAddress());
-            throw new EventException(message, e);
         } finally {
             group.shutdownGracefully(shutdownQuietPeriod.toMillis(), shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)
                     .awaitUninterruptibly(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS);
@@ -88,11 +97,24 @@ class NettyEventServer implements EventServer {
 
     @Override
     public int getListeningPort() {
-        final SocketAddress socketAddress = channel.localAddress();
+        final SocketAddress socketAddress = channels.get(0).localAddress();
         if (socketAddress instanceof InetSocketAddress) {
             return ((InetSocketAddress) socketAddress).getPort();
         }
 
         return 0;
     }
+
+    private void close(final Channel channel) {
+        try {
+            if (channel.isOpen()) {
+                final ChannelFuture closeFuture = channel.close();
+                closeFuture.await(shutdownQuietPeriod.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final String message = String.format("Close channel interrupted: Remote Address [%s]", channel.remoteAddress());
+            throw new EventException(message, e);
+        }
+    }
 }
@@ -27,8 +27,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.FixedRecvByteBufAllocator;
-import io.netty.channel.socket.nio.NioDatagramChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.epoll.EpollChannelOption;
 import org.apache.nifi.event.transport.EventException;
 import org.apache.nifi.event.transport.EventServer;
 import org.apache.nifi.event.transport.EventServerFactory;
@@ -36,14 +35,20 @@ import org.apache.nifi.event.transport.configuration.BufferAllocator;
 import org.apache.nifi.event.transport.configuration.ShutdownQuietPeriod;
 import org.apache.nifi.event.transport.configuration.ShutdownTimeout;
 import org.apache.nifi.event.transport.configuration.TransportProtocol;
+import org.apache.nifi.event.transport.netty.channel.CountingChannelHandler;
 import org.apache.nifi.event.transport.netty.channel.StandardChannelInitializer;
 import org.apache.nifi.event.transport.netty.channel.ssl.ServerSslHandlerChannelInitializer;
 import org.apache.nifi.security.util.ClientAuth;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -53,6 +58,10 @@ import java.util.function.Supplier;
  * Netty Event Server Factory
  */
 public class NettyEventServerFactory extends EventLoopGroupFactory implements EventServerFactory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NettyEventServerFactory.class);
+
+    private static final int SINGLE_SOCKET = 1;
+
     private final InetAddress address;
 
     private final int port;
@@ -79,6 +88,8 @@ public class NettyEventServerFactory extends EventLoopGroupFactory implements Ev
 
     private BufferAllocator bufferAllocator = BufferAllocator.POOLED;
 
+    private int socketCount = SINGLE_SOCKET;
+
     public NettyEventServerFactory(final InetAddress address, final int port, final TransportProtocol protocol) {
         this.address = address;
         this.port = port;
@@ -175,20 +186,41 @@ public class NettyEventServerFactory extends EventLoopGroupFactory implements Ev
     }
 
     /**
-     * Get Event Server with Channel bound to configured address and port number
+     * Set number of sockets bound to the configured address and port using SO_REUSEPORT to distribute packets across Event Loop threads.
+     * Binding multiple sockets requires the EPOLL Channel Transport and falls back to a single socket when native epoll is not available.
+     *
+     * @param socketCount Socket Count must be at least 1
+     */
+    public void setSocketCount(final int socketCount) {
+        if (socketCount < SINGLE_SOCKET) {
+            throw new IllegalArgumentException(String.format("Socket Count [%d] must be at least %d", socketCount, SINGLE_SOCKET));
+        }
+        this.socketCount = socketCount;
+    }
+
+    /**
+     * Get Event Server with Channels bound to configured address and port number
      *
      * @return Event Sender
      */
     @Override
     public EventServer getEventServer() {
-        final AbstractBootstrap<?, ?> bootstrap = getBootstrap();
+        final CountingChannelHandler countingChannelHandler = new CountingChannelHandler();
+        final AbstractBootstrap<?, ?> bootstrap = getBootstrap(countingChannelHandler);
         setChannelOptions(bootstrap);
         final EventLoopGroup group = getEventLoopGroup();
         bootstrap.group(group);
-        return getBoundEventServer(bootstrap, group);
+        return getBoundEventServer(bootstrap, group, countingChannelHandler);
+    }
+
+    private boolean isReusePortEnabled() {
+        return socketCount > SINGLE_SOCKET && isEpollEnabled();
     }
 
     private void setChannelOptions(final AbstractBootstrap<?, ?> bootstrap) {
+        if (isReusePortEnabled()) {
+            bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+        }
         if (socketReceiveBuffer != null) {
             bootstrap.option(ChannelOption.SO_RCVBUF, socketReceiveBuffer);
             bootstrap.option(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(socketReceiveBuffer));
@@ -201,25 +233,30 @@ public class NettyEventServerFactory extends EventLoopGroupFactory implements Ev
         }
     }
 
-    private AbstractBootstrap<?, ?> getBootstrap() {
+    private AbstractBootstrap<?, ?> getBootstrap(final CountingChannelHandler countingChannelHandler) {
         if (TransportProtocol.UDP.equals(protocol)) {
             final Bootstrap bootstrap = new Bootstrap();
-            bootstrap.channel(NioDatagramChannel.class);
-            bootstrap.handler(getChannelInitializer());
+            bootstrap.channel(getDatagramChannelClass());
+            bootstrap.handler(getChannelInitializer(() -> {
+                final List<ChannelHandler> handlers = new ArrayList<>();
+                handlers.add(countingChannelHandler);
+                handlers.addAll(handlerSupplier.get());
+                return handlers;
+            }));
             return bootstrap;
         } else {
             final ServerBootstrap bootstrap = new ServerBootstrap();
-            bootstrap.channel(NioServerSocketChannel.class);
-            bootstrap.childHandler(getChannelInitializer());
+            bootstrap.channel(getServerSocketChannelClass());
+            bootstrap.childHandler(getChannelInitializer(handlerSupplier));
             return bootstrap;
         }
     }
 
-    private ChannelInitializer<?> getChannelInitializer() {
+    private ChannelInitializer<?> getChannelInitializer(final Supplier<List<ChannelHandler>> channelHandlerSupplier) {
         final StandardChannelInitializer<Channel> channelInitializer;
 
         if (sslContext == null) {
-            channelInitializer = new StandardChannelInitializer<>(handlerSupplier);
+            channelInitializer = new StandardChannelInitializer<>(channelHandlerSupplier);
         } else {
             final SSLParameters parameters;
             if (sslParameters == null) {
@@ -227,7 +264,7 @@ public class NettyEventServerFactory extends EventLoopGroupFactory implements Ev
             } else {
                 parameters = sslParameters;
             }
-            channelInitializer = new ServerSslHandlerChannelInitializer<>(handlerSupplier, sslContext, clientAuth, parameters);
+            channelInitializer = new ServerSslHandlerChannelInitializer<>(channelHandlerSupplier, sslContext, clientAuth, parameters);
         }
 
         if (idleTimeout != null) {
@@ -236,14 +273,41 @@ public class NettyEventServerFactory extends EventLoopGroupFactory implements Ev
         return channelInitializer;
     }
 
-    private EventServer getBoundEventServer(final AbstractBootstrap<?, ?> bootstrap, final EventLoopGroup group) {
-        final ChannelFuture bindFuture = bootstrap.bind(address, port);
+    private EventServer getBoundEventServer(final AbstractBootstrap<?, ?> bootstrap, final EventLoopGroup group, final CountingChannelHandler countingChannelHandler) {
+        final int channelCount;
+        if (isReusePortEnabled()) {
+            channelCount = socketCount;
+        } else {
+            if (socketCount > SINGLE_SOCKET) {
+                LOGGER.warn("Socket Count [{}] requires native epoll transport: binding single socket [{}:{}]", socketCount, address, port);
+            }
+            channelCount = SINGLE_SOCKET;
+        }
+
+        final List<Channel> channels = new ArrayList<>(channelCount);
         try {
-            final ChannelFuture channelFuture = bindFuture.syncUninterruptibly();
-            return new NettyEventServer(group, channelFuture.channel(), shutdownQuietPeriod, shutdownTimeout);
+            // Bind additional channels to the port selected for the first channel to support ephemeral port configuration
+            int bindPort = port;
+            for (int i = 0; i < channelCount; i++) {
+                final ChannelFuture bindFuture = bootstrap.bind(address, bindPort);
+                final Channel channel = bindFuture.syncUninterruptibly().channel();
+                channels.add(channel);
+                bindPort = getLocalPort(channel);
+            }
         } catch (final Exception e) {
+            channels.forEach(Channel::close);
             group.shutdownGracefully();
             throw new EventException(String.format("Channel Bind Failed [%s:%d]", address, port), e);
         }
+
+        if (TransportProtocol.UDP.equals(protocol)) {
+            return new DatagramNettyEventServer(group, channels, shutdownQuietPeriod, shutdownTimeout, countingChannelHandler, new DatagramDropCounter());
+        }
+        return new NettyEventServer(group, channels, shutdownQuietPeriod, shutdownTimeout);
+    }
+
+    private int getLocalPort(final Channel channel) {
+        final SocketAddress localAddress = channel.localAddress();
+        return localAddress instanceof InetSocketAddress ? ((InetSocketAddress) localAddress).getPort() : port;
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.event.transport.netty.channel;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counting Channel Handler tracks the number of messages read across Channels sharing the handler
+ */
+@ChannelHandler.Sharable
+public class CountingChannelHandler extends ChannelInboundHandlerAdapter {
+    private final LongAdder messagesRead = new LongAdder();
+
+    /**
+     * Increment messages read and pass message to the next handler
+     *
+     * @param context Channel Handler Context
+     * @param message Message read
+     */
+    @Override
+    public void channelRead(final ChannelHandlerContext context, final Object message) {
+        messagesRead.increment();
+        context.fireChannelRead(message);
+    }
+
+    /**
+     * Get number of messages read
+     *
+     * @return Messages read
+     */
+    public long getMessagesRead() {
+        return messagesRead.sum();
+    }
+}
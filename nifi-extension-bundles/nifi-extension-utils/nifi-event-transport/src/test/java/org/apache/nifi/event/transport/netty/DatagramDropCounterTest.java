@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.event.transport.netty;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DatagramDropCounterTest {
+    private static final String HEADER = "   sl  local_address rem_address   st tx_queue rx_queue tr tm->when retrnsmt   uid  timeout inode ref pointer drops";
+
+    private static final String FIRST_SOCKET = "  1: 0100007F:1F90 00000000:0000 07 00000000:00000000 00:00000000 00000000  1000        0 1001 2 0000000000000000 5";
+
+    private static final String SECOND_SOCKET = "  2: 0100007F:1F90 00000000:0000 07 00000000:00000000 00:00000000 00000000  1000        0 1002 2 0000000000000000 7";
+
+    private static final String OTHER_SOCKET = "  3: 00000000:0035 00000000:0000 07 00000000:00000000 00:00000000 00000000     0        0 1003 2 0000000000000000 11";
+
+    private static final int PORT = 8080;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testGetDropped() throws IOException {
+        final Path socketTable = tempDir.resolve("udp");
+        Files.write(socketTable, Arrays.asList(HEADER, FIRST_SOCKET, SECOND_SOCKET, OTHER_SOCKET));
+
+        final DatagramDropCounter counter = new DatagramDropCounter(Collections.singletonList(socketTable));
+
+        assertEquals(12, counter.getDropped(PORT));
+    }
+
+    @Test
+    void testGetDroppedSocketTableNotFound() {
+        final DatagramDropCounter counter = new DatagramDropCounter(Collections.singletonList(tempDir.resolve("udp")));
+
+        assertEquals(0, counter.getDropped(PORT));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.event.transport.netty;
+
+import io.netty.channel.epoll.Epoll;
+import org.apache.nifi.event.transport.EventServer;
+import org.apache.nifi.event.transport.configuration.ChannelTransport;
+import org.apache.nifi.event.transport.configuration.ShutdownQuietPeriod;
+import org.apache.nifi.event.transport.configuration.ShutdownTimeout;
+import org.apache.nifi.event.transport.configuration.TransportProtocol;
+import org.apache.nifi.event.transport.message.ByteArrayMessage;
+import org.apache.nifi.logging.ComponentLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@ExtendWith(MockitoExtension.class)
+public class NettyEventServerFactoryTest {
+    private static final InetAddress ADDRESS = InetAddress.getLoopbackAddress();
+
+    private static final byte[] DELIMITER = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] MESSAGE = NettyEventServerFactoryTest.class.getName().getBytes(StandardCharsets.UTF_8);
+
+    private static final int MAX_FRAME_LENGTH = 1024;
+
+    private static final int SOCKET_COUNT = 4;
+
+    private static final int MESSAGES = 16;
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Mock
+    private ComponentLog log;
+
+    @Test
+    public void testSetSocketCountInvalid() {
+        final NettyEventServerFactory factory = getEventServerFactory(new LinkedBlockingQueue<>());
+
+        assertThrows(IllegalArgumentException.class, () -> factory.setSocketCount(0));
+    }
+
+    @Test
+    public void testGetEventServerUdpNioSocketCountFallback() throws Exception {
+        final BlockingQueue<ByteArrayMessage> messages = new LinkedBlockingQueue<>();
+        final NettyEventServerFactory factory = getEventServerFactory(messages);
+        factory.setChannelTransport(ChannelTransport.NIO);
+        factory.setSocketCount(SOCKET_COUNT);
+
+        assertMessagesReceived(factory, messages);
+    }
+
+    @Test
+    public void testGetEventServerUdpEpollSocketCount() throws Exception {
+        assumeTrue(Epoll.isAvailable(), "Native epoll transport not available");
+
+        final BlockingQueue<ByteArrayMessage> messages = new LinkedBlockingQueue<>();
+        final NettyEventServerFactory factory = getEventServerFactory(messages);
+        factory.setChannelTransport(ChannelTransport.EPOLL);
+        factory.setSocketCount(SOCKET_COUNT);
+
+        assertMessagesReceived(factory, messages);
+    }
+
+    private void assertMessagesReceived(final NettyEventServerFactory factory, final BlockingQueue<ByteArrayMessage> messages) throws IOException, InterruptedException {
+        final EventServer eventServer = factory.getEventServer();
+        try (final DatagramSocket socket = new DatagramSocket()) {
+            final int port = eventServer.getListeningPort();
+            for (int i = 0; i < MESSAGES; i++) {
+                socket.send(new DatagramPacket(MESSAGE, MESSAGE.length, ADDRESS, port));
+            }
+
+            for (int i = 0; i < MESSAGES; i++) {
+                final ByteArrayMessage message = messages.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                assertNotNull(message, "Message not received");
+                assertEquals(new String(MESSAGE, StandardCharsets.UTF_8), new String(message.getMessage(), StandardCharsets.UTF_8));
+            }
+
+            assertEquals(MESSAGES, eventServer.getDatagramsReceived());
+        } finally {
+            eventServer.shutdown();
+        }
+    }
+
+    private NettyEventServerFactory getEventServerFactory(final BlockingQueue<ByteArrayMessage> messages) {
+        final ByteArrayMessageNettyEventServerFactory factory = new ByteArrayMessageNettyEventServerFactory(log,
+                ADDRESS, 0, TransportProtocol.UDP, DELIMITER, MAX_FRAME_LENGTH, messages);
+        factory.setShutdownQuietPeriod(ShutdownQuietPeriod.QUICK.getDuration());
+        factory.setShutdownTimeout(ShutdownTimeout.QUICK.getDuration());
+        return factory;
+    }
+}
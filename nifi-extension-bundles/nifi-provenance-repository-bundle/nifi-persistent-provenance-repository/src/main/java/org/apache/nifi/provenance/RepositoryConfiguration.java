@@ -28,6 +28,7 @@ import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import org.apache.nifi.processor.DataUnit;
 import org.apache.nifi.provenance.search.SearchableField;
+import org.apache.nifi.provenance.serialization.BlockCodec;
 import org.apache.nifi.util.FormatUtils;
 import org.apache.nifi.util.NiFiProperties;
 import org.slf4j.Logger;
@@ -56,6 +57,10 @@ public class RepositoryConfiguration {
     private List<SearchableField> searchableFields = new ArrayList<>();
     private List<SearchableField> searchableAttributes = new ArrayList<>();
     private boolean compress = true;
+    private BlockCodec compressionCodec = BlockCodec.GZIP;
+    private boolean analyticsEnabled = false;
+    private long analyticsSegmentMillis = TimeUnit.HOURS.toMillis(1L);
+    private boolean lineageIndexEnabled = false;
     private boolean alwaysSync = false;
     private int queryThreadPoolSize = 2;
     private int indexThreadPoolSize = 1;
@@ -226,6 +231,66 @@ public class RepositoryConfiguration {
         this.compress = compress;
     }
 
+    /**
+     * @return the codec used to compress event files when they are rolled over
+     */
+    public BlockCodec getCompressionCodec() {
+        return compressionCodec;
+    }
+
+    /**
+     * @param compressionCodec the codec used to compress event files when they are rolled over
+     */
+    public void setCompressionCodec(final BlockCodec compressionCodec) {
+        this.compressionCodec = compressionCodec;
+    }
+
+    /**
+     * @return whether or not selected fields of each event are also written to the columnar analytics store,
+     * which answers aggregate queries without reading the event files
+     */
+    public boolean isAnalyticsEnabled() {
+        return analyticsEnabled;
+    }
+
+    /**
+     * @param analyticsEnabled whether or not to maintain the columnar analytics store
+     */
+    public void setAnalyticsEnabled(final boolean analyticsEnabled) {
+        this.analyticsEnabled = analyticsEnabled;
+    }
+
+    /**
+     * @param timeUnit the desired time unit
+     * @return the amount of time that each segment of the analytics store covers before a new segment is started
+     */
+    public long getAnalyticsSegmentDuration(final TimeUnit timeUnit) {
+        return timeUnit.convert(analyticsSegmentMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param duration the amount of time that each segment of the analytics store covers
+     * @param timeUnit the unit of the duration
+     */
+    public void setAnalyticsSegmentDuration(final long duration, final TimeUnit timeUnit) {
+        this.analyticsSegmentMillis = timeUnit.toMillis(duration);
+    }
+
+    /**
+     * @return whether or not the FlowFile UUIDs of each event are also written to the lineage index,
+     * which computes lineage without searching the Lucene index
+     */
+    public boolean isLineageIndexEnabled() {
+        return lineageIndexEnabled;
+    }
+
+    /**
+     * @param lineageIndexEnabled whether or not to maintain the lineage index
+     */
+    public void setLineageIndexEnabled(final boolean lineageIndexEnabled) {
+        this.lineageIndexEnabled = lineageIndexEnabled;
+    }
+
     /**
      * @return the number of threads to use to query the repo
      */
@@ -401,10 +466,16 @@ public class RepositoryConfiguration {
         final long rolloverMillis = FormatUtils.getTimeDuration(rolloverTime, TimeUnit.MILLISECONDS);
         final long rolloverBytes = DataUnit.parseDataSize(rolloverSize, DataUnit.B).longValue();
 
-        final boolean compressOnRollover = Boolean.parseBoolean(nifiProperties.getProperty(NiFiProperties.PROVENANCE_COMPRESS_ON_ROLLOVER));
+        final BlockCodec compressionCodec = BlockCodec.fromName(nifiProperties.getProperty(NiFiProperties.PROVENANCE_COMPRESSION_CODEC, BlockCodec.GZIP.name()));
+        // a codec of NONE is equivalent to disabling compression on rollover
+        final boolean compressOnRollover = Boolean.parseBoolean(nifiProperties.getProperty(NiFiProperties.PROVENANCE_COMPRESS_ON_ROLLOVER)) && compressionCodec.isCompressed();
         final String indexedFieldString = nifiProperties.getProperty(NiFiProperties.PROVENANCE_INDEXED_FIELDS);
         final String indexedAttrString = nifiProperties.getProperty(NiFiProperties.PROVENANCE_INDEXED_ATTRIBUTES);
 
+        final boolean analyticsEnabled = Boolean.parseBoolean(nifiProperties.getProperty(NiFiProperties.PROVENANCE_ANALYTICS_ENABLED, "false"));
+        final String analyticsSegmentDuration = nifiProperties.getProperty(NiFiProperties.PROVENANCE_ANALYTICS_SEGMENT_DURATION, "1 hour");
+        final boolean lineageIndexEnabled = Boolean.parseBoolean(nifiProperties.getProperty(NiFiProperties.PROVENANCE_LINEAGE_INDEX_ENABLED, "false"));
+
         final Boolean alwaysSync = Boolean.parseBoolean(nifiProperties.getProperty("nifi.provenance.repository.always.sync", "false"));
 
         final int defaultMaxAttrChars = 65536;
@@ -435,6 +506,10 @@ public class RepositoryConfiguration {
             config.addStorageDirectory(entry.getKey(), entry.getValue().toFile());
         }
         config.setCompressOnRollover(compressOnRollover);
+        config.setCompressionCodec(compressionCodec);
+        config.setAnalyticsEnabled(analyticsEnabled);
+        config.setAnalyticsSegmentDuration(FormatUtils.getTimeDuration(analyticsSegmentDuration.trim(), TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+        config.setLineageIndexEnabled(lineageIndexEnabled);
         config.setSearchableFields(searchableFields);
         config.setSearchableAttributes(searchableAttributes);
         config.setMaxEventFileCapacity(rolloverBytes);
@@ -22,6 +22,7 @@ import org.apache.nifi.authorization.RequestAction;
 import org.apache.nifi.authorization.resource.Authorizable;
 import org.apache.nifi.authorization.user.NiFiUser;
 import org.apache.nifi.events.EventReporter;
+import org.apache.nifi.provenance.analytics.ColumnarAnalyticsStore;
 import org.apache.nifi.provenance.authorization.EventAuthorizer;
 import org.apache.nifi.provenance.authorization.UserEventAuthorizer;
 import org.apache.nifi.provenance.index.EventIndex;
@@ -47,6 +48,7 @@ import org.apache.nifi.provenance.util.CloseableUtil;
 import org.apache.nifi.reporting.Severity;
 import org.apache.nifi.util.NiFiProperties;
 import org.apache.nifi.util.file.FileUtils;
+import org.apache.nifi.web.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,11 +56,13 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 
 
 /**
@@ -83,6 +87,11 @@ import java.util.Set;
  * </p>
  *
  * <p>
+ * Optionally, selected fields of each event are also written to a {@link ColumnarAnalyticsStore}, which answers aggregate
+ * queries, such as the number of bytes processed per component per minute, without searching the index or reading the events.
+ * </p>
+ *
+ * <p>
  * This Repositories supports the notion of 'partitions'. The repository can be configured to store data to one or more partitions. Each partition is typically
  * stored on a separate physical partition on disk. As a result, this allows striping of data across multiple partitions in order to achieve linear scalability
  * across disks for far greater performance.
@@ -98,6 +107,7 @@ public class WriteAheadProvenanceRepository implements ProvenanceRepository {
     // effectively final
     private EventStore eventStore;
     private EventIndex eventIndex;
+    private ColumnarAnalyticsStore analyticsStore;
     private EventReporter eventReporter;
     private Authorizer authorizer;
     private ProvenanceAuthorizableFactory resourceFactory;
@@ -156,6 +166,11 @@ public class WriteAheadProvenanceRepository implements ProvenanceRepository {
         eventStore.initialize();
         eventIndex.initialize(eventStore);
 
+        if (config.isAnalyticsEnabled()) {
+            analyticsStore = new ColumnarAnalyticsStore(config);
+            analyticsStore.initialize(eventStore);
+        }
+
         if (eventIndex.isReindexNecessary()) {
             try {
                 eventStore.reindexLatestEvents(eventIndex);
@@ -193,6 +208,10 @@ public class WriteAheadProvenanceRepository implements ProvenanceRepository {
         final Map<ProvenanceEventRecord, StorageSummary> locationMap = storageResult.getStorageLocations();
         if (!locationMap.isEmpty()) {
             eventIndex.addEvents(locationMap);
+
+            if (analyticsStore != null) {
+                analyticsStore.addEvents(locationMap);
+            }
         }
     }
 
@@ -213,7 +232,7 @@ public class WriteAheadProvenanceRepository implements ProvenanceRepository {
 
     @Override
     public void close() {
-        CloseableUtil.closeQuietly(eventStore, eventIndex);
+        CloseableUtil.closeQuietly(analyticsStore, eventStore, eventIndex);
     }
 
     @Override
@@ -227,6 +246,40 @@ public class WriteAheadProvenanceRepository implements ProvenanceRepository {
         return event;
     }
 
+    @Override
+    public boolean isAggregateQuerySupported() {
+        return analyticsStore != null;
+    }
+
+    @Override
+    public List<ProvenanceAggregate> aggregateEvents(final ProvenanceAggregateQuery query) throws IOException {
+        return aggregateEvents(query, null);
+    }
+
+    @Override
+    public List<ProvenanceAggregate> aggregateEvents(final ProvenanceAggregateQuery query, final NiFiUser user) throws IOException {
+        if (analyticsStore == null) {
+            logger.debug("Returning no aggregates for {} because the Provenance Analytics Store is not enabled via the {} property", query, NiFiProperties.PROVENANCE_ANALYTICS_ENABLED);
+            return Collections.emptyList();
+        }
+
+        final Predicate<String> componentFilter = (authorizer == null || user == null) ? null : createComponentAuthorizer(user);
+        return analyticsStore.aggregate(query, componentFilter);
+    }
+
+    private Predicate<String> createComponentAuthorizer(final NiFiUser user) {
+        // Many segments share the same components, so each component is authorized once per query
+        final Map<String, Boolean> authorizations = new HashMap<>();
+        return componentId -> authorizations.computeIfAbsent(componentId, id -> {
+            try {
+                final Authorizable authorizable = resourceFactory.createProvenanceDataAuthorizable(id);
+                return authorizable.isAuthorized(authorizer, RequestAction.READ, user);
+            } catch (final ResourceNotFoundException e) {
+                return false;
+            }
+        });
+    }
+
     private void authorize(final ProvenanceEventRecord event, final NiFiUser user) {
         if (authorizer == null || user == null) {
             return;
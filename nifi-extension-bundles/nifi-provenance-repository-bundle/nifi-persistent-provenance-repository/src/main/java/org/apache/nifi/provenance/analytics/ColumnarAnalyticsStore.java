@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.analytics;
+
+import org.apache.nifi.provenance.ProvenanceAggregate;
+import org.apache.nifi.provenance.ProvenanceAggregateQuery;
+import org.apache.nifi.provenance.RepositoryConfiguration;
+import org.apache.nifi.provenance.segment.AbstractSegmentStore;
+import org.apache.nifi.provenance.serialization.BlockCodec;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A secondary store that keeps selected fields of every Provenance Event (event time, event type, component id,
+ * component type and FlowFile size) in compressed, time-partitioned columnar {@link Segment segments}. Aggregate
+ * queries such as "bytes per component per minute" are answered from these columns directly, rather than searching
+ * the Lucene index and re-reading every matching event from the event files.
+ * </p>
+ *
+ * <p>
+ * Events are appended to an in-memory {@link SegmentBuilder} that is sealed and written to a {@link SegmentFile} once it
+ * covers the configured segment duration or holds {@value #MAX_SEGMENT_ROWS} rows.
+ * </p>
+ */
+public class ColumnarAnalyticsStore extends AbstractSegmentStore<Segment, SegmentColumns, SegmentBuilder> {
+    static final int MAX_SEGMENT_ROWS = 1_000_000;
+
+    private final BlockCodec codec;
+
+    public ColumnarAnalyticsStore(final RepositoryConfiguration config) {
+        this(new File(config.getStorageDirectories().values().iterator().next(), "analytics"),
+            config.isCompressOnRollover() ? config.getCompressionCodec() : BlockCodec.NONE,
+            config.getAnalyticsSegmentDuration(TimeUnit.MILLISECONDS), config.getMaxRecordLife(TimeUnit.MILLISECONDS));
+    }
+
+    ColumnarAnalyticsStore(final File directory, final BlockCodec codec, final long segmentMillis, final long maxEventAgeMillis) {
+        super("Provenance Analytics Store", directory, SegmentFile.EXTENSION, SegmentBuilder::new, MAX_SEGMENT_ROWS, segmentMillis, maxEventAgeMillis);
+        this.codec = codec;
+    }
+
+    @Override
+    protected Segment open(final File file) throws IOException {
+        return SegmentFile.open(file);
+    }
+
+    @Override
+    protected Segment write(final SegmentColumns sealed, final File file) throws IOException {
+        return SegmentFile.write(sealed, file, codec);
+    }
+
+    /**
+     * Computes the given aggregate query over all segments, including the events that have not yet been persisted
+     *
+     * @param query the query
+     * @param componentFilter determines whether the events of the component with a given identifier may be included, or <code>null</code> to include all components
+     * @return the aggregates
+     * @throws IOException if unable to read a segment
+     */
+    public List<ProvenanceAggregate> aggregate(final ProvenanceAggregateQuery query, final Predicate<String> componentFilter) throws IOException {
+        final List<Segment> segmentsToQuery;
+        final Supplier<SegmentColumns> activeSnapshot;
+        synchronized (this) {
+            segmentsToQuery = new ArrayList<>(getSegments());
+            final SegmentBuilder activeSegment = getActiveBuffer();
+            activeSnapshot = activeSegment.isEmpty() ? null : activeSegment.snapshot();
+        }
+
+        // Copy the columns of the active segment outside of the lock so that storing events is not blocked while they are copied
+        if (activeSnapshot != null) {
+            segmentsToQuery.add(activeSnapshot.get());
+        }
+
+        final SegmentAggregator aggregator = new SegmentAggregator(query, componentFilter);
+        for (final Segment segment : segmentsToQuery) {
+            aggregator.aggregate(segment);
+        }
+
+        return aggregator.getAggregates();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.analytics;
+
+import org.apache.nifi.provenance.segment.EventSegment;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * A time-partitioned set of Provenance Events, stored column by column so that an aggregate query
+ * only needs to decode the columns that it actually uses.
+ */
+public interface Segment extends EventSegment {
+
+    /**
+     * @return the number of events in the segment
+     */
+    int getRowCount();
+
+    /**
+     * Reads the given columns of the segment. Columns that are not requested may be omitted from the result.
+     *
+     * @param columns the columns to read
+     * @return the column data
+     * @throws IOException if unable to read the segment
+     */
+    SegmentColumns read(Set<Column> columns) throws IOException;
+}
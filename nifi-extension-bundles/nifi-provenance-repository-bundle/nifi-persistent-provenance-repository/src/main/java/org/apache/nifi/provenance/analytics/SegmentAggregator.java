@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.analytics;
+
+import org.apache.nifi.provenance.ProvenanceAggregate;
+import org.apache.nifi.provenance.ProvenanceAggregateDimension;
+import org.apache.nifi.provenance.ProvenanceAggregateQuery;
+import org.apache.nifi.provenance.ProvenanceEventType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Computes the aggregates of a {@link ProvenanceAggregateQuery} across one or more {@link Segment}s. Filters on
+ * dictionary encoded columns are evaluated once per dictionary entry rather than once per event.
+ */
+class SegmentAggregator {
+    private static final Comparator<ProvenanceAggregate> AGGREGATE_ORDER = Comparator.comparingLong(ProvenanceAggregate::getBucketStart)
+        .thenComparing(ProvenanceAggregate::getComponentId, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(ProvenanceAggregate::getComponentType, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(ProvenanceAggregate::getEventType, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final ProvenanceAggregateQuery query;
+    private final Predicate<String> componentFilter;
+    private final Set<Column> columns;
+    private final boolean groupByComponentId;
+    private final boolean groupByComponentType;
+    private final boolean groupByEventType;
+    private final boolean[] eventTypeIncluded;
+    private final Map<GroupKey, long[]> groups = new HashMap<>();
+
+    /**
+     * @param query the query to compute
+     * @param componentFilter determines whether events of the component with a given identifier may be included, or <code>null</code> to include all components
+     */
+    SegmentAggregator(final ProvenanceAggregateQuery query, final Predicate<String> componentFilter) {
+        this.query = query;
+        this.componentFilter = componentFilter;
+
+        final Set<ProvenanceAggregateDimension> groupBy = query.getGroupBy();
+        groupByComponentId = groupBy.contains(ProvenanceAggregateDimension.COMPONENT_ID);
+        groupByComponentType = groupBy.contains(ProvenanceAggregateDimension.COMPONENT_TYPE);
+        groupByEventType = groupBy.contains(ProvenanceAggregateDimension.EVENT_TYPE);
+
+        final ProvenanceEventType[] eventTypes = ProvenanceEventType.values();
+        eventTypeIncluded = new boolean[eventTypes.length];
+        for (final ProvenanceEventType eventType : eventTypes) {
+            eventTypeIncluded[eventType.ordinal()] = query.getEventTypes().isEmpty() || query.getEventTypes().contains(eventType);
+        }
+
+        columns = EnumSet.of(Column.EVENT_TIME, Column.FILE_SIZE);
+        if (groupByEventType || !query.getEventTypes().isEmpty()) {
+            columns.add(Column.EVENT_TYPE);
+        }
+        if (groupByComponentId || !query.getComponentIds().isEmpty() || componentFilter != null) {
+            columns.add(Column.COMPONENT_ID);
+        }
+        if (groupByComponentType) {
+            columns.add(Column.COMPONENT_TYPE);
+        }
+    }
+
+    /**
+     * Adds the events of the given segment that match the query to the aggregates. Segments whose time range does not
+     * overlap the query are skipped without being read.
+     *
+     * @param segment the segment to aggregate
+     * @throws IOException if unable to read the segment
+     */
+    void aggregate(final Segment segment) throws IOException {
+        if (segment.getRowCount() == 0 || segment.getMaxEventTime() < query.getStartTime() || segment.getMinEventTime() >= query.getEndTime()) {
+            return;
+        }
+
+        final SegmentColumns data = segment.read(columns);
+        final boolean[] componentIncluded = getIncludedComponents(data.getComponentIds());
+        if (componentIncluded != null && !contains(componentIncluded, true)) {
+            return;
+        }
+
+        final long[] eventTimes = data.getEventTimes();
+        final long[] fileSizes = data.getFileSizes();
+        final byte[] eventTypes = data.getEventTypes();
+        final int[] componentIdIndices = data.getComponentIdIndices();
+        final int[] componentTypeIndices = data.getComponentTypeIndices();
+        final ProvenanceEventType[] eventTypeValues = ProvenanceEventType.values();
+
+        for (int row = 0; row < data.getRowCount(); row++) {
+            final long eventTime = eventTimes[row];
+            if (eventTime < query.getStartTime() || eventTime >= query.getEndTime()) {
+                continue;
+            }
+            if (componentIncluded != null && !componentIncluded[componentIdIndices[row]]) {
+                continue;
+            }
+
+            ProvenanceEventType eventType = null;
+            if (eventTypes != null) {
+                final int ordinal = eventTypes[row];
+                if (ordinal < 0 || !eventTypeIncluded[ordinal]) {
+                    continue;
+                }
+                eventType = eventTypeValues[ordinal];
+            }
+
+            final GroupKey key = new GroupKey(query.getBucketStart(eventTime),
+                groupByComponentId ? data.getComponentIds()[componentIdIndices[row]] : null,
+                groupByComponentType ? data.getComponentTypes()[componentTypeIndices[row]] : null,
+                groupByEventType ? eventType : null);
+
+            final long[] totals = groups.computeIfAbsent(key, k -> new long[2]);
+            totals[0]++;
+            totals[1] += fileSizes[row];
+        }
+    }
+
+    private boolean[] getIncludedComponents(final String[] componentIds) {
+        if (componentFilter == null && query.getComponentIds().isEmpty()) {
+            return null;
+        }
+
+        final boolean[] included = new boolean[componentIds.length];
+        for (int i = 0; i < componentIds.length; i++) {
+            final String componentId = componentIds[i];
+            included[i] = (query.getComponentIds().isEmpty() || query.getComponentIds().contains(componentId))
+                && (componentFilter == null || componentFilter.test(componentId));
+        }
+        return included;
+    }
+
+    private static boolean contains(final boolean[] values, final boolean value) {
+        for (final boolean candidate : values) {
+            if (candidate == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the aggregates computed so far, ordered by bucket start time and then by the grouped dimensions
+     */
+    List<ProvenanceAggregate> getAggregates() {
+        final List<ProvenanceAggregate> aggregates = new ArrayList<>(groups.size());
+        for (final Map.Entry<GroupKey, long[]> entry : groups.entrySet()) {
+            final GroupKey key = entry.getKey();
+            final long[] totals = entry.getValue();
+            aggregates.add(new ProvenanceAggregate(key.bucketStart(), key.componentId(), key.componentType(), key.eventType(), totals[0], totals[1]));
+        }
+
+        aggregates.sort(AGGREGATE_ORDER);
+        return aggregates;
+    }
+
+    private record GroupKey(long bucketStart, String componentId, String componentType, ProvenanceEventType eventType) {
+    }
+}
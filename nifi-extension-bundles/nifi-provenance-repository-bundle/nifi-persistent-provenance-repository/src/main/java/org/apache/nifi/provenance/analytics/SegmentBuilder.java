@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.analytics;
+
+import org.apache.nifi.provenance.ProvenanceEventRecord;
+import org.apache.nifi.provenance.segment.SegmentBuffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Accumulates the columns of Provenance Events in memory until they are sealed into a {@link SegmentColumns}.
+ * This class is not thread-safe.
+ */
+public class SegmentBuilder implements SegmentBuffer<SegmentColumns> {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final long createdTimestamp = System.currentTimeMillis();
+    private final Map<String, Integer> componentIdLookup = new HashMap<>();
+    private final List<String> componentIds = new ArrayList<>();
+    private final Map<String, Integer> componentTypeLookup = new HashMap<>();
+    private final List<String> componentTypes = new ArrayList<>();
+
+    private long[] eventTimes = new long[INITIAL_CAPACITY];
+    private byte[] eventTypes = new byte[INITIAL_CAPACITY];
+    private int[] componentIdIndices = new int[INITIAL_CAPACITY];
+    private int[] componentTypeIndices = new int[INITIAL_CAPACITY];
+    private long[] fileSizes = new long[INITIAL_CAPACITY];
+
+    private int rowCount = 0;
+    private long minEventTime = Long.MAX_VALUE;
+    private long maxEventTime = Long.MIN_VALUE;
+    private long minEventId = Long.MAX_VALUE;
+    private long maxEventId = Long.MIN_VALUE;
+
+    @Override
+    public void addEvent(final ProvenanceEventRecord event, final long eventId) {
+        if (rowCount == eventTimes.length) {
+            final int capacity = rowCount * 2;
+            eventTimes = Arrays.copyOf(eventTimes, capacity);
+            eventTypes = Arrays.copyOf(eventTypes, capacity);
+            componentIdIndices = Arrays.copyOf(componentIdIndices, capacity);
+            componentTypeIndices = Arrays.copyOf(componentTypeIndices, capacity);
+            fileSizes = Arrays.copyOf(fileSizes, capacity);
+        }
+
+        final long eventTime = event.getEventTime();
+        eventTimes[rowCount] = eventTime;
+        eventTypes[rowCount] = (byte) event.getEventType().ordinal();
+        componentIdIndices[rowCount] = lookup(event.getComponentId(), componentIdLookup, componentIds);
+        componentTypeIndices[rowCount] = lookup(event.getComponentType(), componentTypeLookup, componentTypes);
+        fileSizes[rowCount] = event.getFileSize();
+        rowCount++;
+
+        minEventTime = Math.min(minEventTime, eventTime);
+        maxEventTime = Math.max(maxEventTime, eventTime);
+        minEventId = Math.min(minEventId, eventId);
+        maxEventId = Math.max(maxEventId, eventId);
+    }
+
+    private static int lookup(final String value, final Map<String, Integer> lookup, final List<String> dictionary) {
+        final String key = value == null ? "" : value;
+        return lookup.computeIfAbsent(key, k -> {
+            dictionary.add(k);
+            return dictionary.size() - 1;
+        });
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getSize() {
+        return rowCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    @Override
+    public long getCreatedTimestamp() {
+        return createdTimestamp;
+    }
+
+    /**
+     * @return a copy of the columns accumulated so far, unaffected by events that are added afterward
+     */
+    public SegmentColumns toColumns() {
+        return snapshot().get();
+    }
+
+    /**
+     * Captures the current state of the columns without copying them. Rows that have already been written are never modified,
+     * and the column arrays are replaced rather than modified when they grow, so the returned supplier may create the copy of
+     * the columns after the caller has released the lock that guards this builder, unaffected by events that are added afterward.
+     * Only the dictionaries, which are bounded by the number of distinct components, are copied immediately.
+     *
+     * @return a supplier of the columns accumulated so far
+     */
+    public Supplier<SegmentColumns> snapshot() {
+        final int rows = rowCount;
+        final long minTime = minEventTime;
+        final long maxTime = maxEventTime;
+        final long minId = minEventId;
+        final long maxId = maxEventId;
+        final String[] ids = componentIds.toArray(new String[0]);
+        final String[] types = componentTypes.toArray(new String[0]);
+        final long[] times = eventTimes;
+        final byte[] typeOrdinals = eventTypes;
+        final int[] idIndices = componentIdIndices;
+        final int[] typeIndices = componentTypeIndices;
+        final long[] sizes = fileSizes;
+
+        return () -> new SegmentColumns(rows, minTime, maxTime, minId, maxId, ids, types,
+            Arrays.copyOf(times, rows), Arrays.copyOf(typeOrdinals, rows), Arrays.copyOf(idIndices, rows),
+            Arrays.copyOf(typeIndices, rows), Arrays.copyOf(sizes, rows));
+    }
+
+    @Override
+    public SegmentColumns seal() {
+        return toColumns();
+    }
+}
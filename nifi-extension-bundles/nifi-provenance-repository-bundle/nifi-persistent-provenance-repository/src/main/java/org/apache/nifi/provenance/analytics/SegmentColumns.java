@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.analytics;
+
+import java.util.Set;
+
+/**
+ * The column data of a {@link Segment}, held in memory. Arrays of columns that were not read are <code>null</code>.
+ * Component Identifiers and Component Types are dictionary encoded: the corresponding columns hold indices into
+ * the dictionaries.
+ */
+public final class SegmentColumns implements Segment {
+    private final int rowCount;
+    private final long minEventTime;
+    private final long maxEventTime;
+    private final long minEventId;
+    private final long maxEventId;
+    private final String[] componentIds;
+    private final String[] componentTypes;
+    private final long[] eventTimes;
+    private final byte[] eventTypes;
+    private final int[] componentIdIndices;
+    private final int[] componentTypeIndices;
+    private final long[] fileSizes;
+
+    SegmentColumns(final int rowCount, final long minEventTime, final long maxEventTime, final long minEventId, final long maxEventId,
+                   final String[] componentIds, final String[] componentTypes, final long[] eventTimes, final byte[] eventTypes,
+                   final int[] componentIdIndices, final int[] componentTypeIndices, final long[] fileSizes) {
+        this.rowCount = rowCount;
+        this.minEventTime = minEventTime;
+        this.maxEventTime = maxEventTime;
+        this.minEventId = minEventId;
+        this.maxEventId = maxEventId;
+        this.componentIds = componentIds;
+        this.componentTypes = componentTypes;
+        this.eventTimes = eventTimes;
+        this.eventTypes = eventTypes;
+        this.componentIdIndices = componentIdIndices;
+        this.componentTypeIndices = componentTypeIndices;
+        this.fileSizes = fileSizes;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public long getMinEventTime() {
+        return minEventTime;
+    }
+
+    @Override
+    public long getMaxEventTime() {
+        return maxEventTime;
+    }
+
+    @Override
+    public long getMinEventId() {
+        return minEventId;
+    }
+
+    @Override
+    public long getMaxEventId() {
+        return maxEventId;
+    }
+
+    @Override
+    public SegmentColumns read(final Set<Column> columns) {
+        return this;
+    }
+
+    public String[] getComponentIds() {
+        return componentIds;
+    }
+
+    public String[] getComponentTypes() {
+        return componentTypes;
+    }
+
+    public long[] getEventTimes() {
+        return eventTimes;
+    }
+
+    public byte[] getEventTypes() {
+        return eventTypes;
+    }
+
+    public int[] getComponentIdIndices() {
+        return componentIdIndices;
+    }
+
+    public int[] getComponentTypeIndices() {
+        return componentTypeIndices;
+    }
+
+    public long[] getFileSizes() {
+        return fileSizes;
+    }
+
+    @Override
+    public String toString() {
+        return "SegmentColumns[rows=" + rowCount + ", eventIds=" + minEventId + "-" + maxEventId + "]";
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.analytics;
+
+import static org.apache.nifi.provenance.util.VarLongs.readVarLong;
+import static org.apache.nifi.provenance.util.VarLongs.unZigZag;
+import static org.apache.nifi.provenance.util.VarLongs.writeVarLong;
+import static org.apache.nifi.provenance.util.VarLongs.zigZag;
+
+import org.apache.nifi.provenance.ProvenanceEventType;
+import org.apache.nifi.provenance.segment.PersistedSegment;
+import org.apache.nifi.provenance.serialization.BlockCodec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+
+/**
+ * <p>
+ * A {@link Segment} that has been persisted to disk. Only the header of the file is held in memory; columns are
+ * read and decompressed on demand, and columns that a query does not need are skipped without being decompressed.
+ * </p>
+ *
+ * <p>
+ * Format of a segment file:
+ * </p>
+ * <pre>
+ * int: magic header
+ * int: format version
+ * byte: {@link BlockCodec} TOC flag used to compress the columns
+ * int: row count
+ * long: min event time, max event time, min event id, max event id
+ * int + UTF strings: names of the event types, indexed by the values of the EVENT_TYPE column
+ * int + UTF strings: component id dictionary
+ * int + UTF strings: component type dictionary
+ * int: number of columns, then for each column: byte column ordinal, int length, compressed column bytes
+ * </pre>
+ */
+public class SegmentFile implements Segment, PersistedSegment {
+    static final String EXTENSION = ".segment";
+
+    private static final int MAGIC_HEADER = 0x4E504153;
+    private static final int VERSION = 1;
+
+    private final File file;
+    private final BlockCodec codec;
+    private final int rowCount;
+    private final long minEventTime;
+    private final long maxEventTime;
+    private final long minEventId;
+    private final long maxEventId;
+
+    private SegmentFile(final File file, final BlockCodec codec, final int rowCount, final long minEventTime, final long maxEventTime,
+                        final long minEventId, final long maxEventId) {
+        this.file = file;
+        this.codec = codec;
+        this.rowCount = rowCount;
+        this.minEventTime = minEventTime;
+        this.maxEventTime = maxEventTime;
+        this.minEventId = minEventId;
+        this.maxEventId = maxEventId;
+    }
+
+    @Override
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public long getMinEventTime() {
+        return minEventTime;
+    }
+
+    @Override
+    public long getMaxEventTime() {
+        return maxEventTime;
+    }
+
+    @Override
+    public long getMinEventId() {
+        return minEventId;
+    }
+
+    @Override
+    public long getMaxEventId() {
+        return maxEventId;
+    }
+
+    /**
+     * Opens the segment file, reading only its header
+     *
+     * @param file the file to open
+     * @return the segment file
+     * @throws IOException if the file cannot be read or is not a segment file
+     */
+    public static SegmentFile open(final File file) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return readHeader(file, in);
+        }
+    }
+
+    private static SegmentFile readHeader(final File file, final DataInputStream in) throws IOException {
+        final int magic = in.readInt();
+        if (magic != MAGIC_HEADER) {
+            throw new IOException("File " + file + " is not a Provenance Analytics Segment");
+        }
+
+        final int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Provenance Analytics Segment " + file + " has unsupported version " + version);
+        }
+
+        final int codecFlag = in.readByte();
+        final BlockCodec codec = BlockCodec.fromTocFlag(codecFlag);
+        if (codec == null) {
+            throw new IOException("Provenance Analytics Segment " + file + " has unknown codec " + codecFlag);
+        }
+
+        return new SegmentFile(file, codec, in.readInt(), in.readLong(), in.readLong(), in.readLong(), in.readLong());
+    }
+
+    @Override
+    public SegmentColumns read(final Set<Column> columns) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            readHeader(file, in);
+
+            final String[] eventTypeNames = readStrings(in);
+            final String[] componentIds = readStrings(in);
+            final String[] componentTypes = readStrings(in);
+
+            long[] eventTimes = null;
+            byte[] eventTypes = null;
+            int[] componentIdIndices = null;
+            int[] componentTypeIndices = null;
+            long[] fileSizes = null;
+
+            final int columnCount = in.readInt();
+            for (int i = 0; i < columnCount; i++) {
+                final Column column = Column.values()[in.readByte()];
+                final int length = in.readInt();
+                if (!columns.contains(column)) {
+                    in.skipNBytes(length);
+                    continue;
+                }
+
+                final byte[] compressed = new byte[length];
+                in.readFully(compressed);
+
+                try (final InputStream decompressed = codec.decompress(new ByteArrayInputStream(compressed));
+                     final DataInputStream columnIn = new DataInputStream(new BufferedInputStream(decompressed))) {
+                    switch (column) {
+                        case EVENT_TIME -> eventTimes = readEventTimes(columnIn);
+                        case EVENT_TYPE -> eventTypes = readEventTypes(columnIn, eventTypeNames);
+                        case COMPONENT_ID -> componentIdIndices = readInts(columnIn);
+                        case COMPONENT_TYPE -> componentTypeIndices = readInts(columnIn);
+                        case FILE_SIZE -> fileSizes = readLongs(columnIn);
+                    }
+                }
+            }
+
+            return new SegmentColumns(rowCount, minEventTime, maxEventTime, minEventId, maxEventId, componentIds, componentTypes,
+                eventTimes, eventTypes, componentIdIndices, componentTypeIndices, fileSizes);
+        }
+    }
+
+    /**
+     * Writes the given columns to the given file. The data is written to a temporary file first and then renamed,
+     * so that a partially written segment is never mistaken for a complete one.
+     *
+     * @param columns the columns to write
+     * @param file the file to write to
+     * @param codec the codec to compress each column with
+     * @return the written segment file
+     * @throws IOException if unable to write the file
+     */
+    public static SegmentFile write(final SegmentColumns columns, final File file, final BlockCodec codec) throws IOException {
+        final File tmpFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (final FileOutputStream fos = new FileOutputStream(tmpFile);
+             final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            out.writeInt(MAGIC_HEADER);
+            out.writeInt(VERSION);
+            out.writeByte(codec.getTocFlag());
+            out.writeInt(columns.getRowCount());
+            out.writeLong(columns.getMinEventTime());
+            out.writeLong(columns.getMaxEventTime());
+            out.writeLong(columns.getMinEventId());
+            out.writeLong(columns.getMaxEventId());
+
+            final ProvenanceEventType[] eventTypes = ProvenanceEventType.values();
+            out.writeInt(eventTypes.length);
+            for (final ProvenanceEventType eventType : eventTypes) {
+                out.writeUTF(eventType.name());
+            }
+            writeStrings(out, columns.getComponentIds());
+            writeStrings(out, columns.getComponentTypes());
+
+            final Column[] allColumns = Column.values();
+            out.writeInt(allColumns.length);
+            for (final Column column : allColumns) {
+                final byte[] compressed = compress(columns, column, codec);
+                out.writeByte(column.ordinal());
+                out.writeInt(compressed.length);
+                out.write(compressed);
+            }
+
+            out.flush();
+            fos.getFD().sync();
+        }
+
+        Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new SegmentFile(file, codec, columns.getRowCount(), columns.getMinEventTime(), columns.getMaxEventTime(),
+            columns.getMinEventId(), columns.getMaxEventId());
+    }
+
+    private static byte[] compress(final SegmentColumns columns, final Column column, final BlockCodec codec) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(codec.compress(baos)))) {
+            switch (column) {
+                case EVENT_TIME -> {
+                    // Events are appended in roughly chronological order, so the deltas between consecutive times are small
+                    long previous = columns.getMinEventTime();
+                    for (final long eventTime : columns.getEventTimes()) {
+                        writeVarLong(out, zigZag(eventTime - previous));
+                        previous = eventTime;
+                    }
+                }
+                case EVENT_TYPE -> out.write(columns.getEventTypes());
+                case COMPONENT_ID -> {
+                    for (final int index : columns.getComponentIdIndices()) {
+                        writeVarLong(out, index);
+                    }
+                }
+                case COMPONENT_TYPE -> {
+                    for (final int index : columns.getComponentTypeIndices()) {
+                        writeVarLong(out, index);
+                    }
+                }
+                case FILE_SIZE -> {
+                    for (final long fileSize : columns.getFileSizes()) {
+                        writeVarLong(out, Math.max(0L, fileSize));
+                    }
+                }
+            }
+        }
+
+        return baos.toByteArray();
+    }
+
+    private long[] readEventTimes(final DataInput in) throws IOException {
+        final long[] eventTimes = new long[rowCount];
+        long previous = minEventTime;
+        for (int i = 0; i < rowCount; i++) {
+            previous += unZigZag(readVarLong(in));
+            eventTimes[i] = previous;
+        }
+        return eventTimes;
+    }
+
+    private byte[] readEventTypes(final DataInput in, final String[] eventTypeNames) throws IOException {
+        // Map the ordinals that were written to the ordinals of this version of ProvenanceEventType, in case the enum has changed.
+        final byte[] ordinalMapping = new byte[eventTypeNames.length];
+        for (int i = 0; i < eventTypeNames.length; i++) {
+            byte mapped = -1;
+            for (final ProvenanceEventType eventType : ProvenanceEventType.values()) {
+                if (eventType.name().equals(eventTypeNames[i])) {
+                    mapped = (byte) eventType.ordinal();
+                    break;
+                }
+            }
+            ordinalMapping[i] = mapped;
+        }
+
+        final byte[] eventTypes = new byte[rowCount];
+        in.readFully(eventTypes);
+        for (int i = 0; i < rowCount; i++) {
+            eventTypes[i] = ordinalMapping[eventTypes[i]];
+        }
+        return eventTypes;
+    }
+
+    private int[] readInts(final DataInput in) throws IOException {
+        final int[] values = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            values[i] = (int) readVarLong(in);
+        }
+        return values;
+    }
+
+    private long[] readLongs(final DataInput in) throws IOException {
+        final long[] values = new long[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            values[i] = readVarLong(in);
+        }
+        return values;
+    }
+
+    private static void writeStrings(final DataOutput out, final String[] values) throws IOException {
+        out.writeInt(values.length);
+        for (final String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String[] readStrings(final DataInput in) throws IOException {
+        final String[] values = new String[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readUTF();
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "SegmentFile[file=" + file + ", rows=" + rowCount + ", eventIds=" + minEventId + "-" + maxEventId + "]";
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.index.lineage;
+
+import org.apache.nifi.provenance.ProvenanceEventRecord;
+import org.apache.nifi.provenance.segment.SegmentBuffer;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * An in-memory {@link LineageSegment} that edges are appended to as events are stored. Each edge takes 24 bytes: the
+ * two halves of the FlowFile key and the Event ID. This class is not thread-safe; once a buffer is no longer appended
+ * to, it may be read concurrently.
+ */
+class EdgeBuffer implements LineageSegment, SegmentBuffer<EdgeBuffer> {
+    private static final int INITIAL_CAPACITY = 4096;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final long createdTimestamp = System.currentTimeMillis();
+
+    private long[] mostSignificantBits;
+    private long[] leastSignificantBits;
+    private long[] eventIds;
+    private int edgeCount = 0;
+    private int eventCount = 0;
+    private long minEventId = Long.MAX_VALUE;
+    private long maxEventId = -1L;
+    private long minEventTime = Long.MAX_VALUE;
+    private long maxEventTime = -1L;
+
+    EdgeBuffer() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private EdgeBuffer(final int capacity) {
+        mostSignificantBits = new long[capacity];
+        leastSignificantBits = new long[capacity];
+        eventIds = new long[capacity];
+    }
+
+    @Override
+    public void addEvent(final ProvenanceEventRecord event, final long eventId) {
+        for (final String flowFileUuid : LineageKeys.getFlowFileUuids(event)) {
+            final UUID key = LineageKeys.toKey(flowFileUuid);
+            addEdge(key.getMostSignificantBits(), key.getLeastSignificantBits(), eventId);
+        }
+
+        eventCount++;
+        minEventId = Math.min(minEventId, eventId);
+        maxEventId = Math.max(maxEventId, eventId);
+        minEventTime = Math.min(minEventTime, event.getEventTime());
+        maxEventTime = Math.max(maxEventTime, event.getEventTime());
+    }
+
+    private void addEdge(final long msb, final long lsb, final long eventId) {
+        if (edgeCount == eventIds.length) {
+            final int capacity = eventIds.length * 2;
+            mostSignificantBits = Arrays.copyOf(mostSignificantBits, capacity);
+            leastSignificantBits = Arrays.copyOf(leastSignificantBits, capacity);
+            eventIds = Arrays.copyOf(eventIds, capacity);
+        }
+
+        mostSignificantBits[edgeCount] = msb;
+        leastSignificantBits[edgeCount] = lsb;
+        eventIds[edgeCount] = eventId;
+        edgeCount++;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return eventCount == 0;
+    }
+
+    int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int getSize() {
+        return edgeCount;
+    }
+
+    @Override
+    public long getCreatedTimestamp() {
+        return createdTimestamp;
+    }
+
+    /**
+     * @return this buffer, which must no longer be appended to
+     */
+    @Override
+    public EdgeBuffer seal() {
+        return this;
+    }
+
+    long getMostSignificantBits(final int index) {
+        return mostSignificantBits[index];
+    }
+
+    long getLeastSignificantBits(final int index) {
+        return leastSignificantBits[index];
+    }
+
+    long getEventId(final int index) {
+        return eventIds[index];
+    }
+
+    @Override
+    public long getMinEventId() {
+        return minEventId;
+    }
+
+    @Override
+    public long getMaxEventId() {
+        return maxEventId;
+    }
+
+    @Override
+    public long getMinEventTime() {
+        return minEventTime;
+    }
+
+    @Override
+    public long getMaxEventTime() {
+        return maxEventTime;
+    }
+
+    @Override
+    public void findEventIds(final SortedKeys keys, final Set<Long> eventIds) {
+        for (int i = 0; i < edgeCount; i++) {
+            if (keys.contains(mostSignificantBits[i], leastSignificantBits[i])) {
+                eventIds.add(this.eventIds[i]);
+            }
+        }
+    }
+
+    /**
+     * @return a copy of this buffer whose edges are sorted by key and then by Event ID
+     */
+    EdgeBuffer sortedCopy() {
+        final EdgeBuffer copy = new EdgeBuffer(Math.max(1, edgeCount));
+        System.arraycopy(mostSignificantBits, 0, copy.mostSignificantBits, 0, edgeCount);
+        System.arraycopy(leastSignificantBits, 0, copy.leastSignificantBits, 0, edgeCount);
+        System.arraycopy(eventIds, 0, copy.eventIds, 0, edgeCount);
+        copy.edgeCount = edgeCount;
+        copy.eventCount = eventCount;
+        copy.minEventId = minEventId;
+        copy.maxEventId = maxEventId;
+        copy.minEventTime = minEventTime;
+        copy.maxEventTime = maxEventTime;
+
+        copy.sort(0, edgeCount - 1);
+        return copy;
+    }
+
+    private int compare(final int a, final int b) {
+        final int comparison = SortedKeys.compare(mostSignificantBits[a], leastSignificantBits[a], mostSignificantBits[b], leastSignificantBits[b]);
+        return comparison == 0 ? Long.compare(eventIds[a], eventIds[b]) : comparison;
+    }
+
+    private void swap(final int a, final int b) {
+        final long msb = mostSignificantBits[a];
+        mostSignificantBits[a] = mostSignificantBits[b];
+        mostSignificantBits[b] = msb;
+
+        final long lsb = leastSignificantBits[a];
+        leastSignificantBits[a] = leastSignificantBits[b];
+        leastSignificantBits[b] = lsb;
+
+        final long eventId = eventIds[a];
+        eventIds[a] = eventIds[b];
+        eventIds[b] = eventId;
+    }
+
+    // Quicksort of the three parallel arrays, recursing into the smaller partition so that the stack depth stays logarithmic
+    private void sort(final int fromIndex, final int toIndex) {
+        int low = fromIndex;
+        int high = toIndex;
+
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            final int middle = (low + high) >>> 1;
+            if (compare(middle, low) < 0) {
+                swap(middle, low);
+            }
+            if (compare(high, low) < 0) {
+                swap(high, low);
+            }
+            if (compare(high, middle) < 0) {
+                swap(high, middle);
+            }
+
+            // The median of the three is now at middle; move it out of the way while partitioning
+            swap(middle, high - 1);
+            final int pivot = high - 1;
+            int i = low;
+            int j = high - 1;
+            while (true) {
+                do {
+                    i++;
+                } while (compare(i, pivot) < 0);
+                do {
+                    j--;
+                } while (compare(j, pivot) > 0);
+                if (i >= j) {
+                    break;
+                }
+                swap(i, j);
+            }
+            swap(i, high - 1);
+
+            if (i - low < high - i) {
+                sort(low, i - 1);
+                low = i + 1;
+            } else {
+                sort(i + 1, high);
+                high = i - 1;
+            }
+        }
+
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compare(j, j - 1) < 0; j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EdgeBuffer[events=" + eventCount + ", edges=" + edgeCount + ", eventIds=" + minEventId + "-" + maxEventId + "]";
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.index.lineage;
+
+import org.apache.nifi.provenance.RepositoryConfiguration;
+import org.apache.nifi.provenance.segment.AbstractSegmentStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * An index from FlowFile UUIDs to the IDs of the Provenance Events that make up the lineage of each FlowFile: the events
+ * for the FlowFile itself, and the FORK, CLONE, REPLAY, JOIN and RECEIVE events that name it as a child, parent or source
+ * FlowFile. This is the same set of events that the Lucene index returns for a lineage query, but it is maintained as
+ * events are stored, so computing lineage or expanding parents or children is a lookup of sorted keys in a few local
+ * files rather than a search of every Lucene index that covers the lineage.
+ * </p>
+ *
+ * <p>
+ * Edges are appended to an in-memory buffer that is sealed and written to a {@link LineageIndexFile} once it covers an
+ * hour of events or holds {@value #MAX_SEGMENT_EDGES} edges. Until any events that are missing from the persisted files
+ * have been restored from the Event Store, the index reports that it is not {@link #isReady() ready} so that lineage
+ * continues to be computed from Lucene.
+ * </p>
+ */
+public class LineageIndex extends AbstractSegmentStore<LineageSegment, EdgeBuffer, EdgeBuffer> {
+    static final int MAX_SEGMENT_EDGES = 2_000_000;
+    private static final long SEGMENT_MILLIS = TimeUnit.HOURS.toMillis(1L);
+
+    public LineageIndex(final RepositoryConfiguration config) {
+        this(new File(config.getStorageDirectories().values().iterator().next(), "lineage"), SEGMENT_MILLIS, config.getMaxRecordLife(TimeUnit.MILLISECONDS));
+    }
+
+    LineageIndex(final File directory, final long segmentMillis, final long maxEventAgeMillis) {
+        super("Provenance Lineage Index", directory, LineageIndexFile.EXTENSION, EdgeBuffer::new, MAX_SEGMENT_EDGES, segmentMillis, maxEventAgeMillis);
+    }
+
+    @Override
+    protected LineageSegment open(final File file) throws IOException {
+        return LineageIndexFile.open(file);
+    }
+
+    @Override
+    protected LineageSegment write(final EdgeBuffer sealed, final File file) throws IOException {
+        return LineageIndexFile.write(sealed, file);
+    }
+
+    /**
+     * Finds the IDs of all events in the lineage of any of the given FlowFiles, considering only the parts of the index
+     * that hold events within the given time range
+     *
+     * @param flowFileUuids the UUIDs of the FlowFiles
+     * @param startTimestamp the earliest event time of interest
+     * @param endTimestamp the latest event time of interest
+     * @return the Event IDs, in ascending order
+     * @throws IOException if unable to read a lineage index file
+     */
+    public NavigableSet<Long> findEventIds(final Collection<String> flowFileUuids, final long startTimestamp, final long endTimestamp) throws IOException {
+        final NavigableSet<Long> eventIds = new TreeSet<>();
+        if (flowFileUuids == null || flowFileUuids.isEmpty()) {
+            return eventIds;
+        }
+
+        final SortedKeys keys = new SortedKeys(flowFileUuids);
+        final List<LineageSegment> segmentsToSearch;
+        synchronized (this) {
+            segmentsToSearch = getSegments();
+            final EdgeBuffer activeBuffer = getActiveBuffer();
+            if (overlaps(activeBuffer, startTimestamp, endTimestamp)) {
+                activeBuffer.findEventIds(keys, eventIds);
+            }
+        }
+
+        for (final LineageSegment segment : segmentsToSearch) {
+            if (overlaps(segment, startTimestamp, endTimestamp)) {
+                segment.findEventIds(keys, eventIds);
+            }
+        }
+
+        return eventIds;
+    }
+
+    private static boolean overlaps(final LineageSegment segment, final long startTimestamp, final long endTimestamp) {
+        return segment.getMaxEventTime() >= startTimestamp && segment.getMinEventTime() <= endTimestamp;
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.index.lineage;
+
+import static org.apache.nifi.provenance.util.VarLongs.readVarLong;
+import static org.apache.nifi.provenance.util.VarLongs.writeVarLong;
+
+import org.apache.nifi.provenance.segment.PersistedSegment;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+/**
+ * <p>
+ * A {@link LineageSegment} that has been persisted to disk. Keys are sorted, so the Event IDs for a FlowFile are found
+ * with a binary search. Only a sparse index holding the first key of every block of {@value #KEYS_PER_BLOCK} keys is
+ * held in memory; a lookup reads one block of the key table and then the postings of the key.
+ * </p>
+ *
+ * <p>
+ * Format of a lineage index file:
+ * </p>
+ * <pre>
+ * int: magic header
+ * int: format version
+ * long: min event id, max event id, min event time, max event time
+ * int: key count
+ * sparse index: for every block of keys, the long most significant bits and long least significant bits of its first key
+ * key table: for each key, long most significant bits, long least significant bits, long file offset of its postings
+ * postings: for each key, var-long event count, then var-long event ids, each after the first as a delta from the previous
+ * </pre>
+ */
+class LineageIndexFile implements LineageSegment, PersistedSegment {
+    static final String EXTENSION = ".lineage";
+    static final int KEYS_PER_BLOCK = 256;
+
+    private static final int MAGIC_HEADER = 0x4E504C49;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 4 + 4 + 8 * 4 + 4;
+    private static final int KEY_ENTRY_LENGTH = 24;
+
+    private final File file;
+    private final long minEventId;
+    private final long maxEventId;
+    private final long minEventTime;
+    private final long maxEventTime;
+    private final int keyCount;
+    private final long[] blockMostSignificantBits;
+    private final long[] blockLeastSignificantBits;
+
+    private LineageIndexFile(final File file, final long minEventId, final long maxEventId, final long minEventTime, final long maxEventTime,
+                             final int keyCount, final long[] blockMostSignificantBits, final long[] blockLeastSignificantBits) {
+        this.file = file;
+        this.minEventId = minEventId;
+        this.maxEventId = maxEventId;
+        this.minEventTime = minEventTime;
+        this.maxEventTime = maxEventTime;
+        this.keyCount = keyCount;
+        this.blockMostSignificantBits = blockMostSignificantBits;
+        this.blockLeastSignificantBits = blockLeastSignificantBits;
+    }
+
+    @Override
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public long getMinEventId() {
+        return minEventId;
+    }
+
+    @Override
+    public long getMaxEventId() {
+        return maxEventId;
+    }
+
+    @Override
+    public long getMinEventTime() {
+        return minEventTime;
+    }
+
+    @Override
+    public long getMaxEventTime() {
+        return maxEventTime;
+    }
+
+    /**
+     * Opens the lineage index file, reading its header and sparse index
+     *
+     * @param file the file to open
+     * @return the lineage index file
+     * @throws IOException if the file cannot be read or is not a lineage index file
+     */
+    static LineageIndexFile open(final File file) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            final int magic = in.readInt();
+            if (magic != MAGIC_HEADER) {
+                throw new IOException("File " + file + " is not a Provenance Lineage Index file");
+            }
+
+            final int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Provenance Lineage Index file " + file + " has unsupported version " + version);
+            }
+
+            final long minEventId = in.readLong();
+            final long maxEventId = in.readLong();
+            final long minEventTime = in.readLong();
+            final long maxEventTime = in.readLong();
+            final int keyCount = in.readInt();
+
+            final int blockCount = getBlockCount(keyCount);
+            final long[] blockMostSignificantBits = new long[blockCount];
+            final long[] blockLeastSignificantBits = new long[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                blockMostSignificantBits[i] = in.readLong();
+                blockLeastSignificantBits[i] = in.readLong();
+            }
+
+            return new LineageIndexFile(file, minEventId, maxEventId, minEventTime, maxEventTime, keyCount, blockMostSignificantBits, blockLeastSignificantBits);
+        }
+    }
+
+    /**
+     * Writes the given edges to the given file. The file is first written to a temporary file and then renamed, so that a
+     * partially written file is never mistaken for a complete one.
+     *
+     * @param edges the edges to write
+     * @param file the destination file
+     * @return the lineage index file that was written
+     * @throws IOException if unable to write the file
+     */
+    static LineageIndexFile write(final EdgeBuffer edges, final File file) throws IOException {
+        final EdgeBuffer sorted = edges.sortedCopy();
+        final int edgeCount = sorted.getEdgeCount();
+
+        // Determine the distinct keys and encode their postings
+        int keyCount = 0;
+        final long[] keyMostSignificantBits = new long[edgeCount];
+        final long[] keyLeastSignificantBits = new long[edgeCount];
+        final long[] postingsOffsets = new long[edgeCount];
+        final ByteArrayOutputStream postingsBytes = new ByteArrayOutputStream(Math.max(32, edgeCount * 3));
+        final DataOutputStream postings = new DataOutputStream(postingsBytes);
+
+        int start = 0;
+        while (start < edgeCount) {
+            final long msb = sorted.getMostSignificantBits(start);
+            final long lsb = sorted.getLeastSignificantBits(start);
+            int end = start + 1;
+            while (end < edgeCount && sorted.getMostSignificantBits(end) == msb && sorted.getLeastSignificantBits(end) == lsb) {
+                end++;
+            }
+
+            keyMostSignificantBits[keyCount] = msb;
+            keyLeastSignificantBits[keyCount] = lsb;
+            postingsOffsets[keyCount] = postings.size();
+            keyCount++;
+
+            // An event may have the same FlowFile as both its own FlowFile and as a parent or child, so skip duplicate Event IDs
+            int distinctCount = 1;
+            for (int i = start + 1; i < end; i++) {
+                if (sorted.getEventId(i) != sorted.getEventId(i - 1)) {
+                    distinctCount++;
+                }
+            }
+
+            writeVarLong(postings, distinctCount);
+            long previous = sorted.getEventId(start);
+            writeVarLong(postings, previous);
+            for (int i = start + 1; i < end; i++) {
+                final long eventId = sorted.getEventId(i);
+                if (eventId != previous) {
+                    writeVarLong(postings, eventId - previous);
+                    previous = eventId;
+                }
+            }
+
+            start = end;
+        }
+
+        final int blockCount = getBlockCount(keyCount);
+        final long postingsStart = (long) HEADER_LENGTH + (long) blockCount * 16 + (long) keyCount * KEY_ENTRY_LENGTH;
+
+        final File tmpFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (final FileOutputStream fos = new FileOutputStream(tmpFile);
+             final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+
+            out.writeInt(MAGIC_HEADER);
+            out.writeInt(VERSION);
+            out.writeLong(sorted.getMinEventId());
+            out.writeLong(sorted.getMaxEventId());
+            out.writeLong(sorted.getMinEventTime());
+            out.writeLong(sorted.getMaxEventTime());
+            out.writeInt(keyCount);
+
+            final long[] blockMostSignificantBits = new long[blockCount];
+            final long[] blockLeastSignificantBits = new long[blockCount];
+            for (int block = 0; block < blockCount; block++) {
+                blockMostSignificantBits[block] = keyMostSignificantBits[block * KEYS_PER_BLOCK];
+                blockLeastSignificantBits[block] = keyLeastSignificantBits[block * KEYS_PER_BLOCK];
+                out.writeLong(blockMostSignificantBits[block]);
+                out.writeLong(blockLeastSignificantBits[block]);
+            }
+
+            for (int i = 0; i < keyCount; i++) {
+                out.writeLong(keyMostSignificantBits[i]);
+                out.writeLong(keyLeastSignificantBits[i]);
+                out.writeLong(postingsStart + postingsOffsets[i]);
+            }
+
+            postings.flush();
+            postingsBytes.writeTo(out);
+
+            out.flush();
+            fos.getFD().sync();
+        }
+
+        Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(file);
+    }
+
+    private static int getBlockCount(final int keyCount) {
+        return (keyCount + KEYS_PER_BLOCK - 1) / KEYS_PER_BLOCK;
+    }
+
+    @Override
+    public void findEventIds(final SortedKeys keys, final Set<Long> eventIds) throws IOException {
+        if (keyCount == 0) {
+            return;
+        }
+
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (final NoSuchFileException e) {
+            // The file was aged off after it was selected for the search, so its events are no longer available anyway
+            return;
+        }
+
+        try (channel) {
+            final ByteBuffer block = ByteBuffer.allocate(KEYS_PER_BLOCK * KEY_ENTRY_LENGTH);
+
+            for (int i = 0; i < keys.size(); i++) {
+                final long msb = keys.getMostSignificantBits(i);
+                final long lsb = keys.getLeastSignificantBits(i);
+
+                final long postingsOffset = findPostingsOffset(channel, block, msb, lsb);
+                if (postingsOffset >= 0) {
+                    readPostings(channel, postingsOffset, eventIds);
+                }
+            }
+        }
+    }
+
+    private long findPostingsOffset(final FileChannel channel, final ByteBuffer block, final long msb, final long lsb) throws IOException {
+        // Find the last block whose first key is not greater than the key of interest
+        int low = 0;
+        int high = blockMostSignificantBits.length - 1;
+        int blockIndex = -1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (SortedKeys.compare(blockMostSignificantBits[middle], blockLeastSignificantBits[middle], msb, lsb) <= 0) {
+                blockIndex = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        if (blockIndex < 0) {
+            return -1L;
+        }
+
+        final int firstKey = blockIndex * KEYS_PER_BLOCK;
+        final int blockKeys = Math.min(KEYS_PER_BLOCK, keyCount - firstKey);
+        final long blockPosition = HEADER_LENGTH + (long) blockMostSignificantBits.length * 16 + (long) firstKey * KEY_ENTRY_LENGTH;
+
+        block.clear();
+        block.limit(blockKeys * KEY_ENTRY_LENGTH);
+        while (block.hasRemaining()) {
+            if (channel.read(block, blockPosition + block.position()) < 0) {
+                throw new EOFException("Provenance Lineage Index file " + file + " is truncated");
+            }
+        }
+
+        low = 0;
+        high = blockKeys - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int entryOffset = middle * KEY_ENTRY_LENGTH;
+            final int comparison = SortedKeys.compare(block.getLong(entryOffset), block.getLong(entryOffset + 8), msb, lsb);
+            if (comparison == 0) {
+                return block.getLong(entryOffset + 16);
+            } else if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return -1L;
+    }
+
+    private void readPostings(final FileChannel channel, final long offset, final Set<Long> eventIds) throws IOException {
+        channel.position(offset);
+
+        // The channel is closed by the caller, so the stream that wraps it is deliberately not closed here
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1024));
+        final long count = readVarLong(in);
+        long eventId = readVarLong(in);
+        eventIds.add(eventId);
+        for (long i = 1; i < count; i++) {
+            eventId += readVarLong(in);
+            eventIds.add(eventId);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LineageIndexFile[file=" + file + ", keys=" + keyCount + ", eventIds=" + minEventId + "-" + maxEventId + "]";
+    }
+}
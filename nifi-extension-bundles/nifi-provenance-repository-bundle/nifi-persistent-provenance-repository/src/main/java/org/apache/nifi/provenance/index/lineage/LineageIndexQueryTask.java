@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.index.lineage;
+
+import org.apache.nifi.provenance.ProgressiveResult;
+import org.apache.nifi.provenance.ProvenanceEventRecord;
+import org.apache.nifi.provenance.authorization.EventAuthorizer;
+import org.apache.nifi.provenance.authorization.EventTransformer;
+import org.apache.nifi.provenance.store.EventStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the events for a lineage request from the {@link LineageIndex}, in place of the Lucene query tasks. As with
+ * a Lucene query, the most recent events are retained when the lineage holds more than the maximum number of events.
+ */
+public class LineageIndexQueryTask implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(LineageIndexQueryTask.class);
+
+    private final LineageIndex lineageIndex;
+    private final Collection<String> flowFileUuids;
+    private final long startTimestamp;
+    private final long endTimestamp;
+    private final ProgressiveResult queryResult;
+    private final int maxResults;
+    private final EventStore eventStore;
+    private final EventAuthorizer authorizer;
+    private final EventTransformer transformer;
+
+    public LineageIndexQueryTask(final LineageIndex lineageIndex, final Collection<String> flowFileUuids, final long startTimestamp, final long endTimestamp,
+                                 final ProgressiveResult result, final int maxResults, final EventStore eventStore, final EventAuthorizer authorizer,
+                                 final EventTransformer unauthorizedTransformer) {
+        this.lineageIndex = lineageIndex;
+        this.flowFileUuids = flowFileUuids;
+        this.startTimestamp = startTimestamp;
+        this.endTimestamp = endTimestamp;
+        this.queryResult = result;
+        this.maxResults = maxResults;
+        this.eventStore = eventStore;
+        this.authorizer = authorizer;
+        this.transformer = unauthorizedTransformer;
+    }
+
+    @Override
+    public void run() {
+        if (queryResult.isFinished()) {
+            logger.debug("Will not search the Provenance Lineage Index for {} because the query is already finished", flowFileUuids);
+            return;
+        }
+
+        try {
+            final long startNanos = System.nanoTime();
+            final NavigableSet<Long> eventIds = lineageIndex.findEventIds(flowFileUuids, startTimestamp, endTimestamp);
+            final long searchNanos = System.nanoTime() - startNanos;
+
+            final List<Long> selectedIds = new ArrayList<>(Math.min(eventIds.size(), maxResults));
+            final Iterator<Long> mostRecentFirst = eventIds.descendingIterator();
+            while (mostRecentFirst.hasNext() && selectedIds.size() < maxResults) {
+                selectedIds.add(mostRecentFirst.next());
+            }
+            Collections.reverse(selectedIds);
+
+            final List<ProvenanceEventRecord> events = eventStore.getEvents(selectedIds, authorizer, transformer);
+            queryResult.update(events, eventIds.size());
+
+            final long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            logger.info("Successfully computed lineage for {} from the Provenance Lineage Index; found {} events in {} millis and retrieved {} events in {} millis total",
+                flowFileUuids, eventIds.size(), TimeUnit.NANOSECONDS.toMillis(searchNanos), events.size(), totalMillis);
+        } catch (final Exception e) {
+            logger.error("Failed to compute lineage for {} from the Provenance Lineage Index", flowFileUuids, e);
+            queryResult.setError("Failed to compute lineage due to " + e);
+        }
+    }
+}
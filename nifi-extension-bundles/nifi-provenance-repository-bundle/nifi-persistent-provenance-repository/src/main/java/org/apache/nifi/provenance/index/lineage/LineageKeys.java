@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.index.lineage;
+
+import org.apache.nifi.provenance.ProvenanceEventRecord;
+import org.apache.nifi.provenance.ProvenanceEventType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Determines the FlowFile UUIDs under which a Provenance Event is found when computing lineage.
+ */
+public class LineageKeys {
+
+    private LineageKeys() {
+    }
+
+    /**
+     * Returns the UUIDs of all FlowFiles whose lineage includes the given event: the FlowFile that the event is for,
+     * the children of a FORK, CLONE or REPLAY, the parents of a JOIN, and the FlowFile that a RECEIVE event
+     * identifies in the source system.
+     *
+     * @param event the event
+     * @return the FlowFile UUIDs, starting with the UUID of the FlowFile that the event is for
+     */
+    public static Set<String> getFlowFileUuids(final ProvenanceEventRecord event) {
+        final Set<String> uuids = new LinkedHashSet<>();
+        if (event.getFlowFileUuid() != null) {
+            uuids.add(event.getFlowFileUuid());
+        }
+
+        final ProvenanceEventType eventType = event.getEventType();
+        if (eventType == ProvenanceEventType.FORK || eventType == ProvenanceEventType.CLONE || eventType == ProvenanceEventType.REPLAY) {
+            uuids.addAll(event.getChildUuids());
+        } else if (eventType == ProvenanceEventType.JOIN) {
+            uuids.addAll(event.getParentUuids());
+        } else if (eventType == ProvenanceEventType.RECEIVE && event.getSourceSystemFlowFileIdentifier() != null) {
+            // The Source System FlowFile Identifier is typically of the form urn:nifi:<uuid>
+            final String sourceIdentifier = event.getSourceSystemFlowFileIdentifier();
+            final int lastColon = sourceIdentifier.lastIndexOf(":");
+            if (lastColon > -1 && lastColon < sourceIdentifier.length() - 2) {
+                uuids.add(sourceIdentifier.substring(lastColon + 1));
+            }
+        }
+
+        return uuids;
+    }
+
+    /**
+     * Converts a FlowFile UUID into the 128-bit key that is stored in the index. Identifiers that are not
+     * UUIDs are hashed into a name-based UUID.
+     *
+     * @param flowFileUuid the FlowFile UUID
+     * @return the key
+     */
+    static UUID toKey(final String flowFileUuid) {
+        if (flowFileUuid.length() == 36) {
+            try {
+                return UUID.fromString(flowFileUuid);
+            } catch (final IllegalArgumentException ignored) {
+                // fall through to a name-based UUID
+            }
+        }
+
+        return UUID.nameUUIDFromBytes(flowFileUuid.toLowerCase().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.index.lineage;
+
+import org.apache.nifi.provenance.segment.EventSegment;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * A set of edges from FlowFile UUIDs to the IDs of the Provenance Events that belong to the lineage of those FlowFiles,
+ * covering a contiguous range of Event IDs.
+ */
+interface LineageSegment extends EventSegment {
+
+    /**
+     * Adds to the given set the IDs of all events in this segment that belong to any of the given FlowFiles
+     *
+     * @param keys the keys of the FlowFiles of interest
+     * @param eventIds the set to add the Event IDs to
+     * @throws IOException if unable to read the segment
+     */
+    void findEventIds(SortedKeys keys, Set<Long> eventIds) throws IOException;
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.index.lineage;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * The keys of a set of FlowFiles, sorted in the same order as the keys of a {@link LineageIndexFile}
+ */
+final class SortedKeys {
+    private final long[] mostSignificantBits;
+    private final long[] leastSignificantBits;
+
+    SortedKeys(final Collection<String> flowFileUuids) {
+        final UUID[] keys = flowFileUuids.stream()
+            .map(LineageKeys::toKey)
+            .distinct()
+            .sorted(SortedKeys::compare)
+            .toArray(UUID[]::new);
+
+        mostSignificantBits = new long[keys.length];
+        leastSignificantBits = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            mostSignificantBits[i] = keys[i].getMostSignificantBits();
+            leastSignificantBits[i] = keys[i].getLeastSignificantBits();
+        }
+    }
+
+    int size() {
+        return mostSignificantBits.length;
+    }
+
+    long getMostSignificantBits(final int index) {
+        return mostSignificantBits[index];
+    }
+
+    long getLeastSignificantBits(final int index) {
+        return leastSignificantBits[index];
+    }
+
+    boolean contains(final long msb, final long lsb) {
+        int index = Arrays.binarySearch(mostSignificantBits, msb);
+        if (index < 0) {
+            return false;
+        }
+
+        // Keys that share the most significant bits are adjacent
+        while (index > 0 && mostSignificantBits[index - 1] == msb) {
+            index--;
+        }
+        for (; index < mostSignificantBits.length && mostSignificantBits[index] == msb; index++) {
+            if (leastSignificantBits[index] == lsb) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int compare(final UUID a, final UUID b) {
+        return compare(a.getMostSignificantBits(), a.getLeastSignificantBits(), b.getMostSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    static int compare(final long msbA, final long lsbA, final long msbB, final long lsbB) {
+        final int comparison = Long.compare(msbA, msbB);
+        return comparison == 0 ? Long.compare(lsbA, lsbB) : comparison;
+    }
+}
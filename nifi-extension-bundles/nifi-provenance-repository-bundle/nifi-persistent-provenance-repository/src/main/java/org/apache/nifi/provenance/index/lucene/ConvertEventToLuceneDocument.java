@@ -26,8 +26,8 @@ import org.apache.lucene.index.DocValuesType;
 import org.apache.lucene.index.IndexOptions;
 import org.apache.nifi.flowfile.attributes.CoreAttributes;
 import org.apache.nifi.provenance.ProvenanceEventRecord;
-import org.apache.nifi.provenance.ProvenanceEventType;
 import org.apache.nifi.provenance.SearchableFields;
+import org.apache.nifi.provenance.index.lineage.LineageKeys;
 import org.apache.nifi.provenance.lucene.LuceneUtil;
 import org.apache.nifi.provenance.search.SearchableField;
 import org.apache.nifi.provenance.serialization.StorageSummary;
@@ -94,34 +94,11 @@ public class ConvertEventToLuceneDocument {
         // be stored so that we know how to lookup the event in the store.
         doc.add(new UnIndexedLongField(SearchableFields.Identifier.getSearchableFieldName(), eventId));
 
-        // If it's event is a FORK, or JOIN, add the FlowFileUUID for all child/parent UUIDs.
-        final ProvenanceEventType eventType = record.getEventType();
-        if (eventType == ProvenanceEventType.FORK || eventType == ProvenanceEventType.CLONE || eventType == ProvenanceEventType.REPLAY) {
-            for (final String uuid : record.getChildUuids()) {
-                if (!uuid.equals(record.getFlowFileUuid())) {
-                    addField(doc, SearchableFields.FlowFileUUID, uuid);
-                }
-            }
-        } else if (eventType == ProvenanceEventType.JOIN) {
-            for (final String uuid : record.getParentUuids()) {
-                if (!uuid.equals(record.getFlowFileUuid())) {
-                    addField(doc, SearchableFields.FlowFileUUID, uuid);
-                }
-            }
-        } else if (eventType == ProvenanceEventType.RECEIVE && record.getSourceSystemFlowFileIdentifier() != null) {
-            // If we get a receive with a Source System FlowFile Identifier, we add another Document that shows the UUID
-            // that the Source System uses to refer to the data.
-            final String sourceIdentifier = record.getSourceSystemFlowFileIdentifier();
-            final String sourceFlowFileUUID;
-            final int lastColon = sourceIdentifier.lastIndexOf(":");
-            if (lastColon > -1 && lastColon < sourceIdentifier.length() - 2) {
-                sourceFlowFileUUID = sourceIdentifier.substring(lastColon + 1);
-            } else {
-                sourceFlowFileUUID = null;
-            }
-
-            if (sourceFlowFileUUID != null) {
-                addField(doc, SearchableFields.FlowFileUUID, sourceFlowFileUUID);
+        // Also index the event under the other FlowFiles whose lineage it belongs to: the children of a FORK, CLONE or REPLAY,
+        // the parents of a JOIN, and the FlowFile that a RECEIVE identifies in the source system.
+        for (final String uuid : LineageKeys.getFlowFileUuids(record)) {
+            if (!uuid.equals(record.getFlowFileUuid())) {
+                addField(doc, SearchableFields.FlowFileUUID, uuid);
             }
         }
 
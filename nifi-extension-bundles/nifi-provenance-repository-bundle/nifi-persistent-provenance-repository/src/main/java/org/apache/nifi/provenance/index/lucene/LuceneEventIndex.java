@@ -39,6 +39,8 @@ import org.apache.nifi.provenance.authorization.EventTransformer;
 import org.apache.nifi.provenance.index.EventIndex;
 import org.apache.nifi.provenance.index.EventIndexSearcher;
 import org.apache.nifi.provenance.index.EventIndexWriter;
+import org.apache.nifi.provenance.index.lineage.LineageIndex;
+import org.apache.nifi.provenance.index.lineage.LineageIndexQueryTask;
 import org.apache.nifi.provenance.lineage.ComputeLineageSubmission;
 import org.apache.nifi.provenance.lineage.LineageComputationType;
 import org.apache.nifi.provenance.lucene.IndexManager;
@@ -47,6 +49,7 @@ import org.apache.nifi.provenance.search.Query;
 import org.apache.nifi.provenance.search.QuerySubmission;
 import org.apache.nifi.provenance.serialization.StorageSummary;
 import org.apache.nifi.provenance.store.EventStore;
+import org.apache.nifi.provenance.util.CloseableUtil;
 import org.apache.nifi.provenance.util.DirectoryUtils;
 import org.apache.nifi.provenance.util.NamedThreadFactory;
 import org.apache.nifi.reporting.Severity;
@@ -114,6 +117,7 @@ public class LuceneEventIndex implements EventIndex {
     private ScheduledExecutorService cacheWarmerExecutor;
     private EventStore eventStore;
     private volatile boolean newestIndexDefunct = false;
+    private volatile LineageIndex lineageIndex; // null unless the lineage index is enabled
 
     public LuceneEventIndex(final RepositoryConfiguration config, final IndexManager indexManager, final EventReporter eventReporter) {
         this(config, indexManager, EventIndexTask.DEFAULT_MAX_EVENTS_PER_COMMIT, eventReporter);
@@ -153,6 +157,7 @@ public class LuceneEventIndex implements EventIndex {
         this.config = config;
         this.indexManager = indexManager;
         this.eventConverter = new ConvertEventToLuceneDocument(config.getSearchableFields(), config.getSearchableAttributes());
+        this.lineageIndex = config.isLineageIndexEnabled() ? new LineageIndex(config) : null;
     }
 
     @Override
@@ -170,6 +175,21 @@ public class LuceneEventIndex implements EventIndex {
 
         triggerReindexOfDefunctIndices();
         triggerCacheWarming();
+        initializeLineageIndex();
+    }
+
+    private void initializeLineageIndex() {
+        if (lineageIndex == null) {
+            return;
+        }
+
+        try {
+            lineageIndex.initialize(eventStore);
+        } catch (final Exception e) {
+            logger.error("Failed to initialize the Provenance Lineage Index; lineage will be computed from the Lucene index", e);
+            CloseableUtil.closeQuietly(lineageIndex);
+            lineageIndex = null;
+        }
     }
 
     private void triggerReindexOfDefunctIndices() {
@@ -312,6 +332,7 @@ public class LuceneEventIndex implements EventIndex {
             }
         }
 
+        CloseableUtil.closeQuietly(lineageIndex);
         indexManager.close();
     }
 
@@ -486,6 +507,11 @@ public class LuceneEventIndex implements EventIndex {
         for (final Map.Entry<ProvenanceEventRecord, StorageSummary> entry : events.entrySet()) {
             addEvent(entry.getKey(), entry.getValue());
         }
+
+        final LineageIndex lineage = lineageIndex;
+        if (lineage != null) {
+            lineage.addEvents(events);
+        }
     }
 
 
@@ -521,6 +547,34 @@ public class LuceneEventIndex implements EventIndex {
             throw new IllegalArgumentException(String.format("Cannot compute lineage for more than %s FlowFiles. This lineage contains %s.", MAX_LINEAGE_UUIDS, flowFileUuids.size()));
         }
 
+        final LineageIndex lineage = lineageIndex;
+        final AsyncLineageSubmission submission;
+        if (lineage != null && lineage.isReady()) {
+            // The lineage index holds the same events that the Lucene query would find, so a single lookup replaces a query per index directory
+            submission = new AsyncLineageSubmission(computationType, eventId, flowFileUuids, 1, user == null ? null : user.getIdentity());
+            lineageSubmissionMap.put(submission.getLineageIdentifier(), submission);
+
+            queryExecutor.submit(new LineageIndexQueryTask(lineage, flowFileUuids, startTimestamp, endTimestamp, submission.getResult(), MAX_LINEAGE_NODES,
+                eventStore, eventAuthorizer, EventTransformer.PLACEHOLDER_TRANSFORMER));
+        } else {
+            submission = submitLuceneLineageQuery(flowFileUuids, user, eventAuthorizer, computationType, eventId, startTimestamp, endTimestamp);
+        }
+
+        // Some computations will complete very quickly. In this case, we don't want to wait
+        // for the client to submit a second query to obtain the result. Instead, we want to just
+        // wait some short period of time for the computation to complete before returning the submission.
+        try {
+            submission.getResult().awaitCompletion(500, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+
+        return submission;
+    }
+
+    private AsyncLineageSubmission submitLuceneLineageQuery(final Collection<String> flowFileUuids, final NiFiUser user, final EventAuthorizer eventAuthorizer,
+        final LineageComputationType computationType, final Long eventId, final long startTimestamp, final long endTimestamp) {
+
         final List<File> indexDirs = directoryManager.getDirectories(startTimestamp, endTimestamp);
         final AsyncLineageSubmission submission = new AsyncLineageSubmission(computationType, eventId, flowFileUuids, indexDirs.size(), user == null ? null : user.getIdentity());
         lineageSubmissionMap.put(submission.getLineageIdentifier(), submission);
@@ -538,15 +592,6 @@ public class LuceneEventIndex implements EventIndex {
             }
         }
 
-        // Some computations will complete very quickly. In this case, we don't want to wait
-        // for the client to submit a second query to obtain the result. Instead, we want to just
-        // wait some short period of time for the computation to complete before returning the submission.
-        try {
-            submission.getResult().awaitCompletion(500, TimeUnit.MILLISECONDS);
-        } catch (final InterruptedException ie) {
-            Thread.currentThread().interrupt();
-        }
-
         return submission;
     }
 
@@ -0,0 +1,392 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.segment;
+
+import org.apache.nifi.provenance.ProvenanceEventRecord;
+import org.apache.nifi.provenance.serialization.StorageSummary;
+import org.apache.nifi.provenance.store.EventExpirationListener;
+import org.apache.nifi.provenance.store.EventStore;
+import org.apache.nifi.provenance.util.EventIdRanges;
+import org.apache.nifi.provenance.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Base class for secondary stores that keep information about every Provenance Event in time-partitioned segments
+ * alongside the Event Store.
+ * </p>
+ *
+ * <p>
+ * Events are appended to an in-memory {@link SegmentBuffer}. Once the buffer covers the configured segment duration or
+ * reaches the maximum size, it is sealed and written to disk; the sealed segment remains searchable while it is being
+ * written. Because the in-memory buffer is lost if NiFi is stopped abruptly, on startup any events in the Event Store
+ * that are not covered by a persisted segment are read back from the Event Store in the background. Until that
+ * completes, the store reports that it is not {@link #isReady() ready}. Persisted segments are deleted once all of their
+ * events are older than the maximum record life of the repository, or once all of their events have been removed from
+ * the Event Store, such as when the repository exceeds its maximum storage capacity.
+ * </p>
+ *
+ * @param <S> the type of segment held by the store
+ * @param <P> the type of segment that a buffer is sealed into before it is written to disk
+ * @param <B> the type of buffer that events are appended to
+ */
+public abstract class AbstractSegmentStore<S extends EventSegment, P extends S, B extends SegmentBuffer<P>> implements Closeable, EventExpirationListener {
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final String storeName;
+    private final File directory;
+    private final String fileExtension;
+    private final Supplier<B> bufferFactory;
+    private final int maxSegmentSize;
+    private final long segmentMillis;
+    private final long maxEventAgeMillis;
+    private final ScheduledExecutorService maintenanceExecutor;
+
+    // guarded by this
+    private List<S> segments = Collections.emptyList();
+    private B activeBuffer;
+    private volatile boolean ready = false;
+    private volatile boolean closed = false;
+
+    /**
+     * @param storeName the name of the store, for logging
+     * @param directory the directory to write segments to
+     * @param fileExtension the file extension of persisted segments
+     * @param bufferFactory creates empty buffers
+     * @param maxSegmentSize the size at which a buffer is sealed, regardless of its age
+     * @param segmentMillis the age at which a buffer is sealed
+     * @param maxEventAgeMillis the maximum age of the events in the store
+     */
+    protected AbstractSegmentStore(final String storeName, final File directory, final String fileExtension, final Supplier<B> bufferFactory,
+                                   final int maxSegmentSize, final long segmentMillis, final long maxEventAgeMillis) {
+        this.storeName = storeName;
+        this.directory = directory;
+        this.fileExtension = fileExtension;
+        this.bufferFactory = bufferFactory;
+        this.maxSegmentSize = maxSegmentSize;
+        this.segmentMillis = segmentMillis;
+        this.maxEventAgeMillis = maxEventAgeMillis;
+        this.activeBuffer = bufferFactory.get();
+        this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory(storeName + " Maintenance", true));
+    }
+
+    /**
+     * Reads the segment persisted in the given file
+     *
+     * @param file the file
+     * @return the segment
+     * @throws IOException if unable to read the file
+     */
+    protected abstract S open(File file) throws IOException;
+
+    /**
+     * Writes the given sealed segment to the given file
+     *
+     * @param sealed the segment to write
+     * @param file the file to write to
+     * @return the persisted segment, which must implement {@link PersistedSegment}
+     * @throws IOException if unable to write the file
+     */
+    protected abstract S write(P sealed, File file) throws IOException;
+
+    /**
+     * Loads the persisted segments, begins reading any events from the given Event Store that are not yet covered by a
+     * segment, and registers to be notified when events are removed from the Event Store.
+     *
+     * @param eventStore the Event Store that holds the events
+     * @throws IOException if unable to read the persisted segments
+     */
+    public void initialize(final EventStore eventStore) throws IOException {
+        Files.createDirectories(directory.toPath());
+
+        final File[] files = directory.listFiles();
+        final List<S> recovered = new ArrayList<>();
+        if (files != null) {
+            for (final File file : files) {
+                if (file.getName().endsWith(".tmp")) {
+                    Files.deleteIfExists(file.toPath());
+                } else if (file.getName().endsWith(fileExtension)) {
+                    try {
+                        recovered.add(open(file));
+                    } catch (final IOException e) {
+                        logger.warn("Failed to read {} file {}; it will be deleted and its events restored from the Event Store", storeName, file, e);
+                        Files.deleteIfExists(file.toPath());
+                    }
+                }
+            }
+        }
+
+        synchronized (this) {
+            segments = Collections.unmodifiableList(recovered);
+        }
+        logger.info("Recovered {} {} files from {}", recovered.size(), storeName, directory);
+
+        final List<long[]> gaps = findGaps(recovered, eventStore.getMaxEventId());
+        if (gaps.isEmpty()) {
+            ready = true;
+        } else {
+            maintenanceExecutor.submit(() -> backfill(eventStore, gaps));
+        }
+
+        eventStore.addExpirationListener(this);
+
+        final long checkMillis = Math.max(1000L, Math.min(segmentMillis, TimeUnit.MINUTES.toMillis(1L)));
+        maintenanceExecutor.scheduleWithFixedDelay(this::performMaintenance, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Determines which ranges of Event IDs, up to and including the given Event ID, are not covered by any of the given segments
+     */
+    public static List<long[]> findGaps(final List<? extends EventSegment> segments, final long maxEventId) {
+        final List<long[]> coveredRanges = new ArrayList<>(segments.size());
+        for (final EventSegment segment : segments) {
+            coveredRanges.add(new long[] {segment.getMinEventId(), segment.getMaxEventId()});
+        }
+        return EventIdRanges.findGaps(coveredRanges, maxEventId);
+    }
+
+    private void backfill(final EventStore eventStore, final List<long[]> gaps) {
+        final long cutoff = System.currentTimeMillis() - maxEventAgeMillis;
+        long eventCount = 0L;
+
+        try {
+            for (final long[] gap : gaps) {
+                B buffer = bufferFactory.get();
+                long nextId = gap[0];
+
+                while (nextId <= gap[1] && !closed) {
+                    final List<ProvenanceEventRecord> events = eventStore.getEvents(nextId, BACKFILL_BATCH_SIZE);
+                    if (events.isEmpty()) {
+                        break;
+                    }
+
+                    for (final ProvenanceEventRecord event : events) {
+                        final long eventId = event.getEventId();
+                        if (eventId > gap[1]) {
+                            nextId = eventId;
+                            break;
+                        }
+
+                        nextId = eventId + 1;
+                        if (event.getEventTime() < cutoff) {
+                            continue;
+                        }
+
+                        buffer.addEvent(event, eventId);
+                        eventCount++;
+                        if (buffer.getSize() >= maxSegmentSize) {
+                            persist(buffer.seal(), null);
+                            buffer = bufferFactory.get();
+                        }
+                    }
+                }
+
+                if (!buffer.isEmpty()) {
+                    persist(buffer.seal(), null);
+                }
+            }
+
+            ready = !closed;
+            logger.info("Restored {} Provenance Events from the Event Store into the {}", eventCount, storeName);
+        } catch (final Exception e) {
+            logger.error("Failed to restore Provenance Events from the Event Store into the {}", storeName, e);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the store covers every event in the Event Store, <code>false</code> if events are still being restored
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Appends the given stored events to the active buffer
+     *
+     * @param storedEvents the events that were stored, along with their storage locations
+     */
+    public void addEvents(final Map<ProvenanceEventRecord, StorageSummary> storedEvents) {
+        final P sealed;
+        synchronized (this) {
+            for (final Map.Entry<ProvenanceEventRecord, StorageSummary> entry : storedEvents.entrySet()) {
+                activeBuffer.addEvent(entry.getKey(), entry.getValue().getEventId());
+            }
+
+            if (activeBuffer.getSize() < maxSegmentSize) {
+                return;
+            }
+            sealed = seal();
+        }
+
+        persistQuietly(sealed);
+    }
+
+    /**
+     * @return the segments that have been sealed, whether or not they have yet been written to disk
+     */
+    public synchronized List<S> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Returns the buffer that events are currently appended to. Must be called while holding the monitor of this store, which
+     * must also be held while reading the buffer.
+     *
+     * @return the active buffer
+     */
+    protected B getActiveBuffer() {
+        return activeBuffer;
+    }
+
+    /**
+     * Seals the active buffer if it has reached the segment duration, and deletes the persisted segments whose events have all exceeded the
+     * maximum age. This is performed periodically in the background.
+     */
+    public void performMaintenance() {
+        try {
+            final P sealed;
+            synchronized (this) {
+                final boolean expired = System.currentTimeMillis() - activeBuffer.getCreatedTimestamp() >= segmentMillis;
+                sealed = (expired && !activeBuffer.isEmpty()) ? seal() : null;
+            }
+            persistQuietly(sealed);
+
+            final long cutoff = System.currentTimeMillis() - maxEventAgeMillis;
+            purgeSegments(segment -> segment.getMaxEventTime() < cutoff, "all of their events are older than the maximum record life");
+        } catch (final Exception e) {
+            logger.error("Failed to perform maintenance of the {}", storeName, e);
+        }
+    }
+
+    @Override
+    public void onEventsExpired(final long minRetainedEventId) {
+        if (closed) {
+            return;
+        }
+
+        purgeSegments(segment -> segment.getMaxEventId() < minRetainedEventId, "all of their events have been removed from the Event Store");
+    }
+
+    // must be called while holding the monitor. The sealed segment remains searchable until it has been written to disk.
+    private P seal() {
+        final P sealed = activeBuffer.seal();
+        activeBuffer = bufferFactory.get();
+        replaceSegment(null, sealed);
+        return sealed;
+    }
+
+    private void persistQuietly(final P sealed) {
+        if (sealed == null) {
+            return;
+        }
+
+        try {
+            persist(sealed, sealed);
+        } catch (final IOException e) {
+            logger.error("Failed to persist {} segment for Event IDs {} to {}; the events remain searchable until NiFi is restarted",
+                storeName, sealed.getMinEventId(), sealed.getMaxEventId(), e);
+        }
+    }
+
+    private void persist(final P sealed, final S replacing) throws IOException {
+        final File file = new File(directory, sealed.getMinEventId() + "-" + sealed.getMaxEventId() + fileExtension);
+        final S persisted = write(sealed, file);
+        logger.debug("Wrote {} to {}", sealed, persisted);
+
+        synchronized (this) {
+            replaceSegment(replacing, persisted);
+        }
+    }
+
+    // must be called while holding the monitor
+    private void replaceSegment(final S existing, final S replacement) {
+        final List<S> updated = new ArrayList<>(segments);
+        if (existing != null) {
+            updated.remove(existing);
+        }
+        if (replacement != null) {
+            updated.add(replacement);
+        }
+        segments = Collections.unmodifiableList(updated);
+    }
+
+    private void purgeSegments(final Predicate<S> expiration, final String reason) {
+        final List<S> expired = new ArrayList<>();
+
+        synchronized (this) {
+            for (final S segment : segments) {
+                if (segment instanceof PersistedSegment && expiration.test(segment)) {
+                    expired.add(segment);
+                }
+            }
+            for (final S segment : expired) {
+                replaceSegment(segment, null);
+            }
+        }
+
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        for (final S segment : expired) {
+            final File file = ((PersistedSegment) segment).getFile();
+            if (!file.delete()) {
+                logger.warn("Failed to delete expired {} file {}", storeName, file);
+            }
+        }
+        logger.info("Deleted {} {} files because {}", expired.size(), storeName, reason);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        ready = false;
+        maintenanceExecutor.shutdown();
+        try {
+            if (!maintenanceExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                maintenanceExecutor.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        final P sealed;
+        synchronized (this) {
+            sealed = activeBuffer.isEmpty() ? null : seal();
+        }
+
+        if (sealed != null) {
+            persist(sealed, sealed);
+        }
+    }
+}
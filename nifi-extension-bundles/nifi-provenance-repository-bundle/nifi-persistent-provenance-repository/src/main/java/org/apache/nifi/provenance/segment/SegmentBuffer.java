@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.segment;
+
+import org.apache.nifi.provenance.ProvenanceEventRecord;
+
+/**
+ * An in-memory buffer that Provenance Events are appended to until it is sealed into a segment. Implementations need not be thread-safe.
+ *
+ * @param <P> the type of segment that the buffer is sealed into
+ */
+public interface SegmentBuffer<P extends EventSegment> {
+
+    /**
+     * Appends the given event to the buffer
+     *
+     * @param event the event
+     * @param eventId the ID of the event
+     */
+    void addEvent(ProvenanceEventRecord event, long eventId);
+
+    /**
+     * @return the number of entries in the buffer, which determines when the buffer is full
+     */
+    int getSize();
+
+    /**
+     * @return <code>true</code> if no events have been added to the buffer
+     */
+    boolean isEmpty();
+
+    /**
+     * @return the time at which the buffer was created
+     */
+    long getCreatedTimestamp();
+
+    /**
+     * @return a segment holding the events in the buffer that is unaffected by events added afterward
+     */
+    P seal();
+}
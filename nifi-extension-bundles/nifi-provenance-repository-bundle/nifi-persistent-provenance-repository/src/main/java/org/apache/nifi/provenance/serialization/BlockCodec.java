@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.serialization;
+
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
+import org.apache.nifi.stream.io.GZIPOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * <p>
+ * The codec that is used to compress each block of a Provenance Event File. Each block is compressed independently so that
+ * a reader can seek to the offset recorded in the Table of Contents and begin decompressing from there. The codec is recorded
+ * in the header of the Table of Contents file and is also reflected in the extension of the Event File, so that files written
+ * with a different codec, including files written before the codec became configurable, can still be read.
+ * </p>
+ */
+public enum BlockCodec {
+    /**
+     * Blocks are written without compression
+     */
+    NONE(0, ""),
+
+    /**
+     * Blocks are written as GZIP members using the fastest compression level
+     */
+    GZIP(1, ".gz"),
+
+    /**
+     * Blocks are written as Zstandard frames, which decompress considerably faster than GZIP at a comparable ratio
+     */
+    ZSTD(2, ".zst"),
+
+    /**
+     * Blocks are written as LZ4 frames, trading compression ratio for the fastest compression and decompression
+     */
+    LZ4(3, ".lz4");
+
+    private static final int ZSTD_COMPRESSION_LEVEL = 1;
+
+    private final int tocFlag;
+    private final String fileExtension;
+
+    BlockCodec(final int tocFlag, final String fileExtension) {
+        this.tocFlag = tocFlag;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * @return the value that is written to the compression flag of the Table of Contents header for this codec
+     */
+    public int getTocFlag() {
+        return tocFlag;
+    }
+
+    /**
+     * @return the extension that is appended to the name of an Event File once it has been compressed with this codec
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * @return <code>true</code> if blocks written with this codec are compressed
+     */
+    public boolean isCompressed() {
+        return this != NONE;
+    }
+
+    /**
+     * Wraps the given stream so that everything written to the returned stream is compressed. Closing the returned stream
+     * writes any trailing bytes of the block and closes the given stream.
+     *
+     * @param out the stream to write compressed data to
+     * @return a stream that compresses data written to it
+     * @throws IOException if unable to write the header of the compressed block
+     */
+    public OutputStream compress(final OutputStream out) throws IOException {
+        return switch (this) {
+            case NONE -> out;
+            case GZIP -> new GZIPOutputStream(out, 1);
+            case ZSTD -> new ZstdCompressorOutputStream(out, ZSTD_COMPRESSION_LEVEL);
+            case LZ4 -> new FramedLZ4CompressorOutputStream(out);
+        };
+    }
+
+    /**
+     * Wraps the given stream so that data read from the returned stream is decompressed.
+     *
+     * @param in the stream that contains a compressed block
+     * @return a stream that decompresses the data in the given stream
+     * @throws IOException if unable to read the header of the compressed block
+     */
+    public InputStream decompress(final InputStream in) throws IOException {
+        return switch (this) {
+            case NONE -> in;
+            case GZIP -> new GZIPInputStream(in);
+            case ZSTD -> new ZstdCompressorInputStream(in);
+            case LZ4 -> new FramedLZ4CompressorInputStream(in);
+        };
+    }
+
+    /**
+     * Returns the codec that corresponds to the given Table of Contents compression flag
+     *
+     * @param tocFlag the compression flag that was read from a Table of Contents header
+     * @return the codec that corresponds to the flag, or <code>null</code> if the flag is not known
+     */
+    public static BlockCodec fromTocFlag(final int tocFlag) {
+        for (final BlockCodec codec : values()) {
+            if (codec.tocFlag == tocFlag) {
+                return codec;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Determines the codec of an Event File based on its filename. Files that were compressed on rollover carry the
+     * extension of their codec, whereas files that are still being written, or that were never compressed, do not.
+     *
+     * @param filename the name of the Event File
+     * @return the codec that the Event File was written with
+     */
+    public static BlockCodec fromFilename(final String filename) {
+        for (final BlockCodec codec : values()) {
+            if (codec.isCompressed() && filename.endsWith(codec.fileExtension)) {
+                return codec;
+            }
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Returns the codec with the given name, ignoring case
+     *
+     * @param name the name of the codec
+     * @return the codec with the given name
+     * @throws IllegalArgumentException if no codec exists with the given name
+     */
+    public static BlockCodec fromName(final String name) {
+        for (final BlockCodec codec : values()) {
+            if (codec.name().equalsIgnoreCase(name.trim())) {
+                return codec;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown Provenance Block Codec '" + name + "'; valid values are NONE, GZIP, ZSTD, LZ4");
+    }
+}
@@ -35,9 +35,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.Collection;
-import java.util.zip.GZIPInputStream;
+import java.util.List;
 
 public class RecordReaders {
+    private static final List<String> EVENT_FILE_EXTENSIONS = List.of(
+        ".prov" + BlockCodec.GZIP.getFileExtension(),
+        ".prov" + BlockCodec.ZSTD.getFileExtension(),
+        ".prov" + BlockCodec.LZ4.getFileExtension(),
+        ".prov");
+
     /**
      * Creates a new Record Reader that is capable of reading Provenance Event Journals
      *
@@ -80,11 +86,11 @@ public class RecordReaders {
                 final File dir = file.getParentFile();
                 final String baseName = LuceneUtil.substringBefore(file.getName(), ".prov");
 
-                // depending on which rollover actions have occurred, we could have 2 possibilities for the
-                // filename that we need. The majority of the time, we will use the extension ".prov.gz"
+                // depending on which rollover actions have occurred, we could have several possibilities for the
+                // filename that we need. The majority of the time, we will use one of the compressed extensions
                 // because most often we are compressing on rollover and most often we have already finished
                 // compressing by the time that we are querying the data.
-                for (final String extension : new String[]{".prov.gz", ".prov"}) {
+                for (final String extension : EVENT_FILE_EXTENSIONS) {
                     file = new File(dir, baseName + extension);
                     if (file.exists()) {
                         try {
@@ -113,7 +119,7 @@ public class RecordReaders {
             final String serializationName;
             try {
                 bufferedInStream.mark(4096);
-                final InputStream in = filename.endsWith(".gz") ? new GZIPInputStream(bufferedInStream) : bufferedInStream;
+                final InputStream in = BlockCodec.fromFilename(filename).decompress(bufferedInStream);
                 final DataInputStream dis = new DataInputStream(in);
                 serializationName = dis.readUTF();
                 bufferedInStream.reset();
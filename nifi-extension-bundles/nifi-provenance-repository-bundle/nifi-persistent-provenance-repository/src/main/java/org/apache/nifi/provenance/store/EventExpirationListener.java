@@ -0,0 +1,31 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.store;
+
+/**
+ * A listener that is notified when Provenance Events are removed from an {@link EventStore}
+ */
+public interface EventExpirationListener {
+
+    /**
+     * Called after events have been removed from the Event Store, either because they exceeded the maximum age of the repository or
+     * because the repository exceeded its maximum storage capacity
+     *
+     * @param minRetainedEventId the smallest Event ID that may still be held by the Event Store. Every event with a smaller ID has been removed.
+     */
+    void onEventsExpired(long minRetainedEventId);
+}
@@ -122,6 +122,14 @@ public interface EventStore extends Closeable {
      */
     void reindexLatestEvents(EventIndex eventIndex);
 
+    /**
+     * Registers a listener to be notified whenever events are removed from the store
+     *
+     * @param listener the listener to notify
+     */
+    default void addExpirationListener(EventExpirationListener listener) {
+    }
+
     /**
      * Returns an EventIterator that can be used to iterate over all events whose timestamp fall between the given time range.
      * @param minTimestamp the minimum timestamp
@@ -54,6 +54,11 @@ public interface EventStorePartition extends Closeable {
      */
     long getMaxEventId();
 
+    /**
+     * @return the smallest Event ID that may still be held by this partition, or -1 if the partition holds no events
+     */
+    long getMinEventId();
+
     /**
      * Retrieves the event with the given ID
      *
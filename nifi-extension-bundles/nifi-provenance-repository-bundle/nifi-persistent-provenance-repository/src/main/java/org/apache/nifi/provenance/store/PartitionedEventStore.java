@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -52,6 +53,8 @@ public abstract class PartitionedEventStore implements EventStore {
     private final AtomicLong partitionIndex = new AtomicLong(0L);
     private final RepositoryConfiguration repoConfig;
     private final EventReporter eventReporter;
+    private final List<EventExpirationListener> expirationListeners = new CopyOnWriteArrayList<>();
+    private long minRetainedEventId = -1L; // accessed only by the maintenance thread
     private ScheduledExecutorService maintenanceExecutor;
 
     public PartitionedEventStore(final RepositoryConfiguration config, final EventReporter eventReporter) {
@@ -125,6 +128,11 @@ public abstract class PartitionedEventStore implements EventStore {
         return total;
     }
 
+    @Override
+    public void addExpirationListener(final EventExpirationListener listener) {
+        expirationListeners.add(listener);
+    }
+
     @Override
     public long getMaxEventId() {
         return getPartitions().stream()
@@ -242,6 +250,11 @@ public abstract class PartitionedEventStore implements EventStore {
 
 
     void performMaintenance() {
+        purgeExpiredEvents();
+        notifyExpirationListeners();
+    }
+
+    private void purgeExpiredEvents() {
         try {
             final long maxFileLife = repoConfig.getMaxRecordLife(TimeUnit.MILLISECONDS);
             for (final EventStorePartition partition : getPartitions()) {
@@ -284,5 +297,36 @@ public abstract class PartitionedEventStore implements EventStore {
         }
     }
 
+    private void notifyExpirationListeners() {
+        if (expirationListeners.isEmpty()) {
+            return;
+        }
+
+        long minEventId = Long.MAX_VALUE;
+        for (final EventStorePartition partition : getPartitions()) {
+            final long partitionMinEventId = partition.getMinEventId();
+            if (partitionMinEventId >= 0) {
+                minEventId = Math.min(minEventId, partitionMinEventId);
+            }
+        }
+        if (minEventId == Long.MAX_VALUE) {
+            // no partition holds any events
+            minEventId = getMaxEventId() + 1;
+        }
+
+        if (minEventId <= minRetainedEventId) {
+            return;
+        }
+        minRetainedEventId = minEventId;
+
+        for (final EventExpirationListener listener : expirationListeners) {
+            try {
+                listener.onEventsExpired(minEventId);
+            } catch (final Exception e) {
+                logger.error("Failed to notify {} that Provenance Events with IDs less than {} have expired", listener, minEventId, e);
+            }
+        }
+    }
+
     protected abstract List<? extends EventStorePartition> getPartitions();
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.nifi.provenance.toc;
 
+import org.apache.nifi.provenance.serialization.BlockCodec;
+
 import java.io.Closeable;
 import java.io.File;
 
@@ -37,6 +39,16 @@ public interface TocReader extends Closeable {
      */
     boolean isCompressed();
 
+    /**
+     * Indicates which codec the blocks of the corresponding Journal file are compressed with. Journals that were
+     * written before the codec was recorded report {@link BlockCodec#GZIP} if compressed.
+     *
+     * @return the codec that the blocks of the Journal file are compressed with
+     */
+    default BlockCodec getCodec() {
+        return isCompressed() ? BlockCodec.GZIP : BlockCodec.NONE;
+    }
+
     /**
      * @return the file that holds the TOC information
      */
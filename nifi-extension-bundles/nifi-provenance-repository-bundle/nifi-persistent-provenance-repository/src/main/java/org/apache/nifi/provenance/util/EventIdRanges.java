@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+public class EventIdRanges {
+
+    private EventIdRanges() {
+    }
+
+    /**
+     * Determines which ranges of Event IDs, from 0 up to and including the given Event ID, are not covered by any of the given ranges
+     *
+     * @param coveredRanges the covered ranges, each given as an inclusive [min, max] pair
+     * @param maxEventId the largest Event ID of interest
+     * @return the uncovered ranges, each given as an inclusive [min, max] pair, in ascending order
+     */
+    public static List<long[]> findGaps(final Collection<long[]> coveredRanges, final long maxEventId) {
+        final List<long[]> sorted = new ArrayList<>(coveredRanges);
+        sorted.sort(Comparator.comparingLong(range -> range[0]));
+
+        final List<long[]> gaps = new ArrayList<>();
+        long nextExpected = 0L;
+        for (final long[] range : sorted) {
+            if (range[0] > nextExpected) {
+                gaps.add(new long[] {nextExpected, Math.min(range[0] - 1, maxEventId)});
+            }
+            nextExpected = Math.max(nextExpected, range[1] + 1);
+        }
+
+        if (nextExpected <= maxEventId) {
+            gaps.add(new long[] {nextExpected, maxEventId});
+        }
+
+        gaps.removeIf(gap -> gap[1] < gap[0]);
+        return gaps;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.analytics;
+
+import org.apache.nifi.provenance.ProvenanceAggregate;
+import org.apache.nifi.provenance.ProvenanceAggregateDimension;
+import org.apache.nifi.provenance.ProvenanceAggregateQuery;
+import org.apache.nifi.provenance.ProvenanceEventRecord;
+import org.apache.nifi.provenance.ProvenanceEventType;
+import org.apache.nifi.provenance.StandardProvenanceEventRecord;
+import org.apache.nifi.provenance.TestUtil;
+import org.apache.nifi.provenance.serialization.BlockCodec;
+import org.apache.nifi.provenance.serialization.StorageSummary;
+import org.apache.nifi.provenance.store.ArrayListEventStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestColumnarAnalyticsStore {
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1L);
+
+    @TempDir
+    private File tempDir;
+
+    private final long baseTime = System.currentTimeMillis() / MINUTE * MINUTE - TimeUnit.HOURS.toMillis(1L);
+
+    @Test
+    public void testAggregateByComponentAndMinute() throws IOException {
+        try (final ColumnarAnalyticsStore store = createStore()) {
+            store.initialize(new ArrayListEventStore());
+            store.addEvents(storedEvents(
+                event(0, baseTime, ProvenanceEventType.RECEIVE, "A", 100),
+                event(1, baseTime + 10, ProvenanceEventType.SEND, "A", 50),
+                event(2, baseTime + 20, ProvenanceEventType.RECEIVE, "B", 7),
+                event(3, baseTime + MINUTE + 5, ProvenanceEventType.RECEIVE, "A", 1000)));
+
+            final ProvenanceAggregateQuery query = new ProvenanceAggregateQuery.Builder()
+                .startTime(baseTime)
+                .endTime(baseTime + 2 * MINUTE)
+                .bucketSize(1, TimeUnit.MINUTES)
+                .groupBy(ProvenanceAggregateDimension.COMPONENT_ID)
+                .build();
+
+            final List<ProvenanceAggregate> aggregates = store.aggregate(query, null);
+            assertEquals(3, aggregates.size());
+            assertEquals(new ProvenanceAggregate(baseTime, "A", null, null, 2, 150), aggregates.get(0));
+            assertEquals(new ProvenanceAggregate(baseTime, "B", null, null, 1, 7), aggregates.get(1));
+            assertEquals(new ProvenanceAggregate(baseTime + MINUTE, "A", null, null, 1, 1000), aggregates.get(2));
+        }
+    }
+
+    @Test
+    public void testPersistedSegmentsQueryableAfterRestart() throws IOException {
+        try (final ColumnarAnalyticsStore store = createStore()) {
+            store.initialize(new ArrayListEventStore());
+            store.addEvents(storedEvents(
+                event(0, baseTime, ProvenanceEventType.RECEIVE, "A", 100),
+                event(1, baseTime + 10, ProvenanceEventType.SEND, "A", 50)));
+        }
+
+        try (final ColumnarAnalyticsStore store = createStore()) {
+            store.initialize(new ArrayListEventStore());
+            assertEquals(1, store.getSegments().size());
+            assertTrue(store.getSegments().get(0) instanceof SegmentFile);
+
+            store.addEvents(storedEvents(event(2, baseTime + 20, ProvenanceEventType.SEND, "B", 25)));
+
+            final ProvenanceAggregateQuery query = new ProvenanceAggregateQuery.Builder()
+                .startTime(baseTime)
+                .endTime(baseTime + MINUTE)
+                .bucketSize(1, TimeUnit.MINUTES)
+                .groupBy(ProvenanceAggregateDimension.EVENT_TYPE)
+                .eventType(ProvenanceEventType.SEND)
+                .build();
+
+            final List<ProvenanceAggregate> aggregates = store.aggregate(query, null);
+            assertEquals(Collections.singletonList(new ProvenanceAggregate(baseTime, null, null, ProvenanceEventType.SEND, 2, 75)), aggregates);
+        }
+    }
+
+    @Test
+    public void testComponentFilterExcludesUnauthorizedComponents() throws IOException {
+        try (final ColumnarAnalyticsStore store = createStore()) {
+            store.initialize(new ArrayListEventStore());
+            store.addEvents(storedEvents(
+                event(0, baseTime, ProvenanceEventType.RECEIVE, "A", 100),
+                event(1, baseTime + 10, ProvenanceEventType.RECEIVE, "B", 50)));
+
+            final ProvenanceAggregateQuery query = new ProvenanceAggregateQuery.Builder()
+                .startTime(baseTime)
+                .endTime(baseTime + MINUTE)
+                .build();
+
+            final List<ProvenanceAggregate> aggregates = store.aggregate(query, "B"::equals);
+            assertEquals(Collections.singletonList(new ProvenanceAggregate(baseTime, null, null, null, 1, 50)), aggregates);
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    public void testBackfillFromEventStore() throws IOException, InterruptedException {
+        final ArrayListEventStore eventStore = new ArrayListEventStore();
+        for (int i = 0; i < 10; i++) {
+            eventStore.addEvent(event(i, baseTime + i, ProvenanceEventType.CREATE, "A", 10));
+        }
+
+        try (final ColumnarAnalyticsStore store = createStore()) {
+            store.initialize(eventStore);
+            while (store.getSegments().isEmpty()) {
+                Thread.sleep(10L);
+            }
+
+            final ProvenanceAggregateQuery query = new ProvenanceAggregateQuery.Builder()
+                .startTime(baseTime)
+                .endTime(baseTime + MINUTE)
+                .build();
+
+            assertEquals(Collections.singletonList(new ProvenanceAggregate(baseTime, null, null, null, 10, 100)), store.aggregate(query, null));
+        }
+    }
+
+    @Test
+    public void testFindGaps() {
+        final List<Segment> segments = List.of(segment(0, 9), segment(20, 29), segment(30, 39));
+
+        final List<long[]> gaps = ColumnarAnalyticsStore.findGaps(segments, 50);
+        assertEquals(2, gaps.size());
+        assertArrayEquals(new long[] {10, 19}, gaps.get(0));
+        assertArrayEquals(new long[] {40, 50}, gaps.get(1));
+
+        assertTrue(ColumnarAnalyticsStore.findGaps(segments, 39).size() == 1);
+        assertTrue(ColumnarAnalyticsStore.findGaps(Collections.emptyList(), -1).isEmpty());
+    }
+
+    @Test
+    public void testSnapshotUnaffectedByEventsAddedAfterward() {
+        final SegmentBuilder builder = new SegmentBuilder();
+        builder.addEvent(event(0, baseTime, ProvenanceEventType.CREATE, "A", 1), 0);
+        final Supplier<SegmentColumns> snapshot = builder.snapshot();
+
+        // Add enough events to force the columns to grow beyond their initial capacity
+        for (int i = 1; i <= 2048; i++) {
+            builder.addEvent(event(i, baseTime + i, ProvenanceEventType.DROP, "B", 2), i);
+        }
+
+        final SegmentColumns columns = snapshot.get();
+        assertEquals(1, columns.getRowCount());
+        assertEquals(0, columns.getMaxEventId());
+        assertArrayEquals(new long[] {baseTime}, columns.getEventTimes());
+        assertArrayEquals(new long[] {1}, columns.getFileSizes());
+        assertEquals(1, columns.getComponentIds().length);
+        assertEquals(2049, builder.toColumns().getRowCount());
+    }
+
+    @Test
+    public void testSegmentFileReadsRequestedColumns() throws IOException {
+        final SegmentBuilder builder = new SegmentBuilder();
+        builder.addEvent(event(5, baseTime, ProvenanceEventType.CREATE, "A", 1), 5);
+        builder.addEvent(event(6, baseTime - 3, ProvenanceEventType.DROP, "B", 2), 6);
+
+        final SegmentFile segmentFile = SegmentFile.write(builder.toColumns(), new File(tempDir, "test" + SegmentFile.EXTENSION), BlockCodec.ZSTD);
+        final SegmentFile reopened = SegmentFile.open(segmentFile.getFile());
+        assertEquals(2, reopened.getRowCount());
+        assertEquals(baseTime - 3, reopened.getMinEventTime());
+        assertEquals(6, reopened.getMaxEventId());
+
+        final SegmentColumns columns = reopened.read(EnumSet.of(Column.EVENT_TIME, Column.EVENT_TYPE));
+        assertArrayEquals(new long[] {baseTime, baseTime - 3}, columns.getEventTimes());
+        assertArrayEquals(new byte[] {(byte) ProvenanceEventType.CREATE.ordinal(), (byte) ProvenanceEventType.DROP.ordinal()}, columns.getEventTypes());
+        assertNull(columns.getFileSizes());
+        assertNull(columns.getComponentIdIndices());
+    }
+
+    private ColumnarAnalyticsStore createStore() {
+        return new ColumnarAnalyticsStore(tempDir, BlockCodec.GZIP, TimeUnit.HOURS.toMillis(1L), TimeUnit.DAYS.toMillis(1L));
+    }
+
+    private static Segment segment(final long minEventId, final long maxEventId) {
+        return new SegmentColumns(0, 0L, 0L, minEventId, maxEventId, new String[0], new String[0], null, null, null, null, null);
+    }
+
+    private static ProvenanceEventRecord event(final long eventId, final long eventTime, final ProvenanceEventType eventType, final String componentId, final long fileSize) {
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put("uuid", "00000000-0000-0000-0000-" + String.format("%012d", eventId));
+
+        final StandardProvenanceEventRecord.Builder builder = new StandardProvenanceEventRecord.Builder();
+        builder.fromFlowFile(TestUtil.createFlowFile(eventId, fileSize, attributes));
+        builder.setEventId(eventId)
+            .setEventTime(eventTime)
+            .setEventType(eventType)
+            .setComponentId(componentId)
+            .setComponentType("TestProcessor")
+            .setTransitUri("nifi://unit-test");
+        return builder.build();
+    }
+
+    private static Map<ProvenanceEventRecord, StorageSummary> storedEvents(final ProvenanceEventRecord... events) {
+        final Map<ProvenanceEventRecord, StorageSummary> storedEvents = new LinkedHashMap<>();
+        for (final ProvenanceEventRecord event : events) {
+            storedEvents.put(event, new StorageSummary(event.getEventId(), "location", "1", 1, 0L, 0L));
+        }
+        return storedEvents;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.index.lineage;
+
+import org.apache.nifi.provenance.ProvenanceEventRecord;
+import org.apache.nifi.provenance.ProvenanceEventType;
+import org.apache.nifi.provenance.StandardProvenanceEventRecord;
+import org.apache.nifi.provenance.serialization.StorageSummary;
+import org.apache.nifi.provenance.store.ArrayListEventStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestLineageIndex {
+    private static final String PARENT = "11111111-1111-1111-1111-111111111111";
+    private static final String CHILD_1 = "22222222-2222-2222-2222-222222222222";
+    private static final String CHILD_2 = "33333333-3333-3333-3333-333333333333";
+    private static final String MERGED = "44444444-4444-4444-4444-444444444444";
+
+    @TempDir
+    private File tempDir;
+
+    private final long now = System.currentTimeMillis();
+
+    @Test
+    public void testFindsEventsThatNameFlowFileAsParentOrChild() throws IOException {
+        try (final LineageIndex index = createIndex()) {
+            index.initialize(new ArrayListEventStore());
+            assertTrue(index.isReady());
+
+            index.addEvents(storedEvents(createLineage()));
+
+            assertEquals(Set.of(0L, 1L), index.findEventIds(List.of(PARENT), 0L, Long.MAX_VALUE));
+            assertEquals(Set.of(1L, 2L, 3L), index.findEventIds(List.of(CHILD_1), 0L, Long.MAX_VALUE));
+            assertEquals(Set.of(1L, 3L, 4L), index.findEventIds(List.of(CHILD_2), 0L, Long.MAX_VALUE));
+            assertEquals(Set.of(3L), index.findEventIds(List.of(MERGED), 0L, Long.MAX_VALUE));
+            assertEquals(Set.of(0L, 1L, 3L, 4L), index.findEventIds(List.of(PARENT, CHILD_2), 0L, Long.MAX_VALUE));
+            assertTrue(index.findEventIds(List.of(UUID.randomUUID().toString()), 0L, Long.MAX_VALUE).isEmpty());
+        }
+    }
+
+    @Test
+    public void testPersistedFilesSearchableAfterRestart() throws IOException {
+        try (final LineageIndex index = createIndex()) {
+            index.initialize(new ArrayListEventStore());
+            index.addEvents(storedEvents(createLineage()));
+        }
+
+        try (final LineageIndex index = createIndex()) {
+            index.initialize(new ArrayListEventStore());
+            assertEquals(1, index.getSegments().size());
+            assertTrue(index.getSegments().get(0) instanceof LineageIndexFile);
+
+            index.addEvents(storedEvents(event(5, ProvenanceEventType.DROP, CHILD_1)));
+
+            assertEquals(Set.of(1L, 2L, 3L, 5L), index.findEventIds(List.of(CHILD_1), 0L, Long.MAX_VALUE));
+            assertEquals(Set.of(1L, 3L, 4L), index.findEventIds(List.of(CHILD_2), 0L, Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void testIndexFileWithManyBlocks() throws IOException {
+        final Random random = new Random(1L);
+        final List<String> uuids = new ArrayList<>();
+        final EdgeBuffer buffer = new EdgeBuffer();
+        for (int i = 0; i < LineageIndexFile.KEYS_PER_BLOCK * 5 + 7; i++) {
+            final String uuid = new UUID(random.nextLong(), random.nextLong()).toString();
+            uuids.add(uuid);
+            buffer.addEvent(event(i, ProvenanceEventType.CREATE, uuid), i);
+            buffer.addEvent(event(100_000 + i, ProvenanceEventType.DROP, uuid), 100_000 + i);
+        }
+        buffer.addEvent(event(200_000, ProvenanceEventType.CREATE, "not-a-uuid"), 200_000);
+
+        final LineageIndexFile indexFile = LineageIndexFile.write(buffer, new File(tempDir, "test" + LineageIndexFile.EXTENSION));
+        assertEquals(0L, indexFile.getMinEventId());
+        assertEquals(200_000L, indexFile.getMaxEventId());
+
+        for (int i = 0; i < uuids.size(); i++) {
+            final Set<Long> eventIds = new TreeSet<>();
+            indexFile.findEventIds(new SortedKeys(List.of(uuids.get(i))), eventIds);
+            assertEquals(Set.of((long) i, 100_000L + i), eventIds);
+        }
+
+        final Set<Long> eventIds = new TreeSet<>();
+        indexFile.findEventIds(new SortedKeys(List.of("not-a-uuid", UUID.randomUUID().toString())), eventIds);
+        assertEquals(Set.of(200_000L), eventIds);
+    }
+
+    @Test
+    public void testTimeRangeExcludesOlderFiles() throws IOException {
+        try (final LineageIndex index = createIndex()) {
+            index.initialize(new ArrayListEventStore());
+            index.addEvents(storedEvents(createLineage()));
+            index.performMaintenance();
+
+            assertEquals(Set.of(1L, 2L, 3L), index.findEventIds(List.of(CHILD_1), now - 1000L, now + 1000L));
+            assertTrue(index.findEventIds(List.of(CHILD_1), now + 1000L, Long.MAX_VALUE).isEmpty());
+        }
+    }
+
+    @Test
+    public void testFilesPurgedWhenEventsRemovedFromEventStore() throws IOException {
+        try (final LineageIndex index = createIndex()) {
+            index.initialize(new ArrayListEventStore());
+            index.addEvents(storedEvents(createLineage()));
+            index.performMaintenance();
+            index.addEvents(storedEvents(event(5, ProvenanceEventType.DROP, CHILD_1)));
+            index.performMaintenance();
+            assertEquals(2, index.getSegments().size());
+
+            index.onEventsExpired(4L);
+            assertEquals(2, index.getSegments().size());
+
+            index.onEventsExpired(5L);
+            assertEquals(1, index.getSegments().size());
+            assertEquals(Set.of(5L), index.findEventIds(List.of(CHILD_1), 0L, Long.MAX_VALUE));
+            assertEquals(1, tempDir.listFiles((dir, name) -> name.endsWith(LineageIndexFile.EXTENSION)).length);
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    public void testBackfillFromEventStore() throws IOException, InterruptedException {
+        final ArrayListEventStore eventStore = new ArrayListEventStore();
+        for (final ProvenanceEventRecord event : createLineage()) {
+            eventStore.addEvent(event);
+        }
+
+        try (final LineageIndex index = createIndex()) {
+            index.initialize(eventStore);
+            while (!index.isReady()) {
+                Thread.sleep(10L);
+            }
+
+            assertEquals(1, index.getSegments().size());
+            assertEquals(Set.of(1L, 2L, 3L), index.findEventIds(List.of(CHILD_1), 0L, Long.MAX_VALUE));
+        }
+    }
+
+    private LineageIndex createIndex() {
+        // A segment duration of zero causes every maintenance run to write the in-memory edges to a file
+        return new LineageIndex(tempDir, 0L, TimeUnit.DAYS.toMillis(1L));
+    }
+
+    // CREATE of PARENT, FORK of PARENT into CHILD_1 and CHILD_2, CONTENT_MODIFIED of CHILD_1, JOIN of CHILD_1 and CHILD_2 into MERGED, DROP of CHILD_2
+    private List<ProvenanceEventRecord> createLineage() {
+        final List<ProvenanceEventRecord> events = new ArrayList<>();
+        events.add(event(0, ProvenanceEventType.CREATE, PARENT));
+
+        final StandardProvenanceEventRecord.Builder fork = builder(1, ProvenanceEventType.FORK, PARENT);
+        fork.addChildUuid(CHILD_1);
+        fork.addChildUuid(CHILD_2);
+        events.add(fork.build());
+
+        events.add(event(2, ProvenanceEventType.CONTENT_MODIFIED, CHILD_1));
+
+        final StandardProvenanceEventRecord.Builder join = builder(3, ProvenanceEventType.JOIN, MERGED);
+        join.addParentUuid(CHILD_1);
+        join.addParentUuid(CHILD_2);
+        events.add(join.build());
+
+        events.add(event(4, ProvenanceEventType.DROP, CHILD_2));
+        return events;
+    }
+
+    private ProvenanceEventRecord event(final long eventId, final ProvenanceEventType eventType, final String flowFileUuid) {
+        return builder(eventId, eventType, flowFileUuid).build();
+    }
+
+    private StandardProvenanceEventRecord.Builder builder(final long eventId, final ProvenanceEventType eventType, final String flowFileUuid) {
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put("uuid", flowFileUuid);
+
+        final StandardProvenanceEventRecord.Builder builder = new StandardProvenanceEventRecord.Builder();
+        builder.setEventType(eventType)
+            .setAttributes(Collections.emptyMap(), attributes)
+            .setComponentId("component-1")
+            .setComponentType("unit test")
+            .setEventId(eventId)
+            .setEventTime(now)
+            .setFlowFileEntryDate(now)
+            .setFlowFileUUID(flowFileUuid)
+            .setLineageStartDate(now)
+            .setCurrentContentClaim("container", "section", "unit-test-id", 0L, 1024L);
+        return builder;
+    }
+
+    private static Map<ProvenanceEventRecord, StorageSummary> storedEvents(final List<ProvenanceEventRecord> events) {
+        final Map<ProvenanceEventRecord, StorageSummary> storedEvents = new LinkedHashMap<>();
+        for (final ProvenanceEventRecord event : events) {
+            storedEvents.put(event, new StorageSummary(event.getEventId(), "location", "1", 1, 0L, 0L));
+        }
+        return storedEvents;
+    }
+
+    private static Map<ProvenanceEventRecord, StorageSummary> storedEvents(final ProvenanceEventRecord event) {
+        return storedEvents(List.of(event));
+    }
+}
@@ -237,6 +237,56 @@ public class TestLuceneEventIndex {
         assertEquals("4444", eventMap.get(ProvenanceEventType.UNKNOWN).get(0).getFlowFileUuid());
     }
 
+    @Test
+    public void testExpandParentsFromLineageIndex() throws InterruptedException, IOException {
+        final RepositoryConfiguration repoConfig = createConfig(1);
+        repoConfig.setLineageIndexEnabled(true);
+        final IndexManager indexManager = new StandardIndexManager(repoConfig);
+
+        final ArrayListEventStore eventStore = new ArrayListEventStore();
+        final LuceneEventIndex index = new LuceneEventIndex(repoConfig, indexManager, 3, EventReporter.NO_OP);
+        index.initialize(eventStore);
+
+        try {
+            final ProvenanceEventRecord firstEvent = createEvent("4444");
+
+            final Map<String, String> previousAttributes = new HashMap<>();
+            previousAttributes.put("uuid", "4444");
+            final ProvenanceEventRecord join = new StandardProvenanceEventRecord.Builder()
+                    .setEventType(ProvenanceEventType.JOIN)
+                    .setAttributes(previousAttributes, Collections.emptyMap())
+                    .addParentUuid("4444")
+                    .addChildFlowFile("1234")
+                    .setComponentId("component-1")
+                    .setComponentType("unit test")
+                    .setEventId(idGenerator.getAndIncrement())
+                    .setEventTime(System.currentTimeMillis())
+                    .setFlowFileEntryDate(System.currentTimeMillis())
+                    .setFlowFileUUID("1234")
+                    .setLineageStartDate(firstEvent.getLineageStartDate())
+                    .setCurrentContentClaim("container", "section", "unit-test-id", 0L, 1024L)
+                    .build();
+
+            index.addEvents(eventStore.addEvent(firstEvent).getStorageLocations());
+            index.addEvents(eventStore.addEvent(join).getStorageLocations());
+            index.addEvents(eventStore.addEvent(createEvent("1234")).getStorageLocations());
+
+            // The lineage index is searched directly, so the events are found without waiting for Lucene to commit
+            final ComputeLineageSubmission submission = index.submitExpandParents(1L, createUser(), EventAuthorizer.GRANT_ALL);
+            assertTrue(submission.getResult().awaitCompletion(15, TimeUnit.SECONDS));
+
+            final Map<ProvenanceEventType, List<LineageNode>> eventMap = submission.getResult().getNodes().stream()
+                    .filter(n -> n.getNodeType() == LineageNodeType.PROVENANCE_EVENT_NODE)
+                    .collect(Collectors.groupingBy(n -> ((ProvenanceEventLineageNode) n).getEventType()));
+
+            assertEquals(2, eventMap.size());
+            assertEquals(1, eventMap.get(ProvenanceEventType.JOIN).size());
+            assertEquals(1, eventMap.get(ProvenanceEventType.CONTENT_MODIFIED).size());
+        } finally {
+            index.close();
+        }
+    }
+
     @Test
     public void testUnauthorizedEventsGetFilteredForQuery() throws InterruptedException {
         final RepositoryConfiguration repoConfig = createConfig(1);
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.provenance.serialization;
+
+import org.apache.nifi.provenance.EventIdFirstSchemaRecordWriter;
+import org.apache.nifi.provenance.IdentifierLookup;
+import org.apache.nifi.provenance.ProvenanceEventRecord;
+import org.apache.nifi.provenance.StandardProvenanceEventRecord;
+import org.apache.nifi.provenance.TestUtil;
+import org.apache.nifi.provenance.store.EventFileManager;
+import org.apache.nifi.provenance.toc.StandardTocReader;
+import org.apache.nifi.provenance.toc.StandardTocWriter;
+import org.apache.nifi.provenance.toc.TocReader;
+import org.apache.nifi.provenance.toc.TocUtil;
+import org.apache.nifi.provenance.toc.TocWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestEventFileCompressor {
+    private static final int EVENT_COUNT = 20;
+
+    @TempDir
+    private Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(value = BlockCodec.class, names = {"GZIP", "ZSTD", "LZ4"})
+    @Timeout(30)
+    public void testCompressAndReadEvents(final BlockCodec codec) throws IOException, InterruptedException {
+        final File eventFile = tempDir.resolve("0.prov").toFile();
+        final List<ProvenanceEventRecord> events = writeEvents(eventFile);
+
+        compress(eventFile, codec);
+
+        final File compressedFile = new File(eventFile.getParentFile(), eventFile.getName() + codec.getFileExtension());
+        assertTrue(compressedFile.exists());
+        assertFalse(eventFile.exists());
+
+        try (final TocReader tocReader = new StandardTocReader(TocUtil.getTocFile(eventFile))) {
+            assertEquals(codec, tocReader.getCodec());
+            assertTrue(tocReader.isCompressed());
+        }
+
+        // Reading the uncompressed filename should locate the compressed file, as happens when an event is looked up after rollover
+        try (final RecordReader reader = RecordReaders.newRecordReader(eventFile, null, 2048)) {
+            for (final ProvenanceEventRecord expected : events) {
+                final StandardProvenanceEventRecord recovered = reader.nextRecord();
+                assertEquals(expected, recovered);
+            }
+
+            assertNull(reader.nextRecord());
+        }
+
+        try (final RecordReader reader = RecordReaders.newRecordReader(compressedFile, null, 2048)) {
+            final Optional<ProvenanceEventRecord> lastEvent = reader.skipToEvent(EVENT_COUNT - 1);
+            assertTrue(lastEvent.isPresent());
+            assertEquals(events.get(EVENT_COUNT - 1), lastEvent.get());
+        }
+    }
+
+    @Test
+    public void testUncompressedCodecRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new EventFileCompressor(new LinkedBlockingQueue<>(), new EventFileManager(), BlockCodec.NONE));
+    }
+
+    private List<ProvenanceEventRecord> writeEvents(final File eventFile) throws IOException {
+        final List<ProvenanceEventRecord> events = new ArrayList<>();
+        final TocWriter tocWriter = new StandardTocWriter(TocUtil.getTocFile(eventFile), false, false);
+
+        // new block every 100 bytes so that the file contains many blocks
+        try (final RecordWriter writer = new EventIdFirstSchemaRecordWriter(eventFile, new AtomicLong(0L), tocWriter, false, 100, IdentifierLookup.EMPTY)) {
+            writer.writeHeader(0L);
+            for (int i = 0; i < EVENT_COUNT; i++) {
+                final ProvenanceEventRecord event = TestUtil.createEvent();
+                events.add(event);
+                writer.writeRecords(Collections.singletonList(event));
+            }
+        }
+
+        return events;
+    }
+
+    private void compress(final File eventFile, final BlockCodec codec) throws InterruptedException {
+        final BlockingQueue<File> filesToCompress = new LinkedBlockingQueue<>();
+        filesToCompress.add(eventFile);
+
+        final EventFileCompressor compressor = new EventFileCompressor(filesToCompress, new EventFileManager(), codec);
+        final Thread compressorThread = new Thread(compressor);
+        compressorThread.start();
+
+        while (eventFile.exists()) {
+            Thread.sleep(10L);
+        }
+
+        compressor.shutdown();
+        compressorThread.join();
+    }
+}
@@ -213,6 +213,35 @@ public class TestPartitionedWriteAheadEventStore {
         }
     }
 
+    @Test
+    public void testExpirationListenerNotifiedWhenStorageCapacityExceeded() throws IOException {
+        final RepositoryConfiguration config = createConfig(1);
+        config.setMaxEventFileCount(10);
+        config.setCompressOnRollover(false);
+
+        final PartitionedWriteAheadEventStore store = new PartitionedWriteAheadEventStore(config, writerFactory, readerFactory, EventReporter.NO_OP, new EventFileManager());
+        store.initialize();
+
+        final List<Long> notifications = new ArrayList<>();
+        store.addExpirationListener(notifications::add);
+
+        for (int i = 0; i < 25; i++) {
+            store.addEvents(Collections.singleton(createEvent()));
+        }
+
+        store.performMaintenance();
+        assertEquals(List.of(0L), notifications);
+
+        // exceeding the storage capacity removes the oldest event file, which holds events 0 through 9
+        config.setMaxStorageCapacity(store.getSize() - 1);
+        store.performMaintenance();
+        assertEquals(List.of(0L, 10L), notifications);
+        assertFalse(store.getEvent(9L).isPresent());
+        assertTrue(store.getEvent(10L).isPresent());
+
+        store.close();
+    }
+
     @Test
     public void testMaxEventIdRestored() throws IOException {
         final RepositoryConfiguration config = createConfig();
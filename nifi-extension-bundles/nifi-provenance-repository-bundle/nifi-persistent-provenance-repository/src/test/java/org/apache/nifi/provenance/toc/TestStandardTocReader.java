@@ -18,6 +18,7 @@ package org.apache.nifi.provenance.toc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.DataOutputStream;
@@ -27,6 +28,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.UUID;
 
+import org.apache.nifi.provenance.serialization.BlockCodec;
 import org.junit.jupiter.api.Test;
 
 public class TestStandardTocReader {
@@ -62,6 +64,37 @@ public class TestStandardTocReader {
         }
     }
 
+    @Test
+    public void testDetectsCodec() throws IOException {
+        final File file = new File("target/" + UUID.randomUUID());
+
+        for (final BlockCodec codec : BlockCodec.values()) {
+            try (final StandardTocWriter writer = new StandardTocWriter(file, codec, false)) {
+                writer.addBlockOffset(0L, 0L);
+            }
+
+            try {
+                try (final StandardTocReader reader = new StandardTocReader(file)) {
+                    assertEquals(codec, reader.getCodec());
+                    assertEquals(codec.isCompressed(), reader.isCompressed());
+                    assertEquals(0L, reader.getBlockOffset(0));
+                }
+            } finally {
+                file.delete();
+            }
+        }
+
+        try (final OutputStream out = new FileOutputStream(file)) {
+            out.write(2);
+            out.write(4);
+        }
+
+        try {
+            assertThrows(IOException.class, () -> new StandardTocReader(file));
+        } finally {
+            file.delete();
+        }
+    }
 
     @Test
     public void testGetBlockIndexV1() throws IOException {
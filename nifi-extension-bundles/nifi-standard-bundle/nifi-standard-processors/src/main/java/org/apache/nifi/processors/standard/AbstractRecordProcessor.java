@@ -36,18 +36,24 @@ import org.apache.nifi.serialization.RecordSetWriter;
 import org.apache.nifi.serialization.RecordSetWriterFactory;
 import org.apache.nifi.serialization.WriteResult;
 import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordBatch;
 import org.apache.nifi.serialization.record.RecordSchema;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public abstract class AbstractRecordProcessor extends AbstractProcessor {
+    private static final int MAX_CACHED_RECORDS = 10_000;
+    // Rough number of bytes of heap occupied by a parsed Record for each byte of serialized content, used to bound the cache
+    private static final long CACHED_RECORD_HEAP_BYTES_PER_CONTENT_BYTE = 4L;
 
     static final PropertyDescriptor RECORD_READER = new PropertyDescriptor.Builder()
         .name("Record Reader")
@@ -72,6 +78,21 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
         .required(true)
         .build();
 
+    static final PropertyDescriptor CACHE_RECORDS = new PropertyDescriptor.Builder()
+        .name("Cache Records")
+        .description("Specifies whether the records written for each FlowFile should be kept in memory, alongside the FlowFile's content, "
+            + "so that a downstream record-oriented Processor on this node that also caches records can use them instead of parsing the content. "
+            + "The cached records are used only if the FlowFile's content has not changed since it was written, and only for FlowFiles of at most "
+            + MAX_CACHED_RECORDS + " records; otherwise, the content is parsed as usual. The cached records keep the data types and schema that "
+            + "this Processor wrote, rather than those that the downstream Record Reader would produce, so this should be enabled only when the "
+            + "downstream Record Reader reads this Processor's Record Writer output without loss. The heap used is bounded by the "
+            + "nifi.content.view.cache.max.size property in nifi.properties.")
+        .expressionLanguageSupported(ExpressionLanguageScope.NONE)
+        .allowableValues("true", "false")
+        .defaultValue("false")
+        .required(true)
+        .build();
+
     static final Relationship REL_SUCCESS = new Relationship.Builder()
         .name("success")
         .description("FlowFiles that are successfully transformed will be routed to this relationship")
@@ -82,7 +103,7 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
             + "the unchanged FlowFile will be routed to this relationship")
         .build();
 
-    private static final List<PropertyDescriptor> properties = List.of(RECORD_READER, RECORD_WRITER);
+    private static final List<PropertyDescriptor> properties = List.of(RECORD_READER, RECORD_WRITER, CACHE_RECORDS);
     private static final Set<Relationship> relationships = Set.of(REL_SUCCESS, REL_FAILURE);
 
     @Override
@@ -112,6 +133,10 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
         final RecordReaderFactory readerFactory = context.getProperty(RECORD_READER).asControllerService(RecordReaderFactory.class);
         final RecordSetWriterFactory writerFactory = context.getProperty(RECORD_WRITER).asControllerService(RecordSetWriterFactory.class);
         final boolean includeZeroRecordFlowFiles = context.getProperty(INCLUDE_ZERO_RECORD_FLOWFILES).isSet() ? context.getProperty(INCLUDE_ZERO_RECORD_FLOWFILES).asBoolean() : true;
+        final boolean cacheRecords = context.getProperty(CACHE_RECORDS).asBoolean();
+        final RecordBatch cachedBatch = cacheRecords ? session.takeContentView(flowFile, RecordBatch.class) : null;
+        final List<Record> writtenRecords = cacheRecords ? new ArrayList<>() : null;
+        final AtomicReference<RecordSchema> writtenSchema = new AtomicReference<>();
 
         final Map<String, String> attributes = new HashMap<>();
         final AtomicInteger recordCount = new AtomicInteger();
@@ -123,7 +148,8 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
                 @Override
                 public void process(final InputStream in, final OutputStream out) throws IOException {
 
-                    try (final RecordReader reader = readerFactory.createRecordReader(originalAttributes, in, original.getSize(), getLogger())) {
+                    try (final RecordReader reader = cachedBatch == null ? readerFactory.createRecordReader(originalAttributes, in, original.getSize(), getLogger())
+                            : cachedBatch.createRecordReader()) {
 
                         // Get the first record and process it before we create the Record Writer. We do this so that if the Processor
                         // updates the Record's schema, we can provide an updated schema to the Record Writer. If there are no records,
@@ -131,6 +157,7 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
                         Record firstRecord = reader.nextRecord();
                         if (firstRecord == null) {
                             final RecordSchema writeSchema = writerFactory.getSchema(originalAttributes, reader.getSchema());
+                            writtenSchema.set(writeSchema);
                             try (final RecordSetWriter writer = writerFactory.createWriter(getLogger(), writeSchema, out, originalAttributes)) {
                                 writer.beginRecordSet();
 
@@ -147,16 +174,19 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
                         firstRecord = AbstractRecordProcessor.this.process(firstRecord, original, context, 1L);
 
                         final RecordSchema writeSchema = writerFactory.getSchema(originalAttributes, firstRecord.getSchema());
+                        writtenSchema.set(writeSchema);
                         try (final RecordSetWriter writer = writerFactory.createWriter(getLogger(), writeSchema, out, originalAttributes)) {
                             writer.beginRecordSet();
 
                             writer.write(firstRecord);
+                            retainWrittenRecord(writtenRecords, firstRecord);
 
                             Record record;
                             long count = 1L;
                             while ((record = reader.nextRecord()) != null) {
                                 final Record processed = AbstractRecordProcessor.this.process(record, original, context, ++count);
                                 writer.write(processed);
+                                retainWrittenRecord(writtenRecords, processed);
                             }
 
                             final WriteResult writeResult = writer.finishRecordSet();
@@ -191,6 +221,11 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
         if (!includeZeroRecordFlowFiles && recordCount.get() == 0) {
             session.remove(flowFile);
         } else {
+            if (writtenRecords != null && writtenRecords.size() == recordCount.get()) {
+                final long estimatedSize = Math.max(1L, flowFile.getSize()) * CACHED_RECORD_HEAP_BYTES_PER_CONTENT_BYTE;
+                session.cacheContentView(flowFile, new RecordBatch(writtenSchema.get(), writtenRecords), estimatedSize);
+            }
+
             session.transfer(flowFile, REL_SUCCESS);
         }
 
@@ -199,5 +234,16 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
         getLogger().info("Successfully converted {} records for {}", count, flowFile);
     }
 
+    private void retainWrittenRecord(final List<Record> writtenRecords, final Record record) {
+        if (writtenRecords == null) {
+            return;
+        }
+
+        // A FlowFile with more records than this is not cached, which is detected by comparing the number retained against the number written
+        if (writtenRecords.size() < MAX_CACHED_RECORDS) {
+            writtenRecords.add(record);
+        }
+    }
+
     protected abstract Record process(Record record, FlowFile flowFile, ProcessContext context, long count);
 }
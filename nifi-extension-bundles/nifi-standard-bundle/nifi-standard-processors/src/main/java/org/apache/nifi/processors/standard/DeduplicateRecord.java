@@ -33,6 +33,7 @@ import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.SeeAlso;
 import org.apache.nifi.annotation.documentation.Tags;
 import org.apache.nifi.annotation.lifecycle.OnScheduled;
+import org.apache.nifi.annotation.lifecycle.OnStopped;
 import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.components.ValidationContext;
@@ -51,6 +52,9 @@ import org.apache.nifi.processor.ProcessorInitializationContext;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.processors.standard.deduplicate.CuckooFilterStore;
+import org.apache.nifi.processors.standard.deduplicate.DeduplicationStore;
+import org.apache.nifi.processors.standard.deduplicate.MappedHashStore;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
 import org.apache.nifi.record.path.RecordPathResult;
@@ -68,6 +72,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -77,6 +83,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.apache.commons.codec.binary.StringUtils.getBytesUtf8;
@@ -85,7 +93,11 @@ import static org.apache.commons.codec.binary.StringUtils.getBytesUtf8;
 @InputRequirement(Requirement.INPUT_REQUIRED)
 @SystemResourceConsideration(resource = SystemResource.MEMORY,
         description = "The HashSet filter type will grow memory space proportionate to the number of unique records processed. " +
-                "The BloomFilter type will use constant memory regardless of the number of records processed.")
+                "The BloomFilter type will use constant memory regardless of the number of records processed. " +
+                "The Local Store strategy with the Cuckoo Filter type will use two bytes of memory for each unique record within the deduplication window.")
+@SystemResourceConsideration(resource = SystemResource.DISK,
+        description = "The Local Store strategy persists deduplication keys in the Local Store Directory. " +
+                "The Exact Key Store type will use approximately 32 bytes of disk space for each unique record within the deduplication window.")
 @SystemResourceConsideration(resource = SystemResource.CPU,
         description = "If a more advanced hash algorithm is chosen, the amount of time required to hash any particular " +
                 "record could increase substantially."
@@ -94,7 +106,8 @@ import static org.apache.commons.codec.binary.StringUtils.getBytesUtf8;
         "filter", "hash", "dupe", "duplicate", "dedupe"})
 @CapabilityDescription("This processor de-duplicates individual records within a record set. " +
         "It can operate on a per-file basis using an in-memory hashset or bloom filter. " +
-        "When configured with a distributed map cache, it de-duplicates records across multiple files.")
+        "When configured with a distributed map cache, it de-duplicates records across multiple files. " +
+        "The local store strategy de-duplicates records across multiple files within a window of time using a store persisted on the local disk.")
 @WritesAttribute(attribute = DeduplicateRecord.RECORD_COUNT_ATTRIBUTE, description = "Number of records written to the destination FlowFile.")
 @DynamicProperty(
         name = "Name of the property.",
@@ -134,6 +147,15 @@ public class DeduplicateRecord extends AbstractProcessor {
                     "False positive matches are possible, but false negatives are not – in other words, a query returns either \"possibly in the set\" or \"definitely not in the set\". " +
                     "You should use this option if the FlowFile content is large and you can tolerate some duplication in the data. Uses constant storage space regardless of the record set size.");
 
+    static final AllowableValue EXACT_STORE_VALUE = new AllowableValue("exact-store", "Exact Key Store",
+            "Exactly matches records seen before within the deduplication window. Stores a 128-bit hash of each cache key in memory-mapped " +
+                    "hash tables on the local disk, one set of tables for each partition of time. Recently used tables are kept in memory by the " +
+                    "operating system while older tables remain on disk.");
+    static final AllowableValue CUCKOO_FILTER_VALUE = new AllowableValue("cuckoo-filter", "Cuckoo Filter",
+            "Space-efficient probabilistic data structure held in memory for each partition of time and written to the local disk when the " +
+                    "processor is stopped. False positive matches are possible, but false negatives are not. Each filter grows as needed, " +
+                    "and supports removal of keys.");
+
     // PROPERTIES
 
     static final PropertyDescriptor RECORD_READER = new PropertyDescriptor.Builder()
@@ -154,14 +176,16 @@ public class DeduplicateRecord extends AbstractProcessor {
 
     static final AllowableValue OPTION_SINGLE_FILE = new AllowableValue("single", "Single File");
     static final AllowableValue OPTION_MULTIPLE_FILES = new AllowableValue("multiple", "Multiple Files");
+    static final AllowableValue OPTION_LOCAL_STORE = new AllowableValue("local", "Local Store");
 
     static final PropertyDescriptor DEDUPLICATION_STRATEGY = new PropertyDescriptor.Builder()
             .name("deduplication-strategy")
             .displayName("Deduplication Strategy")
             .description("The strategy to use for detecting and routing duplicate records. The option for detecting " +
                     "duplicates across a single FlowFile operates in-memory, whereas detection spanning multiple FlowFiles " +
-                    "utilises a distributed map cache.")
-            .allowableValues(OPTION_SINGLE_FILE, OPTION_MULTIPLE_FILES)
+                    "utilises a distributed map cache. The local store option detects duplicates spanning multiple FlowFiles within " +
+                    "a window of time using a store on the local disk of each node.")
+            .allowableValues(OPTION_SINGLE_FILE, OPTION_MULTIPLE_FILES, OPTION_LOCAL_STORE)
             .defaultValue(OPTION_SINGLE_FILE.getValue())
             .required(true)
             .build();
@@ -186,7 +210,7 @@ public class DeduplicateRecord extends AbstractProcessor {
             .expressionLanguageSupported(ExpressionLanguageScope.FLOWFILE_ATTRIBUTES)
             .required(false)
             .addValidator(Validator.VALID)
-            .dependsOn(DEDUPLICATION_STRATEGY, OPTION_MULTIPLE_FILES)
+            .dependsOn(DEDUPLICATION_STRATEGY, OPTION_MULTIPLE_FILES, OPTION_LOCAL_STORE)
             .build();
 
     static final PropertyDescriptor PUT_CACHE_IDENTIFIER = new PropertyDescriptor.Builder()
@@ -200,6 +224,61 @@ public class DeduplicateRecord extends AbstractProcessor {
             .defaultValue("false")
             .build();
 
+    static final PropertyDescriptor LOCAL_STORE_DIRECTORY = new PropertyDescriptor.Builder()
+            .name("local-store-directory")
+            .displayName("Local Store Directory")
+            .description("The directory in which the local store persists deduplication keys. Each processor uses a subdirectory named " +
+                    "with its identifier.")
+            .required(true)
+            .addValidator(StandardValidators.NON_BLANK_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.ENVIRONMENT)
+            .dependsOn(DEDUPLICATION_STRATEGY, OPTION_LOCAL_STORE)
+            .build();
+
+    static final PropertyDescriptor LOCAL_STORE_TYPE = new PropertyDescriptor.Builder()
+            .name("local-store-type")
+            .displayName("Local Store Type")
+            .description("The type of local store used to determine whether a record has been seen before within the deduplication window.")
+            .allowableValues(EXACT_STORE_VALUE, CUCKOO_FILTER_VALUE)
+            .defaultValue(EXACT_STORE_VALUE.getValue())
+            .required(true)
+            .dependsOn(DEDUPLICATION_STRATEGY, OPTION_LOCAL_STORE)
+            .build();
+
+    static final PropertyDescriptor DEDUPLICATION_WINDOW = new PropertyDescriptor.Builder()
+            .name("deduplication-window")
+            .displayName("Deduplication Window")
+            .description("The minimum amount of time that the local store retains a cache key. Keys are retained in partitions of time and " +
+                    "an entire partition is removed once it ends before the start of the window, so a key is retained for at most the " +
+                    "window plus the Partition Duration.")
+            .required(true)
+            .defaultValue("24 hours")
+            .addValidator(StandardValidators.TIME_PERIOD_VALIDATOR)
+            .dependsOn(DEDUPLICATION_STRATEGY, OPTION_LOCAL_STORE)
+            .build();
+
+    static final PropertyDescriptor PARTITION_DURATION = new PropertyDescriptor.Builder()
+            .name("partition-duration")
+            .displayName("Partition Duration")
+            .description("The amount of time covered by each partition of the local store. Shorter partitions remove expired keys sooner, " +
+                    "at the expense of more partitions being checked for each record.")
+            .required(true)
+            .defaultValue("1 hour")
+            .addValidator(StandardValidators.TIME_PERIOD_VALIDATOR)
+            .dependsOn(DEDUPLICATION_STRATEGY, OPTION_LOCAL_STORE)
+            .build();
+
+    static final PropertyDescriptor PARTITION_CAPACITY_HINT = new PropertyDescriptor.Builder()
+            .name("partition-capacity-hint")
+            .displayName("Partition Capacity Hint")
+            .description("An estimation of the number of unique records added to the local store during each partition. Partitions " +
+                    "grow beyond this number as needed, but an accurate estimate avoids checking additional tables or filters for each record.")
+            .required(true)
+            .defaultValue("1000000")
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .dependsOn(DEDUPLICATION_STRATEGY, OPTION_LOCAL_STORE)
+            .build();
+
     static final PropertyDescriptor INCLUDE_ZERO_RECORD_FLOWFILES = new PropertyDescriptor.Builder()
             .name("include-zero-record-flowfiles")
             .displayName("Include Zero Record FlowFiles")
@@ -300,6 +379,11 @@ public class DeduplicateRecord extends AbstractProcessor {
         descriptors.add(DISTRIBUTED_MAP_CACHE);
         descriptors.add(CACHE_IDENTIFIER);
         descriptors.add(PUT_CACHE_IDENTIFIER);
+        descriptors.add(LOCAL_STORE_DIRECTORY);
+        descriptors.add(LOCAL_STORE_TYPE);
+        descriptors.add(DEDUPLICATION_WINDOW);
+        descriptors.add(PARTITION_DURATION);
+        descriptors.add(PARTITION_CAPACITY_HINT);
         descriptors.add(RECORD_READER);
         descriptors.add(RECORD_WRITER);
         descriptors.add(INCLUDE_ZERO_RECORD_FLOWFILES);
@@ -347,7 +431,8 @@ public class DeduplicateRecord extends AbstractProcessor {
     protected Collection<ValidationResult> customValidate(final ValidationContext context) {
         List<ValidationResult> validationResults = new ArrayList<>();
 
-        boolean useSingleFile = context.getProperty(DEDUPLICATION_STRATEGY).getValue().equals(OPTION_SINGLE_FILE.getValue());
+        final String strategy = context.getProperty(DEDUPLICATION_STRATEGY).getValue();
+        boolean useSingleFile = strategy.equals(OPTION_SINGLE_FILE.getValue());
 
         if (useSingleFile && context.getProperty(BLOOM_FILTER_FPP).isSet()) {
             final double falsePositiveProbability = context.getProperty(BLOOM_FILTER_FPP).asDouble();
@@ -359,7 +444,7 @@ public class DeduplicateRecord extends AbstractProcessor {
                                 .explanation("Valid values are 0.0 - 1.0 inclusive")
                                 .valid(false).build());
             }
-        } else if (!useSingleFile) {
+        } else if (strategy.equals(OPTION_MULTIPLE_FILES.getValue())) {
             if (!context.getProperty(DISTRIBUTED_MAP_CACHE).isSet()) {
                 validationResults.add(new ValidationResult.Builder()
                         .subject(DISTRIBUTED_MAP_CACHE.getName())
@@ -367,6 +452,16 @@ public class DeduplicateRecord extends AbstractProcessor {
                                 "not configured")
                         .valid(false).build());
             }
+        } else if (strategy.equals(OPTION_LOCAL_STORE.getValue())) {
+            final Long window = context.getProperty(DEDUPLICATION_WINDOW).asTimePeriod(TimeUnit.MILLISECONDS);
+            final Long partitionDuration = context.getProperty(PARTITION_DURATION).asTimePeriod(TimeUnit.MILLISECONDS);
+            if (window != null && partitionDuration != null && (partitionDuration < 1 || window < partitionDuration)) {
+                validationResults.add(new ValidationResult.Builder()
+                        .subject(PARTITION_DURATION.getDisplayName())
+                        .input(context.getProperty(PARTITION_DURATION).getValue())
+                        .explanation("Partition Duration must be greater than zero and not longer than the Deduplication Window")
+                        .valid(false).build());
+            }
         }
 
         return validationResults;
@@ -377,9 +472,12 @@ public class DeduplicateRecord extends AbstractProcessor {
     private RecordSetWriterFactory writerFactory;
 
     private boolean useInMemoryStrategy;
+    private volatile DeduplicationStore localStore;
+    // Keys of non-duplicate records whose sessions have not been committed, reserved so that concurrent tasks detect them as duplicates
+    private final Set<String> uncommittedLocalStoreKeys = ConcurrentHashMap.newKeySet();
 
     @OnScheduled
-    public void onScheduled(final ProcessContext context) {
+    public void onScheduled(final ProcessContext context) throws IOException {
         dynamicProperties = context.getProperties().keySet().stream()
                 .filter(PropertyDescriptor::isDynamic)
                 .collect(Collectors.toList());
@@ -398,6 +496,33 @@ public class DeduplicateRecord extends AbstractProcessor {
         String strategy = context.getProperty(DEDUPLICATION_STRATEGY).getValue();
 
         useInMemoryStrategy = strategy.equals(OPTION_SINGLE_FILE.getValue());
+
+        if (strategy.equals(OPTION_LOCAL_STORE.getValue())) {
+            localStore = createLocalStore(context);
+        }
+    }
+
+    @OnStopped
+    public void onStopped() throws IOException {
+        final DeduplicationStore store = localStore;
+        if (store != null) {
+            localStore = null;
+            uncommittedLocalStoreKeys.clear();
+            store.close();
+        }
+    }
+
+    private DeduplicationStore createLocalStore(final ProcessContext context) throws IOException {
+        final Path directory = Paths.get(context.getProperty(LOCAL_STORE_DIRECTORY).evaluateAttributeExpressions().getValue(), getIdentifier());
+        final long window = context.getProperty(DEDUPLICATION_WINDOW).asTimePeriod(TimeUnit.MILLISECONDS);
+        final long partitionDuration = context.getProperty(PARTITION_DURATION).asTimePeriod(TimeUnit.MILLISECONDS);
+        final int partitionCapacity = context.getProperty(PARTITION_CAPACITY_HINT).asInteger();
+
+        if (context.getProperty(LOCAL_STORE_TYPE).getValue().equals(CUCKOO_FILTER_VALUE.getValue())) {
+            return new CuckooFilterStore(directory, window, partitionDuration, partitionCapacity, System::currentTimeMillis);
+        } else {
+            return new MappedHashStore(directory, window, partitionDuration, partitionCapacity, System::currentTimeMillis);
+        }
     }
 
     private FilterWrapper getFilter(ProcessContext context) {
@@ -412,6 +537,8 @@ public class DeduplicateRecord extends AbstractProcessor {
                     filterCapacity,
                     context.getProperty(BLOOM_FILTER_FPP).asDouble()
             ));
+        } else if (localStore != null) {
+            return new LocalStoreFilterWrapper(localStore, uncommittedLocalStoreKeys);
         } else {
             return new DistributedMapCacheClientWrapper(mapCacheClient, context.getProperty(PUT_CACHE_IDENTIFIER).asBoolean());
         }
@@ -437,6 +564,7 @@ public class DeduplicateRecord extends AbstractProcessor {
         String nonDuplicateMimeType = null;
 
         boolean error = false;
+        FilterWrapper filter = null;
         try (
                 final InputStream inputStream = session.read(flowFile);
                 final RecordReader reader = readerFactory.createRecordReader(flowFile, inputStream, logger);
@@ -447,7 +575,7 @@ public class DeduplicateRecord extends AbstractProcessor {
                 final RecordSetWriter duplicatesWriter = writerFactory
                         .createWriter(getLogger(), writerFactory.getSchema(flowFile.getAttributes(), reader.getSchema()), dupeStream, duplicatesFlowFile);
         ) {
-            final FilterWrapper filter = getFilter(context);
+            filter = getFilter(context);
 
             final String recordHashingAlgorithm = context.getProperty(RECORD_HASHING_ALGORITHM).getValue();
             final MessageDigest messageDigest = recordHashingAlgorithm.equals(NONE_ALGORITHM_VALUE.getValue())
@@ -504,19 +632,37 @@ public class DeduplicateRecord extends AbstractProcessor {
             error = true;
         } finally {
             if (!error) {
-                final boolean includeZeroRecordFlowFiles = context.getProperty(INCLUDE_ZERO_RECORD_FLOWFILES).asBoolean();
-
-                session.adjustCounter("Records Processed",
-                        nonDuplicatesWriteResult.getRecordCount() + duplicatesWriteResult.getRecordCount(), false);
-
-                sendOrRemove(session, duplicatesFlowFile, REL_DUPLICATE, duplicateMimeType,
-                        includeZeroRecordFlowFiles, duplicatesWriteResult);
-
-                sendOrRemove(session, nonDuplicatesFlowFile, REL_NON_DUPLICATE, nonDuplicateMimeType,
-                        includeZeroRecordFlowFiles, nonDuplicatesWriteResult);
-
-                session.transfer(flowFile, REL_ORIGINAL);
+                boolean commitScheduled = false;
+                try {
+                    final boolean includeZeroRecordFlowFiles = context.getProperty(INCLUDE_ZERO_RECORD_FLOWFILES).asBoolean();
+
+                    session.adjustCounter("Records Processed",
+                            nonDuplicatesWriteResult.getRecordCount() + duplicatesWriteResult.getRecordCount(), false);
+
+                    sendOrRemove(session, duplicatesFlowFile, REL_DUPLICATE, duplicateMimeType,
+                            includeZeroRecordFlowFiles, duplicatesWriteResult);
+
+                    sendOrRemove(session, nonDuplicatesFlowFile, REL_NON_DUPLICATE, nonDuplicateMimeType,
+                            includeZeroRecordFlowFiles, nonDuplicatesWriteResult);
+
+                    session.transfer(flowFile, REL_ORIGINAL);
+
+                    if (filter instanceof LocalStoreFilterWrapper localStoreFilter) {
+                        // Add keys to the local store only once the non-duplicate records have been committed
+                        session.commitAsync(localStoreFilter::commit, failure -> localStoreFilter.release());
+                    }
+                    commitScheduled = true;
+                } finally {
+                    // Keys reserved by this invocation would otherwise be treated as duplicates until the processor is stopped
+                    if (!commitScheduled && filter instanceof LocalStoreFilterWrapper localStoreFilter) {
+                        localStoreFilter.release();
+                    }
+                }
             } else {
+                if (filter instanceof LocalStoreFilterWrapper localStoreFilter) {
+                    localStoreFilter.release();
+                }
+
                 session.remove(duplicatesFlowFile);
                 session.remove(nonDuplicatesFlowFile);
                 session.transfer(flowFile, REL_FAILURE);
@@ -641,5 +787,52 @@ public class DeduplicateRecord extends AbstractProcessor {
         }
     }
 
+    private class LocalStoreFilterWrapper extends FilterWrapper {
+        private final DeduplicationStore store;
+        private final Set<String> uncommittedKeys;
+        private final List<String> reservedKeys = new ArrayList<>();
+
+        public LocalStoreFilterWrapper(final DeduplicationStore store, final Set<String> uncommittedKeys) {
+            this.store = store;
+            this.uncommittedKeys = uncommittedKeys;
+        }
+
+        @Override
+        public boolean contains(String value) {
+            if (store.contains(value)) {
+                return true;
+            }
+
+            // Reserve the key atomically so that concurrent tasks treat it as a duplicate until the session is committed
+            if (!uncommittedKeys.add(value)) {
+                return true;
+            }
+            reservedKeys.add(value);
+            return false;
+        }
+
+        @Override
+        public void put(String value) {
+            // Do nothing as the key is reserved in the `contains` method and added to the store when the session is committed.
+        }
+
+        void commit() {
+            try {
+                for (final String key : reservedKeys) {
+                    store.add(key);
+                }
+            } catch (final IOException e) {
+                getLogger().error("Failed to add {} committed keys to the local store", reservedKeys.size(), e);
+            } finally {
+                release();
+            }
+        }
+
+        void release() {
+            reservedKeys.forEach(uncommittedKeys::remove);
+            reservedKeys.clear();
+        }
+    }
+
     private static final Serializer<String> STRING_SERIALIZER = (value, output) -> output.write(value.getBytes(StandardCharsets.UTF_8));
 }
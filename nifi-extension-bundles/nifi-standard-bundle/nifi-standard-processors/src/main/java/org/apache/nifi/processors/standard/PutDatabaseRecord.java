@@ -27,6 +27,7 @@ import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
 import org.apache.nifi.annotation.documentation.UseCase;
 import org.apache.nifi.annotation.lifecycle.OnScheduled;
+import org.apache.nifi.annotation.lifecycle.OnStopped;
 import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.components.PropertyDescriptor.Builder;
@@ -86,6 +87,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -126,6 +134,12 @@ public class PutDatabaseRecord extends AbstractProcessor {
 
     static final String PUT_DATABASE_RECORD_ERROR = "putdatabaserecord.error";
 
+    private static final int QUEUED_BATCHES = 2;
+
+    private static final long BATCH_OFFER_TIMEOUT_MILLIS = 100;
+
+    private static final StatementBatch END_OF_BATCHES = new StatementBatch(null);
+
     static final AllowableValue IGNORE_UNMATCHED_FIELD = new AllowableValue("Ignore Unmatched Fields", "Ignore Unmatched Fields",
             "Any field in the document that cannot be mapped to a column in the database is ignored");
     static final AllowableValue FAIL_UNMATCHED_FIELD = new AllowableValue("Fail on Unmatched Fields", "Fail on Unmatched Fields",
@@ -384,6 +398,17 @@ public class PutDatabaseRecord extends AbstractProcessor {
             .required(false)
             .build();
 
+    static final PropertyDescriptor STATEMENT_PIPELINING = new Builder()
+            .name("Statement Pipelining")
+            .displayName("Statement Pipelining")
+            .description("Whether to execute statement batches on a background thread while Records are read and converted on the processing thread. "
+                    + "Batches are executed in order on the same connection and in the same transaction as sequential execution, so reading stays at most a few "
+                    + "batches ahead of the database. Pipelining does not apply to the SQL Statement Type.")
+            .allowableValues("true", "false")
+            .defaultValue("false")
+            .required(true)
+            .build();
+
     static final PropertyDescriptor DB_TYPE;
 
     protected static final Map<String, DatabaseAdapter> dbAdapters;
@@ -440,6 +465,7 @@ public class PutDatabaseRecord extends AbstractProcessor {
         pds.add(TABLE_SCHEMA_CACHE_SIZE);
         pds.add(MAX_BATCH_SIZE);
         pds.add(AUTO_COMMIT);
+        pds.add(STATEMENT_PIPELINING);
 
         propDescriptors = Collections.unmodifiableList(pds);
     }
@@ -447,7 +473,7 @@ public class PutDatabaseRecord extends AbstractProcessor {
     private DatabaseAdapter databaseAdapter;
     private volatile Function<Record, String> recordPathOperationType;
     private volatile RecordPath dataRecordPath;
-
+    private volatile ExecutorService statementExecutor;
 
     @Override
     public Set<Relationship> getRelationships() {
@@ -530,6 +556,23 @@ public class PutDatabaseRecord extends AbstractProcessor {
 
         final String dataRecordPathValue = context.getProperty(DATA_RECORD_PATH).getValue();
         dataRecordPath = dataRecordPathValue == null ? null : RecordPath.compile(dataRecordPathValue);
+
+        if (context.getProperty(STATEMENT_PIPELINING).asBoolean()) {
+            statementExecutor = Executors.newCachedThreadPool(r -> {
+                final Thread thread = Executors.defaultThreadFactory().newThread(r);
+                thread.setName("PutDatabaseRecord Statement Executor [UUID=" + getIdentifier() + "]");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @OnStopped
+    public void onStopped() {
+        if (statementExecutor != null) {
+            statementExecutor.shutdownNow();
+            statementExecutor = null;
+        }
     }
 
     @Override
@@ -774,6 +817,11 @@ public class PutDatabaseRecord extends AbstractProcessor {
         // build the fully qualified table name
         final String fqTableName =  generateTableName(settings, catalog, schemaName, tableName, tableSchema);
 
+        if (context.getProperty(STATEMENT_PIPELINING).asBoolean()) {
+            executePipelinedDML(context, session, flowFile, con, recordReader, explicitStatementType, settings, tableSchema, fqTableName);
+            return;
+        }
+
         final Map<String, PreparedSqlAndColumns> preparedSql = new HashMap<>();
         int currentBatchSize = 0;
         int batchIndex = 0;
@@ -782,47 +830,18 @@ public class PutDatabaseRecord extends AbstractProcessor {
 
         try {
             while ((outerRecord = recordReader.nextRecord()) != null) {
-                final String statementType;
-                if (USE_RECORD_PATH.equalsIgnoreCase(explicitStatementType)) {
-                    statementType = recordPathOperationType.apply(outerRecord);
-                } else {
-                    statementType = explicitStatementType;
-                }
+                final String statementType = getRecordStatementType(outerRecord, explicitStatementType);
 
                 final List<Record> dataRecords = getDataRecords(outerRecord);
                 for (final Record currentRecord : dataRecords) {
                     PreparedSqlAndColumns preparedSqlAndColumns = preparedSql.get(statementType);
                     if (preparedSqlAndColumns == null) {
-                        final RecordSchema recordSchema = currentRecord.getSchema();
-
-                        final SqlAndIncludedColumns sqlHolder;
-                        if (INSERT_TYPE.equalsIgnoreCase(statementType)) {
-                            sqlHolder = generateInsert(recordSchema, fqTableName, tableSchema, settings);
-                        } else if (UPDATE_TYPE.equalsIgnoreCase(statementType)) {
-                            sqlHolder = generateUpdate(recordSchema, fqTableName, updateKeys, tableSchema, settings);
-                        } else if (DELETE_TYPE.equalsIgnoreCase(statementType)) {
-                            sqlHolder = generateDelete(recordSchema, fqTableName, tableSchema, settings);
-                        } else if (UPSERT_TYPE.equalsIgnoreCase(statementType)) {
-                            sqlHolder = generateUpsert(recordSchema, fqTableName, updateKeys, tableSchema, settings);
-                        } else if (INSERT_IGNORE_TYPE.equalsIgnoreCase(statementType)) {
-                            sqlHolder = generateInsertIgnore(recordSchema, fqTableName, updateKeys, tableSchema, settings);
-                        } else {
-                            throw new IllegalArgumentException(format("Statement Type %s is not valid, FlowFile %s", statementType, flowFile));
-                        }
+                        final SqlAndIncludedColumns sqlHolder = generateSql(statementType, currentRecord.getSchema(), fqTableName, updateKeys, tableSchema, settings, flowFile);
 
                         // Log debug sqlHolder
                         log.debug("Generated SQL: {}", sqlHolder.getSql());
                         // Create the Prepared Statement
-                        final PreparedStatement preparedStatement = con.prepareStatement(sqlHolder.getSql());
-
-                        try {
-                            preparedStatement.setQueryTimeout(timeoutMillis); // timeout in seconds
-                        } catch (final SQLException se) {
-                            // If the driver doesn't support query timeout, then assume it is "infinite". Allow a timeout of zero only
-                            if (timeoutMillis > 0) {
-                                throw se;
-                            }
-                        }
+                        final PreparedStatement preparedStatement = prepareStatement(con, sqlHolder.getSql(), timeoutMillis);
 
                         preparedSqlAndColumns = new PreparedSqlAndColumns(sqlHolder, preparedStatement);
                         preparedSql.put(statementType, preparedSqlAndColumns);
@@ -843,103 +862,8 @@ public class PutDatabaseRecord extends AbstractProcessor {
                     }
                     lastPreparedStatement = ps;
 
-                    final Object[] values = currentRecord.getValues();
-                    final List<DataType> dataTypes = currentRecord.getSchema().getDataTypes();
-                    final RecordSchema recordSchema = currentRecord.getSchema();
-                    final Map<String, ColumnDescription> columns = tableSchema.getColumns();
-
-                    int deleteIndex = 0;
-                    for (int i = 0; i < fieldIndexes.size(); i++) {
-                        final int currentFieldIndex = fieldIndexes.get(i);
-                        Object currentValue = values[currentFieldIndex];
-                        final DataType dataType = dataTypes.get(currentFieldIndex);
-                        final int fieldSqlType = DataTypeUtils.getSQLTypeValue(dataType);
-                        final String fieldName = recordSchema.getField(currentFieldIndex).getFieldName();
-                        String columnName = ColumnDescription.normalizeColumnName(fieldName, settings.translateFieldNames);
-                        int sqlType;
-
-                        final ColumnDescription column = columns.get(columnName);
-                        // 'column' should not be null here as the fieldIndexes should correspond to fields that match table columns, but better to handle just in case
-                        if (column == null) {
-                            if (!settings.ignoreUnmappedFields) {
-                                throw new SQLDataException("Cannot map field '" + fieldName + "' to any column in the database\n"
-                                        + (settings.translateFieldNames ? "Normalized " : "") + "Columns: " + String.join(",", columns.keySet()));
-                            } else {
-                                sqlType = fieldSqlType;
-                            }
-                        } else {
-                            sqlType = column.getDataType();
-                            // SQLServer returns -150 for sql_variant from DatabaseMetaData though the server expects -156 when setting a sql_variant parameter
-                            if (sqlType == -150) {
-                                sqlType = -156;
-                            }
-                        }
-
-                        // Convert (if necessary) from field data type to column data type
-                        if (fieldSqlType != sqlType) {
-                            try {
-                                DataType targetDataType = DataTypeUtils.getDataTypeFromSQLTypeValue(sqlType);
-                                // If sqlType is unsupported, fall back to the fieldSqlType instead
-                                if (targetDataType == null) {
-                                    targetDataType = DataTypeUtils.getDataTypeFromSQLTypeValue(fieldSqlType);
-                                }
-                                if (targetDataType != null) {
-                                    if (sqlType == Types.BLOB || sqlType == Types.BINARY || sqlType == Types.VARBINARY || sqlType == Types.LONGVARBINARY) {
-                                        if (currentValue instanceof Object[]) {
-                                            // Convert Object[Byte] arrays to byte[]
-                                            Object[] src = (Object[]) currentValue;
-                                            if (src.length > 0) {
-                                                if (!(src[0] instanceof Byte)) {
-                                                    throw new IllegalTypeConversionException("Cannot convert value " + currentValue + " to BLOB/BINARY/VARBINARY/LONGVARBINARY");
-                                                }
-                                            }
-                                            byte[] dest = new byte[src.length];
-                                            for (int j = 0; j < src.length; j++) {
-                                                dest[j] = (Byte) src[j];
-                                            }
-                                            currentValue = dest;
-                                        } else if (currentValue instanceof String) {
-                                            final String stringValue = (String) currentValue;
-
-                                            if (BINARY_STRING_FORMAT_BASE64.getValue().equals(binaryStringFormat)) {
-                                                currentValue = Base64.getDecoder().decode(stringValue);
-                                            } else if (BINARY_STRING_FORMAT_HEXADECIMAL.getValue().equals(binaryStringFormat)) {
-                                                currentValue = HexFormat.of().parseHex(stringValue);
-                                            } else {
-                                                currentValue = stringValue.getBytes(StandardCharsets.UTF_8);
-                                            }
-                                        } else if (currentValue != null && !(currentValue instanceof byte[])) {
-                                            throw new IllegalTypeConversionException("Cannot convert value " + currentValue + " to BLOB/BINARY/VARBINARY/LONGVARBINARY");
-                                        }
-                                    } else {
-                                        currentValue = DataTypeUtils.convertType(
-                                                currentValue,
-                                                targetDataType,
-                                                fieldName);
-                                    }
-                                }
-                            } catch (IllegalTypeConversionException itce) {
-                                // If the field and column types don't match or the value can't otherwise be converted to the column datatype,
-                                // try with the original object and field datatype
-                                sqlType = DataTypeUtils.getSQLTypeValue(dataType);
-                            }
-                        }
-
-                        // If DELETE type, insert the object twice if the column is nullable because of the null check (see generateDelete for details)
-                        if (DELETE_TYPE.equalsIgnoreCase(statementType)) {
-                            setParameter(ps, ++deleteIndex, currentValue, fieldSqlType, sqlType);
-                            if (column != null && column.isNullable()) {
-                                setParameter(ps, ++deleteIndex, currentValue, fieldSqlType, sqlType);
-                            }
-                        } else if (UPSERT_TYPE.equalsIgnoreCase(statementType)) {
-                            final int timesToAddObjects = databaseAdapter.getTimesToAddColumnObjectsForUpsert();
-                            for (int j = 0; j < timesToAddObjects; j++) {
-                                setParameter(ps, i + (fieldIndexes.size() * j) + 1, currentValue, fieldSqlType, sqlType);
-                            }
-                        } else {
-                            setParameter(ps, i + 1, currentValue, fieldSqlType, sqlType);
-                        }
-                    }
+                    bindParameters(currentRecord, statementType, fieldIndexes, tableSchema, settings, binaryStringFormat,
+                            (index, value, fieldSqlType, sqlType) -> setParameter(ps, index, value, fieldSqlType, sqlType));
 
                     ps.addBatch();
                     session.adjustCounter(statementType + " updates performed", 1, false);
@@ -965,6 +889,194 @@ public class PutDatabaseRecord extends AbstractProcessor {
         }
     }
 
+    private void executePipelinedDML(final ProcessContext context, final ProcessSession session, final FlowFile flowFile, final Connection con,
+                                     final RecordReader recordReader, final String explicitStatementType, final DMLSettings settings,
+                                     final TableSchema tableSchema, final String fqTableName)
+        throws IllegalArgumentException, MalformedRecordException, IOException, SQLException {
+
+        final ComponentLog log = getLogger();
+        final String updateKeys = context.getProperty(UPDATE_KEYS).evaluateAttributeExpressions(flowFile).getValue();
+        final int maxBatchSize = context.getProperty(MAX_BATCH_SIZE).evaluateAttributeExpressions(flowFile).asInteger();
+        final int timeoutMillis = context.getProperty(QUERY_TIMEOUT).evaluateAttributeExpressions().asTimePeriod(TimeUnit.MILLISECONDS).intValue();
+        final String binaryStringFormat = context.getProperty(BINARY_STRING_FORMAT).evaluateAttributeExpressions(flowFile).getValue();
+
+        final Map<String, SqlAndIncludedColumns> generatedSql = new HashMap<>();
+        final StatementPipeline statementPipeline = new StatementPipeline(con, maxBatchSize, timeoutMillis);
+        try {
+            statementPipeline.start();
+
+            Record outerRecord;
+            while ((outerRecord = recordReader.nextRecord()) != null) {
+                final String statementType = getRecordStatementType(outerRecord, explicitStatementType);
+
+                final List<Record> dataRecords = getDataRecords(outerRecord);
+                for (final Record currentRecord : dataRecords) {
+                    SqlAndIncludedColumns sqlHolder = generatedSql.get(statementType);
+                    if (sqlHolder == null) {
+                        sqlHolder = generateSql(statementType, currentRecord.getSchema(), fqTableName, updateKeys, tableSchema, settings, flowFile);
+                        log.debug("Generated SQL: {}", sqlHolder.getSql());
+                        generatedSql.put(statementType, sqlHolder);
+                    }
+
+                    final List<StatementParameter> parameters = new ArrayList<>();
+                    bindParameters(currentRecord, statementType, sqlHolder.getFieldIndexes(), tableSchema, settings, binaryStringFormat,
+                            (index, value, fieldSqlType, sqlType) -> parameters.add(new StatementParameter(index, value, fieldSqlType, sqlType)));
+
+                    statementPipeline.add(sqlHolder.getSql(), parameters);
+                    session.adjustCounter(statementType + " updates performed", 1, false);
+                }
+            }
+
+            final int batchesExecuted = statementPipeline.complete();
+            log.debug("Executed {} pipelined batches for {}", batchesExecuted, flowFile);
+            session.adjustCounter("Batches Executed", batchesExecuted, false);
+        } finally {
+            statementPipeline.close();
+        }
+    }
+
+    private String getRecordStatementType(final Record outerRecord, final String explicitStatementType) {
+        if (USE_RECORD_PATH.equalsIgnoreCase(explicitStatementType)) {
+            return recordPathOperationType.apply(outerRecord);
+        } else {
+            return explicitStatementType;
+        }
+    }
+
+    private SqlAndIncludedColumns generateSql(final String statementType, final RecordSchema recordSchema, final String fqTableName, final String updateKeys,
+                                              final TableSchema tableSchema, final DMLSettings settings, final FlowFile flowFile) throws SQLException, MalformedRecordException {
+        if (INSERT_TYPE.equalsIgnoreCase(statementType)) {
+            return generateInsert(recordSchema, fqTableName, tableSchema, settings);
+        } else if (UPDATE_TYPE.equalsIgnoreCase(statementType)) {
+            return generateUpdate(recordSchema, fqTableName, updateKeys, tableSchema, settings);
+        } else if (DELETE_TYPE.equalsIgnoreCase(statementType)) {
+            return generateDelete(recordSchema, fqTableName, tableSchema, settings);
+        } else if (UPSERT_TYPE.equalsIgnoreCase(statementType)) {
+            return generateUpsert(recordSchema, fqTableName, updateKeys, tableSchema, settings);
+        } else if (INSERT_IGNORE_TYPE.equalsIgnoreCase(statementType)) {
+            return generateInsertIgnore(recordSchema, fqTableName, updateKeys, tableSchema, settings);
+        } else {
+            throw new IllegalArgumentException(format("Statement Type %s is not valid, FlowFile %s", statementType, flowFile));
+        }
+    }
+
+    private PreparedStatement prepareStatement(final Connection connection, final String sql, final int timeoutMillis) throws SQLException {
+        final PreparedStatement preparedStatement = connection.prepareStatement(sql);
+
+        try {
+            preparedStatement.setQueryTimeout(timeoutMillis); // timeout in seconds
+        } catch (final SQLException se) {
+            // If the driver doesn't support query timeout, then assume it is "infinite". Allow a timeout of zero only
+            if (timeoutMillis > 0) {
+                preparedStatement.close();
+                throw se;
+            }
+        }
+
+        return preparedStatement;
+    }
+
+    private void bindParameters(final Record currentRecord, final String statementType, final List<Integer> fieldIndexes, final TableSchema tableSchema,
+                                final DMLSettings settings, final String binaryStringFormat, final ParameterSetter parameterSetter) throws SQLException, IOException {
+        final Object[] values = currentRecord.getValues();
+        final List<DataType> dataTypes = currentRecord.getSchema().getDataTypes();
+        final RecordSchema recordSchema = currentRecord.getSchema();
+        final Map<String, ColumnDescription> columns = tableSchema.getColumns();
+
+        int deleteIndex = 0;
+        for (int i = 0; i < fieldIndexes.size(); i++) {
+            final int currentFieldIndex = fieldIndexes.get(i);
+            Object currentValue = values[currentFieldIndex];
+            final DataType dataType = dataTypes.get(currentFieldIndex);
+            final int fieldSqlType = DataTypeUtils.getSQLTypeValue(dataType);
+            final String fieldName = recordSchema.getField(currentFieldIndex).getFieldName();
+            String columnName = ColumnDescription.normalizeColumnName(fieldName, settings.translateFieldNames);
+            int sqlType;
+
+            final ColumnDescription column = columns.get(columnName);
+            // 'column' should not be null here as the fieldIndexes should correspond to fields that match table columns, but better to handle just in case
+            if (column == null) {
+                if (!settings.ignoreUnmappedFields) {
+                    throw new SQLDataException("Cannot map field '" + fieldName + "' to any column in the database\n"
+                            + (settings.translateFieldNames ? "Normalized " : "") + "Columns: " + String.join(",", columns.keySet()));
+                } else {
+                    sqlType = fieldSqlType;
+                }
+            } else {
+                sqlType = column.getDataType();
+                // SQLServer returns -150 for sql_variant from DatabaseMetaData though the server expects -156 when setting a sql_variant parameter
+                if (sqlType == -150) {
+                    sqlType = -156;
+                }
+            }
+
+            // Convert (if necessary) from field data type to column data type
+            if (fieldSqlType != sqlType) {
+                try {
+                    DataType targetDataType = DataTypeUtils.getDataTypeFromSQLTypeValue(sqlType);
+                    // If sqlType is unsupported, fall back to the fieldSqlType instead
+                    if (targetDataType == null) {
+                        targetDataType = DataTypeUtils.getDataTypeFromSQLTypeValue(fieldSqlType);
+                    }
+                    if (targetDataType != null) {
+                        if (sqlType == Types.BLOB || sqlType == Types.BINARY || sqlType == Types.VARBINARY || sqlType == Types.LONGVARBINARY) {
+                            if (currentValue instanceof Object[]) {
+                                // Convert Object[Byte] arrays to byte[]
+                                Object[] src = (Object[]) currentValue;
+                                if (src.length > 0) {
+                                    if (!(src[0] instanceof Byte)) {
+                                        throw new IllegalTypeConversionException("Cannot convert value " + currentValue + " to BLOB/BINARY/VARBINARY/LONGVARBINARY");
+                                    }
+                                }
+                                byte[] dest = new byte[src.length];
+                                for (int j = 0; j < src.length; j++) {
+                                    dest[j] = (Byte) src[j];
+                                }
+                                currentValue = dest;
+                            } else if (currentValue instanceof String) {
+                                final String stringValue = (String) currentValue;
+
+                                if (BINARY_STRING_FORMAT_BASE64.getValue().equals(binaryStringFormat)) {
+                                    currentValue = Base64.getDecoder().decode(stringValue);
+                                } else if (BINARY_STRING_FORMAT_HEXADECIMAL.getValue().equals(binaryStringFormat)) {
+                                    currentValue = HexFormat.of().parseHex(stringValue);
+                                } else {
+                                    currentValue = stringValue.getBytes(StandardCharsets.UTF_8);
+                                }
+                            } else if (currentValue != null && !(currentValue instanceof byte[])) {
+                                throw new IllegalTypeConversionException("Cannot convert value " + currentValue + " to BLOB/BINARY/VARBINARY/LONGVARBINARY");
+                            }
+                        } else {
+                            currentValue = DataTypeUtils.convertType(
+                                    currentValue,
+                                    targetDataType,
+                                    fieldName);
+                        }
+                    }
+                } catch (IllegalTypeConversionException itce) {
+                    // If the field and column types don't match or the value can't otherwise be converted to the column datatype,
+                    // try with the original object and field datatype
+                    sqlType = DataTypeUtils.getSQLTypeValue(dataType);
+                }
+            }
+
+            // If DELETE type, insert the object twice if the column is nullable because of the null check (see generateDelete for details)
+            if (DELETE_TYPE.equalsIgnoreCase(statementType)) {
+                parameterSetter.setParameter(++deleteIndex, currentValue, fieldSqlType, sqlType);
+                if (column != null && column.isNullable()) {
+                    parameterSetter.setParameter(++deleteIndex, currentValue, fieldSqlType, sqlType);
+                }
+            } else if (UPSERT_TYPE.equalsIgnoreCase(statementType)) {
+                final int timesToAddObjects = databaseAdapter.getTimesToAddColumnObjectsForUpsert();
+                for (int j = 0; j < timesToAddObjects; j++) {
+                    parameterSetter.setParameter(i + (fieldIndexes.size() * j) + 1, currentValue, fieldSqlType, sqlType);
+                }
+            } else {
+                parameterSetter.setParameter(i + 1, currentValue, fieldSqlType, sqlType);
+            }
+        }
+    }
+
     private void setParameter(PreparedStatement ps, int index, Object value, int fieldSqlType, int sqlType) throws IOException {
         if (sqlType == Types.BLOB) {
             // Convert Byte[] or String (anything that has been converted to byte[]) into BLOB
@@ -1721,6 +1833,218 @@ public class PutDatabaseRecord extends AbstractProcessor {
         }
     }
 
+    @FunctionalInterface
+    private interface ParameterSetter {
+        void setParameter(int index, Object value, int fieldSqlType, int sqlType) throws IOException;
+    }
+
+    /**
+     * A holder class for a converted parameter value and the SQL types used to set it on a prepared statement
+     */
+    private static class StatementParameter {
+        private final int index;
+        private final Object value;
+        private final int fieldSqlType;
+        private final int sqlType;
+
+        StatementParameter(final int index, final Object value, final int fieldSqlType, final int sqlType) {
+            this.index = index;
+            this.value = value;
+            this.fieldSqlType = fieldSqlType;
+            this.sqlType = sqlType;
+        }
+    }
+
+    /**
+     * A batch of parameter rows to be executed with the same SQL prepared statement
+     */
+    private static class StatementBatch {
+        private final String sql;
+        private final List<List<StatementParameter>> rows = new ArrayList<>();
+
+        StatementBatch(final String sql) {
+            this.sql = sql;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        List<List<StatementParameter>> getRows() {
+            return rows;
+        }
+
+        void add(final List<StatementParameter> parameters) {
+            rows.add(parameters);
+        }
+
+        int size() {
+            return rows.size();
+        }
+    }
+
+    /**
+     * Pipeline of statement batches executed in order on the FlowFile's connection by a background worker. Batches are queued in a bounded queue so that
+     * reading and converting Records runs ahead of statement execution without buffering the entire FlowFile. The connection is not committed or rolled back
+     * by the pipeline, so the FlowFile's transaction semantics are the same as for sequential execution.
+     */
+    private class StatementPipeline implements AutoCloseable {
+        private final Connection connection;
+        private final int maxBatchSize;
+        private final int timeoutMillis;
+        private final BlockingQueue<StatementBatch> queue = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+        private Future<Integer> future;
+        private StatementBatch pendingBatch;
+        private boolean completed = false;
+
+        StatementPipeline(final Connection connection, final int maxBatchSize, final int timeoutMillis) {
+            this.connection = connection;
+            this.maxBatchSize = maxBatchSize;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        void start() {
+            final ExecutorService executor = statementExecutor;
+            if (executor == null) {
+                throw new ProcessException("Statement Executor not available for pipelined execution");
+            }
+
+            future = executor.submit(new StatementBatchWorker(connection, queue, timeoutMillis));
+        }
+
+        void add(final String sql, final List<StatementParameter> parameters) throws SQLException, IOException {
+            if (pendingBatch != null && !pendingBatch.getSql().equals(sql)) {
+                // Execute pending statements when the Statement Type changes to preserve statement order
+                enqueue(pendingBatch);
+                pendingBatch = null;
+            }
+            if (pendingBatch == null) {
+                pendingBatch = new StatementBatch(sql);
+            }
+
+            pendingBatch.add(parameters);
+            if (pendingBatch.size() == maxBatchSize) {
+                enqueue(pendingBatch);
+                pendingBatch = null;
+            }
+        }
+
+        /**
+         * Queue the remaining batch and wait for all queued batches to be executed
+         *
+         * @return Number of batches executed
+         */
+        int complete() throws SQLException, IOException {
+            if (pendingBatch != null) {
+                enqueue(pendingBatch);
+                pendingBatch = null;
+            }
+            enqueue(END_OF_BATCHES);
+
+            final int batchesExecuted = getBatchesExecuted();
+            completed = true;
+            return batchesExecuted;
+        }
+
+        @Override
+        public void close() {
+            if (completed || future == null) {
+                return;
+            }
+
+            // Stop the worker and wait for it so that the connection is no longer in use when the caller rolls back
+            queue.clear();
+            queue.offer(END_OF_BATCHES);
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final Exception e) {
+                getLogger().debug("Statement execution failed", e);
+            }
+        }
+
+        private void enqueue(final StatementBatch batch) throws SQLException, IOException {
+            try {
+                while (!queue.offer(batch, BATCH_OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (future.isDone()) {
+                        getBatchesExecuted();
+                        throw new ProcessException("Statement execution stopped before all batches were executed");
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProcessException("Interrupted while queuing statement batch", e);
+            }
+        }
+
+        private int getBatchesExecuted() throws SQLException, IOException {
+            try {
+                return future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProcessException("Interrupted while waiting for statement execution", e);
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    throw (SQLException) cause;
+                } else if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new ProcessException(cause);
+            }
+        }
+    }
+
+    /**
+     * Worker executing queued statement batches on a single connection until the end of batches is reached
+     */
+    private class StatementBatchWorker implements Callable<Integer> {
+        private final Connection connection;
+        private final BlockingQueue<StatementBatch> batches;
+        private final int timeoutMillis;
+
+        StatementBatchWorker(final Connection connection, final BlockingQueue<StatementBatch> batches, final int timeoutMillis) {
+            this.connection = connection;
+            this.batches = batches;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        @Override
+        public Integer call() throws SQLException, IOException, InterruptedException {
+            final Map<String, PreparedStatement> preparedStatements = new HashMap<>();
+            int batchesExecuted = 0;
+            try {
+                StatementBatch batch = batches.take();
+                while (batch != END_OF_BATCHES) {
+                    PreparedStatement preparedStatement = preparedStatements.get(batch.getSql());
+                    if (preparedStatement == null) {
+                        preparedStatement = prepareStatement(connection, batch.getSql(), timeoutMillis);
+                        preparedStatements.put(batch.getSql(), preparedStatement);
+                    }
+
+                    for (final List<StatementParameter> parameters : batch.getRows()) {
+                        for (final StatementParameter parameter : parameters) {
+                            setParameter(preparedStatement, parameter.index, parameter.value, parameter.fieldSqlType, parameter.sqlType);
+                        }
+                        preparedStatement.addBatch();
+                    }
+                    preparedStatement.executeBatch();
+                    batchesExecuted++;
+
+                    batch = batches.take();
+                }
+            } finally {
+                for (final PreparedStatement preparedStatement : preparedStatements.values()) {
+                    preparedStatement.close();
+                }
+            }
+            return batchesExecuted;
+        }
+    }
+
     static class DMLSettings {
         private final boolean translateFieldNames;
         private final boolean ignoreUnmappedFields;
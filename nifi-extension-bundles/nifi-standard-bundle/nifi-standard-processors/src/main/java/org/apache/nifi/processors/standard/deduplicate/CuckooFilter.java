@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.deduplicate;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cuckoo filter with 16-bit fingerprints and four entries per bucket. Unlike a Bloom filter, fingerprints can be
+ * removed, and each lookup reads at most two buckets. False positives are possible, but false negatives are not.
+ */
+class CuckooFilter {
+
+    static final int MAX_BUCKET_COUNT = 1 << 26;
+
+    private static final int ENTRIES_PER_BUCKET = 4;
+
+    private static final int MAX_KICKS = 500;
+
+    private static final double MAX_LOAD_FACTOR = 0.95;
+
+    private static final short EMPTY = 0;
+
+    private final short[] entries;
+
+    private final int bucketMask;
+
+    private int size;
+
+    private short victimFingerprint = EMPTY;
+
+    private int victimBucket;
+
+    private CuckooFilter(final int bucketCount) {
+        this.entries = new short[bucketCount * ENTRIES_PER_BUCKET];
+        this.bucketMask = bucketCount - 1;
+    }
+
+    /**
+     * @param capacity the number of fingerprints the filter is expected to hold
+     * @return an empty filter sized for the capacity
+     */
+    static CuckooFilter forCapacity(final int capacity) {
+        return new CuckooFilter(getBucketCount(capacity));
+    }
+
+    /**
+     * @param bucketCount the number of buckets, which must be a power of two
+     * @return an empty filter with the number of buckets
+     */
+    static CuckooFilter withBucketCount(final int bucketCount) {
+        if (Integer.bitCount(bucketCount) != 1 || bucketCount > MAX_BUCKET_COUNT) {
+            throw new IllegalArgumentException("Bucket count must be a power of two no greater than " + MAX_BUCKET_COUNT);
+        }
+        return new CuckooFilter(bucketCount);
+    }
+
+    static int getBucketCount(final int capacity) {
+        final long buckets = (long) Math.ceil(capacity / (ENTRIES_PER_BUCKET * MAX_LOAD_FACTOR));
+        final long bucketCount = Long.highestOneBit(Math.max(buckets - 1, 1)) << 1;
+        return (int) Math.min(bucketCount, MAX_BUCKET_COUNT);
+    }
+
+    int getBucketCount() {
+        return bucketMask + 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return true if a previous insertion could not be completed and the filter accepts no more fingerprints
+     */
+    boolean isFull() {
+        return victimFingerprint != EMPTY;
+    }
+
+    boolean mightContain(final long high, final long low) {
+        final short fingerprint = getFingerprint(high);
+        final int bucket = getBucket(low);
+        final int alternateBucket = getAlternateBucket(bucket, fingerprint);
+        if (victimFingerprint == fingerprint && (victimBucket == bucket || victimBucket == alternateBucket)) {
+            return true;
+        }
+        return findEntry(bucket, fingerprint) >= 0 || findEntry(alternateBucket, fingerprint) >= 0;
+    }
+
+    /**
+     * @return false if the filter is full and the fingerprint was not added
+     */
+    boolean add(final long high, final long low) {
+        if (isFull()) {
+            return false;
+        }
+
+        short fingerprint = getFingerprint(high);
+        final int bucket = getBucket(low);
+        final int alternateBucket = getAlternateBucket(bucket, fingerprint);
+        if (insert(bucket, fingerprint) || insert(alternateBucket, fingerprint)) {
+            size++;
+            return true;
+        }
+
+        int currentBucket = ThreadLocalRandom.current().nextBoolean() ? bucket : alternateBucket;
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            final int index = currentBucket * ENTRIES_PER_BUCKET + ThreadLocalRandom.current().nextInt(ENTRIES_PER_BUCKET);
+            final short evicted = entries[index];
+            entries[index] = fingerprint;
+            fingerprint = evicted;
+
+            currentBucket = getAlternateBucket(currentBucket, fingerprint);
+            if (insert(currentBucket, fingerprint)) {
+                size++;
+                return true;
+            }
+        }
+
+        // Keep the last evicted fingerprint so that it remains visible to lookups
+        victimFingerprint = fingerprint;
+        victimBucket = currentBucket;
+        size++;
+        return true;
+    }
+
+    boolean remove(final long high, final long low) {
+        final short fingerprint = getFingerprint(high);
+        final int bucket = getBucket(low);
+        final int alternateBucket = getAlternateBucket(bucket, fingerprint);
+
+        int index = findEntry(bucket, fingerprint);
+        if (index < 0) {
+            index = findEntry(alternateBucket, fingerprint);
+        }
+        if (index >= 0) {
+            entries[index] = EMPTY;
+            size--;
+            if (isFull() && (insert(victimBucket, victimFingerprint) || insert(getAlternateBucket(victimBucket, victimFingerprint), victimFingerprint))) {
+                victimFingerprint = EMPTY;
+            }
+            return true;
+        }
+
+        if (victimFingerprint == fingerprint && (victimBucket == bucket || victimBucket == alternateBucket)) {
+            victimFingerprint = EMPTY;
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    void writeTo(final DataOutputStream out) throws IOException {
+        out.writeInt(getBucketCount());
+        out.writeInt(size);
+        out.writeShort(victimFingerprint);
+        out.writeInt(victimBucket);
+        for (final short entry : entries) {
+            out.writeShort(entry);
+        }
+    }
+
+    static CuckooFilter readFrom(final DataInputStream in) throws IOException {
+        final int bucketCount = in.readInt();
+        if (Integer.bitCount(bucketCount) != 1 || bucketCount > MAX_BUCKET_COUNT) {
+            throw new IOException("Cuckoo filter bucket count [%d] not valid".formatted(bucketCount));
+        }
+
+        final CuckooFilter filter = new CuckooFilter(bucketCount);
+        filter.size = in.readInt();
+        filter.victimFingerprint = in.readShort();
+        filter.victimBucket = in.readInt();
+        for (int i = 0; i < filter.entries.length; i++) {
+            filter.entries[i] = in.readShort();
+        }
+        return filter;
+    }
+
+    private boolean insert(final int bucket, final short fingerprint) {
+        final int start = bucket * ENTRIES_PER_BUCKET;
+        for (int index = start; index < start + ENTRIES_PER_BUCKET; index++) {
+            if (entries[index] == EMPTY) {
+                entries[index] = fingerprint;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int findEntry(final int bucket, final short fingerprint) {
+        final int start = bucket * ENTRIES_PER_BUCKET;
+        for (int index = start; index < start + ENTRIES_PER_BUCKET; index++) {
+            if (entries[index] == fingerprint) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int getBucket(final long low) {
+        return (int) low & bucketMask;
+    }
+
+    private int getAlternateBucket(final int bucket, final short fingerprint) {
+        // Mix the fingerprint so that alternate buckets are spread across the table
+        return (bucket ^ (fingerprint * 0x5bd1e995)) & bucketMask;
+    }
+
+    private static short getFingerprint(final long high) {
+        final short fingerprint = (short) (high >>> 48);
+        return fingerprint == EMPTY ? 1 : fingerprint;
+    }
+}
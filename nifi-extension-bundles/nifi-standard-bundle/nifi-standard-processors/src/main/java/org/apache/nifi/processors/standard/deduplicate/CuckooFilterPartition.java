@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.deduplicate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scalable partition composed of one or more {@link CuckooFilter} instances held in memory. When the current filter
+ * is full, a new filter with twice the capacity is added. The filters are written to a single file when the
+ * partition is checkpointed or closed and read again when the store is initialized.
+ */
+class CuckooFilterPartition implements StorePartition {
+
+    private static final int MAGIC = 0x4E444346;
+
+    private static final int VERSION = 1;
+
+    private final Path path;
+
+    private final List<CuckooFilter> filters;
+
+    private boolean modified;
+
+    CuckooFilterPartition(final Path path, final List<CuckooFilter> filters) {
+        this.path = path;
+        this.filters = new ArrayList<>(filters);
+        this.modified = !Files.exists(path);
+    }
+
+    static CuckooFilterPartition read(final Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Cuckoo filter partition [%s] header not valid".formatted(path));
+            }
+
+            final int filterCount = in.readInt();
+            final List<CuckooFilter> filters = new ArrayList<>(filterCount);
+            for (int i = 0; i < filterCount; i++) {
+                filters.add(CuckooFilter.readFrom(in));
+            }
+            return new CuckooFilterPartition(path, filters);
+        }
+    }
+
+    int getFilterCount() {
+        return filters.size();
+    }
+
+    @Override
+    public boolean contains(final long high, final long low) {
+        for (int i = filters.size() - 1; i >= 0; i--) {
+            if (filters.get(i).mightContain(high, low)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void add(final long high, final long low) {
+        CuckooFilter current = filters.get(filters.size() - 1);
+        if (current.isFull()) {
+            final int bucketCount = Math.min(current.getBucketCount() * 2, CuckooFilter.MAX_BUCKET_COUNT);
+            current = CuckooFilter.withBucketCount(bucketCount);
+            filters.add(current);
+        }
+        current.add(high, low);
+        modified = true;
+    }
+
+    @Override
+    public boolean remove(final long high, final long low) {
+        for (int i = filters.size() - 1; i >= 0; i--) {
+            if (filters.get(i).remove(high, low)) {
+                modified = true;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void delete() throws IOException {
+        filters.clear();
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public void checkpoint() throws IOException {
+        if (!modified) {
+            return;
+        }
+
+        final Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(filters.size());
+            for (final CuckooFilter filter : filters) {
+                filter.writeTo(out);
+            }
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        modified = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        checkpoint();
+    }
+}
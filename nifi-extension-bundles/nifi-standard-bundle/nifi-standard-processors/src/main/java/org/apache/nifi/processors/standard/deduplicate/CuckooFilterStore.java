@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.deduplicate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Probabilistic {@link DeduplicationStore} that keeps a scalable cuckoo filter in memory for each partition. Each key
+ * uses two bytes of memory, false positives are possible, and keys can be removed. Partitions are persisted to the
+ * store directory on each checkpoint and when the store is closed.
+ */
+public class CuckooFilterStore extends TimePartitionedStore<CuckooFilterPartition> {
+
+    static final String PARTITION_EXTENSION = ".cuckoo";
+
+    public CuckooFilterStore(final Path directory, final long windowMillis, final long partitionMillis, final int partitionCapacity,
+                             final LongSupplier clock) throws IOException {
+        super(directory, windowMillis, partitionMillis, partitionCapacity, clock);
+        initialize();
+    }
+
+    @Override
+    protected Map<Long, CuckooFilterPartition> loadPartitions() throws IOException {
+        final Map<Long, CuckooFilterPartition> partitions = new HashMap<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "*" + PARTITION_EXTENSION)) {
+            for (final Path path : paths) {
+                final String fileName = path.getFileName().toString();
+                final long startMillis;
+                try {
+                    startMillis = Long.parseLong(fileName.substring(0, fileName.length() - PARTITION_EXTENSION.length()));
+                } catch (final NumberFormatException e) {
+                    throw new IOException("Partition file name [%s] not valid".formatted(path), e);
+                }
+                partitions.put(startMillis, CuckooFilterPartition.read(path));
+            }
+        }
+        return partitions;
+    }
+
+    @Override
+    protected CuckooFilterPartition createPartition(final long startMillis) {
+        final Path path = directory.resolve(startMillis + PARTITION_EXTENSION);
+        return new CuckooFilterPartition(path, List.of(CuckooFilter.forCapacity(partitionCapacity)));
+    }
+}
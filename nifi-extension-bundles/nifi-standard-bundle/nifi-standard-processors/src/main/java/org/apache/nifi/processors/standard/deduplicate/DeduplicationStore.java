@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.deduplicate;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Local store of deduplication keys retained for a configured window of time.
+ */
+public interface DeduplicationStore extends Closeable {
+
+    /**
+     * Adds the key to the store unless it was already added within the retention window.
+     *
+     * @param key the deduplication key
+     * @return true if the key was added, false if the key was already present
+     * @throws IOException if the store could not be updated
+     */
+    boolean add(String key) throws IOException;
+
+    /**
+     * @param key the deduplication key
+     * @return true if the key was added within the retention window
+     */
+    boolean contains(String key);
+
+    /**
+     * Removes the key from the store.
+     *
+     * @param key the deduplication key
+     * @return true if the key was present and has been removed
+     * @throws IOException if the store could not be updated
+     */
+    boolean remove(String key) throws IOException;
+}
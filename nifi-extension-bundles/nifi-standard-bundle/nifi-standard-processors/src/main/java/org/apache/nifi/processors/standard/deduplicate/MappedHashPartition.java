@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.deduplicate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partition composed of one or more {@link MappedHashSegment} files. When the current segment reaches its maximum
+ * load factor, a new segment with twice the capacity is created so that a partition can grow without rehashing.
+ */
+class MappedHashPartition implements StorePartition {
+
+    private final Path directory;
+
+    private final long startMillis;
+
+    private final List<MappedHashSegment> segments;
+
+    MappedHashPartition(final Path directory, final long startMillis, final List<MappedHashSegment> segments) {
+        this.directory = directory;
+        this.startMillis = startMillis;
+        this.segments = new ArrayList<>(segments);
+    }
+
+    static Path getSegmentPath(final Path directory, final long startMillis, final int segmentIndex) {
+        return directory.resolve(startMillis + "-" + segmentIndex + MappedHashStore.SEGMENT_EXTENSION);
+    }
+
+    @Override
+    public boolean contains(final long high, final long low) {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            if (segments.get(i).contains(high, low)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void add(final long high, final long low) throws IOException {
+        final MappedHashSegment current = segments.get(segments.size() - 1);
+        if (current.add(high, low)) {
+            return;
+        }
+
+        final int capacity = Math.min(current.getCapacity() * 2, MappedHashSegment.MAX_CAPACITY);
+        final MappedHashSegment segment = MappedHashSegment.create(getSegmentPath(directory, startMillis, segments.size()), capacity);
+        segments.add(segment);
+        segment.add(high, low);
+    }
+
+    @Override
+    public boolean remove(final long high, final long low) {
+        boolean removed = false;
+        for (final MappedHashSegment segment : segments) {
+            removed |= segment.remove(high, low);
+        }
+        return removed;
+    }
+
+    @Override
+    public void checkpoint() throws IOException {
+        for (final MappedHashSegment segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void delete() throws IOException {
+        for (final MappedHashSegment segment : segments) {
+            segment.delete();
+        }
+        segments.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (final MappedHashSegment segment : segments) {
+            segment.close();
+        }
+    }
+}
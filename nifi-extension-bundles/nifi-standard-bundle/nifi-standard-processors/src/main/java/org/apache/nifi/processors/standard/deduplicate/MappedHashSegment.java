@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.deduplicate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Open addressing hash table of 128-bit fingerprints stored in a memory-mapped file. The operating system page cache
+ * keeps recently accessed slots in memory while the remainder of the table stays on disk. Slots holding the reserved
+ * empty and deleted fingerprints are free, and collisions are resolved with linear probing.
+ */
+class MappedHashSegment implements Closeable {
+
+    static final int MAX_CAPACITY = 1 << 26;
+
+    private static final int MAGIC = 0x4E444453;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+
+    private static final int SIZE_POSITION = 12;
+
+    private static final int SLOT_SIZE = 16;
+
+    private static final long EMPTY = 0;
+
+    private static final long DELETED = 1;
+
+    private static final double MAX_LOAD_FACTOR = 0.6;
+
+    private final Path path;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private final int capacity;
+
+    private final int mask;
+
+    private int size;
+
+    private MappedHashSegment(final Path path, final FileChannel channel, final MappedByteBuffer buffer, final int capacity, final int size) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.size = size;
+    }
+
+    /**
+     * @param path     the file to create
+     * @param capacity the number of slots, which must be a power of two
+     * @return a new empty segment
+     * @throws IOException if the file could not be created
+     */
+    static MappedHashSegment create(final Path path, final int capacity) throws IOException {
+        if (Integer.bitCount(capacity) != 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Segment capacity must be a power of two no greater than " + MAX_CAPACITY);
+        }
+
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, capacity);
+            buffer.putInt(SIZE_POSITION, 0);
+            return new MappedHashSegment(path, channel, buffer, capacity, 0);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param path the segment file
+     * @return the segment persisted in the file
+     * @throws IOException if the file could not be read or is not a valid segment
+     */
+    static MappedHashSegment open(final Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Segment [%s] is truncated".formatted(path));
+            }
+
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            final int capacity = buffer.getInt(8);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Segment [%s] header not valid".formatted(path));
+            }
+            if (Integer.bitCount(capacity) != 1 || fileSize != HEADER_SIZE + (long) capacity * SLOT_SIZE) {
+                throw new IOException("Segment [%s] capacity [%d] does not match file size [%d]".formatted(path, capacity, fileSize));
+            }
+
+            return new MappedHashSegment(path, channel, buffer, capacity, buffer.getInt(SIZE_POSITION));
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return true if the number of occupied slots, including deleted slots, has reached the maximum load factor
+     */
+    boolean isFull() {
+        return size >= capacity * MAX_LOAD_FACTOR;
+    }
+
+    boolean contains(final long high, final long low) {
+        return findSlot(high, low) >= 0;
+    }
+
+    /**
+     * Adds a fingerprint that is not already present in the segment.
+     *
+     * @return false if the segment is full
+     */
+    boolean add(final long high, final long low) {
+        if (isFull()) {
+            return false;
+        }
+
+        int slot = (int) low & mask;
+        for (int probes = 0; probes < capacity; probes++) {
+            final int position = getPosition(slot);
+            final long slotHigh = buffer.getLong(position);
+            final long slotLow = buffer.getLong(position + Long.BYTES);
+            if (slotHigh == 0 && (slotLow == EMPTY || slotLow == DELETED)) {
+                buffer.putLong(position, high);
+                buffer.putLong(position + Long.BYTES, low);
+                if (slotLow == EMPTY) {
+                    size++;
+                    buffer.putInt(SIZE_POSITION, size);
+                }
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    boolean remove(final long high, final long low) {
+        final int slot = findSlot(high, low);
+        if (slot < 0) {
+            return false;
+        }
+
+        final int position = getPosition(slot);
+        buffer.putLong(position, 0);
+        buffer.putLong(position + Long.BYTES, DELETED);
+        return true;
+    }
+
+    /**
+     * Writes changes to the mapped file to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Closes the segment and deletes the file. The mapping, and with it the disk space of the file, is released
+     * when the buffer is garbage collected.
+     *
+     * @throws IOException if the file could not be deleted
+     */
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            buffer.force();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private int findSlot(final long high, final long low) {
+        int slot = (int) low & mask;
+        for (int probes = 0; probes < capacity; probes++) {
+            final int position = getPosition(slot);
+            final long slotHigh = buffer.getLong(position);
+            final long slotLow = buffer.getLong(position + Long.BYTES);
+            if (slotHigh == high && slotLow == low) {
+                return slot;
+            }
+            if (slotHigh == 0 && slotLow == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int getPosition(final int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+}
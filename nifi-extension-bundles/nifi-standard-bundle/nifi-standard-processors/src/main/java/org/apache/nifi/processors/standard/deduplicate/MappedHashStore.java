@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.deduplicate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Exact {@link DeduplicationStore} that persists the fingerprints of each partition in memory-mapped hash segments.
+ * Segment files are named using the partition start time and segment index, and are deleted when the partition expires.
+ */
+public class MappedHashStore extends TimePartitionedStore<MappedHashPartition> {
+
+    static final String SEGMENT_EXTENSION = ".seg";
+
+    private static final double INITIAL_LOAD_FACTOR = 0.5;
+
+    public MappedHashStore(final Path directory, final long windowMillis, final long partitionMillis, final int partitionCapacity,
+                           final LongSupplier clock) throws IOException {
+        super(directory, windowMillis, partitionMillis, partitionCapacity, clock);
+        initialize();
+    }
+
+    @Override
+    protected Map<Long, MappedHashPartition> loadPartitions() throws IOException {
+        final Map<Long, Map<Integer, Path>> segmentPaths = new HashMap<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "*" + SEGMENT_EXTENSION)) {
+            for (final Path path : paths) {
+                final String fileName = path.getFileName().toString();
+                final String[] nameParts = fileName.substring(0, fileName.length() - SEGMENT_EXTENSION.length()).split("-");
+                if (nameParts.length != 2) {
+                    throw new IOException("Segment file name [%s] not valid".formatted(path));
+                }
+
+                try {
+                    final long startMillis = Long.parseLong(nameParts[0]);
+                    final int segmentIndex = Integer.parseInt(nameParts[1]);
+                    segmentPaths.computeIfAbsent(startMillis, start -> new TreeMap<>()).put(segmentIndex, path);
+                } catch (final NumberFormatException e) {
+                    throw new IOException("Segment file name [%s] not valid".formatted(path), e);
+                }
+            }
+        }
+
+        final Map<Long, MappedHashPartition> partitions = new HashMap<>();
+        try {
+            for (final Map.Entry<Long, Map<Integer, Path>> entry : segmentPaths.entrySet()) {
+                final List<MappedHashSegment> segments = new ArrayList<>();
+                for (final Path path : entry.getValue().values()) {
+                    segments.add(MappedHashSegment.open(path));
+                }
+                partitions.put(entry.getKey(), new MappedHashPartition(directory, entry.getKey(), segments));
+            }
+        } catch (final IOException e) {
+            for (final MappedHashPartition partition : partitions.values()) {
+                try {
+                    partition.close();
+                } catch (final IOException closeException) {
+                    e.addSuppressed(closeException);
+                }
+            }
+            throw e;
+        }
+        return partitions;
+    }
+
+    @Override
+    protected MappedHashPartition createPartition(final long startMillis) throws IOException {
+        final int capacity = getInitialSegmentCapacity(partitionCapacity);
+        final MappedHashSegment segment = MappedHashSegment.create(MappedHashPartition.getSegmentPath(directory, startMillis, 0), capacity);
+        return new MappedHashPartition(directory, startMillis, List.of(segment));
+    }
+
+    static int getInitialSegmentCapacity(final int partitionCapacity) {
+        final long slots = (long) Math.ceil(partitionCapacity / INITIAL_LOAD_FACTOR);
+        final long capacity = Long.highestOneBit(Math.max(slots - 1, 1)) << 1;
+        return (int) Math.min(capacity, MappedHashSegment.MAX_CAPACITY);
+    }
+}
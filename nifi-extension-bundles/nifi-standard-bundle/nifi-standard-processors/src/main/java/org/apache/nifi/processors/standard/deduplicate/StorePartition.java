@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.deduplicate;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A set of 128-bit key fingerprints added during a single time partition of a {@link TimePartitionedStore}.
+ */
+interface StorePartition extends Closeable {
+
+    boolean contains(long high, long low);
+
+    void add(long high, long low) throws IOException;
+
+    boolean remove(long high, long low);
+
+    /**
+     * Persists changes to the partition so that they are recovered if the store is not closed.
+     *
+     * @throws IOException if the partition could not be persisted
+     */
+    void checkpoint() throws IOException;
+
+    /**
+     * Closes the partition and deletes any files persisted for it.
+     *
+     * @throws IOException if the files could not be deleted
+     */
+    void delete() throws IOException;
+}
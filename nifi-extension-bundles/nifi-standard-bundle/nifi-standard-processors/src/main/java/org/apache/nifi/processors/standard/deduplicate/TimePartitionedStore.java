@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.deduplicate;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Base {@link DeduplicationStore} that hashes keys to 128-bit fingerprints and groups them into partitions
+ * covering a fixed duration of time. New keys are always added to the partition for the current time, and
+ * lookups consult every retained partition starting with the most recent one. A partition is dropped as a
+ * whole once its end time falls outside the retention window, so keys are retained for at least the window
+ * and at most the window plus one partition duration. Partitions are checkpointed when a new partition is
+ * started and at least once per checkpoint interval while keys are added, so that keys added before the last
+ * checkpoint are recovered when the store is not closed.
+ *
+ * @param <P> the type of partition
+ */
+public abstract class TimePartitionedStore<P extends StorePartition> implements DeduplicationStore {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    /**
+     * Fingerprints with zero high bits and low bits up to this value are reserved for empty and deleted slots
+     */
+    static final long RESERVED_FINGERPRINT_LIMIT = 1;
+
+    static final long CHECKPOINT_INTERVAL_MILLIS = 60_000;
+
+    protected final Path directory;
+
+    protected final int partitionCapacity;
+
+    private final long windowMillis;
+
+    private final long partitionMillis;
+
+    private final LongSupplier clock;
+
+    private final NavigableMap<Long, P> partitions = new TreeMap<>();
+
+    private long lastCheckpointMillis;
+
+    protected TimePartitionedStore(final Path directory, final long windowMillis, final long partitionMillis, final int partitionCapacity,
+                                   final LongSupplier clock) {
+        if (partitionMillis < 1) {
+            throw new IllegalArgumentException("Partition duration must be greater than 0");
+        }
+        if (windowMillis < partitionMillis) {
+            throw new IllegalArgumentException("Retention window must not be shorter than the partition duration");
+        }
+        if (partitionCapacity < 1) {
+            throw new IllegalArgumentException("Partition capacity must be greater than 0");
+        }
+
+        this.directory = directory;
+        this.windowMillis = windowMillis;
+        this.partitionMillis = partitionMillis;
+        this.partitionCapacity = partitionCapacity;
+        this.clock = clock;
+    }
+
+    /**
+     * Loads the partitions persisted in the store directory. Subclasses call this method at the end of construction.
+     *
+     * @throws IOException if the directory could not be created or a persisted partition could not be read
+     */
+    protected final void initialize() throws IOException {
+        Files.createDirectories(directory);
+        partitions.putAll(loadPartitions());
+        lastCheckpointMillis = clock.getAsLong();
+        expire(lastCheckpointMillis);
+    }
+
+    /**
+     * @return partitions persisted in the store directory keyed on the start time of each partition
+     * @throws IOException if a persisted partition could not be read
+     */
+    protected abstract Map<Long, P> loadPartitions() throws IOException;
+
+    /**
+     * @param startMillis the start time of the partition
+     * @return a new empty partition
+     * @throws IOException if the partition could not be created
+     */
+    protected abstract P createPartition(long startMillis) throws IOException;
+
+    @Override
+    public synchronized boolean add(final String key) throws IOException {
+        final long now = clock.getAsLong();
+        expire(now);
+
+        final Fingerprint fingerprint = Fingerprint.of(key);
+        if (contains(fingerprint)) {
+            return false;
+        }
+
+        final long partitionStart = now - Math.floorMod(now, partitionMillis);
+        P partition = partitions.get(partitionStart);
+        final boolean partitionStarted = partition == null;
+        if (partitionStarted) {
+            partition = createPartition(partitionStart);
+            partitions.put(partitionStart, partition);
+        }
+        partition.add(fingerprint.high(), fingerprint.low());
+
+        if (partitionStarted || now - lastCheckpointMillis >= CHECKPOINT_INTERVAL_MILLIS) {
+            checkpoint(now);
+        }
+        return true;
+    }
+
+    /**
+     * Persists all retained partitions so that they are recovered if the store is not closed.
+     *
+     * @throws IOException if a partition could not be persisted
+     */
+    public synchronized void checkpoint() throws IOException {
+        checkpoint(clock.getAsLong());
+    }
+
+    @Override
+    public synchronized boolean contains(final String key) {
+        return contains(Fingerprint.of(key));
+    }
+
+    @Override
+    public synchronized boolean remove(final String key) throws IOException {
+        final Fingerprint fingerprint = Fingerprint.of(key);
+
+        boolean removed = false;
+        for (final P partition : partitions.values()) {
+            removed |= partition.remove(fingerprint.high(), fingerprint.low());
+        }
+        return removed;
+    }
+
+    /**
+     * @return the number of partitions currently retained
+     */
+    public synchronized int getPartitionCount() {
+        return partitions.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException failure = null;
+        for (final P partition : partitions.values()) {
+            try {
+                partition.close();
+            } catch (final IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        partitions.clear();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void checkpoint(final long now) throws IOException {
+        for (final P partition : partitions.values()) {
+            partition.checkpoint();
+        }
+        lastCheckpointMillis = now;
+    }
+
+    private boolean contains(final Fingerprint fingerprint) {
+        for (final P partition : partitions.descendingMap().values()) {
+            if (partition.contains(fingerprint.high(), fingerprint.low())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void expire(final long now) throws IOException {
+        final Iterator<Map.Entry<Long, P>> entries = partitions.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<Long, P> entry = entries.next();
+            if (entry.getKey() + partitionMillis > now - windowMillis) {
+                break;
+            }
+
+            entry.getValue().delete();
+            entries.remove();
+        }
+    }
+
+    /**
+     * 128-bit Murmur3 fingerprint of a key, adjusted so that it never matches the reserved empty or deleted values
+     */
+    private record Fingerprint(long high, long low) {
+
+        private static Fingerprint of(final String key) {
+            final ByteBuffer buffer = ByteBuffer.wrap(HASH_FUNCTION.hashString(key, StandardCharsets.UTF_8).asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+            final long low = buffer.getLong();
+            final long high = buffer.getLong();
+            if (high == 0 && low >= 0 && low <= RESERVED_FINGERPRINT_LIMIT) {
+                return new Fingerprint(high, RESERVED_FINGERPRINT_LIMIT + 1);
+            }
+            return new Fingerprint(high, low);
+        }
+    }
+}
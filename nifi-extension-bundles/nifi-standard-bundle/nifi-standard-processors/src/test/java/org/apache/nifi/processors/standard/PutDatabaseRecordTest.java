@@ -1708,6 +1708,123 @@ public class PutDatabaseRecordTest {
         verify(spyStmt.get(), times(1)).executeBatch();
     }
 
+    @Test
+    public void testInsertPipelinedStatementExecution() throws InitializationException, ProcessException, SQLException {
+        setRunner(TestCaseEnum.ROLLBACK_2.getTestCase());
+
+        recreateTable(createPersons);
+        final MockRecordParser parser = new MockRecordParser();
+        runner.addControllerService("parser", parser);
+        runner.enableControllerService(parser);
+
+        parser.addSchemaField("id", RecordFieldType.INT);
+        parser.addSchemaField("name", RecordFieldType.STRING);
+        parser.addSchemaField("code", RecordFieldType.INT);
+
+        for (int i = 1; i <= 25; i++) {
+            parser.addRecord(i, String.format("rec%s", i), 100 + i);
+        }
+
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, "parser");
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE, PutDatabaseRecord.INSERT_TYPE);
+        runner.setProperty(PutDatabaseRecord.TABLE_NAME, "PERSONS");
+        runner.setProperty(PutDatabaseRecord.STATEMENT_PIPELINING, "true");
+
+        runner.enqueue(new byte[0]);
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(PutDatabaseRecord.REL_SUCCESS, 1);
+        assertEquals(25, getTableSize());
+        assertEquals(25, runner.getCounterValue("INSERT updates performed"));
+        assertEquals(13, runner.getCounterValue("Batches Executed"));
+        // Pipelined batches are executed on the FlowFile's connection
+        verify(dbcp, times(1)).getConnection(anyMap());
+    }
+
+    @Test
+    public void testInsertPipelinedStatementExecutionFailureRolledBack() throws InitializationException, ProcessException, SQLException {
+        setRunner(TestCaseEnum.DEFAULT_2.getTestCase());
+
+        recreateTable(createPersons);
+        final MockRecordParser parser = new MockRecordParser();
+        runner.addControllerService("parser", parser);
+        runner.enableControllerService(parser);
+
+        parser.addSchemaField("id", RecordFieldType.INT);
+        parser.addSchemaField("name", RecordFieldType.STRING);
+        parser.addSchemaField("code", RecordFieldType.INT);
+
+        for (int i = 1; i <= 20; i++) {
+            parser.addRecord(i, String.format("rec%s", i), 100 + i);
+        }
+        // Code violates the CODE_RANGE constraint
+        parser.addRecord(21, "rec21", 1000);
+
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, "parser");
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE, PutDatabaseRecord.INSERT_TYPE);
+        runner.setProperty(PutDatabaseRecord.TABLE_NAME, "PERSONS");
+        runner.setProperty(PutDatabaseRecord.STATEMENT_PIPELINING, "true");
+
+        runner.enqueue(new byte[0]);
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(PutDatabaseRecord.REL_FAILURE, 1);
+        assertEquals(0, getTableSize());
+    }
+
+    @Test
+    public void testRecordPathOptionsPipelinedStatementExecution() throws InitializationException, ProcessException, SQLException {
+        setRunner(TestCaseEnum.DEFAULT_0.getTestCase());
+
+        recreateTable("CREATE TABLE PERSONS (id integer primary key, name varchar(100), code integer)");
+        final MockRecordParser parser = new MockRecordParser();
+        runner.addControllerService("parser", parser);
+        runner.enableControllerService(parser);
+
+        final List<RecordField> dataFields = new ArrayList<>();
+        dataFields.add(new RecordField("id", RecordFieldType.INT.getDataType()));
+        dataFields.add(new RecordField("name", RecordFieldType.STRING.getDataType()));
+        dataFields.add(new RecordField("code", RecordFieldType.INT.getDataType()));
+
+        final RecordSchema dataSchema = new SimpleRecordSchema(dataFields);
+        parser.addSchemaField("operation", RecordFieldType.STRING);
+        parser.addSchemaField(new RecordField("data", RecordFieldType.RECORD.getRecordDataType(dataSchema)));
+
+        parser.addRecord("INSERT", new MapRecord(dataSchema, createValues(1, "John Doe", 55)));
+        parser.addRecord("INSERT", new MapRecord(dataSchema, createValues(2, "Jane Doe", 44)));
+        parser.addRecord("c", new MapRecord(dataSchema, createValues(3, "Jim Doe", 2)));
+        parser.addRecord("DELETE", new MapRecord(dataSchema, createValues(2, "Jane Doe", 44)));
+        parser.addRecord("UPDATE", new MapRecord(dataSchema, createValues(1, "John Doe", 201)));
+        parser.addRecord("u", new MapRecord(dataSchema, createValues(3, "Jim Doe", 20)));
+
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, "parser");
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE, PutDatabaseRecord.USE_RECORD_PATH);
+        runner.setProperty(PutDatabaseRecord.DATA_RECORD_PATH, "/data");
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE_RECORD_PATH, "/operation");
+        runner.setProperty(PutDatabaseRecord.UPDATE_KEYS, "id");
+        runner.setProperty(PutDatabaseRecord.TABLE_NAME, "PERSONS");
+        runner.setProperty(PutDatabaseRecord.STATEMENT_PIPELINING, "true");
+
+        runner.enqueue(new byte[0]);
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(PutDatabaseRecord.REL_SUCCESS, 1);
+
+        Connection conn = dbcp.getConnection();
+        final Statement stmt = conn.createStatement();
+        final ResultSet rs = stmt.executeQuery("SELECT * FROM PERSONS ORDER BY id");
+        assertTrue(rs.next());
+        assertEquals(1, rs.getInt(1));
+        assertEquals(201, rs.getInt(3));
+        assertTrue(rs.next());
+        assertEquals(3, rs.getInt(1));
+        assertEquals(20, rs.getInt(3));
+        assertFalse(rs.next());
+
+        stmt.close();
+        conn.close();
+    }
+
     @Test
     public void testGenerateTableName() throws InitializationException, ProcessException {
         setRunner(TestCaseEnum.DEFAULT_0.getTestCase());
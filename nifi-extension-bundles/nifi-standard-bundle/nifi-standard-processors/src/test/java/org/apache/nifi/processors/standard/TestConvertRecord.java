@@ -88,6 +88,82 @@ public class TestConvertRecord {
         out.assertContentEquals("header\nJohn Doe,48\nJane Doe,47\nJimmy Doe,14\n");
     }
 
+    @Test
+    public void testSuccessfulConversionWithRecordCaching() throws InitializationException {
+        final MockRecordParser readerService = new MockRecordParser();
+        final MockRecordWriter writerService = new MockRecordWriter("header", false);
+
+        final TestRunner runner = TestRunners.newTestRunner(ConvertRecord.class);
+        runner.addControllerService("reader", readerService);
+        runner.enableControllerService(readerService);
+        runner.addControllerService("writer", writerService);
+        runner.enableControllerService(writerService);
+
+        runner.setProperty(ConvertRecord.RECORD_READER, "reader");
+        runner.setProperty(ConvertRecord.RECORD_WRITER, "writer");
+        runner.setProperty(ConvertRecord.CACHE_RECORDS, "true");
+
+        readerService.addSchemaField("name", RecordFieldType.STRING);
+        readerService.addSchemaField("age", RecordFieldType.INT);
+
+        readerService.addRecord("John Doe", 48);
+        readerService.addRecord("Jane Doe", 47);
+
+        runner.enqueue("");
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(ConvertRecord.REL_SUCCESS, 1);
+        final MockFlowFile out = runner.getFlowFilesForRelationship(ConvertRecord.REL_SUCCESS).get(0);
+
+        out.assertAttributeEquals("record.count", "2");
+        out.assertContentEquals("header\nJohn Doe,48\nJane Doe,47\n");
+
+        // the records cached for the output are used in place of parsing the content, which would now fail
+        readerService.failAfter(0);
+        runner.clearTransferState();
+        runner.enqueue(out);
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(ConvertRecord.REL_SUCCESS, 1);
+        final MockFlowFile reconverted = runner.getFlowFilesForRelationship(ConvertRecord.REL_SUCCESS).get(0);
+        reconverted.assertAttributeEquals("record.count", "2");
+        reconverted.assertContentEquals("header\nJohn Doe,48\nJane Doe,47\n");
+    }
+
+    @Test
+    public void testConversionWithoutCachedRecords() throws InitializationException {
+        final MockRecordParser readerService = new MockRecordParser();
+        final MockRecordWriter writerService = new MockRecordWriter("header", false);
+
+        final TestRunner runner = TestRunners.newTestRunner(ConvertRecord.class);
+        runner.addControllerService("reader", readerService);
+        runner.enableControllerService(readerService);
+        runner.addControllerService("writer", writerService);
+        runner.enableControllerService(writerService);
+
+        runner.setProperty(ConvertRecord.RECORD_READER, "reader");
+        runner.setProperty(ConvertRecord.RECORD_WRITER, "writer");
+
+        readerService.addSchemaField("name", RecordFieldType.STRING);
+        readerService.addSchemaField("age", RecordFieldType.INT);
+
+        readerService.addRecord("John Doe", 48);
+
+        runner.enqueue("");
+        runner.run();
+        runner.assertAllFlowFilesTransferred(ConvertRecord.REL_SUCCESS, 1);
+        final MockFlowFile out = runner.getFlowFilesForRelationship(ConvertRecord.REL_SUCCESS).get(0);
+
+        // records are not cached unless enabled, so the content is parsed again
+        readerService.failAfter(0);
+        runner.setProperty(ConvertRecord.CACHE_RECORDS, "true");
+        runner.clearTransferState();
+        runner.enqueue(out);
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(ConvertRecord.REL_FAILURE, 1);
+    }
+
     @Test
     public void testDropEmpty() throws InitializationException {
         final MockRecordParser readerService = new MockRecordParser();
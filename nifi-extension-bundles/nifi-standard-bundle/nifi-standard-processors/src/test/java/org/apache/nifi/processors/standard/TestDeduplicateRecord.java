@@ -27,7 +27,9 @@ import org.apache.nifi.util.TestRunner;
 import org.apache.nifi.util.TestRunners;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -37,6 +39,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class TestDeduplicateRecord {
 
+    @TempDir
+    private Path localStoreDirectory;
+
     private TestRunner runner;
     private MockRecordParser reader;
     private MockRecordWriter writer;
@@ -367,6 +372,83 @@ public class TestDeduplicateRecord {
         doCountTests(0, 1, 1, 1, 1, 3);
     }
 
+    @Test
+    public void testDeduplicateWithLocalStore() {
+        runner.setProperty(DeduplicateRecord.DEDUPLICATION_STRATEGY, DeduplicateRecord.OPTION_LOCAL_STORE.getValue());
+        runner.setProperty(DeduplicateRecord.LOCAL_STORE_DIRECTORY, localStoreDirectory.toString());
+        runner.assertValid();
+
+        reader.addRecord("John", "Q", "Smith");
+        reader.addRecord("Jack", "Z", "Brown");
+        reader.addRecord("Jack", "Z", "Brown");
+        runner.enqueue("");
+        runner.run();
+
+        doCountTests(0, 1, 1, 1, 2, 1);
+
+        // Records from the first FlowFile are duplicates after the processor is restarted
+        runner.clearTransferState();
+        reader.addRecord("Jane", "X", "Doe");
+        runner.enqueue("");
+        runner.run();
+
+        doCountTests(0, 1, 1, 1, 1, 3);
+    }
+
+    @Test
+    public void testDeduplicateWithLocalStoreCuckooFilter() {
+        runner.setProperty(DeduplicateRecord.DEDUPLICATION_STRATEGY, DeduplicateRecord.OPTION_LOCAL_STORE.getValue());
+        runner.setProperty(DeduplicateRecord.LOCAL_STORE_DIRECTORY, localStoreDirectory.toString());
+        runner.setProperty(DeduplicateRecord.LOCAL_STORE_TYPE, DeduplicateRecord.CUCKOO_FILTER_VALUE);
+        runner.assertValid();
+
+        reader.addRecord("John", "Q", "Smith");
+        reader.addRecord("Jack", "Z", "Brown");
+        runner.enqueue("");
+        runner.enqueue("");
+        runner.run(2);
+
+        runner.assertTransferCount(DeduplicateRecord.REL_FAILURE, 0);
+        runner.assertTransferCount(DeduplicateRecord.REL_ORIGINAL, 2);
+        final List<MockFlowFile> duplicates = runner.getFlowFilesForRelationship(DeduplicateRecord.REL_DUPLICATE);
+        assertEquals("0", duplicates.get(0).getAttribute(DeduplicateRecord.RECORD_COUNT_ATTRIBUTE));
+        assertEquals("2", duplicates.get(1).getAttribute(DeduplicateRecord.RECORD_COUNT_ATTRIBUTE));
+    }
+
+    @Test
+    public void testLocalStoreKeysNotAddedOnFailure() throws InitializationException {
+        final MockRecordWriter failingWriter = new MockRecordWriter("header", false, 0);
+        runner.addControllerService("failingWriter", failingWriter);
+        runner.enableControllerService(failingWriter);
+
+        runner.setProperty(DeduplicateRecord.DEDUPLICATION_STRATEGY, DeduplicateRecord.OPTION_LOCAL_STORE.getValue());
+        runner.setProperty(DeduplicateRecord.LOCAL_STORE_DIRECTORY, localStoreDirectory.toString());
+        runner.setProperty(DeduplicateRecord.RECORD_WRITER, "failingWriter");
+
+        reader.addRecord("John", "Q", "Smith");
+        reader.addRecord("Jack", "Z", "Brown");
+        runner.enqueue("");
+        runner.run();
+        runner.assertAllFlowFilesTransferred(DeduplicateRecord.REL_FAILURE, 1);
+
+        // Records from the failed FlowFile are not duplicates when processed again
+        runner.clearTransferState();
+        runner.setProperty(DeduplicateRecord.RECORD_WRITER, "writer");
+        runner.enqueue("");
+        runner.run();
+
+        doCountTests(0, 1, 1, 1, 2, 0);
+    }
+
+    @Test
+    public void testLocalStorePartitionDurationLongerThanWindow() {
+        runner.setProperty(DeduplicateRecord.DEDUPLICATION_STRATEGY, DeduplicateRecord.OPTION_LOCAL_STORE.getValue());
+        runner.setProperty(DeduplicateRecord.LOCAL_STORE_DIRECTORY, localStoreDirectory.toString());
+        runner.setProperty(DeduplicateRecord.DEDUPLICATION_WINDOW, "1 hour");
+        runner.setProperty(DeduplicateRecord.PARTITION_DURATION, "2 hours");
+        runner.assertNotValid();
+    }
+
     void doCountTests(int failure, int original, int duplicates, int notDuplicates, int notDupeCount, int dupeCount) {
         runner.assertTransferCount(DeduplicateRecord.REL_FAILURE, failure);
         runner.assertTransferCount(DeduplicateRecord.REL_ORIGINAL, original);
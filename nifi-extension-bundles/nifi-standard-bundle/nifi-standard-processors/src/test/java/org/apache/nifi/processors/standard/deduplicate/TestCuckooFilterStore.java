@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.deduplicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestCuckooFilterStore {
+
+    private static final long WINDOW = TimeUnit.HOURS.toMillis(24);
+
+    private static final long PARTITION = TimeUnit.HOURS.toMillis(1);
+
+    @TempDir
+    private Path directory;
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.DAYS.toMillis(1000));
+
+    @Test
+    void testAddContainsRemove() throws IOException {
+        try (CuckooFilterStore store = new CuckooFilterStore(directory, WINDOW, PARTITION, 16, clock::get)) {
+            assertTrue(store.add("first"));
+            assertFalse(store.add("first"));
+            assertTrue(store.contains("first"));
+
+            assertTrue(store.remove("first"));
+            assertFalse(store.contains("first"));
+            assertTrue(store.add("first"));
+        }
+    }
+
+    @Test
+    void testFilterScalesWithoutFalseNegatives() throws IOException {
+        final int keys = 50_000;
+        int added = 0;
+        try (CuckooFilterStore store = new CuckooFilterStore(directory, WINDOW, PARTITION, 1000, clock::get)) {
+            for (int i = 0; i < keys; i++) {
+                if (store.add(Integer.toString(i))) {
+                    added++;
+                }
+            }
+            for (int i = 0; i < keys; i++) {
+                assertTrue(store.contains(Integer.toString(i)));
+            }
+        }
+
+        // Allow for a small number of false positives
+        assertTrue(added > keys * 0.99);
+    }
+
+    @Test
+    void testKeysRetainedAcrossRestart() throws IOException {
+        try (CuckooFilterStore store = new CuckooFilterStore(directory, WINDOW, PARTITION, 16, clock::get)) {
+            assertTrue(store.add("first"));
+            clock.addAndGet(PARTITION);
+            assertTrue(store.add("second"));
+        }
+
+        try (CuckooFilterStore store = new CuckooFilterStore(directory, WINDOW, PARTITION, 16, clock::get)) {
+            assertEquals(2, store.getPartitionCount());
+            assertTrue(store.contains("first"));
+            assertTrue(store.contains("second"));
+        }
+    }
+
+    @Test
+    void testKeysRecoveredWithoutClose() throws IOException {
+        final CuckooFilterStore store = new CuckooFilterStore(directory, WINDOW, PARTITION, 16, clock::get);
+        try {
+            assertTrue(store.add("first"));
+
+            // Starting a new partition checkpoints the store
+            clock.addAndGet(PARTITION);
+            assertTrue(store.add("second"));
+
+            // Adding keys after the checkpoint interval checkpoints the store
+            clock.addAndGet(TimePartitionedStore.CHECKPOINT_INTERVAL_MILLIS);
+            assertTrue(store.add("third"));
+
+            try (CuckooFilterStore recovered = new CuckooFilterStore(directory, WINDOW, PARTITION, 16, clock::get)) {
+                assertEquals(2, recovered.getPartitionCount());
+                assertTrue(recovered.contains("first"));
+                assertTrue(recovered.contains("second"));
+                assertTrue(recovered.contains("third"));
+            }
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    void testPartitionsExpire() throws IOException {
+        try (CuckooFilterStore store = new CuckooFilterStore(directory, WINDOW, PARTITION, 16, clock::get)) {
+            assertTrue(store.add("first"));
+
+            clock.addAndGet(WINDOW + PARTITION);
+            assertTrue(store.add("first"));
+            assertEquals(1, store.getPartitionCount());
+        }
+    }
+
+    @Test
+    void testCuckooFilterFull() {
+        final CuckooFilter filter = CuckooFilter.withBucketCount(2);
+        long key = 0;
+        while (!filter.isFull()) {
+            key++;
+            assertTrue(filter.add(key << 48, key));
+        }
+
+        assertFalse(filter.add(Long.MAX_VALUE, Long.MAX_VALUE));
+        for (long i = 1; i <= key; i++) {
+            assertTrue(filter.mightContain(i << 48, i));
+        }
+
+        assertTrue(filter.remove(1L << 48, 1));
+        assertFalse(filter.mightContain(1L << 48, 1));
+    }
+}
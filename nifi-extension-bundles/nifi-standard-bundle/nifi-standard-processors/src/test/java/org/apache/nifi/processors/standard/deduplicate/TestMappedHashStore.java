@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.deduplicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestMappedHashStore {
+
+    private static final long WINDOW = TimeUnit.HOURS.toMillis(24);
+
+    private static final long PARTITION = TimeUnit.HOURS.toMillis(1);
+
+    @TempDir
+    private Path directory;
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.DAYS.toMillis(1000));
+
+    @Test
+    void testAddContainsRemove() throws IOException {
+        try (MappedHashStore store = new MappedHashStore(directory, WINDOW, PARTITION, 16, clock::get)) {
+            assertTrue(store.add("first"));
+            assertFalse(store.add("first"));
+            assertTrue(store.contains("first"));
+            assertFalse(store.contains("second"));
+
+            assertTrue(store.remove("first"));
+            assertFalse(store.contains("first"));
+            assertFalse(store.remove("first"));
+            assertTrue(store.add("first"));
+        }
+    }
+
+    @Test
+    void testPartitionGrowsBeyondCapacity() throws IOException {
+        final int keys = 10_000;
+        try (MappedHashStore store = new MappedHashStore(directory, WINDOW, PARTITION, 16, clock::get)) {
+            for (int i = 0; i < keys; i++) {
+                assertTrue(store.add(Integer.toString(i)));
+            }
+            for (int i = 0; i < keys; i++) {
+                assertFalse(store.add(Integer.toString(i)));
+            }
+            assertEquals(1, store.getPartitionCount());
+        }
+
+        try (Stream<Path> segments = Files.list(directory)) {
+            assertTrue(segments.count() > 1);
+        }
+    }
+
+    @Test
+    void testKeysRetainedAcrossRestart() throws IOException {
+        try (MappedHashStore store = new MappedHashStore(directory, WINDOW, PARTITION, 16, clock::get)) {
+            assertTrue(store.add("first"));
+            clock.addAndGet(PARTITION);
+            assertTrue(store.add("second"));
+        }
+
+        try (MappedHashStore store = new MappedHashStore(directory, WINDOW, PARTITION, 16, clock::get)) {
+            assertEquals(2, store.getPartitionCount());
+            assertFalse(store.add("first"));
+            assertFalse(store.add("second"));
+            assertTrue(store.add("third"));
+        }
+    }
+
+    @Test
+    void testPartitionsExpire() throws IOException {
+        try (MappedHashStore store = new MappedHashStore(directory, WINDOW, PARTITION, 16, clock::get)) {
+            assertTrue(store.add("first"));
+
+            clock.addAndGet(WINDOW);
+            assertFalse(store.add("first"));
+
+            clock.addAndGet(PARTITION);
+            assertTrue(store.add("first"));
+            assertEquals(1, store.getPartitionCount());
+        }
+
+        try (Stream<Path> segments = Files.list(directory)) {
+            assertEquals(1, segments.count());
+        }
+    }
+
+    @Test
+    void testWindowShorterThanPartition() {
+        assertThrows(IllegalArgumentException.class, () -> new MappedHashStore(directory, PARTITION, WINDOW, 16, clock::get));
+    }
+
+    @Test
+    void testInitialSegmentCapacity() {
+        assertEquals(32, MappedHashStore.getInitialSegmentCapacity(16));
+        assertEquals(2048, MappedHashStore.getInitialSegmentCapacity(1000));
+        assertEquals(MappedHashSegment.MAX_CAPACITY, MappedHashStore.getInitialSegmentCapacity(Integer.MAX_VALUE));
+    }
+}
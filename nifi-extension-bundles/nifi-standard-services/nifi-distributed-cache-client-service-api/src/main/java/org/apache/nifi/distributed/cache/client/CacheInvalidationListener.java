@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.client;
+
+/**
+ * Listener notified when entries of a distributed map cache are changed by any client, allowing callers to
+ * invalidate values held locally.
+ *
+ * @param <K> the key type
+ */
+public interface CacheInvalidationListener<K> {
+
+    /**
+     * Called when the entry for the given key has been added, replaced or removed.
+     *
+     * @param key the key of the changed entry
+     */
+    void invalidate(K key);
+
+    /**
+     * Called when notifications may have been missed, such as after losing the connection to the cache server;
+     * all locally held values should be considered stale.
+     */
+    void invalidateAll();
+}
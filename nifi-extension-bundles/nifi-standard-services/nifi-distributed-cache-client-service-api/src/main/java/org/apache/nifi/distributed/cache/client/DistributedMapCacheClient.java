@@ -20,6 +20,7 @@ import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
 import org.apache.nifi.controller.ControllerService;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -89,6 +90,25 @@ public interface DistributedMapCacheClient extends ControllerService {
      */
     <K> boolean containsKey(K key, Serializer<K> keySerializer) throws IOException;
 
+    /**
+     * Determines which of the given keys are present in the cache. This should be used when needed to check a
+     * large batch of keys in a single operation.
+     *
+     * @param <K> type of key
+     * @param keys the keys to check
+     * @param keySerializer key serializer
+     * @return a Map from each of the given keys to <code>true</code> if the key is present in the cache, else <code>false</code>
+     *
+     * @throws IOException if unable to communicate with the remote instance
+     */
+    default <K> Map<K, Boolean> containsKeys(Set<K> keys, Serializer<K> keySerializer) throws IOException {
+        final Map<K, Boolean> results = new HashMap<>(keys.size());
+        for (K key : keys) {
+            results.put(key, containsKey(key, keySerializer));
+        }
+        return results;
+    }
+
     /**
      * Adds the specified key and value to the cache, overwriting any value that is
      * currently set.
@@ -212,4 +232,31 @@ public interface DistributedMapCacheClient extends ControllerService {
     default <K> Set<K> keySet(Deserializer<K> keyDeserializer) throws IOException {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * Indicates whether listeners registered with {@link #registerInvalidationListener(Deserializer, CacheInvalidationListener)}
+     * are notified of changes. Callers that hold cache values locally should not rely on invalidation if this returns false.
+     *
+     * @return true if the cache supports invalidation notifications
+     */
+    default boolean isInvalidationSupported() {
+        return false;
+    }
+
+    /**
+     * Registers a listener notified with the keys of entries that are added, replaced or removed by any client
+     * of the cache, allowing callers to hold cache values locally and invalidate them when they change. If the
+     * cache does not support invalidation notifications, as indicated by {@link #isInvalidationSupported()}, the
+     * listener is never notified.
+     *
+     * @param <K> type of key
+     * @param keyDeserializer key deserializer
+     * @param listener the listener to notify
+     * @return a registration that stops notifications to the listener when closed
+     * @throws IOException if unable to communicate with the remote instance
+     */
+    default <K> Closeable registerInvalidationListener(Deserializer<K> keyDeserializer, CacheInvalidationListener<K> listener) throws IOException {
+        return () -> {
+        };
+    }
 }
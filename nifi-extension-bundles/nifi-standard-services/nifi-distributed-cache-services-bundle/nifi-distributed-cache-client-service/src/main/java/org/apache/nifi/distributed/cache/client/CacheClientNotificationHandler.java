@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The {@link io.netty.channel.ChannelHandler} responsible for receiving notifications pushed by the distributed
+ * cache server on a subscription channel.  The server acknowledges the subscription request with a boolean
+ * result, followed by any number of notifications, each consisting of a length and a payload.
+ */
+public class CacheClientNotificationHandler extends ChannelInboundHandlerAdapter {
+
+    private static final int LENGTH_BYTES = 4;
+
+    /**
+     * Container for bytes queued from the service response {@link Channel}.
+     */
+    private final ByteBuf byteBuf = Unpooled.buffer();
+
+    /**
+     * The synchronization construct used to signal that the server acknowledged the subscription.
+     */
+    private final ChannelPromise promiseSubscribed;
+
+    private final Consumer<byte[]> notification;
+
+    /**
+     * Constructor.
+     *
+     * @param channel      the channel to which this {@link io.netty.channel.ChannelHandler} is bound
+     * @param notification called with the payload of each notification
+     */
+    public CacheClientNotificationHandler(final Channel channel, final Consumer<byte[]> notification) {
+        this.promiseSubscribed = channel.newPromise();
+        this.notification = notification;
+    }
+
+    /**
+     * Wait for the server to acknowledge the subscription request.
+     *
+     * @param timeoutMillis the network timeout associated with the acknowledgement
+     * @throws IOException on timeout or when the server rejected the subscription
+     */
+    public void waitSubscribed(final long timeoutMillis) throws IOException {
+        if (!promiseSubscribed.awaitUninterruptibly(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new SocketTimeoutException(String.format("Subscription acknowledgement timeout [%d ms]", timeoutMillis));
+        } else if (!promiseSubscribed.isSuccess()) {
+            throw new IOException("Subscription failed", promiseSubscribed.cause());
+        }
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        final ByteBuf received = (ByteBuf) msg;
+        try {
+            byteBuf.writeBytes(received);
+        } finally {
+            received.release();
+        }
+
+        if (!promiseSubscribed.isDone() && byteBuf.isReadable()) {
+            if (byteBuf.readBoolean()) {
+                promiseSubscribed.setSuccess();
+            } else {
+                promiseSubscribed.setFailure(new IOException("Server rejected subscription"));
+            }
+        }
+
+        while (byteBuf.readableBytes() >= LENGTH_BYTES) {
+            final int length = byteBuf.getInt(byteBuf.readerIndex());
+            if (byteBuf.readableBytes() < LENGTH_BYTES + length) {
+                break;
+            }
+            byteBuf.skipBytes(LENGTH_BYTES);
+            final byte[] payload = new byte[length];
+            byteBuf.readBytes(payload);
+            notification.accept(payload);
+        }
+        byteBuf.discardReadBytes();
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+        promiseSubscribed.tryFailure(cause);
+        ctx.close();
+    }
+
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) {
+        byteBuf.release();
+    }
+}
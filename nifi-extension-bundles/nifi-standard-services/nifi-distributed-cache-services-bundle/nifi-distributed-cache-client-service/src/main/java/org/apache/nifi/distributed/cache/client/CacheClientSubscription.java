@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.client;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.apache.nifi.remote.VersionNegotiatorFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Subscription to notifications pushed by a distributed cache server.  The subscription uses a dedicated connection
+ * without an idle timeout, since notifications arrive independently of client requests.  When the connection is
+ * lost, the interruption callback is invoked and the subscription reconnects in the background until closed.
+ */
+public class CacheClientSubscription implements Closeable {
+
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private static final boolean DAEMON_THREAD_ENABLED = true;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Bootstrap bootstrap;
+
+    private final int timeoutMillis;
+
+    private final byte[] subscriptionRequest;
+
+    private final int minimumVersion;
+
+    private final Runnable interruption;
+
+    private final ScheduledExecutorService reconnectExecutor;
+
+    private volatile Channel channel;
+
+    private volatile boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param hostname            the network name / IP address of the server running the distributed cache service
+     * @param port                the port on which the distributed cache service is running
+     * @param timeoutMillis       the network timeout associated with connecting and subscribing
+     * @param sslContext          the secure context (if any) to be associated with the connection
+     * @param factory             creator of object used to broker the version of the distributed cache protocol with the service
+     * @param eventLoopGroup      Netty Event Loop Group providing threads for managing connections
+     * @param subscriptionRequest the request sent to the server after each connection handshake
+     * @param minimumVersion      the minimum protocol version supporting the subscription
+     * @param notification        called with the payload of each notification
+     * @param interruption        called when the connection is lost and notifications may have been missed
+     */
+    CacheClientSubscription(final String hostname,
+                            final int port,
+                            final int timeoutMillis,
+                            final SSLContext sslContext,
+                            final VersionNegotiatorFactory factory,
+                            final EventLoopGroup eventLoopGroup,
+                            final byte[] subscriptionRequest,
+                            final int minimumVersion,
+                            final Consumer<byte[]> notification,
+                            final Runnable interruption) {
+        this.timeoutMillis = timeoutMillis;
+        this.subscriptionRequest = subscriptionRequest;
+        this.minimumVersion = minimumVersion;
+        this.interruption = interruption;
+        this.reconnectExecutor = Executors.newSingleThreadScheduledExecutor(
+                new DefaultThreadFactory(String.format("%s[%s:%d]", getClass().getSimpleName(), hostname, port), DAEMON_THREAD_ENABLED));
+        this.bootstrap = new Bootstrap()
+                .group(eventLoopGroup)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeoutMillis)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .remoteAddress(hostname, port)
+                .channel(NioSocketChannel.class)
+                .handler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(final Channel channel) {
+                        final ChannelPipeline channelPipeline = channel.pipeline();
+                        if (sslContext != null) {
+                            final SSLEngine sslEngine = sslContext.createSSLEngine();
+                            sslEngine.setUseClientMode(true);
+                            channelPipeline.addLast(new SslHandler(sslEngine));
+                        }
+                        channelPipeline.addLast(new WriteTimeoutHandler(timeoutMillis, TimeUnit.MILLISECONDS));
+                        channelPipeline.addLast(new CacheClientHandshakeHandler(channel, factory.create(), timeoutMillis));
+                        channelPipeline.addLast(new CacheClientNotificationHandler(channel, notification));
+                    }
+                });
+    }
+
+    /**
+     * Connect and subscribe, failing if the server cannot be reached or does not support the subscription.
+     *
+     * @throws IOException on communication failure
+     */
+    void open() throws IOException {
+        try {
+            connect();
+        } catch (final IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return true if the subscription currently has an active connection to the server
+     */
+    public boolean isConnected() {
+        final Channel connected = channel;
+        return connected != null && connected.isActive();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        reconnectExecutor.shutdownNow();
+        final Channel connected = channel;
+        if (connected != null) {
+            connected.close().awaitUninterruptibly(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void connect() throws IOException {
+        final ChannelFuture connectFuture = bootstrap.connect();
+        if (!connectFuture.awaitUninterruptibly(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            connectFuture.cancel(true);
+            throw new SocketTimeoutException(String.format("Subscription connection timeout [%d ms]", timeoutMillis));
+        } else if (!connectFuture.isSuccess()) {
+            throw new IOException("Subscription connection failed", connectFuture.cause());
+        }
+
+        final Channel connected = connectFuture.channel();
+        try {
+            final CacheClientHandshakeHandler handshakeHandler = connected.pipeline().get(CacheClientHandshakeHandler.class);
+            handshakeHandler.waitHandshakeComplete();
+            if (!handshakeHandler.isSuccess()) {
+                throw new IOException("Subscription handshake failed", handshakeHandler.cause());
+            }
+            if (handshakeHandler.getVersionNegotiator().getVersion() < minimumVersion) {
+                throw new UnsupportedOperationException("Remote cache server doesn't support protocol version " + minimumVersion);
+            }
+
+            final CacheClientNotificationHandler notificationHandler = connected.pipeline().get(CacheClientNotificationHandler.class);
+            connected.writeAndFlush(Unpooled.wrappedBuffer(subscriptionRequest));
+            notificationHandler.waitSubscribed(timeoutMillis);
+        } catch (final IOException | RuntimeException e) {
+            connected.close();
+            throw e;
+        }
+
+        channel = connected;
+        connected.closeFuture().addListener(future -> onDisconnected());
+    }
+
+    private void onDisconnected() {
+        interruption.run();
+        if (!closed) {
+            logger.debug("Subscription connection to [{}] lost: reconnecting", bootstrap.config().remoteAddress());
+            scheduleReconnect();
+        }
+    }
+
+    private void scheduleReconnect() {
+        try {
+            reconnectExecutor.schedule(this::reconnect, RECONNECT_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (final RuntimeException e) {
+            logger.debug("Subscription reconnection not scheduled", e);
+        }
+    }
+
+    private void reconnect() {
+        if (closed) {
+            return;
+        }
+        try {
+            connect();
+            // Notifications published while disconnected were missed
+            interruption.run();
+        } catch (final IOException | RuntimeException e) {
+            logger.warn("Subscription reconnection to [{}] failed", bootstrap.config().remoteAddress(), e);
+            scheduleReconnect();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.client;
+
+/**
+ * Address of a distributed cache server parsed from a configured server entry in the form hostname or hostname:port.
+ *
+ * @param hostname the network name or IP address of the server
+ * @param port     the port on which the server is listening
+ */
+record CacheServerAddress(String hostname, int port) {
+
+    /**
+     * @param server      the configured server entry
+     * @param defaultPort the port used when the entry does not specify one
+     * @return the parsed address
+     * @throws IllegalArgumentException if the entry is empty or the port is not valid
+     */
+    static CacheServerAddress parse(final String server, final String defaultPort) {
+        final String trimmed = server.trim();
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("server hostname must not be empty");
+        }
+
+        final int separator = trimmed.lastIndexOf(':');
+        final boolean portSpecified = separator > 0 && trimmed.indexOf(':') == separator;
+        final String hostname = portSpecified ? trimmed.substring(0, separator).trim() : trimmed;
+        final String port = portSpecified ? trimmed.substring(separator + 1).trim() : defaultPort;
+        try {
+            final int portNumber = Integer.parseInt(port);
+            if (portNumber < 1 || portNumber > 65535) {
+                throw new IllegalArgumentException("port [%s] must be between 1 and 65535".formatted(port));
+            }
+            return new CacheServerAddress(hostname, portNumber);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("port [%s] is not a number".formatted(port));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return hostname + ":" + port;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring assigning serialized cache keys to one of a fixed list of nodes.  Each node is placed
+ * on the ring at a number of virtual positions, so that keys are spread evenly and adding or removing a server
+ * only relocates the keys owned by that server.  Hashing is deterministic across JVMs, so that every NiFi node
+ * configured with the same server list routes a given key to the same server.
+ *
+ * @param <T> the node type
+ */
+class ConsistentHashRing<T> {
+    static final int VIRTUAL_NODES = 160;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<T> nodes;
+
+    private final NavigableMap<Long, T> ring = new TreeMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param nodes     the nodes in the ring, in configured order
+     * @param nodeNames the names used to place each node on the ring
+     */
+    ConsistentHashRing(final List<T> nodes, final List<String> nodeNames) {
+        if (nodes.isEmpty() || nodes.size() != nodeNames.size()) {
+            throw new IllegalArgumentException("One name required for each of one or more nodes");
+        }
+        this.nodes = Collections.unmodifiableList(nodes);
+        for (int i = 0; i < nodes.size(); i++) {
+            for (int virtualNode = 0; virtualNode < VIRTUAL_NODES; virtualNode++) {
+                final String position = nodeNames.get(i) + "#" + virtualNode;
+                ring.put(hash(position.getBytes(StandardCharsets.UTF_8)), nodes.get(i));
+            }
+        }
+    }
+
+    /**
+     * @return all nodes in the ring, in configured order
+     */
+    List<T> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @param key the serialized cache key
+     * @return the node owning the key
+     */
+    T getNode(final byte[] key) {
+        if (nodes.size() == 1) {
+            return nodes.getFirst();
+        }
+        final Map.Entry<Long, T> entry = ring.ceilingEntry(hash(key));
+        return entry == null ? ring.firstEntry().getValue() : entry.getValue();
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the MurmurHash3 finalizer to spread short, similar keys across the ring.
+     */
+    static long hash(final byte[] bytes) {
+        long hash = FNV_OFFSET_BASIS;
+        for (final byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
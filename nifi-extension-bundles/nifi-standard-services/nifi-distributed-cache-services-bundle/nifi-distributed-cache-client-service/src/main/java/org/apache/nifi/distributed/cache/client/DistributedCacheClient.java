@@ -27,6 +27,7 @@ import org.apache.nifi.remote.VersionNegotiatorFactory;
 import org.apache.nifi.ssl.SSLContextService;
 
 import java.io.IOException;
+import java.util.function.Consumer;
 
 /**
  * Encapsulate operations which may be performed using a {@link DistributedSetCacheClientService} or a
@@ -43,6 +44,16 @@ public class DistributedCacheClient {
 
     private final EventLoopGroup eventLoopGroup;
 
+    private final String hostname;
+
+    private final int port;
+
+    private final int timeoutMillis;
+
+    private final SSLContextService sslContextService;
+
+    private final VersionNegotiatorFactory factory;
+
     /**
      * Constructor.
      *
@@ -60,6 +71,11 @@ public class DistributedCacheClient {
                                      final SSLContextService sslContextService,
                                      final VersionNegotiatorFactory factory,
                                      final String identifier) {
+        this.hostname = hostname;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+        this.sslContextService = sslContextService;
+        this.factory = factory;
         final String poolName = String.format("%s[%s]", getClass().getSimpleName(), identifier);
         this.eventLoopGroup = new NioEventLoopGroup(new DefaultThreadFactory(poolName, DAEMON_THREAD_ENABLED));
         this.channelPool = new CacheClientChannelPoolFactory().createChannelPool(
@@ -83,6 +99,25 @@ public class DistributedCacheClient {
         }
     }
 
+    /**
+     * Open a subscription to server notifications on a dedicated connection outside the channel pool.
+     *
+     * @param outboundAdapter  the subscription request sent after each connection handshake
+     * @param minimumVersion   the minimum protocol version supporting the subscription
+     * @param notification     called with the payload of each notification
+     * @param interruption     called when the connection is lost and notifications may have been missed
+     * @return the open subscription, which reconnects until closed
+     * @throws IOException on communication failure
+     */
+    protected CacheClientSubscription subscribe(final OutboundAdapter outboundAdapter, final int minimumVersion,
+                                                final Consumer<byte[]> notification, final Runnable interruption) throws IOException {
+        final CacheClientSubscription subscription = new CacheClientSubscription(hostname, port, timeoutMillis,
+                (sslContextService == null) ? null : sslContextService.createContext(), factory, eventLoopGroup,
+                outboundAdapter.toBytes(), minimumVersion, notification, interruption);
+        subscription.open();
+        return subscription;
+    }
+
     /**
      * Close Channel Pool and supporting Event Loop Group
      */
@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.client;
+
+import org.apache.nifi.annotation.documentation.CapabilityDescription;
+import org.apache.nifi.annotation.documentation.SeeAlso;
+import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnDisabled;
+import org.apache.nifi.annotation.lifecycle.OnEnabled;
+import org.apache.nifi.annotation.lifecycle.OnStopped;
+import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.components.ValidationContext;
+import org.apache.nifi.components.ValidationResult;
+import org.apache.nifi.controller.AbstractControllerService;
+import org.apache.nifi.controller.ConfigurationContext;
+import org.apache.nifi.distributed.cache.client.adapter.AtomicCacheEntryInboundAdapter;
+import org.apache.nifi.distributed.cache.client.adapter.MapValuesInboundAdapter;
+import org.apache.nifi.distributed.cache.client.adapter.SetInboundAdapter;
+import org.apache.nifi.distributed.cache.client.adapter.ValueInboundAdapter;
+import org.apache.nifi.distributed.cache.protocol.ProtocolVersion;
+import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.remote.StandardVersionNegotiatorFactory;
+import org.apache.nifi.remote.VersionNegotiatorFactory;
+import org.apache.nifi.ssl.SSLContextService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Tags({"distributed", "cache", "state", "map", "cluster"})
+@SeeAlso(classNames = {"org.apache.nifi.distributed.cache.server.map.DistributedMapCacheServer", "org.apache.nifi.ssl.StandardSSLContextService"})
+@CapabilityDescription("Provides the ability to communicate with a DistributedMapCacheServer. This can be used in order to share a Map "
+    + "between nodes in a NiFi cluster. When more than one server is configured, keys are distributed across the servers using consistent "
+    + "hashing, and bulk operations send the requests for each server in pipelined batches.")
+public class DistributedMapCacheClientService extends AbstractControllerService implements AtomicDistributedMapCacheClient<Long> {
+
+    public static final PropertyDescriptor HOSTNAME = new PropertyDescriptor.Builder()
+        .name("Server Hostname")
+        .description("The name of the server that is running the DistributedMapCacheServer service. A comma-separated list of servers, "
+            + "each optionally followed by a colon and a port, distributes keys across the servers using consistent hashing. "
+            + "Every client sharing the cache must be configured with the same list of servers.")
+        .required(true)
+        .addValidator(StandardValidators.NON_EMPTY_VALIDATOR)
+        .build();
+    public static final PropertyDescriptor PORT = new PropertyDescriptor.Builder()
+        .name("Server Port")
+        .description("The port on the remote server that is to be used when communicating with the DistributedMapCacheServer service, "
+            + "for servers listed without a port")
+        .required(true)
+        .addValidator(StandardValidators.PORT_VALIDATOR)
+        .defaultValue("4557")
+        .build();
+    public static final PropertyDescriptor SSL_CONTEXT_SERVICE = new PropertyDescriptor.Builder()
+        .name("SSL Context Service")
+        .description("If specified, indicates the SSL Context Service that is used to communicate with the "
+            + "remote server. If not specified, communications will not be encrypted")
+        .required(false)
+        .identifiesControllerService(SSLContextService.class)
+        .build();
+    public static final PropertyDescriptor COMMUNICATIONS_TIMEOUT = new PropertyDescriptor.Builder()
+        .name("Communications Timeout")
+        .description("Specifies how long to wait when communicating with the remote server before determining that there is a communications "
+            + "failure if data cannot be sent or received")
+        .required(true)
+        .addValidator(StandardValidators.TIME_PERIOD_VALIDATOR)
+        .defaultValue("30 secs")
+        .build();
+
+    private static final List<PropertyDescriptor> PROPERTY_DESCRIPTORS = List.of(
+        HOSTNAME,
+        PORT,
+        SSL_CONTEXT_SERVICE,
+        COMMUNICATIONS_TIMEOUT
+    );
+
+    private volatile ConsistentHashRing<NettyDistributedMapCacheClient> cacheClients = null;
+
+    @Override
+    protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
+        return PROPERTY_DESCRIPTORS;
+    }
+
+    @Override
+    protected Collection<ValidationResult> customValidate(final ValidationContext validationContext) {
+        final List<ValidationResult> results = new ArrayList<>();
+        final String hostnames = validationContext.getProperty(HOSTNAME).getValue();
+        final String defaultPort = validationContext.getProperty(PORT).getValue();
+        if (hostnames != null && defaultPort != null) {
+            final Set<String> servers = new HashSet<>();
+            for (final String server : hostnames.split(",")) {
+                try {
+                    final CacheServerAddress address = CacheServerAddress.parse(server, defaultPort);
+                    if (!servers.add(address.toString())) {
+                        results.add(new ValidationResult.Builder().subject(HOSTNAME.getDisplayName()).input(server).valid(false)
+                            .explanation("server [" + address + "] is listed more than once").build());
+                    }
+                } catch (final IllegalArgumentException e) {
+                    results.add(new ValidationResult.Builder().subject(HOSTNAME.getDisplayName()).input(server).valid(false)
+                        .explanation(e.getMessage()).build());
+                }
+            }
+        }
+        return results;
+    }
+
+    @OnEnabled
+    public void onEnabled(final ConfigurationContext context) {
+        getLogger().debug("Enabling Map Cache Client Service [{}]", context.getName());
+        final String defaultPort = context.getProperty(PORT).getValue();
+        final int timeoutMillis = context.getProperty(COMMUNICATIONS_TIMEOUT).asTimePeriod(TimeUnit.MILLISECONDS).intValue();
+        final SSLContextService sslContextService = context.getProperty(SSL_CONTEXT_SERVICE).asControllerService(SSLContextService.class);
+        final VersionNegotiatorFactory versionNegotiatorFactory = new StandardVersionNegotiatorFactory(
+            ProtocolVersion.V4.value(), ProtocolVersion.V3.value(), ProtocolVersion.V2.value(), ProtocolVersion.V1.value());
+
+        final List<NettyDistributedMapCacheClient> clients = new ArrayList<>();
+        final List<String> serverNames = new ArrayList<>();
+        try {
+            for (final String server : context.getProperty(HOSTNAME).getValue().split(",")) {
+                final CacheServerAddress address = CacheServerAddress.parse(server, defaultPort);
+                clients.add(new NettyDistributedMapCacheClient(
+                    address.hostname(),
+                    address.port(),
+                    timeoutMillis,
+                    sslContextService,
+                    versionNegotiatorFactory,
+                    this.getIdentifier(),
+                    getLogger()));
+                serverNames.add(address.toString());
+            }
+        } catch (final RuntimeException e) {
+            try {
+                closeClients(clients);
+            } catch (final IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e;
+        }
+        this.cacheClients = new ConsistentHashRing<>(clients, serverNames);
+    }
+
+    @OnDisabled
+    public void onDisabled() throws IOException {
+        getLogger().debug("Disabling Map Cache Client Service");
+        final ConsistentHashRing<NettyDistributedMapCacheClient> disabledClients = this.cacheClients;
+        this.cacheClients = null;
+        // The clients are not set if enabling the service failed
+        if (disabledClients != null) {
+            closeClients(disabledClients.getNodes());
+        }
+    }
+
+    private void closeClients(final Collection<NettyDistributedMapCacheClient> clients) throws IOException {
+        IOException closeException = null;
+        for (final NettyDistributedMapCacheClient cacheClient : clients) {
+            try {
+                cacheClient.close();
+            } catch (final IOException e) {
+                if (closeException == null) {
+                    closeException = e;
+                } else {
+                    closeException.addSuppressed(e);
+                }
+            }
+        }
+        if (closeException != null) {
+            throw closeException;
+        }
+    }
+
+    @OnStopped
+    public void onStopped() throws IOException {
+        close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (cacheClients != null) {
+            onDisabled();
+        }
+    }
+
+    @Override
+    public <K, V> boolean putIfAbsent(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) throws IOException {
+        final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
+        final byte[] bytesValue = CacheClientSerde.serialize(value, valueSerializer);
+        return getCacheClient(bytesKey).putIfAbsent(bytesKey, bytesValue);
+    }
+
+    @Override
+    public <K, V> void put(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) throws IOException {
+        final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
+        final byte[] bytesValue = CacheClientSerde.serialize(value, valueSerializer);
+        getCacheClient(bytesKey).put(bytesKey, bytesValue);
+    }
+
+    @Override
+    public <K, V> void putAll(final Map<K, V> keysAndValues, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) throws IOException {
+        final Map<NettyDistributedMapCacheClient, List<Map.Entry<byte[], byte[]>>> entriesByClient = new IdentityHashMap<>();
+        for (final Map.Entry<K, V> entry : keysAndValues.entrySet()) {
+            final byte[] bytesKey = CacheClientSerde.serialize(entry.getKey(), keySerializer);
+            final byte[] bytesValue = CacheClientSerde.serialize(entry.getValue(), valueSerializer);
+            entriesByClient.computeIfAbsent(getCacheClient(bytesKey), cacheClient -> new ArrayList<>())
+                .add(new AbstractMap.SimpleImmutableEntry<>(bytesKey, bytesValue));
+        }
+        for (final Map.Entry<NettyDistributedMapCacheClient, List<Map.Entry<byte[], byte[]>>> clientEntries : entriesByClient.entrySet()) {
+            clientEntries.getKey().putAll(clientEntries.getValue());
+        }
+    }
+
+    @Override
+    public <K> boolean containsKey(final K key, final Serializer<K> keySerializer) throws IOException {
+        final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
+        return getCacheClient(bytesKey).containsKey(bytesKey);
+    }
+
+    @Override
+    public <K> Map<K, Boolean> containsKeys(final Set<K> keys, final Serializer<K> keySerializer) throws IOException {
+        final Map<NettyDistributedMapCacheClient, ShardKeys<K>> keysByClient = groupKeys(keys, keySerializer);
+        final Map<K, Boolean> results = new HashMap<>(keys.size());
+        for (final Map.Entry<NettyDistributedMapCacheClient, ShardKeys<K>> clientKeys : keysByClient.entrySet()) {
+            final ShardKeys<K> shardKeys = clientKeys.getValue();
+            final Iterator<Boolean> contained = clientKeys.getKey().containsKeys(shardKeys.bytesKeys()).iterator();
+            for (final K key : shardKeys.keys()) {
+                results.put(key, contained.next());
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public <K, V> V getAndPutIfAbsent(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer,
+                                      final Deserializer<V> valueDeserializer) throws IOException {
+        final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
+        final byte[] bytesValue = CacheClientSerde.serialize(value, valueSerializer);
+        final ValueInboundAdapter<V> inboundAdapter = new ValueInboundAdapter<>(valueDeserializer);
+        return getCacheClient(bytesKey).getAndPutIfAbsent(bytesKey, bytesValue, inboundAdapter);
+    }
+
+    @Override
+    public <K, V> V get(final K key, final Serializer<K> keySerializer, final Deserializer<V> valueDeserializer) throws IOException {
+        final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
+        final ValueInboundAdapter<V> inboundAdapter = new ValueInboundAdapter<>(valueDeserializer);
+        return getCacheClient(bytesKey).get(bytesKey, inboundAdapter);
+    }
+
+    @Override
+    public <K, V> Map<K, V> subMap(final Set<K> keys, final Serializer<K> keySerializer, final Deserializer<V> valueDeserializer) throws IOException {
+        final Map<NettyDistributedMapCacheClient, ShardKeys<K>> keysByClient = groupKeys(keys, keySerializer);
+        final Map<K, V> results = new HashMap<>(keys.size());
+        for (final Map.Entry<NettyDistributedMapCacheClient, ShardKeys<K>> clientKeys : keysByClient.entrySet()) {
+            final ShardKeys<K> shardKeys = clientKeys.getValue();
+            final MapValuesInboundAdapter<K, V> inboundAdapter = new MapValuesInboundAdapter<>(shardKeys.keys(), valueDeserializer, results);
+            clientKeys.getKey().subMap(shardKeys.bytesKeys(), inboundAdapter);
+        }
+        return results;
+    }
+
+    @Override
+    public <K> boolean remove(final K key, final Serializer<K> serializer) throws IOException {
+        final byte[] bytesKey = CacheClientSerde.serialize(key, serializer);
+        return getCacheClient(bytesKey).remove(bytesKey);
+    }
+
+    @Override
+    public <K, V> V removeAndGet(final K key, final Serializer<K> keySerializer, final Deserializer<V> valueDeserializer) throws IOException {
+        final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
+        final ValueInboundAdapter<V> inboundAdapter = new ValueInboundAdapter<>(valueDeserializer);
+        return getCacheClient(bytesKey).removeAndGet(bytesKey, inboundAdapter);
+    }
+
+    @Override
+    public <K> Set<K> keySet(final Deserializer<K> keyDeserializer) throws IOException {
+        final Set<K> keys = new HashSet<>();
+        for (final NettyDistributedMapCacheClient cacheClient : getCacheClients().getNodes()) {
+            keys.addAll(cacheClient.keySet(new SetInboundAdapter<>(keyDeserializer, new HashSet<>())));
+        }
+        return keys;
+    }
+
+    @Override
+    public <K, V> AtomicCacheEntry<K, V, Long> fetch(final K key, final Serializer<K> keySerializer, final Deserializer<V> valueDeserializer) throws IOException {
+        final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
+        final AtomicCacheEntryInboundAdapter<K, V> inboundAdapter = new AtomicCacheEntryInboundAdapter<>(key, valueDeserializer);
+        return getCacheClient(bytesKey).fetch(bytesKey, inboundAdapter);
+    }
+
+    @Override
+    public <K, V> boolean replace(final AtomicCacheEntry<K, V, Long> entry, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) throws IOException {
+        final byte[] bytesKey = CacheClientSerde.serialize(entry.getKey(), keySerializer);
+        final byte[] bytesValue = CacheClientSerde.serialize(entry.getValue(), valueSerializer);
+        final long revision = entry.getRevision().orElse(0L);
+        return getCacheClient(bytesKey).replace(bytesKey, bytesValue, revision);
+    }
+
+    @Override
+    public boolean isInvalidationSupported() {
+        return true;
+    }
+
+    @Override
+    public <K> Closeable registerInvalidationListener(final Deserializer<K> keyDeserializer, final CacheInvalidationListener<K> listener) throws IOException {
+        final List<Closeable> subscriptions = new ArrayList<>();
+        final Closeable registration = () -> {
+            for (final Closeable subscription : subscriptions) {
+                subscription.close();
+            }
+        };
+        try {
+            for (final NettyDistributedMapCacheClient cacheClient : getCacheClients().getNodes()) {
+                subscriptions.add(cacheClient.subscribeInvalidations(bytesKey -> {
+                    try {
+                        listener.invalidate(keyDeserializer.deserialize(bytesKey));
+                    } catch (final IOException | RuntimeException e) {
+                        getLogger().warn("Failed to deserialize invalidated key: invalidating all", e);
+                        listener.invalidateAll();
+                    }
+                }, listener::invalidateAll));
+            }
+        } catch (final IOException | RuntimeException e) {
+            registration.close();
+            throw e;
+        }
+        return registration;
+    }
+
+    private ConsistentHashRing<NettyDistributedMapCacheClient> getCacheClients() {
+        final ConsistentHashRing<NettyDistributedMapCacheClient> enabledClients = this.cacheClients;
+        if (enabledClients == null) {
+            throw new IllegalStateException("Map Cache Client Service [%s] is not enabled".formatted(getIdentifier()));
+        }
+        return enabledClients;
+    }
+
+    private NettyDistributedMapCacheClient getCacheClient(final byte[] bytesKey) {
+        return getCacheClients().getNode(bytesKey);
+    }
+
+    private <K> Map<NettyDistributedMapCacheClient, ShardKeys<K>> groupKeys(final Set<K> keys, final Serializer<K> keySerializer) throws IOException {
+        final ConsistentHashRing<NettyDistributedMapCacheClient> enabledClients = getCacheClients();
+        final Map<NettyDistributedMapCacheClient, ShardKeys<K>> keysByClient = new LinkedHashMap<>();
+        for (final K key : keys) {
+            final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
+            final ShardKeys<K> shardKeys = keysByClient.computeIfAbsent(enabledClients.getNode(bytesKey),
+                cacheClient -> new ShardKeys<>(new LinkedHashSet<>(), new ArrayList<>()));
+            shardKeys.keys().add(key);
+            shardKeys.bytesKeys().add(bytesKey);
+        }
+        return keysByClient;
+    }
+
+    /**
+     * Keys routed to one server, with serialized keys in the same order as the keys.
+     */
+    private record ShardKeys<K>(Set<K> keys, List<byte[]> bytesKeys) {
+    }
+}
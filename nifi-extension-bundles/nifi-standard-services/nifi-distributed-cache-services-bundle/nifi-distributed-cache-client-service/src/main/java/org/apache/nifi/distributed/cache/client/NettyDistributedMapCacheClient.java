@@ -18,6 +18,7 @@ package org.apache.nifi.distributed.cache.client;
 
 import org.apache.nifi.distributed.cache.client.adapter.AtomicCacheEntryInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.BooleanInboundAdapter;
+import org.apache.nifi.distributed.cache.client.adapter.BooleanListInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.MapValuesInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.OutboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.SetInboundAdapter;
@@ -29,19 +30,31 @@ import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.remote.VersionNegotiatorFactory;
 import org.apache.nifi.ssl.SSLContextService;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * The implementation of the {@link DistributedMapCacheClient} using the netty library to provide the remote
  * communication services.
  */
 public class NettyDistributedMapCacheClient extends DistributedCacheClient {
+    /**
+     * Maximum number of requests written to a channel before reading the responses of a pipelined batch.
+     */
+    private static final int PIPELINE_BATCH_SIZE = 1000;
+
     private final ComponentLog log;
 
+    private final Set<CacheClientSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
     /**
      * Constructor.
      *
@@ -107,6 +120,55 @@ public class NettyDistributedMapCacheClient extends DistributedCacheClient {
         }
     }
 
+    /**
+     * Adds the specified keys and values to the cache, overwriting any values that are currently set.  Requests
+     * are pipelined on a single channel, so that a batch of entries costs one network round trip instead of one
+     * round trip for each entry.  The server processes requests on a channel in order, so responses are correlated
+     * with requests by position.
+     *
+     * @param entries the keys and values to set
+     * @throws IOException if unable to communicate with the remote instance
+     */
+    public void putAll(final List<Map.Entry<byte[], byte[]>> entries) throws IOException {
+        for (int start = 0; start < entries.size(); start += PIPELINE_BATCH_SIZE) {
+            final List<Map.Entry<byte[], byte[]>> batch = entries.subList(start, Math.min(start + PIPELINE_BATCH_SIZE, entries.size()));
+            final OutboundAdapter outboundAdapter = new OutboundAdapter();
+            for (final Map.Entry<byte[], byte[]> entry : batch) {
+                outboundAdapter.write(MapOperation.PUT.value())
+                        .write(entry.getKey())
+                        .write(entry.getValue());
+            }
+            final BooleanListInboundAdapter inboundAdapter = new BooleanListInboundAdapter(batch.size());
+            invoke(outboundAdapter, inboundAdapter);
+            if (inboundAdapter.getResult().contains(Boolean.FALSE)) {
+                throw new IOException("Server indicated 'put' operation failed");
+            }
+        }
+    }
+
+    /**
+     * Determines which of the given keys are present in the cache.  Requests are pipelined on a single channel
+     * in batches, as described for {@link #putAll(List)}.
+     *
+     * @param keys the keys to check
+     * @return for each key in the order provided, true if the key is present in the cache
+     * @throws IOException if unable to communicate with the remote instance
+     */
+    public List<Boolean> containsKeys(final List<byte[]> keys) throws IOException {
+        final List<Boolean> results = new ArrayList<>(keys.size());
+        for (int start = 0; start < keys.size(); start += PIPELINE_BATCH_SIZE) {
+            final List<byte[]> batch = keys.subList(start, Math.min(start + PIPELINE_BATCH_SIZE, keys.size()));
+            final OutboundAdapter outboundAdapter = new OutboundAdapter();
+            for (final byte[] key : batch) {
+                outboundAdapter.write(MapOperation.CONTAINS_KEY.value()).write(key);
+            }
+            final BooleanListInboundAdapter inboundAdapter = new BooleanListInboundAdapter(batch.size());
+            invoke(outboundAdapter, inboundAdapter);
+            results.addAll(inboundAdapter.getResult());
+        }
+        return results;
+    }
+
     /**
      * Determines if the given value is present in the cache and if so returns
      * <code>true</code>, else returns <code>false</code>
@@ -278,12 +340,35 @@ public class NettyDistributedMapCacheClient extends DistributedCacheClient {
         return setAdapter.getResult();
     }
 
+    /**
+     * Subscribe to the keys of entries added, replaced or removed by any client of the cache.  Notifications are
+     * received on a dedicated connection, which is closed with the subscription or with this client.
+     *
+     * @param invalidation called with the serialized key of each changed entry
+     * @param interruption called when the connection is lost and notifications may have been missed
+     * @return the subscription, which stops notifications when closed
+     * @throws IOException if unable to communicate with the remote instance
+     */
+    public Closeable subscribeInvalidations(final Consumer<byte[]> invalidation, final Runnable interruption) throws IOException {
+        final OutboundAdapter outboundAdapter = new OutboundAdapter().write(MapOperation.SUBSCRIBE_INVALIDATIONS.value());
+        final CacheClientSubscription subscription = subscribe(outboundAdapter, ProtocolVersion.V4.value(), invalidation, interruption);
+        subscriptions.add(subscription);
+        return () -> {
+            subscriptions.remove(subscription);
+            subscription.close();
+        };
+    }
+
     /**
      * Perform a clean shutdown of the cache client.
      *
      * @throws IOException if unable to communicate with the remote instance
      */
     public void close() throws IOException {
+        for (final CacheClientSubscription subscription : subscriptions) {
+            subscription.close();
+        }
+        subscriptions.clear();
         try {
             invoke(new OutboundAdapter().write(MapOperation.CLOSE.value()), new VoidInboundAdapter());
         } catch (final Exception e) {
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.client.adapter;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.nifi.distributed.cache.client.AtomicCacheEntry;
+import org.apache.nifi.distributed.cache.client.Deserializer;
+
+import java.io.IOException;
+
+/**
+ * Implementation of {@link InboundAdapter} where the service response payload is expected to be an
+ * {@link AtomicCacheEntry}, consisting of a revision followed by a value of type V.
+ *
+ * @param <K> the expected type of the service key
+ * @param <V> the expected type of the service response value
+ */
+public class AtomicCacheEntryInboundAdapter<K, V> implements InboundAdapter {
+
+    /**
+     * The revision returned by the service when no entry exists for the requested key.
+     */
+    private static final long REVISION_NOT_FOUND = -1;
+
+    /**
+     * The key of the requested cache entry.
+     */
+    private final K key;
+
+    /**
+     * The deserializer to be used to construct the value in the service response object.
+     */
+    private final Deserializer<V> deserializer;
+
+    /**
+     * Container for bytes queued from the service response {@link io.netty.channel.Channel}.
+     */
+    private final ByteBuf byteBuf;
+
+    /**
+     * The state of receipt of the value token in the service response.
+     */
+    private final InboundToken<V> inboundToken;
+
+    /**
+     * The revision of the cache entry.  This is set to a non-null value upon receipt.
+     */
+    private Long revision;
+
+    /**
+     * Constructor.
+     *
+     * @param key          the key of the requested cache entry
+     * @param deserializer the deserializer to be used to construct the service response value
+     */
+    public AtomicCacheEntryInboundAdapter(final K key, final Deserializer<V> deserializer) {
+        this.key = key;
+        this.deserializer = deserializer;
+        this.byteBuf = Unpooled.buffer();
+        this.inboundToken = new InboundToken<>();
+        this.revision = null;
+    }
+
+    /**
+     * @return the service method response value; null if the cache does not contain the key
+     */
+    public AtomicCacheEntry<K, V, Long> getResult() {
+        if (revision == null || revision == REVISION_NOT_FOUND) {
+            return null;
+        }
+        return new AtomicCacheEntry<>(key, inboundToken.getValue(), revision);
+    }
+
+    @Override
+    public boolean isComplete() {
+        return inboundToken.isComplete();
+    }
+
+    @Override
+    public void queue(final byte[] bytes) {
+        byteBuf.writeBytes(bytes);
+    }
+
+    @Override
+    public void dequeue() throws IOException {
+        if ((revision == null) && (byteBuf.readableBytes() >= Long.BYTES)) {
+            revision = byteBuf.readLong();
+        }
+        if (revision != null) {
+            inboundToken.update(byteBuf, deserializer);
+        }
+    }
+}
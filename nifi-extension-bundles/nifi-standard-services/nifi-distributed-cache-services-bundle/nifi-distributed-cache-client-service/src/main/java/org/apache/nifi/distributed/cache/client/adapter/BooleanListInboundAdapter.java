@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.client.adapter;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of {@link InboundAdapter} where the service response payload is expected to be
+ * a fixed number of {@link Boolean} values, one for each request in a pipelined batch.  Values are
+ * returned in the order in which the requests were written to the {@link io.netty.channel.Channel}.
+ */
+public class BooleanListInboundAdapter implements InboundAdapter {
+
+    /**
+     * The count of values expected in the service response.
+     */
+    private final int size;
+
+    /**
+     * Container for bytes queued from the service response {@link io.netty.channel.Channel}.
+     */
+    private final ByteBuf byteBuf;
+
+    /**
+     * The values received in the service response.
+     */
+    private final List<Boolean> result;
+
+    /**
+     * Constructor.
+     *
+     * @param size the count of values expected in the service response
+     */
+    public BooleanListInboundAdapter(final int size) {
+        this.size = size;
+        this.byteBuf = Unpooled.buffer();
+        this.result = new ArrayList<>(size);
+    }
+
+    /**
+     * @return the service method response values, in request order
+     */
+    public List<Boolean> getResult() {
+        return result;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return result.size() >= size;
+    }
+
+    @Override
+    public void queue(final byte[] bytes) {
+        byteBuf.writeBytes(bytes);
+    }
+
+    @Override
+    public void dequeue() throws IOException {
+        while ((result.size() < size) && (byteBuf.readableBytes() >= 1)) {
+            result.add(byteBuf.readByte() != 0);
+        }
+    }
+}
@@ -31,6 +31,7 @@ public enum MapOperation implements CacheOperation {
     REMOVE_AND_GET("removeAndGet"),
     REPLACE("replace"),
     SUBMAP("subMap"),
+    SUBSCRIBE_INVALIDATIONS("subscribeInvalidations"),
     CLOSE("close");
 
     private final String operation;
@@ -55,6 +55,8 @@ public class MapCacheRequestDecoder extends CacheRequestDecoder {
             request = readKeyValueRequest(cacheOperation, byteBuf);
         } else if (MapOperation.KEYSET == cacheOperation) {
             request = new MapCacheRequest(cacheOperation);
+        } else if (MapOperation.SUBSCRIBE_INVALIDATIONS == cacheOperation) {
+            request = new MapCacheRequest(cacheOperation);
         } else if (MapOperation.REMOVE == cacheOperation) {
             request = readKeyRequest(cacheOperation, byteBuf);
         } else if (MapOperation.REMOVE_AND_GET == cacheOperation) {
@@ -19,6 +19,9 @@ package org.apache.nifi.distributed.cache.server.codec;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.util.concurrent.GlobalEventExecutor;
 import org.apache.nifi.distributed.cache.operations.CacheOperation;
 import org.apache.nifi.distributed.cache.operations.MapOperation;
 import org.apache.nifi.distributed.cache.server.map.MapCache;
@@ -46,6 +49,11 @@ public class MapCacheRequestHandler extends SimpleChannelInboundHandler<MapCache
 
     private final MapCache mapCache;
 
+    /**
+     * Channels subscribed to notifications of keys updated or removed by any client
+     */
+    private final ChannelGroup invalidationSubscribers = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+
     public MapCacheRequestHandler(
             final ComponentLog log,
             final MapCache mapCache
@@ -75,6 +83,9 @@ public class MapCacheRequestHandler extends SimpleChannelInboundHandler<MapCache
             final MapPutResult result = mapCache.putIfAbsent(key, value);
             final ByteBuffer cached = result.isSuccessful() ? null : result.getExisting().getValue();
             writeBytes(channelHandlerContext, cacheOperation, cached);
+            if (result.isSuccessful()) {
+                writeInvalidation(key);
+            }
         } else if (MapOperation.FETCH == cacheOperation) {
             final ByteBuffer key = ByteBuffer.wrap(mapCacheRequest.getKey());
             final MapCacheRecord mapCacheRecord = mapCache.fetch(key);
@@ -90,26 +101,45 @@ public class MapCacheRequestHandler extends SimpleChannelInboundHandler<MapCache
             final ByteBuffer value = ByteBuffer.wrap(mapCacheRequest.getValue());
             final MapPutResult result = mapCache.put(key, value);
             writeResult(channelHandlerContext, cacheOperation, result.isSuccessful());
+            if (result.isSuccessful()) {
+                writeInvalidation(key);
+            }
         } else if (MapOperation.PUT_IF_ABSENT == cacheOperation) {
             final ByteBuffer key = ByteBuffer.wrap(mapCacheRequest.getKey());
             final ByteBuffer value = ByteBuffer.wrap(mapCacheRequest.getValue());
             final MapPutResult result = mapCache.putIfAbsent(key, value);
             writeResult(channelHandlerContext, cacheOperation, result.isSuccessful());
+            if (result.isSuccessful()) {
+                writeInvalidation(key);
+            }
         } else if (MapOperation.REMOVE == cacheOperation) {
             final ByteBuffer key = ByteBuffer.wrap(mapCacheRequest.getKey());
             final ByteBuffer removed = mapCache.remove(key);
             final boolean success = removed != null;
             writeResult(channelHandlerContext, cacheOperation, success);
+            if (success) {
+                writeInvalidation(key);
+            }
         } else if (MapOperation.REMOVE_AND_GET == cacheOperation) {
             final ByteBuffer key = ByteBuffer.wrap(mapCacheRequest.getKey());
             final ByteBuffer removed = mapCache.remove(key);
             writeBytes(channelHandlerContext, cacheOperation, removed);
+            if (removed != null) {
+                writeInvalidation(key);
+            }
         } else if (MapOperation.REPLACE == cacheOperation) {
             final ByteBuffer key = ByteBuffer.wrap(mapCacheRequest.getKey());
             final ByteBuffer value = ByteBuffer.wrap(mapCacheRequest.getValue());
             final MapCacheRecord mapCacheRecord = new MapCacheRecord(key, value, mapCacheRequest.getRevision());
             final MapPutResult result = mapCache.replace(mapCacheRecord);
             writeResult(channelHandlerContext, cacheOperation, result.isSuccessful());
+            if (result.isSuccessful()) {
+                writeInvalidation(key);
+            }
+        } else if (MapOperation.SUBSCRIBE_INVALIDATIONS == cacheOperation) {
+            writeResult(channelHandlerContext, cacheOperation, true);
+            invalidationSubscribers.add(channelHandlerContext.channel());
+            log.debug("Map Cache Invalidation Subscriber [{}] added", channelHandlerContext.channel().remoteAddress());
         } else if (MapOperation.SUBMAP == cacheOperation) {
             final List<byte[]> keys = mapCacheRequest.getKeys();
             for (final byte[] key : keys) {
@@ -142,6 +172,13 @@ public class MapCacheRequestHandler extends SimpleChannelInboundHandler<MapCache
         channelHandlerContext.writeAndFlush(mapValueResponse);
     }
 
+    private void writeInvalidation(final ByteBuffer key) {
+        if (!invalidationSubscribers.isEmpty()) {
+            final byte[] bytes = key.array();
+            invalidationSubscribers.writeAndFlush(new MapValueResponse(bytes.length, bytes));
+        }
+    }
+
     private void writeMapCacheRecord(final ChannelHandlerContext channelHandlerContext, final CacheOperation cacheOperation, final MapCacheRecord mapCacheRecord) {
         final long revision = mapCacheRecord == null ? REVISION_NOT_FOUND : mapCacheRecord.getRevision();
         final byte[] value = mapCacheRecord == null ? null : mapCacheRecord.getValue().array();
@@ -116,6 +116,7 @@ public class StandardMapCacheServer extends EventCacheServer {
 
     protected VersionNegotiator createVersionNegotiator() {
         return new StandardVersionNegotiator(
+                ProtocolVersion.V4.value(),
                 ProtocolVersion.V3.value(),
                 ProtocolVersion.V2.value(),
                 ProtocolVersion.V1.value()
@@ -21,6 +21,7 @@ import org.apache.commons.lang3.SerializationException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.distributed.cache.client.AtomicCacheEntry;
+import org.apache.nifi.distributed.cache.client.CacheInvalidationListener;
 import org.apache.nifi.distributed.cache.client.Deserializer;
 import org.apache.nifi.distributed.cache.client.DistributedMapCacheClientService;
 import org.apache.nifi.distributed.cache.client.Serializer;
@@ -52,6 +53,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import javax.net.ssl.SSLContext;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -59,11 +61,15 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -267,11 +273,124 @@ public class TestDistributedMapServerAndClient {
 
             assertThrows(UnsupportedOperationException.class, () -> client.keySet(stringDeserializer));
             assertThrows(UnsupportedOperationException.class, () -> client.removeAndGet("v.*", stringSerializer, stringDeserializer));
+            assertThrows(UnsupportedOperationException.class, () -> client.registerInvalidationListener(stringDeserializer, new QueueInvalidationListener()));
         } finally {
             client.close();
         }
     }
 
+    @Test
+    public void testPipelinedPutAllAndContainsKeys() throws InitializationException, IOException {
+        runner.enableControllerService(server);
+
+        final DistributedMapCacheClientService client = createClient(server.getPort());
+        try {
+            final Serializer<String> serializer = new StringSerializer();
+            final Deserializer<String> deserializer = new StringDeserializer();
+
+            final Map<String, String> entries = new LinkedHashMap<>();
+            for (int i = 0; i < 2500; i++) {
+                entries.put("key-" + i, "value-" + i);
+            }
+            client.putAll(entries, serializer, serializer);
+
+            final Set<String> keys = new LinkedHashSet<>(entries.keySet());
+            keys.add("missing-key");
+            final Map<String, Boolean> contained = client.containsKeys(keys, serializer);
+            assertEquals(keys.size(), contained.size());
+            assertFalse(contained.get("missing-key"));
+            for (final String key : entries.keySet()) {
+                assertTrue(contained.get(key));
+            }
+
+            assertEquals("value-1234", client.get("key-1234", serializer, deserializer));
+            assertEquals(entries.keySet(), client.keySet(deserializer));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testShardedServers() throws InitializationException, IOException {
+        final DistributedMapCacheServer secondServer = new DistributedMapCacheServer();
+        runner.addControllerService("secondServer", secondServer);
+        runner.setProperty(secondServer, DistributedMapCacheServer.PORT, "0");
+        runner.enableControllerService(server);
+        runner.enableControllerService(secondServer);
+
+        final String servers = "localhost:%d, localhost:%d".formatted(server.getPort(), secondServer.getPort());
+        final DistributedMapCacheClientService client = createClient(servers, server.getPort());
+        final DistributedMapCacheClientService firstClient = createClient(server.getPort());
+        final DistributedMapCacheClientService secondClient = createClient(secondServer.getPort());
+        try {
+            final Serializer<String> serializer = new StringSerializer();
+            final Deserializer<String> deserializer = new StringDeserializer();
+
+            final Map<String, String> entries = new HashMap<>();
+            for (int i = 0; i < 200; i++) {
+                entries.put("key-" + i, "value-" + i);
+            }
+            client.putAll(entries, serializer, serializer);
+            client.put("single-key", "single-value", serializer, serializer);
+            entries.put("single-key", "single-value");
+
+            final Set<String> firstKeys = firstClient.keySet(deserializer);
+            final Set<String> secondKeys = secondClient.keySet(deserializer);
+            assertFalse(firstKeys.isEmpty());
+            assertFalse(secondKeys.isEmpty());
+            assertEquals(entries.size(), firstKeys.size() + secondKeys.size());
+            assertEquals(entries.keySet(), client.keySet(deserializer));
+
+            assertEquals(entries, client.subMap(entries.keySet(), serializer, deserializer));
+            assertTrue(client.containsKeys(entries.keySet(), serializer).values().stream().allMatch(Boolean::booleanValue));
+            assertEquals("single-value", client.removeAndGet("single-key", serializer, deserializer));
+            assertFalse(client.containsKey("single-key", serializer));
+        } finally {
+            client.close();
+            firstClient.close();
+            secondClient.close();
+            secondServer.shutdownServer();
+        }
+    }
+
+    @Test
+    public void testInvalidationListener() throws Exception {
+        runner.enableControllerService(server);
+
+        final DistributedMapCacheClientService client = createClient(server.getPort());
+        final DistributedMapCacheClientService listeningClient = createClient(server.getPort());
+        final QueueInvalidationListener listener = new QueueInvalidationListener();
+        final Closeable registration = listeningClient.registerInvalidationListener(new StringDeserializer(), listener);
+        try {
+            final Serializer<String> serializer = new StringSerializer();
+            final Deserializer<String> deserializer = new StringDeserializer();
+
+            client.put("putKey", "value", serializer, serializer);
+            assertEquals("putKey", listener.keys.poll(5, TimeUnit.SECONDS));
+
+            assertFalse(client.putIfAbsent("putKey", "other", serializer, serializer));
+            assertTrue(client.putIfAbsent("absentKey", "value", serializer, serializer));
+            assertEquals("absentKey", listener.keys.poll(5, TimeUnit.SECONDS));
+
+            assertTrue(client.remove("putKey", serializer));
+            assertEquals("putKey", listener.keys.poll(5, TimeUnit.SECONDS));
+
+            final AtomicCacheEntry<String, String, Long> entry = client.fetch("absentKey", serializer, deserializer);
+            entry.setValue("replaced");
+            assertTrue(client.replace(entry, serializer, serializer));
+            assertEquals("absentKey", listener.keys.poll(5, TimeUnit.SECONDS));
+            assertTrue(listener.keys.isEmpty());
+
+            registration.close();
+            assertTrue(listener.invalidatedAll);
+            client.put("putKey", "value", serializer, serializer);
+            assertNull(listener.keys.poll(500, TimeUnit.MILLISECONDS));
+        } finally {
+            client.close();
+            listeningClient.close();
+        }
+    }
+
     @Test
     public void testLimitServiceReadSize() throws InitializationException, IOException {
         runner.enableControllerService(server);
@@ -293,6 +412,15 @@ public class TestDistributedMapServerAndClient {
         }
     }
 
+    @Test
+    public void testDisableWithoutClients() throws InitializationException {
+        // Enabling the service can fail before any clients are created, after which the framework still disables it
+        final DistributedMapCacheClientService client = new DistributedMapCacheClientService();
+        client.initialize(new MockControllerServiceInitializationContext(client, "client"));
+        assertDoesNotThrow(client::onDisabled);
+        assertThrows(IllegalStateException.class, () -> client.containsKey("key", new StringSerializer()));
+    }
+
     @Test
     public void testIncompleteHandshakeScenario() throws InitializationException, IOException {
         // This is used to simulate a DistributedCacheServer that does not complete the handshake response
@@ -329,12 +457,16 @@ public class TestDistributedMapServerAndClient {
     }
 
     private DistributedMapCacheClientService createClient(final int port) throws InitializationException {
+        return createClient("localhost", port);
+    }
+
+    private DistributedMapCacheClientService createClient(final String hostname, final int port) throws InitializationException {
         final DistributedMapCacheClientService client = new DistributedMapCacheClientService();
         final MockControllerServiceInitializationContext clientInitContext = new MockControllerServiceInitializationContext(client, "client");
         client.initialize(clientInitContext);
 
         final Map<PropertyDescriptor, String> clientProperties = new HashMap<>();
-        clientProperties.put(DistributedMapCacheClientService.HOSTNAME, "localhost");
+        clientProperties.put(DistributedMapCacheClientService.HOSTNAME, hostname);
         clientProperties.put(DistributedMapCacheClientService.PORT, String.valueOf(port));
         final MockConfigurationContext clientContext = new MockConfigurationContext(clientProperties, clientInitContext.getControllerServiceLookup(), null);
         client.onEnabled(clientContext);
@@ -342,6 +474,22 @@ public class TestDistributedMapServerAndClient {
         return client;
     }
 
+    private static class QueueInvalidationListener implements CacheInvalidationListener<String> {
+        private final BlockingQueue<String> keys = new LinkedBlockingQueue<>();
+
+        private volatile boolean invalidatedAll;
+
+        @Override
+        public void invalidate(final String key) {
+            keys.add(key);
+        }
+
+        @Override
+        public void invalidateAll() {
+            invalidatedAll = true;
+        }
+    }
+
     private static class StringSerializer implements Serializer<String> {
 
         @Override
@@ -17,6 +17,7 @@
 
 package org.apache.nifi.lookup;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
@@ -27,24 +28,33 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnDisabled;
 import org.apache.nifi.annotation.lifecycle.OnEnabled;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.controller.AbstractControllerService;
 import org.apache.nifi.controller.ConfigurationContext;
+import org.apache.nifi.distributed.cache.client.CacheInvalidationListener;
 import org.apache.nifi.distributed.cache.client.Deserializer;
 import org.apache.nifi.distributed.cache.client.DistributedMapCacheClient;
 import org.apache.nifi.distributed.cache.client.Serializer;
 import org.apache.nifi.distributed.cache.client.exception.DeserializationException;
 import org.apache.nifi.distributed.cache.client.exception.SerializationException;
+import org.apache.nifi.processor.util.StandardValidators;
 
 @Tags({"lookup", "enrich", "key", "value", "map", "cache", "distributed"})
 @CapabilityDescription("Allows to choose a distributed map cache client to retrieve the value associated to a key. "
-    + "The coordinates that are passed to the lookup must contain the key 'key'.")
+    + "The coordinates that are passed to the lookup must contain the key 'key'. Values can be held in a local near cache, "
+    + "which expires entries after a configured time and can be invalidated by the cache server when entries change.")
 public class DistributedMapCacheLookupService extends AbstractControllerService implements StringLookupService {
 
     private static final List<Charset> STANDARD_CHARSETS = Arrays.asList(
@@ -56,11 +66,17 @@ public class DistributedMapCacheLookupService extends AbstractControllerService
             StandardCharsets.UTF_16BE);
 
     private static final String KEY = "key";
+    private static final long STATISTICS_REPORT_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(5);
     private static final Set<String> REQUIRED_KEYS = Stream.of(KEY).collect(Collectors.toSet());
 
     private volatile DistributedMapCacheClient cache;
+    private volatile Cache<String, Optional<String>> nearCache;
+    private volatile Closeable invalidationRegistration;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong nextStatisticsReportMillis = new AtomicLong();
     private volatile static Charset charset;
     private final Serializer<String> keySerializer = new StringSerializer();
+    private final Deserializer<String> keyDeserializer = new StringDeserializer();
     private final Deserializer<String> valueDeserializer = new StringDeserializer();
 
     public static final PropertyDescriptor PROP_DISTRIBUTED_CACHE_SERVICE = new PropertyDescriptor.Builder()
@@ -80,6 +96,37 @@ public class DistributedMapCacheLookupService extends AbstractControllerService
             .defaultValue(StandardCharsets.UTF_8.displayName())
             .build();
 
+    public static final PropertyDescriptor NEAR_CACHE_SIZE = new PropertyDescriptor.Builder()
+            .name("near-cache-size")
+            .displayName("Near Cache Size")
+            .description("Specifies how many looked up values should be held locally, including keys not found in the distributed cache. "
+                    + "Setting this property to zero means no local caching will be done and the distributed cache will be queried for each lookup.")
+            .required(true)
+            .addValidator(StandardValidators.NON_NEGATIVE_INTEGER_VALIDATOR)
+            .defaultValue("0")
+            .build();
+
+    public static final PropertyDescriptor NEAR_CACHE_EXPIRATION = new PropertyDescriptor.Builder()
+            .name("near-cache-expiration")
+            .displayName("Near Cache Expiration")
+            .description("Time after which a locally held value is looked up again from the distributed cache. If the Near Cache Size is zero then this property is ignored.")
+            .required(true)
+            .addValidator(StandardValidators.TIME_PERIOD_VALIDATOR)
+            .defaultValue("1 min")
+            .build();
+
+    public static final PropertyDescriptor NEAR_CACHE_INVALIDATION = new PropertyDescriptor.Builder()
+            .name("near-cache-invalidation")
+            .displayName("Near Cache Invalidation")
+            .description("Whether to subscribe to notifications from the distributed cache when entries are added, replaced or removed, and invalidate "
+                    + "the locally held values for those keys. Entries evicted by the cache server are not notified. If the Distributed Cache Service "
+                    + "does not support notifications, or subscribing to them fails, the near cache is disabled so that changed values are not returned "
+                    + "from it. If the Near Cache Size is zero then this property is ignored.")
+            .required(true)
+            .allowableValues("true", "false")
+            .defaultValue("false")
+            .build();
+
     private static Set<String> getStandardCharsetNames() {
         return STANDARD_CHARSETS.stream().map(c -> c.displayName()).collect(Collectors.toSet());
     }
@@ -88,6 +135,104 @@ public class DistributedMapCacheLookupService extends AbstractControllerService
     public void onEnabled(final ConfigurationContext context) {
         cache = context.getProperty(PROP_DISTRIBUTED_CACHE_SERVICE).asControllerService(DistributedMapCacheClient.class);
         charset = Charset.forName(context.getProperty(CHARACTER_ENCODING).getValue());
+
+        final int nearCacheSize = context.getProperty(NEAR_CACHE_SIZE).asInteger();
+        if (nearCacheSize > 0) {
+            final long expirationMillis = context.getProperty(NEAR_CACHE_EXPIRATION).asTimePeriod(TimeUnit.MILLISECONDS);
+            final Cache<String, Optional<String>> enabledNearCache = Caffeine.newBuilder()
+                    .maximumSize(nearCacheSize)
+                    .expireAfterWrite(expirationMillis, TimeUnit.MILLISECONDS)
+                    .recordStats()
+                    .build();
+
+            if (context.getProperty(NEAR_CACHE_INVALIDATION).asBoolean() && !registerInvalidationListener()) {
+                return;
+            }
+
+            nearCache = enabledNearCache;
+            nextStatisticsReportMillis.set(System.currentTimeMillis() + STATISTICS_REPORT_INTERVAL_MILLIS);
+        }
+    }
+
+    @OnDisabled
+    public void onDisabled() {
+        final Closeable registration = invalidationRegistration;
+        invalidationRegistration = null;
+        if (registration != null) {
+            try {
+                registration.close();
+            } catch (final IOException e) {
+                getLogger().warn("Failed to close distributed map cache invalidation registration", e);
+            }
+        }
+
+        final Cache<String, Optional<String>> disabledNearCache = nearCache;
+        nearCache = null;
+        if (disabledNearCache != null) {
+            logStatistics(disabledNearCache);
+        }
+    }
+
+    private void logStatistics(final Cache<String, Optional<String>> enabledNearCache) {
+        final CacheStats stats = enabledNearCache.stats();
+        getLogger().info("Near cache requests [{}] hits [{}] misses [{}] hit rate [{}] evictions [{}] invalidations [{}]",
+                stats.requestCount(), stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(), invalidations.get());
+    }
+
+    private void reportStatistics(final Cache<String, Optional<String>> enabledNearCache) {
+        final long now = System.currentTimeMillis();
+        final long nextReportMillis = nextStatisticsReportMillis.get();
+        if (now >= nextReportMillis && nextStatisticsReportMillis.compareAndSet(nextReportMillis, now + STATISTICS_REPORT_INTERVAL_MILLIS)) {
+            logStatistics(enabledNearCache);
+        }
+    }
+
+    /**
+     * @return statistics of the near cache, or empty statistics when the near cache is not enabled
+     */
+    public CacheStats getNearCacheStats() {
+        final Cache<String, Optional<String>> enabledNearCache = nearCache;
+        return enabledNearCache == null ? CacheStats.empty() : enabledNearCache.stats();
+    }
+
+    /**
+     * @return true if the listener was registered, false if the near cache must not be used because it would not be invalidated
+     */
+    private boolean registerInvalidationListener() {
+        if (!cache.isInvalidationSupported()) {
+            getLogger().warn("Distributed Cache Service does not support invalidation: near cache disabled");
+            return false;
+        }
+
+        try {
+            invalidationRegistration = cache.registerInvalidationListener(keyDeserializer, new CacheInvalidationListener<>() {
+                @Override
+                public void invalidate(final String key) {
+                    invalidations.incrementAndGet();
+                    final Cache<String, Optional<String>> enabledNearCache = nearCache;
+                    if (enabledNearCache != null) {
+                        enabledNearCache.invalidate(key);
+                    }
+                }
+
+                @Override
+                public void invalidateAll() {
+                    invalidations.incrementAndGet();
+                    final Cache<String, Optional<String>> enabledNearCache = nearCache;
+                    if (enabledNearCache != null) {
+                        enabledNearCache.invalidateAll();
+                    }
+                }
+            });
+            return true;
+        } catch (final UnsupportedOperationException e) {
+            // The Distributed Cache Service supports invalidation but the cache server it connects to does not
+            getLogger().warn("Distributed cache server does not support invalidation: near cache disabled");
+            return false;
+        } catch (final IOException e) {
+            getLogger().warn("Failed to register for distributed map cache invalidation: near cache disabled", e);
+            return false;
+        }
     }
 
     @Override
@@ -95,6 +240,9 @@ public class DistributedMapCacheLookupService extends AbstractControllerService
         final List<PropertyDescriptor> descriptors = new ArrayList<>();
         descriptors.add(PROP_DISTRIBUTED_CACHE_SERVICE);
         descriptors.add(CHARACTER_ENCODING);
+        descriptors.add(NEAR_CACHE_SIZE);
+        descriptors.add(NEAR_CACHE_EXPIRATION);
+        descriptors.add(NEAR_CACHE_INVALIDATION);
         return descriptors;
     }
 
@@ -109,8 +257,24 @@ public class DistributedMapCacheLookupService extends AbstractControllerService
             return Optional.empty();
         }
 
+        final Cache<String, Optional<String>> enabledNearCache = nearCache;
+        if (enabledNearCache != null) {
+            reportStatistics(enabledNearCache);
+
+            final Optional<String> cached = enabledNearCache.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         try {
-            return Optional.ofNullable(cache.get(key, keySerializer, valueDeserializer));
+            // Invalidations received while the value is retrieved mean the value may already be stale
+            final long invalidationsStarted = invalidations.get();
+            final Optional<String> value = Optional.ofNullable(cache.get(key, keySerializer, valueDeserializer));
+            if (enabledNearCache != null && invalidations.get() == invalidationsStarted) {
+                enabledNearCache.put(key, value);
+            }
+            return value;
         } catch (IOException e) {
             getLogger().error("Error while trying to get the value from distributed map cache with key = {}", key, e);
             return Optional.empty();
@@ -20,6 +20,7 @@ import org.apache.nifi.annotation.lifecycle.OnEnabled;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.controller.AbstractControllerService;
 import org.apache.nifi.controller.ConfigurationContext;
+import org.apache.nifi.distributed.cache.client.CacheInvalidationListener;
 import org.apache.nifi.distributed.cache.client.Deserializer;
 import org.apache.nifi.distributed.cache.client.DistributedMapCacheClient;
 import org.apache.nifi.distributed.cache.client.Serializer;
@@ -28,6 +29,7 @@ import org.apache.nifi.util.TestRunner;
 import org.apache.nifi.util.TestRunners;
 import org.junit.jupiter.api.Test;
 
+import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,6 +37,9 @@ import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestDistributedMapCacheLookupService {
 
@@ -62,10 +67,100 @@ public class TestDistributedMapCacheLookupService {
         assertEquals(EMPTY_STRING, absent);
     }
 
+    @Test
+    public void testNearCache() throws InitializationException {
+        final TestRunner runner = TestRunners.newTestRunner(TestProcessor.class);
+        final DistributedMapCacheLookupService service = new DistributedMapCacheLookupService();
+        final DistributedMapCacheClientImpl client = new DistributedMapCacheClientImpl();
+
+        runner.addControllerService("client", client);
+        runner.addControllerService("lookup-service", service);
+        runner.setProperty(service, DistributedMapCacheLookupService.PROP_DISTRIBUTED_CACHE_SERVICE, "client");
+        runner.setProperty(service, DistributedMapCacheLookupService.NEAR_CACHE_SIZE, "10");
+
+        runner.enableControllerService(client);
+        runner.enableControllerService(service);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Optional.of("myValue"), service.lookup(Collections.singletonMap("key", "myKey")));
+            assertEquals(EMPTY_STRING, service.lookup(Collections.singletonMap("key", "absentKey")));
+        }
+        assertEquals(2, client.gets);
+        assertEquals(4, service.getNearCacheStats().hitCount());
+        assertEquals(2, service.getNearCacheStats().missCount());
+
+        client.map.put("myKey", "updatedValue");
+        assertEquals(Optional.of("myValue"), service.lookup(Collections.singletonMap("key", "myKey")));
+    }
+
+    @Test
+    public void testNearCacheInvalidation() throws InitializationException {
+        final TestRunner runner = TestRunners.newTestRunner(TestProcessor.class);
+        final DistributedMapCacheLookupService service = new DistributedMapCacheLookupService();
+        final DistributedMapCacheClientImpl client = new DistributedMapCacheClientImpl();
+
+        runner.addControllerService("client", client);
+        runner.addControllerService("lookup-service", service);
+        runner.setProperty(service, DistributedMapCacheLookupService.PROP_DISTRIBUTED_CACHE_SERVICE, "client");
+        runner.setProperty(service, DistributedMapCacheLookupService.NEAR_CACHE_SIZE, "10");
+        runner.setProperty(service, DistributedMapCacheLookupService.NEAR_CACHE_INVALIDATION, "true");
+
+        runner.enableControllerService(client);
+        runner.enableControllerService(service);
+        assertNotNull(client.listener);
+
+        assertEquals(Optional.of("myValue"), service.lookup(Collections.singletonMap("key", "myKey")));
+        client.map.put("myKey", "updatedValue");
+        client.listener.invalidate("myKey");
+        assertEquals(Optional.of("updatedValue"), service.lookup(Collections.singletonMap("key", "myKey")));
+
+        assertEquals(EMPTY_STRING, service.lookup(Collections.singletonMap("key", "absentKey")));
+        client.map.put("absentKey", "addedValue");
+        client.listener.invalidateAll();
+        assertEquals(Optional.of("addedValue"), service.lookup(Collections.singletonMap("key", "absentKey")));
+        assertEquals(4, client.gets);
+
+        runner.disableControllerService(service);
+        assertTrue(client.registrationClosed);
+    }
+
+    @Test
+    public void testNearCacheDisabledWithoutInvalidationSupport() throws InitializationException {
+        final TestRunner runner = TestRunners.newTestRunner(TestProcessor.class);
+        final DistributedMapCacheLookupService service = new DistributedMapCacheLookupService();
+        final DistributedMapCacheClientImpl client = new DistributedMapCacheClientImpl();
+        client.invalidationSupported = false;
+
+        runner.addControllerService("client", client);
+        runner.addControllerService("lookup-service", service);
+        runner.setProperty(service, DistributedMapCacheLookupService.PROP_DISTRIBUTED_CACHE_SERVICE, "client");
+        runner.setProperty(service, DistributedMapCacheLookupService.NEAR_CACHE_SIZE, "10");
+        runner.setProperty(service, DistributedMapCacheLookupService.NEAR_CACHE_INVALIDATION, "true");
+
+        runner.enableControllerService(client);
+        runner.enableControllerService(service);
+        assertNull(client.listener);
+
+        // Without invalidation, changed values must not be returned from the near cache
+        assertEquals(Optional.of("myValue"), service.lookup(Collections.singletonMap("key", "myKey")));
+        client.map.put("myKey", "updatedValue");
+        assertEquals(Optional.of("updatedValue"), service.lookup(Collections.singletonMap("key", "myKey")));
+        assertEquals(2, client.gets);
+        assertEquals(0, service.getNearCacheStats().requestCount());
+    }
+
     static final class DistributedMapCacheClientImpl extends AbstractControllerService implements DistributedMapCacheClient {
 
         private Map<String, String> map = new HashMap<String, String>();
 
+        private int gets;
+
+        private CacheInvalidationListener<String> listener;
+
+        private boolean registrationClosed;
+
+        private boolean invalidationSupported = true;
+
         @OnEnabled
         public void onEnabled(final ConfigurationContext context) {
             map.put("myKey", "myValue");
@@ -103,9 +198,22 @@ public class TestDistributedMapCacheLookupService {
         @Override
         @SuppressWarnings("unchecked")
         public <K, V> V get(final K key, final Serializer<K> keySerializer, final Deserializer<V> valueDeserializer) {
+            gets++;
             return (V) map.get(key);
         }
 
+        @Override
+        public boolean isInvalidationSupported() {
+            return invalidationSupported;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <K> Closeable registerInvalidationListener(final Deserializer<K> keyDeserializer, final CacheInvalidationListener<K> listener) {
+            this.listener = (CacheInvalidationListener<String>) listener;
+            return () -> registrationClosed = true;
+        }
+
         @Override
         public <K> boolean remove(final K key, final Serializer<K> serializer) {
             throw new UnsupportedOperationException("not implemented");
@@ -20,7 +20,9 @@ package org.apache.nifi.components.state;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.nifi.components.ConfigurableComponent;
 
@@ -94,6 +96,26 @@ public interface StateProvider extends ConfigurableComponent {
      */
     boolean replace(StateMap oldValue, Map<String, String> newValue, String componentId) throws IOException;
 
+    /**
+     * Updates the given entries of the component's state and removes the given keys if and only if the value currently
+     * is the same as the given oldValue. The default implementation computes the full new state and delegates to
+     * {@link #replace(StateMap, Map, String)}; providers that are able to persist only the changed entries should override it.
+     *
+     * @param oldValue the old value to compare against
+     * @param updatedEntries the entries to add or update
+     * @param removedKeys the keys to remove
+     * @param componentId the id of the component for which state is being updated
+     * @return <code>true</code> if the state was updated, <code>false</code> if the state's value was not equal to oldValue
+     *
+     * @throws IOException if unable to communicate with the underlying storage mechanism
+     */
+    default boolean replaceEntries(StateMap oldValue, Map<String, String> updatedEntries, Set<String> removedKeys, String componentId) throws IOException {
+        final Map<String, String> newValue = new HashMap<>(oldValue.toMap());
+        removedKeys.forEach(newValue::remove);
+        newValue.putAll(updatedEntries);
+        return replace(oldValue, newValue, componentId);
+    }
+
     /**
      * Removes all values from the component's state that is stored using the given scope
      *
@@ -80,6 +80,24 @@ public interface FlowFileSwapManager {
      */
     SwapContents swapIn(String swapLocation, FlowFileQueue flowFileQueue) throws IncompleteSwapFileException, IOException;
 
+    /**
+     * Swaps in the FlowFiles from the swap file that lives at the given location, using contents that were previously
+     * obtained by calling {@link #peek(String, FlowFileQueue)} for that location rather than reading the swap file again.
+     * The FlowFile Repository is then updated and the swap file is permanently removed from the external storage.
+     * The default implementation ignores the given contents and calls {@link #swapIn(String, FlowFileQueue)}.
+     *
+     * @param swapLocation the location of the swap file
+     * @param flowFileQueue the queue to which the FlowFiles belong
+     * @param peekedContents the contents of the swap file, as returned by {@link #peek(String, FlowFileQueue)}
+     *
+     * @return a SwapContents that includes FlowFiles that are stored in the given location
+     *
+     * @throws IOException if unable to update the FlowFileRepository
+     */
+    default SwapContents swapIn(String swapLocation, FlowFileQueue flowFileQueue, SwapContents peekedContents) throws IncompleteSwapFileException, IOException {
+        return swapIn(swapLocation, flowFileQueue);
+    }
+
     /**
      * Determines swap files that exist for the given FlowFileQueue
      *
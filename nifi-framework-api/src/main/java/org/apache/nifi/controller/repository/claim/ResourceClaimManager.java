@@ -17,6 +17,7 @@
 package org.apache.nifi.controller.repository.claim;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -90,9 +91,36 @@ public interface ResourceClaimManager {
      */
     int incrementClaimantCount(ResourceClaim claim, boolean newClaim);
 
+    /**
+     * Adjusts the count of how many FlowFiles hold a claim to each of the given
+     * Resource Claims by the associated amount, which may be positive or negative.
+     * This has the same effect as calling {@link #incrementClaimantCount(ResourceClaim)}
+     * or {@link #decrementClaimantCount(ResourceClaim)} once for each unit of each
+     * adjustment, but allows the manager to apply the adjustment for each Resource Claim
+     * as a single update. Callers that update many FlowFiles at once, such as when a
+     * session is committed, should aggregate their adjustments per Resource Claim and
+     * use this method.
+     *
+     * @param adjustments the amount by which to adjust the claimant count of each Resource Claim
+     */
+    default void adjustClaimantCounts(final Map<ResourceClaim, Integer> adjustments) {
+        for (final Map.Entry<ResourceClaim, Integer> entry : adjustments.entrySet()) {
+            final ResourceClaim claim = entry.getKey();
+            final int adjustment = entry.getValue();
+
+            for (int i = 0; i < adjustment; i++) {
+                incrementClaimantCount(claim);
+            }
+            for (int i = 0; i > adjustment; i--) {
+                decrementClaimantCount(claim);
+            }
+        }
+    }
+
     /**
      * Indicates that the given ResourceClaim can now be destroyed by the
-     * appropriate Content Repository. This should be done only after it is
+     * appropriate Content Repository. Implementations should not block the caller,
+     * as this is called while FlowFile Repository updates are committed. This should be done only after it is
      * guaranteed that the FlowFile Repository has been synchronized with its
      * underlying storage component. This way, we avoid the following sequence
      * of events:
@@ -25,6 +25,7 @@ import org.apache.nifi.provenance.search.QuerySubmission;
 import org.apache.nifi.provenance.search.SearchableField;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -94,6 +95,21 @@ public interface ProvenanceRepository extends ProvenanceEventRepository {
      */
     QuerySubmission submitQuery(Query query, NiFiUser user);
 
+    /**
+     * Computes aggregate statistics for the events in the repository that match the given query. Events emitted by
+     * components whose provenance data the given user is not authorized to view are excluded from the aggregates.
+     * Repositories that do not support aggregate queries return an empty list.
+     *
+     * @param query the aggregate query
+     * @param user The NiFi User to authorize the events against.
+     *             It can be {@code null} if called by NiFi components internally where authorization is not required.
+     * @return the aggregates, ordered by bucket start time
+     * @throws IOException if unable to read from the repository
+     */
+    default List<ProvenanceAggregate> aggregateEvents(final ProvenanceAggregateQuery query, final NiFiUser user) throws IOException {
+        return Collections.emptyList();
+    }
+
     /**
      * Retrieves the most recent Provenance Event that is cached for the given component that is also accessible by the given user
      * @param componentId the ID of the component
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.authorization;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caches the decisions of an authorizer by the identity, groups, resource, and action of each request. Every decision is recorded with the
+ * version of the cache at the time it was evaluated, and any change to users, groups, or policies advances the version, so a decision that
+ * was evaluated concurrently with a change is never returned afterwards. Decisions also expire so that changes which are not made through
+ * NiFi, such as those synchronized from an external user group provider, are eventually observed.
+ */
+public class AuthorizationDecisionCache {
+
+    private static final long MAXIMUM_DECISIONS = 100_000;
+
+    private final Cache<DecisionKey, Decision> decisions;
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public AuthorizationDecisionCache(final Duration expiration) {
+        decisions = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_DECISIONS)
+                .expireAfterWrite(expiration)
+                .build();
+    }
+
+    /**
+     * Returns the cached decision for the specified request, or evaluates it with the specified authorizer when no current decision is cached.
+     * The entire result is cached, including the explanation provided by the authorizer for a denial. Requests with a resource context
+     * describe individual events that are unlikely to be requested again, so they are always evaluated.
+     *
+     * @param request the authorization request
+     * @param authorizer the function that evaluates the request
+     * @return the authorization result
+     */
+    public AuthorizationResult authorize(final AuthorizationRequest request, final Function<AuthorizationRequest, AuthorizationResult> authorizer) {
+        if (request.getResourceContext() != null && !request.getResourceContext().isEmpty()) {
+            return authorizer.apply(request);
+        }
+
+        final DecisionKey key = DecisionKey.of(request);
+        final long currentVersion = version.get();
+
+        final Decision cached = decisions.getIfPresent(key);
+        if (cached != null && cached.version() == currentVersion) {
+            hits.increment();
+            return cached.result();
+        }
+
+        misses.increment();
+        final AuthorizationResult result = authorizer.apply(request);
+        decisions.put(key, new Decision(result, currentVersion));
+        return result;
+    }
+
+    /**
+     * Discards all cached decisions. Must be invoked whenever users, groups, or policies have changed.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        invalidations.increment();
+        decisions.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public long getSize() {
+        return decisions.estimatedSize();
+    }
+
+    /**
+     * @return the ratio of requests that were answered from the cache, or 0 if no requests have been made
+     */
+    public double getHitRate() {
+        final long hitCount = getHitCount();
+        final long requestCount = hitCount + getMissCount();
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    private record DecisionKey(String identity, Set<String> groups, boolean anonymous, String resourceIdentifier, String requestedResourceIdentifier,
+                               RequestAction action, Map<String, String> userContext) {
+
+        static DecisionKey of(final AuthorizationRequest request) {
+            return new DecisionKey(request.getIdentity(), request.getGroups(), request.isAnonymous(), request.getResource().getIdentifier(),
+                    request.getRequestedResource().getIdentifier(), request.getAction(), request.getUserContext());
+        }
+    }
+
+    private record Decision(AuthorizationResult result, long version) {
+    }
+}
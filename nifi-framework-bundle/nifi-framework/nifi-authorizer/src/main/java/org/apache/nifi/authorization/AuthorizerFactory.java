@@ -24,8 +24,10 @@ import org.apache.nifi.authorization.exception.AuthorizerDestructionException;
 import org.apache.nifi.authorization.exception.UninheritableAuthorizationsException;
 
 import java.lang.reflect.Proxy;
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 public final class AuthorizerFactory {
 
@@ -112,12 +114,55 @@ public final class AuthorizerFactory {
         }
     }
 
+    /**
+     * Runs the specified modification of users, groups, or policies and then discards any cached authorization decisions, even if the
+     * modification failed part way through.
+     *
+     * @param decisionCache the cache of authorization decisions, or null if decisions are not cached
+     * @param modification the modification to run
+     * @return the result of the modification
+     */
+    private static <T> T modify(final AuthorizationDecisionCache decisionCache, final Supplier<T> modification) {
+        try {
+            return modification.get();
+        } finally {
+            if (decisionCache != null) {
+                decisionCache.invalidate();
+            }
+        }
+    }
+
+    private static void modify(final AuthorizationDecisionCache decisionCache, final Runnable modification) {
+        modify(decisionCache, () -> {
+            modification.run();
+            return null;
+        });
+    }
+
     public static Authorizer installIntegrityChecks(final Authorizer baseAuthorizer) {
+        return installIntegrityChecks(baseAuthorizer, Duration.ZERO);
+    }
+
+    /**
+     * Installs integrity checks around the base authorizer. When the base authorizer is a managed authorizer and the cache expiration is
+     * positive, its authorization decisions are cached until they expire or until users, groups, or policies are modified.
+     *
+     * @param baseAuthorizer base authorizer
+     * @param cacheExpiration how long authorization decisions may be cached, or zero to disable caching
+     * @return authorizer
+     */
+    public static Authorizer installIntegrityChecks(final Authorizer baseAuthorizer, final Duration cacheExpiration) {
         Authorizer authorizer;
 
         if (baseAuthorizer instanceof ManagedAuthorizer) {
             final ManagedAuthorizer baseManagedAuthorizer = (ManagedAuthorizer) baseAuthorizer;
-            authorizer = new ManagedAuthorizer() {
+            final AuthorizationDecisionCache decisionCache = cacheExpiration.isZero() || cacheExpiration.isNegative() ? null : new AuthorizationDecisionCache(cacheExpiration);
+            authorizer = new CachingManagedAuthorizer() {
+                @Override
+                public AuthorizationDecisionCache getDecisionCache() {
+                    return decisionCache;
+                }
+
                 @Override
                 public String getFingerprint() throws AuthorizationAccessException {
                     return baseManagedAuthorizer.getFingerprint();
@@ -125,12 +170,12 @@ public final class AuthorizerFactory {
 
                 @Override
                 public void inheritFingerprint(String fingerprint) throws AuthorizationAccessException {
-                    baseManagedAuthorizer.inheritFingerprint(fingerprint);
+                    modify(decisionCache, () -> baseManagedAuthorizer.inheritFingerprint(fingerprint));
                 }
 
                 @Override
                 public void forciblyInheritFingerprint(final String fingerprint) throws AuthorizationAccessException {
-                    baseManagedAuthorizer.forciblyInheritFingerprint(fingerprint);
+                    modify(decisionCache, () -> baseManagedAuthorizer.forciblyInheritFingerprint(fingerprint));
                 }
 
                 @Override
@@ -151,12 +196,12 @@ public final class AuthorizerFactory {
 
                             @Override
                             public void inheritFingerprint(String fingerprint) throws AuthorizationAccessException {
-                                baseConfigurableAccessPolicyProvider.inheritFingerprint(fingerprint);
+                                modify(decisionCache, () -> baseConfigurableAccessPolicyProvider.inheritFingerprint(fingerprint));
                             }
 
                             @Override
                             public void forciblyInheritFingerprint(final String fingerprint) throws AuthorizationAccessException {
-                                baseConfigurableAccessPolicyProvider.forciblyInheritFingerprint(fingerprint);
+                                modify(decisionCache, () -> baseConfigurableAccessPolicyProvider.forciblyInheritFingerprint(fingerprint));
                             }
 
                             @Override
@@ -169,7 +214,7 @@ public final class AuthorizerFactory {
                                 if (policyExists(baseConfigurableAccessPolicyProvider, accessPolicy)) {
                                     throw new IllegalStateException(String.format("Found multiple policies for '%s' with '%s'.", accessPolicy.getResource(), accessPolicy.getAction()));
                                 }
-                                return baseConfigurableAccessPolicyProvider.addAccessPolicy(accessPolicy);
+                                return modify(decisionCache, () -> baseConfigurableAccessPolicyProvider.addAccessPolicy(accessPolicy));
                             }
 
                             @Override
@@ -182,7 +227,7 @@ public final class AuthorizerFactory {
                                 if (!baseConfigurableAccessPolicyProvider.isConfigurable(accessPolicy)) {
                                     throw new IllegalArgumentException("The specified access policy is not support modification.");
                                 }
-                                return baseConfigurableAccessPolicyProvider.updateAccessPolicy(accessPolicy);
+                                return modify(decisionCache, () -> baseConfigurableAccessPolicyProvider.updateAccessPolicy(accessPolicy));
                             }
 
                             @Override
@@ -190,7 +235,7 @@ public final class AuthorizerFactory {
                                 if (!baseConfigurableAccessPolicyProvider.isConfigurable(accessPolicy)) {
                                     throw new IllegalArgumentException("The specified access policy is not support modification.");
                                 }
-                                return baseConfigurableAccessPolicyProvider.deleteAccessPolicy(accessPolicy);
+                                return modify(decisionCache, () -> baseConfigurableAccessPolicyProvider.deleteAccessPolicy(accessPolicy));
                             }
 
                             @Override
@@ -221,12 +266,12 @@ public final class AuthorizerFactory {
 
                                         @Override
                                         public void inheritFingerprint(String fingerprint) throws AuthorizationAccessException {
-                                            baseConfigurableUserGroupProvider.inheritFingerprint(fingerprint);
+                                            modify(decisionCache, () -> baseConfigurableUserGroupProvider.inheritFingerprint(fingerprint));
                                         }
 
                                         @Override
                                         public void forciblyInheritFingerprint(final String fingerprint) throws AuthorizationAccessException {
-                                            baseConfigurableAccessPolicyProvider.forciblyInheritFingerprint(fingerprint);
+                                            modify(decisionCache, () -> baseConfigurableAccessPolicyProvider.forciblyInheritFingerprint(fingerprint));
                                         }
 
                                         @Override
@@ -239,7 +284,7 @@ public final class AuthorizerFactory {
                                             if (userExists(baseConfigurableUserGroupProvider, user.getIdentifier(), user.getIdentity())) {
                                                 throw new IllegalStateException(String.format("User/user group already exists with the identity '%s'.", user.getIdentity()));
                                             }
-                                            return baseConfigurableUserGroupProvider.addUser(user);
+                                            return modify(decisionCache, () -> baseConfigurableUserGroupProvider.addUser(user));
                                         }
 
                                         @Override
@@ -255,7 +300,7 @@ public final class AuthorizerFactory {
                                             if (!baseConfigurableUserGroupProvider.isConfigurable(user)) {
                                                 throw new IllegalArgumentException("The specified user does not support modification.");
                                             }
-                                            return baseConfigurableUserGroupProvider.updateUser(user);
+                                            return modify(decisionCache, () -> baseConfigurableUserGroupProvider.updateUser(user));
                                         }
 
                                         @Override
@@ -263,7 +308,7 @@ public final class AuthorizerFactory {
                                             if (!baseConfigurableUserGroupProvider.isConfigurable(user)) {
                                                 throw new IllegalArgumentException("The specified user does not support modification.");
                                             }
-                                            return baseConfigurableUserGroupProvider.deleteUser(user);
+                                            return modify(decisionCache, () -> baseConfigurableUserGroupProvider.deleteUser(user));
                                         }
 
                                         @Override
@@ -274,7 +319,7 @@ public final class AuthorizerFactory {
                                             if (!allGroupUsersExist(baseConfigurableUserGroupProvider, group)) {
                                                 throw new IllegalStateException(String.format("Cannot create group '%s' with users that don't exist.", group.getName()));
                                             }
-                                            return baseConfigurableUserGroupProvider.addGroup(group);
+                                            return modify(decisionCache, () -> baseConfigurableUserGroupProvider.addGroup(group));
                                         }
 
                                         @Override
@@ -293,7 +338,7 @@ public final class AuthorizerFactory {
                                             if (!baseConfigurableUserGroupProvider.isConfigurable(group)) {
                                                 throw new IllegalArgumentException("The specified group does not support modification.");
                                             }
-                                            return baseConfigurableUserGroupProvider.updateGroup(group);
+                                            return modify(decisionCache, () -> baseConfigurableUserGroupProvider.updateGroup(group));
                                         }
 
                                         @Override
@@ -301,7 +346,7 @@ public final class AuthorizerFactory {
                                             if (!baseConfigurableUserGroupProvider.isConfigurable(group)) {
                                                 throw new IllegalArgumentException("The specified group does not support modification.");
                                             }
-                                            return baseConfigurableUserGroupProvider.deleteGroup(group);
+                                            return modify(decisionCache, () -> baseConfigurableUserGroupProvider.deleteGroup(group));
                                         }
 
                                         @Override
@@ -381,7 +426,7 @@ public final class AuthorizerFactory {
 
                 @Override
                 public AuthorizationResult authorize(AuthorizationRequest request) throws AuthorizationAccessException {
-                    final AuthorizationResult result = baseAuthorizer.authorize(request);
+                    final AuthorizationResult result = decisionCache == null ? baseAuthorizer.authorize(request) : decisionCache.authorize(request, baseAuthorizer::authorize);
 
                     // audit the authorization request
                     audit(baseAuthorizer, request, result);
@@ -396,7 +441,7 @@ public final class AuthorizerFactory {
 
                 @Override
                 public void onConfigured(AuthorizerConfigurationContext configurationContext) throws AuthorizerCreationException {
-                    baseManagedAuthorizer.onConfigured(configurationContext);
+                    modify(decisionCache, () -> baseManagedAuthorizer.onConfigured(configurationContext));
 
                     final AccessPolicyProvider accessPolicyProvider = baseManagedAuthorizer.getAccessPolicyProvider();
                     final UserGroupProvider userGroupProvider = accessPolicyProvider.getUserGroupProvider();
@@ -23,10 +23,12 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.xml.XMLConstants;
 import jakarta.xml.bind.JAXBContext;
@@ -46,6 +48,7 @@ import org.apache.nifi.authorization.generated.Authorizers;
 import org.apache.nifi.authorization.generated.Property;
 import org.apache.nifi.bundle.Bundle;
 import org.apache.nifi.nar.ExtensionManager;
+import org.apache.nifi.util.FormatUtils;
 import org.apache.nifi.util.NiFiProperties;
 import org.apache.nifi.util.file.classloader.ClassLoaderUtils;
 import org.apache.nifi.xml.processing.ProcessingException;
@@ -153,7 +156,8 @@ public class AuthorizerFactoryBean implements FactoryBean<Authorizer>, Disposabl
                         throw new Exception(String.format("The specified authorizer '%s' could not be found.", authorizerIdentifier));
                     } else {
                         // install integrity checks
-                        authorizer = AuthorizerFactory.installIntegrityChecks(authorizer);
+                        final long cacheExpiration = FormatUtils.getTimeDuration(properties.getSecurityUserAuthorizerCacheExpiration(), TimeUnit.MILLISECONDS);
+                        authorizer = AuthorizerFactory.installIntegrityChecks(authorizer, Duration.ofMillis(cacheExpiration));
 
                         // configure authorizer after integrity checks are installed
                         loadProviderProperties(authorizerConfiguration, authorizerIdentifier);
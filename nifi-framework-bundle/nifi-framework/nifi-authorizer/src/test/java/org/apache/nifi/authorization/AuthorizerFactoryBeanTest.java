@@ -80,6 +80,7 @@ class AuthorizerFactoryBeanTest {
         when(properties.getSslPort()).thenReturn(8443);
         when(properties.getProperty(eq(NiFiProperties.SECURITY_USER_AUTHORIZER))).thenReturn(AUTHORIZER_ID);
         when(properties.getAuthorizerConfigurationFile()).thenReturn(getAuthorizersConfigurationFile());
+        when(properties.getSecurityUserAuthorizerCacheExpiration()).thenReturn(NiFiProperties.DEFAULT_SECURITY_USER_AUTHORIZER_CACHE_EXPIRATION);
 
         when(bundle.getClassLoader()).thenReturn(getClass().getClassLoader());
         final List<Bundle> bundles = Collections.singletonList(bundle);
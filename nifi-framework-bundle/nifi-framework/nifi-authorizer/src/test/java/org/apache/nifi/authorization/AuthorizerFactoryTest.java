@@ -21,11 +21,14 @@ import org.apache.nifi.authorization.exception.AuthorizerCreationException;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -292,6 +295,116 @@ public class AuthorizerFactoryTest {
         assertFalse(mockAuthorizer.isAudited(nonAccessAttempt));
     }
 
+    @Test
+    public void testAuthorizationDecisionsCached() {
+        final User user1 = new User.Builder().identifier("user-id-1").identity("user-1").build();
+        final AccessPolicy policy1 = new AccessPolicy.Builder()
+                .identifier("policy-id-1")
+                .resource("resource1")
+                .action(RequestAction.READ)
+                .addUser(user1.getIdentifier())
+                .build();
+
+        final MockPolicyBasedAuthorizer mockAuthorizer = new MockPolicyBasedAuthorizer(new HashSet<>(), Set.of(user1), Set.of(policy1));
+        final CachingManagedAuthorizer authorizer = (CachingManagedAuthorizer) AuthorizerFactory.installIntegrityChecks(mockAuthorizer, Duration.ofMinutes(1));
+        authorizer.onConfigured(Mockito.mock(AuthorizerConfigurationContext.class));
+
+        final AuthorizationRequest accessAttempt = new AuthorizationRequest.Builder()
+                .resource(new MockResource("resource1", "Resource 1"))
+                .identity("user-1")
+                .action(RequestAction.READ)
+                .accessAttempt(true)
+                .anonymous(false)
+                .build();
+
+        assertEquals(Result.Approved, authorizer.authorize(accessAttempt).getResult());
+        assertEquals(Result.Approved, authorizer.authorize(accessAttempt).getResult());
+        assertTrue(mockAuthorizer.isAudited(accessAttempt));
+
+        final AuthorizationDecisionCache decisionCache = authorizer.getDecisionCache();
+        assertEquals(1, decisionCache.getHitCount());
+        assertEquals(1, decisionCache.getMissCount());
+
+        final AuthorizationRequest writeAttempt = new AuthorizationRequest.Builder()
+                .resource(new MockResource("resource1", "Resource 1"))
+                .identity("user-1")
+                .action(RequestAction.WRITE)
+                .accessAttempt(true)
+                .anonymous(false)
+                .explanationSupplier(() -> "Unable to modify Resource 1")
+                .build();
+
+        assertEquals(Result.ResourceNotFound, authorizer.authorize(writeAttempt).getResult());
+        assertEquals(Result.ResourceNotFound, authorizer.authorize(writeAttempt).getResult());
+        assertEquals(2, decisionCache.getHitCount());
+    }
+
+    @Test
+    public void testAuthorizationDecisionsInvalidatedWhenPolicyUpdated() {
+        final User user1 = new User.Builder().identifier("user-id-1").identity("user-1").build();
+        final AccessPolicy policy1 = new AccessPolicy.Builder()
+                .identifier("policy-id-1")
+                .resource("resource1")
+                .action(RequestAction.READ)
+                .addUser(user1.getIdentifier())
+                .build();
+
+        final MockPolicyBasedAuthorizer mockAuthorizer = new MockPolicyBasedAuthorizer(new HashSet<>(), Set.of(user1), Set.of(policy1));
+        final CachingManagedAuthorizer authorizer = (CachingManagedAuthorizer) AuthorizerFactory.installIntegrityChecks(mockAuthorizer, Duration.ofMinutes(1));
+        authorizer.onConfigured(Mockito.mock(AuthorizerConfigurationContext.class));
+
+        final AuthorizationRequest accessAttempt = new AuthorizationRequest.Builder()
+                .resource(new MockResource("resource1", "Resource 1"))
+                .identity("user-1")
+                .action(RequestAction.READ)
+                .accessAttempt(true)
+                .anonymous(false)
+                .explanationSupplier(() -> "Unable to view Resource 1")
+                .build();
+
+        assertEquals(Result.Approved, authorizer.authorize(accessAttempt).getResult());
+
+        final ConfigurableAccessPolicyProvider accessPolicyProvider = (ConfigurableAccessPolicyProvider) authorizer.getAccessPolicyProvider();
+        accessPolicyProvider.updateAccessPolicy(new AccessPolicy.Builder(policy1).clearUsers().build());
+
+        final AuthorizationResult result = authorizer.authorize(accessAttempt);
+        assertEquals(Result.Denied, result.getResult());
+        assertEquals("Unable to view Resource 1", result.getExplanation());
+        assertEquals(0, authorizer.getDecisionCache().getHitCount());
+
+        assertEquals(Result.Denied, authorizer.authorize(accessAttempt).getResult());
+        assertEquals(1, authorizer.getDecisionCache().getHitCount());
+    }
+
+    @Test
+    public void testCachedDenialRetainsAuthorizerExplanation() {
+        final AuthorizationDecisionCache decisionCache = new AuthorizationDecisionCache(Duration.ofMinutes(1));
+
+        final AuthorizationRequest accessAttempt = new AuthorizationRequest.Builder()
+                .resource(new MockResource("resource1", "Resource 1"))
+                .identity("user-1")
+                .action(RequestAction.READ)
+                .accessAttempt(true)
+                .anonymous(false)
+                .explanationSupplier(() -> "Unable to view Resource 1")
+                .build();
+
+        final AuthorizationResult denied = AuthorizationResult.denied("No policy grants user-1 access to Resource 1");
+        assertEquals(denied.getExplanation(), decisionCache.authorize(accessAttempt, request -> denied).getExplanation());
+
+        final AuthorizationResult cached = decisionCache.authorize(accessAttempt, request -> AuthorizationResult.approved());
+        assertEquals(1, decisionCache.getHitCount());
+        assertEquals(Result.Denied, cached.getResult());
+        assertEquals(denied.getExplanation(), cached.getExplanation());
+    }
+
+    @Test
+    public void testAuthorizationDecisionsNotCachedByDefault() {
+        final CachingManagedAuthorizer authorizer = (CachingManagedAuthorizer) AuthorizerFactory.installIntegrityChecks(new MockPolicyBasedAuthorizer());
+
+        assertNull(authorizer.getDecisionCache());
+    }
+
     /**
      * Resource implementation for testing.
      */
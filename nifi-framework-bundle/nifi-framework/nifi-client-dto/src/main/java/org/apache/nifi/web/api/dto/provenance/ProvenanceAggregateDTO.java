@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.web.api.dto.provenance;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import jakarta.xml.bind.annotation.XmlType;
+import java.util.Date;
+
+/**
+ * The number of provenance events and the bytes they refer to for a single time bucket and combination of grouped dimensions.
+ */
+@XmlType(name = "provenanceAggregate")
+public class ProvenanceAggregateDTO {
+
+    private Date bucketStart;
+    private String componentId;
+    private String componentType;
+    private String eventType;
+    private Long eventCount;
+    private Long totalBytes;
+
+    /**
+     * @return the start of the time bucket
+     */
+    @Schema(description = "The start of the time bucket.")
+    public Date getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(Date bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    /**
+     * @return the id of the component, if grouped by component id
+     */
+    @Schema(description = "The id of the component that emitted the events. Only populated when grouping by component id.")
+    public String getComponentId() {
+        return componentId;
+    }
+
+    public void setComponentId(String componentId) {
+        this.componentId = componentId;
+    }
+
+    /**
+     * @return the type of the component, if grouped by component type
+     */
+    @Schema(description = "The type of the component that emitted the events. Only populated when grouping by component type.")
+    public String getComponentType() {
+        return componentType;
+    }
+
+    public void setComponentType(String componentType) {
+        this.componentType = componentType;
+    }
+
+    /**
+     * @return the type of the events, if grouped by event type
+     */
+    @Schema(description = "The type of the events. Only populated when grouping by event type.")
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    /**
+     * @return the number of events
+     */
+    @Schema(description = "The number of events.")
+    public Long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(Long eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    /**
+     * @return the sum of the sizes of the FlowFiles that the events refer to
+     */
+    @Schema(description = "The sum of the sizes, in bytes, of the FlowFiles that the events refer to.")
+    public Long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(Long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+}
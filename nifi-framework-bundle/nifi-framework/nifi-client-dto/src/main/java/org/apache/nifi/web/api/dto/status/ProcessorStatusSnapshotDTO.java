@@ -50,6 +50,9 @@ public class ProcessorStatusSnapshotDTO implements Cloneable {
     private Long tasksDurationNanos = 0L;
     private String tasks;
     private String tasksDuration;
+    private Long cpuDurationNanos = 0L;
+    private Long allocatedBytes = 0L;
+    private Long lockWaitDurationNanos = 0L;
     private Integer activeThreadCount = 0;
     private Integer terminatedThreadCount = 0;
 
@@ -295,6 +298,36 @@ public class ProcessorStatusSnapshotDTO implements Cloneable {
         this.tasksDurationNanos = taskNanos;
     }
 
+    @Schema(description = "The number of nanoseconds of CPU time that this Processor has consumed in the last 5 minutes. "
+            + "This value is estimated from sampled invocations and is 0 unless performance tracking is enabled.")
+    public Long getCpuDurationNanos() {
+        return cpuDurationNanos;
+    }
+
+    public void setCpuDurationNanos(Long cpuDurationNanos) {
+        this.cpuDurationNanos = cpuDurationNanos;
+    }
+
+    @Schema(description = "The number of bytes of heap that this Processor has allocated in the last 5 minutes. "
+            + "This value is estimated from sampled invocations and is 0 unless performance tracking is enabled.")
+    public Long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public void setAllocatedBytes(Long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    @Schema(description = "The number of nanoseconds that this Processor has spent waiting to obtain framework locks in the last 5 minutes. "
+            + "This value is estimated from sampled invocations and is 0 unless performance tracking is enabled.")
+    public Long getLockWaitDurationNanos() {
+        return lockWaitDurationNanos;
+    }
+
+    public void setLockWaitDurationNanos(Long lockWaitDurationNanos) {
+        this.lockWaitDurationNanos = lockWaitDurationNanos;
+    }
+
     @Override
     public ProcessorStatusSnapshotDTO clone() {
         final ProcessorStatusSnapshotDTO other = new ProcessorStatusSnapshotDTO();
@@ -314,6 +347,9 @@ public class ProcessorStatusSnapshotDTO implements Cloneable {
         other.setTaskCount(getTaskCount());
         other.setTasksDuration(getTasksDuration());
         other.setTasksDurationNanos(getTasksDurationNanos());
+        other.setCpuDurationNanos(getCpuDurationNanos());
+        other.setAllocatedBytes(getAllocatedBytes());
+        other.setLockWaitDurationNanos(getLockWaitDurationNanos());
         other.setActiveThreadCount(getActiveThreadCount());
         other.setTerminatedThreadCount(getTerminatedThreadCount());
         other.setInput(getInput());
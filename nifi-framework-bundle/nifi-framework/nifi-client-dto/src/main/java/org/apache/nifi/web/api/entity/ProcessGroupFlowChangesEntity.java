@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.web.api.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.apache.nifi.web.api.dto.PermissionsDTO;
+import org.apache.nifi.web.api.dto.flow.ProcessGroupFlowDTO;
+
+import jakarta.xml.bind.annotation.XmlRootElement;
+import java.util.Set;
+
+/**
+ * A serialized representation of this class can be placed in the entity body of a response from the API. This particular entity holds the components of a
+ * ProcessGroupFlowDTO that have changed since a previously returned flow version.
+ */
+@XmlRootElement(name = "processGroupFlowChangesEntity")
+public class ProcessGroupFlowChangesEntity extends Entity {
+
+    private String flowVersion;
+    private Boolean fullRefresh;
+    private PermissionsDTO permissions;
+    private ProcessGroupFlowDTO processGroupFlow;
+    private Set<String> removedComponentIds;
+
+    /**
+     * The version of the flow described by this entity.
+     *
+     * @return The flow version
+     */
+    @Schema(description = "The version of the flow described by this entity. This value should be provided when requesting the next set of changes."
+    )
+    public String getFlowVersion() {
+        return flowVersion;
+    }
+
+    public void setFlowVersion(String flowVersion) {
+        this.flowVersion = flowVersion;
+    }
+
+    /**
+     * Whether this entity contains every component in the process group.
+     *
+     * @return Whether this is a full refresh
+     */
+    @Schema(description = "Whether the flow contains every component in the process group rather than only those that have changed. This will be the case when the "
+            + "requested flow version is not known to the server, for instance because it has expired or the server has been restarted."
+    )
+    public Boolean getFullRefresh() {
+        return fullRefresh;
+    }
+
+    public void setFullRefresh(Boolean fullRefresh) {
+        this.fullRefresh = fullRefresh;
+    }
+
+    /**
+     * The permissions for this component.
+     *
+     * @return The permissions
+     */
+    @Schema(description = "The access policy for this process group."
+    )
+    public PermissionsDTO getPermissions() {
+        return permissions;
+    }
+
+    public void setPermissions(PermissionsDTO permissions) {
+        this.permissions = permissions;
+    }
+
+    /**
+     * The ProcessGroupFlowDTO containing the components that were added or changed.
+     *
+     * @return The ProcessGroupFlowDTO object
+     */
+    @Schema(description = "The process group flow containing only the components that were added or changed since the requested flow version."
+    )
+    public ProcessGroupFlowDTO getProcessGroupFlow() {
+        return processGroupFlow;
+    }
+
+    public void setProcessGroupFlow(ProcessGroupFlowDTO processGroupFlow) {
+        this.processGroupFlow = processGroupFlow;
+    }
+
+    /**
+     * The identifiers of the components that were removed.
+     *
+     * @return The removed component identifiers
+     */
+    @Schema(description = "The identifiers of the components that were removed since the requested flow version."
+    )
+    public Set<String> getRemovedComponentIds() {
+        return removedComponentIds;
+    }
+
+    public void setRemovedComponentIds(Set<String> removedComponentIds) {
+        this.removedComponentIds = removedComponentIds;
+    }
+
+}
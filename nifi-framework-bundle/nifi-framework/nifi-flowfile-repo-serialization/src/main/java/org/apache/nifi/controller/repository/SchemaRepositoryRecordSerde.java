@@ -204,7 +204,9 @@ public class SchemaRepositoryRecordSerde extends RepositoryRecordSerde implement
         populateContentClaim(ffBuilder, record);
         ffBuilder.size((Long) record.getFieldValue(FlowFileSchema.FLOWFILE_SIZE));
 
-        ffBuilder.addAttributes((Map<String, String>) record.getFieldValue(FlowFileSchema.ATTRIBUTES));
+        // The attributes Map was created by the reader, with its keys and values already canonicalized by the field cache, and is
+        // not referenced elsewhere, so the FlowFile can take ownership of it rather than copying it.
+        ffBuilder.adoptAttributes((Map<String, String>) record.getFieldValue(FlowFileSchema.ATTRIBUTES));
 
         final FlowFileRecord flowFileRecord = ffBuilder.build();
 
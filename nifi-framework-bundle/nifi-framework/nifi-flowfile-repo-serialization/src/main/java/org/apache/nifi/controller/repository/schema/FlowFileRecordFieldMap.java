@@ -79,7 +79,7 @@ public class FlowFileRecordFieldMap implements Record {
         builder.id((Long) record.getFieldValue(FlowFileSchema.RECORD_ID));
         builder.entryDate((Long) record.getFieldValue(FlowFileSchema.ENTRY_DATE));
         builder.size((Long) record.getFieldValue(FlowFileSchema.FLOWFILE_SIZE));
-        builder.addAttributes((Map<String, String>) record.getFieldValue(FlowFileSchema.ATTRIBUTES));
+        builder.adoptAttributes((Map<String, String>) record.getFieldValue(FlowFileSchema.ATTRIBUTES));
         builder.lineageStart((Long) record.getFieldValue(FlowFileSchema.LINEAGE_START_DATE), (Long) record.getFieldValue(FlowFileSchema.LINEAGE_START_INDEX));
         builder.lastQueued((Long) record.getFieldValue(FlowFileSchema.QUEUE_DATE), (Long) record.getFieldValue(FlowFileSchema.QUEUE_DATE_INDEX));
 
@@ -19,6 +19,7 @@ package org.apache.nifi.cluster.coordination.heartbeat;
 
 import org.apache.nifi.cluster.coordination.node.NodeConnectionStatus;
 import org.apache.nifi.cluster.protocol.NodeIdentifier;
+import org.apache.nifi.controller.status.ProcessGroupStatus;
 
 public interface NodeHeartbeat {
     /**
@@ -61,4 +62,11 @@ public interface NodeHeartbeat {
      * @return the number of updates that have occurred to the Revision Manager
      */
     long getRevisionUpdateCount();
+
+    /**
+     * @return the status of the node's root Process Group as reported in the heartbeat, or <code>null</code> if the node did not report it
+     */
+    default ProcessGroupStatus getFlowStatus() {
+        return null;
+    }
 }
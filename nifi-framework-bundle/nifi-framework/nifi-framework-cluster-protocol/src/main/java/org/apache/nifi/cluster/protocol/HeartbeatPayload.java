@@ -16,7 +16,14 @@
  */
 package org.apache.nifi.cluster.protocol;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.nifi.cluster.coordination.node.DisconnectionCode;
+import org.apache.nifi.cluster.coordination.node.NodeConnectionState;
 import org.apache.nifi.cluster.coordination.node.NodeConnectionStatus;
+import org.apache.nifi.cluster.coordination.node.OffloadCode;
+import org.apache.nifi.controller.status.ProcessGroupStatus;
 import org.apache.nifi.xml.processing.ProcessingException;
 import org.apache.nifi.xml.processing.stream.StandardXMLStreamReaderProvider;
 import org.apache.nifi.xml.processing.stream.XMLStreamReaderProvider;
@@ -26,21 +33,62 @@ import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlTransient;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.stream.StreamSource;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * The payload of the heartbeat. The payload contains status to inform the cluster manager the current workload of this node.
  *
+ * <p>
+ * The payload is marshalled either as XML or, once the Cluster Coordinator has indicated that it supports it, using a compact
+ * binary encoding. A binary payload starts with a byte that cannot start an XML document, so {@link #unmarshal(byte[])} accepts
+ * either form. A binary payload may carry only a digest of the node's view of the cluster status instead of the full list
+ * when that view is unchanged and known to agree with the Cluster Coordinator's view.
+ * </p>
+ *
+ * <p>
+ * The payload may also carry a compressed snapshot of the status of the node's root Process Group, which allows the Cluster Coordinator
+ * to serve status requests without replicating them to every node. The snapshot is appended to the end of a binary payload, where
+ * Cluster Coordinators that do not expect it will ignore it.
+ * </p>
  */
 @XmlRootElement
 public class HeartbeatPayload {
 
+    /**
+     * The version of the binary encoding written by {@link #marshalBinary()}
+     */
+    public static final int BINARY_ENCODING_VERSION = 1;
+
+    private static final int BINARY_ENCODING_MARKER = 0;
+
+    private static final int CLUSTER_STATUS_NONE = 0;
+    private static final int CLUSTER_STATUS_FULL = 1;
+    private static final int CLUSTER_STATUS_DIGEST = 2;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final ObjectMapper FLOW_STATUS_MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
     private static final JAXBContext JAXB_CONTEXT;
 
     static {
@@ -56,7 +104,9 @@ public class HeartbeatPayload {
     private long totalFlowFileBytes;
     private long systemStartTime;
     private List<NodeConnectionStatus> clusterStatus;
+    private byte[] clusterStatusDigest;
     private long revisionUpdateCount;
+    private byte[] flowStatus;
 
     public int getActiveThreadCount() {
         return activeThreadCount;
@@ -98,6 +148,18 @@ public class HeartbeatPayload {
         this.clusterStatus = clusterStatus;
     }
 
+    /**
+     * @return the digest of the node's view of the cluster status, if the payload carries the digest instead of the full cluster status; otherwise <code>null</code>
+     */
+    @XmlTransient
+    public byte[] getClusterStatusDigest() {
+        return clusterStatusDigest;
+    }
+
+    public void setClusterStatusDigest(final byte[] clusterStatusDigest) {
+        this.clusterStatusDigest = clusterStatusDigest;
+    }
+
     public long getRevisionUpdateCount() {
         return revisionUpdateCount;
     }
@@ -106,6 +168,18 @@ public class HeartbeatPayload {
         this.revisionUpdateCount = revisionUpdateCount;
     }
 
+    /**
+     * @return the encoded status of the node's root Process Group, if included in the payload; otherwise <code>null</code>
+     * @see #decodeFlowStatus(byte[])
+     */
+    public byte[] getFlowStatus() {
+        return flowStatus;
+    }
+
+    public void setFlowStatus(final byte[] flowStatus) {
+        this.flowStatus = flowStatus;
+    }
+
     public byte[] marshal() throws ProtocolException {
         final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
         marshal(this, payloadBytes);
@@ -121,13 +195,58 @@ public class HeartbeatPayload {
         }
     }
 
+    public byte[] marshalBinary() throws ProtocolException {
+        final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(payloadBytes)) {
+            out.writeByte(BINARY_ENCODING_MARKER);
+            out.writeByte(BINARY_ENCODING_VERSION);
+            out.writeInt(activeThreadCount);
+            out.writeLong(totalFlowFileCount);
+            out.writeLong(totalFlowFileBytes);
+            out.writeLong(systemStartTime);
+            out.writeLong(revisionUpdateCount);
+
+            if (clusterStatus != null) {
+                out.writeByte(CLUSTER_STATUS_FULL);
+                out.writeInt(clusterStatus.size());
+                for (final NodeConnectionStatus status : clusterStatus) {
+                    writeConnectionStatus(status, out);
+                }
+            } else if (clusterStatusDigest != null) {
+                out.writeByte(CLUSTER_STATUS_DIGEST);
+                out.writeInt(clusterStatusDigest.length);
+                out.write(clusterStatusDigest);
+            } else {
+                out.writeByte(CLUSTER_STATUS_NONE);
+            }
+
+            if (flowStatus != null) {
+                out.writeInt(flowStatus.length);
+                out.write(flowStatus);
+            }
+        } catch (final IOException e) {
+            throw new ProtocolException(e);
+        }
+
+        return payloadBytes.toByteArray();
+    }
+
     public static HeartbeatPayload unmarshal(final InputStream is) throws ProtocolException {
         try {
+            final PushbackInputStream pushbackIn = new PushbackInputStream(is, 1);
+            final int firstByte = pushbackIn.read();
+            if (firstByte == BINARY_ENCODING_MARKER) {
+                return unmarshalBinary(new DataInputStream(pushbackIn));
+            }
+            if (firstByte != -1) {
+                pushbackIn.unread(firstByte);
+            }
+
             final Unmarshaller unmarshaller = JAXB_CONTEXT.createUnmarshaller();
             final XMLStreamReaderProvider provider = new StandardXMLStreamReaderProvider();
-            final XMLStreamReader xsr = provider.getStreamReader(new StreamSource(is));
+            final XMLStreamReader xsr = provider.getStreamReader(new StreamSource(pushbackIn));
             return (HeartbeatPayload) unmarshaller.unmarshal(xsr);
-        } catch (final JAXBException | ProcessingException e) {
+        } catch (final JAXBException | ProcessingException | IOException e) {
             throw new ProtocolException(e);
         }
     }
@@ -135,4 +254,192 @@ public class HeartbeatPayload {
     public static HeartbeatPayload unmarshal(final byte[] bytes) throws ProtocolException {
         return unmarshal(new ByteArrayInputStream(bytes));
     }
+
+    /**
+     * Computes a digest of the given cluster status that depends only on the fields that the Cluster Coordinator uses to
+     * determine whether or not a node's view of the cluster is up to date, namely the identifier and state of each node.
+     *
+     * @param clusterStatus the connection status of each node in the cluster
+     * @return the digest of the cluster status
+     */
+    public static byte[] computeClusterStatusDigest(final List<NodeConnectionStatus> clusterStatus) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new ProtocolException(e);
+        }
+
+        final List<NodeConnectionStatus> sortedStatus = new ArrayList<>(clusterStatus);
+        sortedStatus.sort(Comparator.comparing(status -> status.getNodeIdentifier().getId()));
+        for (final NodeConnectionStatus status : sortedStatus) {
+            digest.update(status.getNodeIdentifier().getId().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(status.getState()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+
+        return digest.digest();
+    }
+
+    /**
+     * Encodes the given status of a node's root Process Group so that it can be included in a heartbeat payload.
+     *
+     * @param status the status to encode
+     * @return the encoded status
+     */
+    public static byte[] encodeFlowStatus(final ProcessGroupStatus status) {
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (final OutputStream out = new GZIPOutputStream(encoded)) {
+            FLOW_STATUS_MAPPER.writeValue(out, status);
+        } catch (final IOException e) {
+            throw new ProtocolException("Failed to encode Flow Status", e);
+        }
+
+        return encoded.toByteArray();
+    }
+
+    /**
+     * Decodes a status previously encoded by {@link #encodeFlowStatus(ProcessGroupStatus)}.
+     *
+     * @param encoded the encoded status
+     * @return the decoded status
+     */
+    public static ProcessGroupStatus decodeFlowStatus(final byte[] encoded) {
+        try (final InputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            return FLOW_STATUS_MAPPER.readValue(in, ProcessGroupStatus.class);
+        } catch (final IOException e) {
+            throw new ProtocolException("Failed to decode Flow Status", e);
+        }
+    }
+
+    private static HeartbeatPayload unmarshalBinary(final DataInputStream in) throws IOException {
+        final int version = in.readUnsignedByte();
+        if (version > BINARY_ENCODING_VERSION) {
+            throw new IOException("Heartbeat payload was encoded using version " + version + " but only versions up to " + BINARY_ENCODING_VERSION + " are supported");
+        }
+
+        final HeartbeatPayload payload = new HeartbeatPayload();
+        payload.setActiveThreadCount(in.readInt());
+        payload.setTotalFlowFileCount(in.readLong());
+        payload.setTotalFlowFileBytes(in.readLong());
+        payload.setSystemStartTime(in.readLong());
+        payload.setRevisionUpdateCount(in.readLong());
+
+        final int clusterStatusEncoding = in.readUnsignedByte();
+        switch (clusterStatusEncoding) {
+            case CLUSTER_STATUS_FULL:
+                final int statusCount = in.readInt();
+                final List<NodeConnectionStatus> clusterStatus = new ArrayList<>(statusCount);
+                for (int i = 0; i < statusCount; i++) {
+                    clusterStatus.add(readConnectionStatus(in));
+                }
+                payload.setClusterStatus(clusterStatus);
+                break;
+            case CLUSTER_STATUS_DIGEST:
+                final byte[] digest = new byte[in.readInt()];
+                in.readFully(digest);
+                payload.setClusterStatusDigest(digest);
+                break;
+            case CLUSTER_STATUS_NONE:
+                break;
+            default:
+                throw new IOException("Heartbeat payload contains unknown Cluster Status encoding " + clusterStatusEncoding);
+        }
+
+        // the flow status is optional and, if present, is the last field in the payload
+        final int firstLengthByte = in.read();
+        if (firstLengthByte != -1) {
+            final int flowStatusLength = (firstLengthByte << 24) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+            final byte[] flowStatus = new byte[flowStatusLength];
+            in.readFully(flowStatus);
+            payload.setFlowStatus(flowStatus);
+        }
+
+        return payload;
+    }
+
+    private static void writeConnectionStatus(final NodeConnectionStatus status, final DataOutputStream out) throws IOException {
+        out.writeLong(status.getUpdateIdentifier());
+        writeNodeIdentifier(status.getNodeIdentifier(), out);
+        writeNullableString(status.getState() == null ? null : status.getState().name(), out);
+        writeNullableString(status.getOffloadCode() == null ? null : status.getOffloadCode().name(), out);
+        writeNullableString(status.getDisconnectCode() == null ? null : status.getDisconnectCode().name(), out);
+        writeNullableString(status.getReason(), out);
+
+        final Long connectionRequestTime = status.getConnectionRequestTime();
+        out.writeBoolean(connectionRequestTime != null);
+        if (connectionRequestTime != null) {
+            out.writeLong(connectionRequestTime);
+        }
+    }
+
+    private static NodeConnectionStatus readConnectionStatus(final DataInputStream in) throws IOException {
+        final long updateId = in.readLong();
+        final NodeIdentifier nodeId = readNodeIdentifier(in);
+        final String state = readNullableString(in);
+        final String offloadCode = readNullableString(in);
+        final String disconnectCode = readNullableString(in);
+        final String reason = readNullableString(in);
+        final Long connectionRequestTime = in.readBoolean() ? in.readLong() : null;
+
+        return new NodeConnectionStatus(updateId, nodeId,
+            state == null ? null : NodeConnectionState.valueOf(state),
+            offloadCode == null ? null : OffloadCode.valueOf(offloadCode),
+            disconnectCode == null ? null : DisconnectionCode.valueOf(disconnectCode),
+            reason, connectionRequestTime);
+    }
+
+    private static void writeNodeIdentifier(final NodeIdentifier nodeId, final DataOutputStream out) throws IOException {
+        out.writeUTF(nodeId.getId());
+        out.writeUTF(nodeId.getApiAddress());
+        out.writeInt(nodeId.getApiPort());
+        out.writeUTF(nodeId.getSocketAddress());
+        out.writeInt(nodeId.getSocketPort());
+        writeNullableString(nodeId.getLoadBalanceAddress(), out);
+        out.writeInt(nodeId.getLoadBalancePort());
+        writeNullableString(nodeId.getSiteToSiteAddress(), out);
+        writeNullableInteger(nodeId.getSiteToSitePort(), out);
+        writeNullableInteger(nodeId.getSiteToSiteHttpApiPort(), out);
+        out.writeBoolean(nodeId.isSiteToSiteSecure());
+    }
+
+    private static NodeIdentifier readNodeIdentifier(final DataInputStream in) throws IOException {
+        final String id = in.readUTF();
+        final String apiAddress = in.readUTF();
+        final int apiPort = in.readInt();
+        final String socketAddress = in.readUTF();
+        final int socketPort = in.readInt();
+        final String loadBalanceAddress = readNullableString(in);
+        final int loadBalancePort = in.readInt();
+        final String siteToSiteAddress = readNullableString(in);
+        final Integer siteToSitePort = readNullableInteger(in);
+        final Integer siteToSiteHttpApiPort = readNullableInteger(in);
+        final boolean siteToSiteSecure = in.readBoolean();
+
+        return new NodeIdentifier(id, apiAddress, apiPort, socketAddress, socketPort, loadBalanceAddress, loadBalancePort,
+            siteToSiteAddress, siteToSitePort, siteToSiteHttpApiPort, siteToSiteSecure);
+    }
+
+    private static void writeNullableString(final String value, final DataOutputStream out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableInteger(final Integer value, final DataOutputStream out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readNullableInteger(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
 }
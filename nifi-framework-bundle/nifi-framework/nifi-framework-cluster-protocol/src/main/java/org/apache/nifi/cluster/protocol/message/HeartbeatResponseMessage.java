@@ -29,6 +29,7 @@ public class HeartbeatResponseMessage extends ProtocolMessage {
     private List<NodeConnectionStatus> updatedNodeStatuses = new ArrayList<>();
     private String flowElectionMessage = null;
     private CommsTimingDetails commsTimingDetails;
+    private Integer heartbeatPayloadVersion;
 
     @Override
     public MessageType getType() {
@@ -58,4 +59,16 @@ public class HeartbeatResponseMessage extends ProtocolMessage {
     public void setCommsTimingDetails(final CommsTimingDetails commsTimingDetails) {
         this.commsTimingDetails = commsTimingDetails;
     }
+
+    /**
+     * @return the highest version of the binary heartbeat payload encoding that the Cluster Coordinator is able to read, or <code>null</code>
+     * if the Cluster Coordinator only reads XML heartbeat payloads
+     */
+    public Integer getHeartbeatPayloadVersion() {
+        return heartbeatPayloadVersion;
+    }
+
+    public void setHeartbeatPayloadVersion(final Integer heartbeatPayloadVersion) {
+        this.heartbeatPayloadVersion = heartbeatPayloadVersion;
+    }
 }
@@ -37,6 +37,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -161,20 +162,26 @@ public class ClusterProtocolHeartbeatMonitor extends AbstractHeartbeatMonitor im
         final long revisionUpdateCount = payload.getRevisionUpdateCount();
 
         final NodeHeartbeat nodeHeartbeat = new StandardNodeHeartbeat(nodeId, System.currentTimeMillis(),
-                connectionStatus, flowFileCount, flowFileBytes, activeThreadCount, systemStartTime, revisionUpdateCount);
+                connectionStatus, flowFileCount, flowFileBytes, activeThreadCount, systemStartTime, revisionUpdateCount, payload.getFlowStatus());
         heartbeatMessages.put(heartbeat.getNodeIdentifier(), nodeHeartbeat);
         logger.debug("Received new heartbeat from {}", nodeId);
 
         // Formulate a List of differences between our view of the cluster topology and the node's view
         // and send that back to the node so that it is in-sync with us
-        List<NodeConnectionStatus> nodeStatusList = payload.getClusterStatus();
-        if (nodeStatusList == null) {
-            nodeStatusList = Collections.emptyList();
+        final List<NodeConnectionStatus> updatedStatuses;
+        if (payload.getClusterStatus() == null && payload.getClusterStatusDigest() != null) {
+            updatedStatuses = getUpdatedStatuses(payload.getClusterStatusDigest());
+        } else {
+            List<NodeConnectionStatus> nodeStatusList = payload.getClusterStatus();
+            if (nodeStatusList == null) {
+                nodeStatusList = Collections.emptyList();
+            }
+            updatedStatuses = getUpdatedStatuses(nodeStatusList);
         }
-        final List<NodeConnectionStatus> updatedStatuses = getUpdatedStatuses(nodeStatusList);
 
         final HeartbeatResponseMessage responseMessage = new HeartbeatResponseMessage();
         responseMessage.setUpdatedNodeStatuses(updatedStatuses);
+        responseMessage.setHeartbeatPayloadVersion(HeartbeatPayload.BINARY_ENCODING_VERSION);
 
         if (!getClusterCoordinator().isFlowElectionComplete()) {
             responseMessage.setFlowElectionMessage(getClusterCoordinator().getFlowElectionStatus());
@@ -203,6 +210,19 @@ public class ClusterProtocolHeartbeatMonitor extends AbstractHeartbeatMonitor im
         return response;
     }
 
+    private List<NodeConnectionStatus> getUpdatedStatuses(final byte[] nodeStatusDigest) {
+        // The node only sends a digest if its view of the cluster was unchanged and matched ours as of its last heartbeat. If our view has
+        // changed since then, send all of our statuses; the node will then send its full view with its next heartbeat so that any nodes
+        // that we no longer know about can be marked as removed.
+        final List<NodeConnectionStatus> currentStatuses = clusterCoordinator.getConnectionStatuses();
+        if (Arrays.equals(nodeStatusDigest, HeartbeatPayload.computeClusterStatusDigest(currentStatuses))) {
+            return Collections.emptyList();
+        }
+
+        logger.debug("Node's Cluster Status digest does not match current cluster status; sending all statuses: {}", currentStatuses);
+        return currentStatuses;
+    }
+
     private List<NodeConnectionStatus> getUpdatedStatuses(final List<NodeConnectionStatus> nodeStatusList) {
         // Map node's statuses by NodeIdentifier for quick & easy lookup
         final Map<NodeIdentifier, NodeConnectionStatus> nodeStatusMap = nodeStatusList.stream()
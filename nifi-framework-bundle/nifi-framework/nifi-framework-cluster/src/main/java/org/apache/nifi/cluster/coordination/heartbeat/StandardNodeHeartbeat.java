@@ -22,6 +22,7 @@ import org.apache.nifi.cluster.protocol.Heartbeat;
 import org.apache.nifi.cluster.protocol.HeartbeatPayload;
 import org.apache.nifi.cluster.protocol.NodeIdentifier;
 import org.apache.nifi.cluster.protocol.message.HeartbeatMessage;
+import org.apache.nifi.controller.status.ProcessGroupStatus;
 
 public class StandardNodeHeartbeat implements NodeHeartbeat {
 
@@ -33,9 +34,17 @@ public class StandardNodeHeartbeat implements NodeHeartbeat {
     private final int activeThreadCount;
     private final long systemStartTime;
     private final long revisionUpdateCount;
+    private final byte[] encodedFlowStatus;
+    private volatile ProcessGroupStatus flowStatus;
 
     public StandardNodeHeartbeat(final NodeIdentifier nodeId, final long timestamp, final NodeConnectionStatus connectionStatus,
         final int flowFileCount, final long flowFileBytes, final int activeThreadCount, final long systemStartTime, final long revisionUpdateCount) {
+        this(nodeId, timestamp, connectionStatus, flowFileCount, flowFileBytes, activeThreadCount, systemStartTime, revisionUpdateCount, null);
+    }
+
+    public StandardNodeHeartbeat(final NodeIdentifier nodeId, final long timestamp, final NodeConnectionStatus connectionStatus,
+        final int flowFileCount, final long flowFileBytes, final int activeThreadCount, final long systemStartTime, final long revisionUpdateCount,
+        final byte[] encodedFlowStatus) {
         this.timestamp = timestamp;
         this.nodeId = nodeId;
         this.connectionStatus = connectionStatus;
@@ -44,6 +53,7 @@ public class StandardNodeHeartbeat implements NodeHeartbeat {
         this.activeThreadCount = activeThreadCount;
         this.systemStartTime = systemStartTime;
         this.revisionUpdateCount = revisionUpdateCount;
+        this.encodedFlowStatus = encodedFlowStatus;
     }
 
     @Override
@@ -86,12 +96,28 @@ public class StandardNodeHeartbeat implements NodeHeartbeat {
         return revisionUpdateCount;
     }
 
+    @Override
+    public ProcessGroupStatus getFlowStatus() {
+        if (encodedFlowStatus == null) {
+            return null;
+        }
+
+        // the status is only decoded when requested, as most heartbeats are superseded before their status is needed
+        ProcessGroupStatus decoded = flowStatus;
+        if (decoded == null) {
+            decoded = HeartbeatPayload.decodeFlowStatus(encodedFlowStatus);
+            flowStatus = decoded;
+        }
+
+        return decoded;
+    }
+
     public static StandardNodeHeartbeat fromHeartbeatMessage(final HeartbeatMessage message, final long timestamp) {
         final Heartbeat heartbeat = message.getHeartbeat();
         final HeartbeatPayload payload = HeartbeatPayload.unmarshal(heartbeat.getPayload());
 
         return new StandardNodeHeartbeat(heartbeat.getNodeIdentifier(), timestamp, heartbeat.getConnectionStatus(),
             (int) payload.getTotalFlowFileCount(), payload.getTotalFlowFileBytes(),
-            payload.getActiveThreadCount(), payload.getSystemStartTime(), payload.getRevisionUpdateCount());
+            payload.getActiveThreadCount(), payload.getSystemStartTime(), payload.getRevisionUpdateCount(), payload.getFlowStatus());
     }
 }
\ No newline at end of file
@@ -70,6 +70,7 @@ import org.apache.nifi.cluster.coordination.http.endpoints.ProcessorRunStatusDet
 import org.apache.nifi.cluster.coordination.http.endpoints.ProcessorStatusEndpointMerger;
 import org.apache.nifi.cluster.coordination.http.endpoints.ProcessorTypesEndpointMerger;
 import org.apache.nifi.cluster.coordination.http.endpoints.ProcessorsEndpointMerger;
+import org.apache.nifi.cluster.coordination.http.endpoints.ProvenanceAggregatesEndpointMerger;
 import org.apache.nifi.cluster.coordination.http.endpoints.ProvenanceEventEndpointMerger;
 import org.apache.nifi.cluster.coordination.http.endpoints.ProvenanceQueryEndpointMerger;
 import org.apache.nifi.cluster.coordination.http.endpoints.RemoteProcessGroupEndpointMerger;
@@ -142,6 +143,7 @@ public class StandardHttpResponseMapper implements HttpResponseMapper {
         endpointMergers.add(new FlowSnippetEndpointMerger());
         endpointMergers.add(new ProvenanceQueryEndpointMerger());
         endpointMergers.add(new ProvenanceEventEndpointMerger());
+        endpointMergers.add(new ProvenanceAggregatesEndpointMerger());
         endpointMergers.add(new ControllerServiceEndpointMerger());
         endpointMergers.add(new ControllerServicesEndpointMerger());
         endpointMergers.add(new ControllerServiceReferenceEndpointMerger());
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.cluster.coordination.http.endpoints;
+
+import org.apache.nifi.cluster.coordination.http.EndpointResponseMerger;
+import org.apache.nifi.cluster.manager.NodeResponse;
+import org.apache.nifi.web.api.dto.provenance.ProvenanceAggregateDTO;
+import org.apache.nifi.web.api.entity.ProvenanceAggregatesEntity;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class ProvenanceAggregatesEndpointMerger implements EndpointResponseMerger {
+    public static final Pattern PROVENANCE_AGGREGATES_URI_PATTERN = Pattern.compile("/nifi-api/provenance/aggregates");
+
+    private static final Comparator<ProvenanceAggregateDTO> AGGREGATE_ORDER = Comparator.comparing(ProvenanceAggregateDTO::getBucketStart)
+        .thenComparing(ProvenanceAggregateDTO::getComponentId, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(ProvenanceAggregateDTO::getComponentType, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(ProvenanceAggregateDTO::getEventType, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    @Override
+    public boolean canHandle(final URI uri, final String method) {
+        return "GET".equalsIgnoreCase(method) && PROVENANCE_AGGREGATES_URI_PATTERN.matcher(uri.getPath()).matches();
+    }
+
+    @Override
+    public final NodeResponse merge(final URI uri, final String method, final Set<NodeResponse> successfulResponses, final Set<NodeResponse> problematicResponses, final NodeResponse clientResponse) {
+        if (!canHandle(uri, method)) {
+            throw new IllegalArgumentException("Cannot use Endpoint Mapper of type " + getClass().getSimpleName() + " to map responses for URI " + uri + ", HTTP Method " + method);
+        }
+
+        final ProvenanceAggregatesEntity responseEntity = clientResponse.getClientResponse().readEntity(ProvenanceAggregatesEntity.class);
+
+        // each node stores its own events, so the aggregates for the same bucket and dimensions are summed across nodes
+        final Map<List<Object>, ProvenanceAggregateDTO> merged = new LinkedHashMap<>();
+        for (final NodeResponse nodeResponse : successfulResponses) {
+            final ProvenanceAggregatesEntity nodeResponseEntity = nodeResponse == clientResponse ? responseEntity : nodeResponse.getClientResponse().readEntity(ProvenanceAggregatesEntity.class);
+            if (nodeResponseEntity.getAggregates() == null) {
+                continue;
+            }
+
+            for (final ProvenanceAggregateDTO aggregate : nodeResponseEntity.getAggregates()) {
+                final List<Object> key = new ArrayList<>(4);
+                key.add(aggregate.getBucketStart());
+                key.add(aggregate.getComponentId());
+                key.add(aggregate.getComponentType());
+                key.add(aggregate.getEventType());
+
+                final ProvenanceAggregateDTO existing = merged.putIfAbsent(key, aggregate);
+                if (existing != null) {
+                    existing.setEventCount(existing.getEventCount() + aggregate.getEventCount());
+                    existing.setTotalBytes(existing.getTotalBytes() + aggregate.getTotalBytes());
+                }
+            }
+        }
+
+        final List<ProvenanceAggregateDTO> aggregates = new ArrayList<>(merged.values());
+        aggregates.sort(AGGREGATE_ORDER);
+        responseEntity.setAggregates(aggregates);
+
+        return new NodeResponse(clientResponse, responseEntity);
+    }
+}
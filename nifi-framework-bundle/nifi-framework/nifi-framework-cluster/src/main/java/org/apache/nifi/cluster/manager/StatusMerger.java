@@ -452,6 +452,9 @@ public class StatusMerger {
         target.setBytesOut(target.getBytesOut() + toMerge.getBytesOut());
         target.setTaskCount(target.getTaskCount() + toMerge.getTaskCount());
         target.setTasksDurationNanos(target.getTasksDurationNanos() + toMerge.getTasksDurationNanos());
+        target.setCpuDurationNanos(target.getCpuDurationNanos() + toMerge.getCpuDurationNanos());
+        target.setAllocatedBytes(target.getAllocatedBytes() + toMerge.getAllocatedBytes());
+        target.setLockWaitDurationNanos(target.getLockWaitDurationNanos() + toMerge.getLockWaitDurationNanos());
         target.setActiveThreadCount(target.getActiveThreadCount() + toMerge.getActiveThreadCount());
         target.setTerminatedThreadCount(target.getTerminatedThreadCount() + toMerge.getTerminatedThreadCount());
         updatePrettyPrintedFields(target);
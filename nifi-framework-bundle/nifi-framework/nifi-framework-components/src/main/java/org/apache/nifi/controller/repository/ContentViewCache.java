@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import org.apache.nifi.controller.repository.claim.ContentClaim;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A node-wide, size-bounded cache of in-memory representations ("views") of FlowFile content, such as a set of parsed records.
+ * A view is keyed by the Content Claim, offset, and size of the content that it represents. Because any change to a FlowFile's
+ * content results in a new Content Claim or offset, a view can never be associated with content other than that from which it was
+ * created. Views are evicted in least-recently-added order once the sum of their estimated sizes exceeds the configured maximum.
+ * A view can be taken from the cache only once, as the component taking it is free to modify it.
+ */
+public class ContentViewCache {
+    private final long maxBytes;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>();
+    private long cachedBytes = 0L;
+    private long hits = 0L;
+    private long misses = 0L;
+
+    public ContentViewCache(final long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Caches the given view of the content at the given location, evicting older views if necessary.
+     * A view whose estimated size exceeds the maximum size of the cache is not cached.
+     *
+     * @param claim the Content Claim that holds the content
+     * @param offset the offset into the Content Claim at which the content begins
+     * @param size the size of the content
+     * @param view the in-memory view of the content
+     * @param estimatedBytes the estimated number of bytes of heap that the view occupies
+     * @return <code>true</code> if the view was cached, <code>false</code> otherwise
+     */
+    public synchronized boolean put(final ContentClaim claim, final long offset, final long size, final Object view, final long estimatedBytes) {
+        if (claim == null || view == null || estimatedBytes > maxBytes) {
+            return false;
+        }
+
+        final Entry previous = entries.remove(new Key(claim, offset, size));
+        if (previous != null) {
+            cachedBytes -= previous.estimatedBytes;
+        }
+
+        final Iterator<Entry> itr = entries.values().iterator();
+        while (cachedBytes + estimatedBytes > maxBytes && itr.hasNext()) {
+            cachedBytes -= itr.next().estimatedBytes;
+            itr.remove();
+        }
+
+        entries.put(new Key(claim, offset, size), new Entry(view, estimatedBytes));
+        cachedBytes += estimatedBytes;
+        return true;
+    }
+
+    /**
+     * Removes and returns the view of the content at the given location, if one is cached and is of the given type.
+     *
+     * @param claim the Content Claim that holds the content
+     * @param offset the offset into the Content Claim at which the content begins
+     * @param size the size of the content
+     * @param type the type of view that is expected
+     * @return the cached view, or <code>null</code> if no view of the given type is cached for the content
+     */
+    public synchronized <T> T take(final ContentClaim claim, final long offset, final long size, final Class<T> type) {
+        if (claim == null) {
+            return null;
+        }
+
+        final Key key = new Key(claim, offset, size);
+        final Entry entry = entries.get(key);
+        if (entry == null || !type.isInstance(entry.view)) {
+            misses++;
+            return null;
+        }
+
+        entries.remove(key);
+        cachedBytes -= entry.estimatedBytes;
+        hits++;
+        return type.cast(entry.view);
+    }
+
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    public synchronized int getCachedViewCount() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    private static class Key {
+        private final ContentClaim claim;
+        private final long offset;
+        private final long size;
+
+        Key(final ContentClaim claim, final long offset, final long size) {
+            this.claim = claim;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key other)) {
+                return false;
+            }
+
+            return offset == other.offset && size == other.size && claim.equals(other.claim);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(claim, offset, size);
+        }
+    }
+
+    private static class Entry {
+        private final Object view;
+        private final long estimatedBytes;
+
+        Entry(final Object view, final long estimatedBytes) {
+            this.view = view;
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+}
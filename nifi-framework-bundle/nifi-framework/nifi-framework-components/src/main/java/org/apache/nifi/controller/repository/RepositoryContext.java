@@ -64,4 +64,12 @@ public interface RepositoryContext {
     ProvenanceEventBuilder createProvenanceEventBuilder();
 
     StateManager getStateManager();
+
+    /**
+     * @return the cache of in-memory views of FlowFile content that sessions created with this context may use, or <code>null</code>
+     * if content views are not to be cached
+     */
+    default ContentViewCache getContentViewCache() {
+        return null;
+    }
 }
@@ -2655,6 +2655,34 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         }
     }
 
+    @Override
+    public void cacheContentView(FlowFile flowFile, final Object view, final long estimatedSize) {
+        verifyTaskActive();
+
+        flowFile = validateRecordState(flowFile);
+        final ContentViewCache contentViewCache = context.getContentViewCache();
+        if (contentViewCache == null) {
+            return;
+        }
+
+        final StandardRepositoryRecord record = getRecord(flowFile);
+        contentViewCache.put(record.getCurrentClaim(), record.getCurrentClaimOffset(), flowFile.getSize(), view, estimatedSize);
+    }
+
+    @Override
+    public <T> T takeContentView(FlowFile flowFile, final Class<T> viewType) {
+        verifyTaskActive();
+
+        flowFile = validateRecordState(flowFile);
+        final ContentViewCache contentViewCache = context.getContentViewCache();
+        if (contentViewCache == null) {
+            return null;
+        }
+
+        final StandardRepositoryRecord record = getRecord(flowFile);
+        return contentViewCache.take(record.getCurrentClaim(), record.getCurrentClaimOffset(), flowFile.getSize(), viewType);
+    }
+
     @Override
     public void read(FlowFile source, final InputStreamCallback reader) {
         verifyTaskActive();
@@ -77,6 +77,16 @@ public class EmptyFlowFileEvent implements FlowFileEvent {
         return 0;
     }
 
+    @Override
+    public long getAllocatedBytes() {
+        return 0;
+    }
+
+    @Override
+    public long getLockWaitNanoseconds() {
+        return 0;
+    }
+
     @Override
     public long getContentReadNanoseconds() {
         return 0;
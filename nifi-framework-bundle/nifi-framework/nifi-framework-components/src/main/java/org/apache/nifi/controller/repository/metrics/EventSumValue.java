@@ -42,6 +42,8 @@ public class EventSumValue {
     private long bytesSent = 0;
     private long processingNanos = 0;
     private long cpuNanos = 0;
+    private long allocatedBytes = 0;
+    private long lockWaitNanos = 0;
     private long contentReadNanos = 0;
     private long contentWriteNanos = 0;
     private long sessionCommitNanos = 0;
@@ -76,6 +78,8 @@ public class EventSumValue {
         this.invocations += flowFileEvent.getInvocations();
         this.processingNanos += flowFileEvent.getProcessingNanoseconds();
         this.cpuNanos += flowFileEvent.getCpuNanoseconds();
+        this.allocatedBytes += flowFileEvent.getAllocatedBytes();
+        this.lockWaitNanos += flowFileEvent.getLockWaitNanoseconds();
         this.contentReadNanos += flowFileEvent.getContentReadNanoseconds();
         this.contentWriteNanos += flowFileEvent.getContentWriteNanoseconds();
         this.gcMillis += flowFileEvent.getGargeCollectionMillis();
@@ -117,6 +121,8 @@ public class EventSumValue {
         event.setInvocations(invocations);
         event.setProcessingNanos(processingNanos);
         event.setCpuNanoseconds(cpuNanos);
+        event.setAllocatedBytes(allocatedBytes);
+        event.setLockWaitNanoseconds(lockWaitNanos);
         event.setContentReadNanoseconds(contentReadNanos);
         event.setContentWriteNanoseconds(contentWriteNanos);
         event.setSessionCommitNanos(sessionCommitNanos);
@@ -147,6 +153,8 @@ public class EventSumValue {
             this.invocations += other.invocations;
             this.processingNanos += other.processingNanos;
             this.cpuNanos += other.cpuNanos;
+            this.allocatedBytes += other.allocatedBytes;
+            this.lockWaitNanos += other.lockWaitNanos;
             this.contentReadNanos += other.contentReadNanos;
             this.contentWriteNanos += other.contentWriteNanos;
             this.sessionCommitNanos += other.sessionCommitNanos;
@@ -189,6 +197,8 @@ public class EventSumValue {
             this.invocations -= other.invocations;
             this.processingNanos -= other.processingNanos;
             this.cpuNanos -= other.cpuNanos;
+            this.allocatedBytes -= other.allocatedBytes;
+            this.lockWaitNanos -= other.lockWaitNanos;
             this.contentReadNanos -= other.contentReadNanos;
             this.contentWriteNanos -= other.contentWriteNanos;
             this.sessionCommitNanos -= other.sessionCommitNanos;
@@ -33,6 +33,8 @@ public final class StandardFlowFileEvent implements FlowFileEvent, Cloneable {
     private long bytesWritten;
     private long processingNanos;
     private long cpuNanos;
+    private long allocatedBytes;
+    private long lockWaitNanos;
     private long contentReadNanos;
     private long contentWriteNanos;
     private long sessionCommitNanos;
@@ -134,6 +136,24 @@ public final class StandardFlowFileEvent implements FlowFileEvent, Cloneable {
         this.cpuNanos = nanos;
     }
 
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public void setAllocatedBytes(final long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    @Override
+    public long getLockWaitNanoseconds() {
+        return lockWaitNanos;
+    }
+
+    public void setLockWaitNanoseconds(final long nanos) {
+        this.lockWaitNanos = nanos;
+    }
+
     @Override
     public long getContentReadNanoseconds() {
         return contentReadNanos;
@@ -253,6 +273,8 @@ public final class StandardFlowFileEvent implements FlowFileEvent, Cloneable {
         bytesWritten += event.getBytesWritten();
         processingNanos += event.getProcessingNanoseconds();
         cpuNanos += event.getCpuNanoseconds();
+        allocatedBytes += event.getAllocatedBytes();
+        lockWaitNanos += event.getLockWaitNanoseconds();
         contentReadNanos += event.getContentReadNanoseconds();
         contentWriteNanos += event.getContentWriteNanoseconds();
         sessionCommitNanos += event.getSessionCommitNanoseconds();
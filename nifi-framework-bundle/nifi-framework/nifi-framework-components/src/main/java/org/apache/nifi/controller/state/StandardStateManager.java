@@ -29,6 +29,7 @@ import org.apache.nifi.logging.StandardLoggingContext;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.Set;
 
 public class StandardStateManager implements StateManager {
     private final StateProvider localProvider;
@@ -74,6 +75,13 @@ public class StandardStateManager implements StateManager {
         return replaced;
     }
 
+    @Override
+    public boolean replaceEntries(final StateMap oldValue, final Map<String, String> updatedEntries, final Set<String> removedKeys, final Scope scope) throws IOException {
+        final boolean replaced = getProvider(scope).replaceEntries(oldValue, updatedEntries, removedKeys, componentId);
+        getLogger(componentId).debug("{} State from old value {} with updated entries {} and removed keys {} was {}", scope, oldValue, updatedEntries, removedKeys, replaced);
+        return replaced;
+    }
+
     @Override
     public void setState(final Map<String, String> state, final Scope scope) throws IOException {
         getLogger(componentId).debug("Setting {} State to {}", scope, state);
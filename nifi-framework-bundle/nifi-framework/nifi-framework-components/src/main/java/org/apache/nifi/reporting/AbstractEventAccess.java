@@ -647,6 +647,9 @@ public abstract class AbstractEventAccess implements EventAccess {
             status.setBytesWritten(writtenBytes);
 
             status.setProcessingNanos(flowFileEvent.getProcessingNanoseconds());
+            status.setCpuNanos(flowFileEvent.getCpuNanoseconds());
+            status.setAllocatedBytes(flowFileEvent.getAllocatedBytes());
+            status.setLockWaitNanos(flowFileEvent.getLockWaitNanoseconds());
             status.setInvocations(flowFileEvent.getInvocations());
 
             status.setAverageLineageDuration(flowFileEvent.getAverageLineageMillis());
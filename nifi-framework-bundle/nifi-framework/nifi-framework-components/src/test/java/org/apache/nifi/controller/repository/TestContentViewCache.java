@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import org.apache.nifi.controller.repository.claim.ContentClaim;
+import org.apache.nifi.controller.repository.claim.ResourceClaim;
+import org.apache.nifi.controller.repository.claim.StandardContentClaim;
+import org.apache.nifi.controller.repository.claim.StandardResourceClaim;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestContentViewCache {
+    private final ResourceClaim resourceClaim = new StandardResourceClaim(null, "container", "section", "1", false);
+
+    @Test
+    public void testViewTakenOnlyOnce() {
+        final ContentViewCache cache = new ContentViewCache(1000L);
+        final ContentClaim claim = new StandardContentClaim(resourceClaim, 0L);
+        final List<String> view = List.of("a", "b");
+
+        assertTrue(cache.put(claim, 0L, 10L, view, 100L));
+        assertSame(view, cache.take(claim, 0L, 10L, List.class));
+        assertNull(cache.take(claim, 0L, 10L, List.class));
+        assertEquals(0L, cache.getCachedBytes());
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+    }
+
+    @Test
+    public void testViewNotReturnedForDifferentContent() {
+        final ContentViewCache cache = new ContentViewCache(1000L);
+        final ContentClaim claim = new StandardContentClaim(resourceClaim, 0L);
+        cache.put(claim, 0L, 10L, "view", 100L);
+
+        assertNull(cache.take(claim, 5L, 10L, String.class));
+        assertNull(cache.take(claim, 0L, 12L, String.class));
+        assertNull(cache.take(new StandardContentClaim(resourceClaim, 20L), 0L, 10L, String.class));
+        assertNull(cache.take(claim, 0L, 10L, Integer.class));
+        assertEquals("view", cache.take(claim, 0L, 10L, String.class));
+    }
+
+    @Test
+    public void testOldestViewsEvictedWhenFull() {
+        final ContentViewCache cache = new ContentViewCache(250L);
+        final ContentClaim first = new StandardContentClaim(resourceClaim, 0L);
+        final ContentClaim second = new StandardContentClaim(resourceClaim, 10L);
+        final ContentClaim third = new StandardContentClaim(resourceClaim, 20L);
+
+        cache.put(first, 0L, 10L, "first", 100L);
+        cache.put(second, 0L, 10L, "second", 100L);
+        cache.put(third, 0L, 10L, "third", 100L);
+
+        assertEquals(2, cache.getCachedViewCount());
+        assertEquals(200L, cache.getCachedBytes());
+        assertNull(cache.take(first, 0L, 10L, String.class));
+        assertEquals("second", cache.take(second, 0L, 10L, String.class));
+        assertEquals("third", cache.take(third, 0L, 10L, String.class));
+    }
+
+    @Test
+    public void testViewLargerThanCacheNotCached() {
+        final ContentViewCache cache = new ContentViewCache(100L);
+        final ContentClaim claim = new StandardContentClaim(resourceClaim, 0L);
+
+        assertFalse(cache.put(claim, 0L, 10L, "view", 101L));
+        assertEquals(0, cache.getCachedViewCount());
+    }
+}
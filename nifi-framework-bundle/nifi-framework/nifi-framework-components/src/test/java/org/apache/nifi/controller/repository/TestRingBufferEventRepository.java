@@ -131,6 +131,16 @@ public class TestRingBufferEventRepository {
                 return 0;
             }
 
+            @Override
+            public long getAllocatedBytes() {
+                return 0;
+            }
+
+            @Override
+            public long getLockWaitNanoseconds() {
+                return 0;
+            }
+
             @Override
             public long getContentReadNanoseconds() {
                 return 0;
@@ -44,6 +44,30 @@ public class TestSecondPrecisionEventContainer {
         }
     }
 
+    @Test
+    public void testProfilingMetricsAggregatedAndExpired() {
+        final SecondPrecisionEventContainer container = new SecondPrecisionEventContainer(5);
+        final long startTime = System.currentTimeMillis();
+
+        final StandardFlowFileEvent event = new StandardFlowFileEvent();
+        event.setCpuNanoseconds(10L);
+        event.setAllocatedBytes(1000L);
+        event.setLockWaitNanoseconds(5L);
+
+        for (int j = 0; j < 100; j++) {
+            container.addEvent(event, startTime + (j * 1000));
+        }
+
+        final FlowFileEvent resultAt5Mins = container.generateReport(startTime + 300_000);
+        assertEquals(100 * 10, resultAt5Mins.getCpuNanoseconds());
+        assertEquals(100 * 1000, resultAt5Mins.getAllocatedBytes());
+        assertEquals(100 * 5, resultAt5Mins.getLockWaitNanoseconds());
+
+        final FlowFileEvent resultAt5MinsPlus50Seconds = container.generateReport(startTime + 350_000);
+        assertEquals(50 * 1000, resultAt5MinsPlus50Seconds.getAllocatedBytes());
+        assertEquals(50 * 5, resultAt5MinsPlus50Seconds.getLockWaitNanoseconds());
+    }
+
     @Test
     public void testExpiresOnReportGeneration() {
         final SecondPrecisionEventContainer container = new SecondPrecisionEventContainer(5);
@@ -40,6 +40,10 @@ public interface FlowFileEvent {
 
     long getCpuNanoseconds();
 
+    long getAllocatedBytes();
+
+    long getLockWaitNanoseconds();
+
     long getContentReadNanoseconds();
 
     long getContentWriteNanoseconds();
@@ -53,6 +53,17 @@ public interface UserAwareEventAccess extends EventAccess {
      */
     ProcessGroupStatus getGroupStatus(String groupId, RepositoryStatusReport statusReport, NiFiUser user);
 
+    /**
+     * Returns the status for the components in the specified group with the
+     * specified report. This request is not in the context of a user so the
+     * results will be unfiltered.
+     *
+     * @param groupId group id
+     * @param statusReport report
+     * @return the component status
+     */
+    ProcessGroupStatus getGroupStatus(String groupId, RepositoryStatusReport statusReport);
+
     /**
      * Returns the status for components in the specified group. This request is
      * made by the specified user so the results will be filtered accordingly.
@@ -86,6 +86,7 @@ public class FileSystemSwapManager implements FlowFileSwapManager {
     private static final Logger logger = LoggerFactory.getLogger(FileSystemSwapManager.class);
 
     private final File storageDirectory;
+    private final boolean compressSwapFiles;
     private final FieldCache fieldCache = new CaffeineFieldCache(10_000_000);
 
     // effectively final
@@ -100,13 +101,24 @@ public class FileSystemSwapManager implements FlowFileSwapManager {
      */
     public FileSystemSwapManager() {
         storageDirectory = null;
+        compressSwapFiles = false;
     }
 
     public FileSystemSwapManager(final NiFiProperties nifiProperties) {
-        this(nifiProperties.getFlowFileRepositoryPath());
+        this(nifiProperties.getFlowFileRepositoryPath(), isCompressionEnabled(nifiProperties));
     }
 
     public FileSystemSwapManager(final Path flowFileRepoPath) {
+        this(flowFileRepoPath, false);
+    }
+
+    /**
+     * @param flowFileRepoPath the path of the FlowFile Repository, under which swap files are stored
+     * @param compressSwapFiles whether the FlowFiles in new swap files should be LZ4-compressed. Swap files are read according to the
+     *            format they were written in, regardless of this setting.
+     */
+    public FileSystemSwapManager(final Path flowFileRepoPath, final boolean compressSwapFiles) {
+        this.compressSwapFiles = compressSwapFiles;
         this.storageDirectory = flowFileRepoPath.resolve("swap").toFile();
         if (!storageDirectory.exists() && !storageDirectory.mkdirs()) {
             throw new RuntimeException("Cannot create Swap Storage directory " + storageDirectory.getAbsolutePath());
@@ -114,6 +126,18 @@ public class FileSystemSwapManager implements FlowFileSwapManager {
     }
 
 
+    private static boolean isCompressionEnabled(final NiFiProperties nifiProperties) {
+        final String codec = nifiProperties.getProperty(NiFiProperties.SWAP_COMPRESSION_CODEC, NiFiProperties.DEFAULT_SWAP_COMPRESSION_CODEC).trim();
+        if ("LZ4".equalsIgnoreCase(codec)) {
+            return true;
+        }
+        if ("NONE".equalsIgnoreCase(codec)) {
+            return false;
+        }
+
+        throw new IllegalArgumentException("Invalid value '" + codec + "' for property " + NiFiProperties.SWAP_COMPRESSION_CODEC + "; valid values are NONE, LZ4");
+    }
+
     @Override
     public synchronized void initialize(final SwapManagerInitializationContext initializationContext) {
         this.claimManager = initializationContext.getResourceClaimManager();
@@ -143,7 +167,7 @@ public class FileSystemSwapManager implements FlowFileSwapManager {
         final File swapTempFile = new File(swapFile.getParentFile(), swapFile.getName() + ".part");
         final String swapLocation = swapFile.getAbsolutePath();
 
-        final SwapSerializer serializer = new SchemaSwapSerializer();
+        final SwapSerializer serializer = new SchemaSwapSerializer(compressSwapFiles);
         try (final OutputStream os = getOutputStream(swapTempFile);
             final OutputStream out = new BufferedOutputStream(os)) {
             out.write(MAGIC_HEADER);
@@ -169,6 +193,11 @@ public class FileSystemSwapManager implements FlowFileSwapManager {
 
     @Override
     public SwapContents swapIn(final String swapLocation, final FlowFileQueue flowFileQueue) throws IOException {
+        return swapIn(swapLocation, flowFileQueue, null);
+    }
+
+    @Override
+    public SwapContents swapIn(final String swapLocation, final FlowFileQueue flowFileQueue, final SwapContents peekedContents) throws IOException {
         final File swapFile = new File(swapLocation);
 
         final boolean validLocation = flowFileRepository.isValidSwapLocationSuffix(swapFile.getName());
@@ -180,7 +209,7 @@ public class FileSystemSwapManager implements FlowFileSwapManager {
             return new StandardSwapContents(swapSummary, Collections.emptyList());
         }
 
-        final SwapContents swapContents = peek(swapLocation, flowFileQueue);
+        final SwapContents swapContents = peekedContents == null ? peek(swapLocation, flowFileQueue) : peekedContents;
         flowFileRepository.swapFlowFilesIn(swapFile.getAbsolutePath(), swapContents.getFlowFiles(), flowFileQueue);
 
         if (!swapFile.delete()) {
@@ -385,6 +414,9 @@ public class FileSystemSwapManager implements FlowFileSwapManager {
             if (serializationName.equals(SchemaSwapDeserializer.getSerializationName())) {
                 return new SchemaSwapDeserializer(fieldCache);
             }
+            if (serializationName.equals(SchemaSwapDeserializer.getCompressedSerializationName())) {
+                return new SchemaSwapDeserializer(fieldCache, true);
+            }
 
             throw new IOException("Cannot find a suitable Deserializer for swap file, written with Serialization Name '" + serializationName + "'");
         } else {
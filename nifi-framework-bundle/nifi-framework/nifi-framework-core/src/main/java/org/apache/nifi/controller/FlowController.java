@@ -81,6 +81,7 @@ import org.apache.nifi.controller.queue.clustered.server.LoadBalanceProtocol;
 import org.apache.nifi.controller.queue.clustered.server.StandardLoadBalanceProtocol;
 import org.apache.nifi.controller.reporting.ReportingTaskProvider;
 import org.apache.nifi.controller.repository.ContentRepository;
+import org.apache.nifi.controller.repository.ContentViewCache;
 import org.apache.nifi.controller.repository.CounterRepository;
 import org.apache.nifi.controller.repository.FlowFileEventRepository;
 import org.apache.nifi.controller.repository.FlowFileRecord;
@@ -122,6 +123,7 @@ import org.apache.nifi.controller.service.StandardControllerServiceProvider;
 import org.apache.nifi.controller.service.StandardControllerServiceResolver;
 import org.apache.nifi.controller.state.server.ZooKeeperStateServer;
 import org.apache.nifi.controller.status.NodeStatus;
+import org.apache.nifi.controller.status.ProcessGroupStatus;
 import org.apache.nifi.controller.status.StorageStatus;
 import org.apache.nifi.controller.status.analytics.CachingConnectionStatusAnalyticsEngine;
 import org.apache.nifi.controller.status.analytics.ConnectionStatusAnalytics;
@@ -161,6 +163,7 @@ import org.apache.nifi.nar.PythonBundle;
 import org.apache.nifi.parameter.ParameterContextManager;
 import org.apache.nifi.parameter.ParameterProvider;
 import org.apache.nifi.parameter.StandardParameterContextManager;
+import org.apache.nifi.processor.DataUnit;
 import org.apache.nifi.processor.Processor;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.StandardProcessContext;
@@ -312,6 +315,7 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
     private final ClusterCoordinator clusterCoordinator;
     private final FlowEngine validationThreadPool;
     private final FlowEngine flowAnalysisThreadPool;
+    private final FlowEngine swapInPrefetchThreadPool;
     private final ValidationTrigger validationTrigger;
     private final ReloadComponent reloadComponent;
     private final ProvenanceAuthorizableFactory provenanceAuthorizableFactory;
@@ -532,7 +536,11 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
         processScheduler = new StandardProcessScheduler(timerDrivenEngineRef.get(), this, stateManagerProvider, this.nifiProperties, lifecycleStateManager);
 
         parameterContextManager = new StandardParameterContextManager();
-        repositoryContextFactory = new RepositoryContextFactory(contentRepository, flowFileRepository, flowFileEventRepository, counterRepositoryRef.get(), provenanceRepository, stateManagerProvider);
+        final String contentViewCacheSize = nifiProperties.getProperty(NiFiProperties.CONTENT_VIEW_CACHE_MAX_SIZE, NiFiProperties.DEFAULT_CONTENT_VIEW_CACHE_MAX_SIZE);
+        final long contentViewCacheBytes = DataUnit.parseDataSize(contentViewCacheSize, DataUnit.B).longValue();
+        final ContentViewCache contentViewCache = contentViewCacheBytes > 0 ? new ContentViewCache(contentViewCacheBytes) : null;
+        repositoryContextFactory = new RepositoryContextFactory(contentRepository, flowFileRepository, flowFileEventRepository, counterRepositoryRef.get(), provenanceRepository,
+            stateManagerProvider, contentViewCache);
 
         this.flowAnalysisThreadPool = new FlowEngine(1, "Background Flow Analysis", true);
         if (ruleViolationsManager != null) {
@@ -617,6 +625,7 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
         instanceId = ComponentIdGenerator.generateId().toString();
 
         this.validationThreadPool = new FlowEngine(5, "Validate Components", true);
+        this.swapInPrefetchThreadPool = new FlowEngine(2, "Swap-In Prefetch", true);
         this.validationTrigger = new StandardValidationTrigger(validationThreadPool, this::isInitialized);
 
         if (remoteInputSocketPort == null) {
@@ -1465,6 +1474,7 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
 
             validationThreadPool.shutdown();
             flowAnalysisThreadPool.shutdown();
+            swapInPrefetchThreadPool.shutdownNow();
             clusterTaskExecutor.shutdownNow();
 
             if (zooKeeperStateServer != null) {
@@ -2236,10 +2246,11 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
                 if (clusterCoordinator == null) {
                     flowFileQueue = new StandardFlowFileQueue(id, flowFileRepository, provenanceRepository, resourceClaimManager, processScheduler, swapManager,
                             eventReporter, nifiProperties.getQueueSwapThreshold(),
-                            processGroup.getDefaultFlowFileExpiration(), processGroup.getDefaultBackPressureObjectThreshold(), processGroup.getDefaultBackPressureDataSizeThreshold());
+                            processGroup.getDefaultFlowFileExpiration(), processGroup.getDefaultBackPressureObjectThreshold(), processGroup.getDefaultBackPressureDataSizeThreshold(),
+                            swapInPrefetchThreadPool);
                 } else {
                     flowFileQueue = new SocketLoadBalancedFlowFileQueue(id, processScheduler, flowFileRepository, provenanceRepository, contentRepository, resourceClaimManager,
-                            clusterCoordinator, loadBalanceClientRegistry, swapManager, nifiProperties.getQueueSwapThreshold(), eventReporter);
+                            clusterCoordinator, loadBalanceClientRegistry, swapManager, nifiProperties.getQueueSwapThreshold(), eventReporter, swapInPrefetchThreadPool);
 
                     flowFileQueue.setFlowFileExpiration(processGroup.getDefaultFlowFileExpiration());
                     flowFileQueue.setBackPressureObjectThreshold(processGroup.getDefaultBackPressureObjectThreshold());
@@ -3220,7 +3231,29 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
             final QueueSize queueSize = bean.getRootGroup().getQueueSize();
             hbPayload.setTotalFlowFileCount(queueSize.getObjectCount());
             hbPayload.setTotalFlowFileBytes(queueSize.getByteCount());
-            hbPayload.setClusterStatus(clusterCoordinator.getConnectionStatuses());
+
+            // Once the Cluster Coordinator supports binary payloads, the cluster status can be replaced by its digest while both views agree
+            final List<NodeConnectionStatus> clusterStatus = clusterCoordinator.getConnectionStatuses();
+            final boolean binaryPayload = heartbeater.getHeartbeatPayloadVersion() >= HeartbeatPayload.BINARY_ENCODING_VERSION;
+            if (binaryPayload) {
+                final byte[] clusterStatusDigest = HeartbeatPayload.computeClusterStatusDigest(clusterStatus);
+                if (heartbeater.isClusterStatusSynchronized(clusterStatusDigest)) {
+                    hbPayload.setClusterStatusDigest(clusterStatusDigest);
+                } else {
+                    hbPayload.setClusterStatus(clusterStatus);
+                }
+            } else {
+                hbPayload.setClusterStatus(clusterStatus);
+            }
+
+            // include the unfiltered status of the flow so that the Cluster Coordinator can answer status requests without replicating them
+            if (StringUtils.isNotBlank(nifiProperties.getClusterProtocolHeartbeatStatusMaxAge())) {
+                final RepositoryStatusReport statusReport = flowFileEventRepository.reportTransferEvents(System.currentTimeMillis());
+                final ProcessGroupStatus flowStatus = eventAccess.getGroupStatus(bean.getRootGroup().getIdentifier(), statusReport);
+                if (flowStatus != null) {
+                    hbPayload.setFlowStatus(HeartbeatPayload.encodeFlowStatus(flowStatus));
+                }
+            }
 
             // create heartbeat message
             final NodeIdentifier nodeId = getNodeId();
@@ -3229,7 +3262,7 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
                 return null;
             }
 
-            final Heartbeat heartbeat = new Heartbeat(nodeId, connectionStatus, hbPayload.marshal());
+            final Heartbeat heartbeat = new Heartbeat(nodeId, connectionStatus, binaryPayload ? hbPayload.marshalBinary() : hbPayload.marshal());
             final HeartbeatMessage message = new HeartbeatMessage();
             message.setHeartbeat(heartbeat);
 
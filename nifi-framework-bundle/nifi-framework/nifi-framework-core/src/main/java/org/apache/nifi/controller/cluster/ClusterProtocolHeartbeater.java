@@ -19,6 +19,7 @@ package org.apache.nifi.controller.cluster;
 import org.apache.nifi.cluster.coordination.ClusterCoordinator;
 import org.apache.nifi.cluster.coordination.node.ClusterRoles;
 import org.apache.nifi.cluster.coordination.node.NodeConnectionStatus;
+import org.apache.nifi.cluster.protocol.Heartbeat;
 import org.apache.nifi.cluster.protocol.HeartbeatPayload;
 import org.apache.nifi.cluster.protocol.NodeIdentifier;
 import org.apache.nifi.cluster.protocol.NodeProtocolSender;
@@ -32,6 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -52,6 +54,11 @@ public class ClusterProtocolHeartbeater implements Heartbeater {
     private final LeaderElectionManager electionManager;
     private final ClusterCoordinator clusterCoordinator;
 
+    // State negotiated with the current Cluster Coordinator; reset whenever heartbeats are sent to a different address
+    private volatile String negotiatedAddress;
+    private volatile int heartbeatPayloadVersion = 0;
+    private volatile byte[] synchronizedClusterStatusDigest;
+
     public ClusterProtocolHeartbeater(final NodeProtocolSender protocolSender, final ClusterCoordinator clusterCoordinator, final LeaderElectionManager electionManager) {
         this.protocolSender = protocolSender;
         this.clusterCoordinator = clusterCoordinator;
@@ -65,6 +72,22 @@ public class ClusterProtocolHeartbeater implements Heartbeater {
     }
 
 
+    @Override
+    public int getHeartbeatPayloadVersion() {
+        return heartbeatPayloadVersion;
+    }
+
+    @Override
+    public boolean isClusterStatusSynchronized(final byte[] clusterStatusDigest) {
+        return heartbeatPayloadVersion > 0 && Arrays.equals(synchronizedClusterStatusDigest, clusterStatusDigest);
+    }
+
+    private void resetNegotiatedState() {
+        negotiatedAddress = null;
+        heartbeatPayloadVersion = 0;
+        synchronizedClusterStatusDigest = null;
+    }
+
     @Override
     public synchronized void send(final HeartbeatMessage heartbeatMessage) throws IOException {
         final long sendStart = System.nanoTime();
@@ -72,15 +95,49 @@ public class ClusterProtocolHeartbeater implements Heartbeater {
         final String heartbeatAddress = getHeartbeatAddress();
         final long findCoordinatorNanos = System.nanoTime() - findCoordinatorStart;
 
-        final HeartbeatResponseMessage responseMessage = protocolSender.heartbeat(heartbeatMessage, heartbeatAddress);
-
         final byte[] payloadBytes = heartbeatMessage.getHeartbeat().getPayload();
         final HeartbeatPayload payload = HeartbeatPayload.unmarshal(payloadBytes);
-        final List<NodeConnectionStatus> nodeStatusList = payload.getClusterStatus();
+
+        if (!heartbeatAddress.equals(negotiatedAddress)) {
+            // The Cluster Coordinator changed. Fall back to XML until the new Cluster Coordinator indicates what it supports.
+            final boolean binaryPayload = heartbeatPayloadVersion > 0;
+            resetNegotiatedState();
+
+            if (binaryPayload) {
+                if (payload.getClusterStatus() == null) {
+                    payload.setClusterStatus(clusterCoordinator.getConnectionStatuses());
+                    payload.setClusterStatusDigest(null);
+                }
+
+                final Heartbeat heartbeat = heartbeatMessage.getHeartbeat();
+                heartbeatMessage.setHeartbeat(new Heartbeat(heartbeat.getNodeIdentifier(), heartbeat.getConnectionStatus(), payload.marshal()));
+            }
+        }
+
+        final HeartbeatResponseMessage responseMessage;
+        try {
+            responseMessage = protocolSender.heartbeat(heartbeatMessage, heartbeatAddress);
+        } catch (final ProtocolException e) {
+            resetNegotiatedState();
+            throw e;
+        }
+
+        final List<NodeConnectionStatus> nodeStatusList = payload.getClusterStatus() == null ? clusterCoordinator.getConnectionStatuses() : payload.getClusterStatus();
         final Map<NodeIdentifier, Long> updateIdMap = nodeStatusList.stream().collect(
                 Collectors.toMap(status -> status.getNodeIdentifier(), status -> status.getUpdateIdentifier()));
 
         final List<NodeConnectionStatus> updatedStatuses = responseMessage.getUpdatedNodeStatuses();
+        final Integer responsePayloadVersion = responseMessage.getHeartbeatPayloadVersion();
+        heartbeatPayloadVersion = responsePayloadVersion == null ? 0 : Math.min(responsePayloadVersion, HeartbeatPayload.BINARY_ENCODING_VERSION);
+        negotiatedAddress = heartbeatAddress;
+
+        // The Cluster Coordinator agreed with our view of the cluster only if it did not send back any updates
+        if (updatedStatuses == null || updatedStatuses.isEmpty()) {
+            synchronizedClusterStatusDigest = payload.getClusterStatus() == null ? payload.getClusterStatusDigest() : HeartbeatPayload.computeClusterStatusDigest(payload.getClusterStatus());
+        } else {
+            synchronizedClusterStatusDigest = null;
+        }
+
         if (updatedStatuses != null) {
             for (final NodeConnectionStatus updatedStatus : updatedStatuses) {
                 final NodeIdentifier nodeId = updatedStatus.getNodeIdentifier();
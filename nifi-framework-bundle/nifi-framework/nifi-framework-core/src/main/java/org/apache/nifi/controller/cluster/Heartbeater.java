@@ -42,4 +42,23 @@ public interface Heartbeater extends Closeable {
      * @return the address that heartbeats are being sent to
      */
     String getHeartbeatAddress() throws IOException;
+
+    /**
+     * @return the version of the binary heartbeat payload encoding that the recipient of heartbeats has indicated that it supports,
+     * or 0 if heartbeat payloads must be sent as XML
+     */
+    default int getHeartbeatPayloadVersion() {
+        return 0;
+    }
+
+    /**
+     * Indicates whether the recipient of heartbeats is known to have the same view of the cluster as the cluster status with the given digest,
+     * in which case a heartbeat may carry the digest in place of the full cluster status
+     *
+     * @param clusterStatusDigest the digest of the cluster status that would be sent
+     * @return <code>true</code> if the digest may be sent in place of the full cluster status, <code>false</code> otherwise
+     */
+    default boolean isClusterStatusSynchronized(final byte[] clusterStatusDigest) {
+        return false;
+    }
 }
@@ -19,6 +19,7 @@ package org.apache.nifi.controller.lifecycle;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.nifi.components.state.Scope;
 import org.apache.nifi.components.state.StateManager;
@@ -58,6 +59,12 @@ public class TaskTerminationAwareStateManager implements StateManager {
         return stateManager.replace(oldValue, newValue, scope);
     }
 
+    @Override
+    public boolean replaceEntries(final StateMap oldValue, final Map<String, String> updatedEntries, final Set<String> removedKeys, final Scope scope) throws IOException {
+        verifyNotTerminated();
+        return stateManager.replaceEntries(oldValue, updatedEntries, removedKeys, scope);
+    }
+
     @Override
     public void setState(final Map<String, String> state, final Scope scope) throws IOException {
         verifyNotTerminated();
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.queue;
+
+import org.apache.nifi.controller.repository.FlowFileSwapManager;
+import org.apache.nifi.controller.repository.SwapContents;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Reads and deserializes the next swap file of a {@link SwappablePriorityQueue} in the background, so that the FlowFiles are already in
+ * memory when the active queue runs out and swapping them in only requires updating the FlowFile Repository and the queue.
+ * </p>
+ *
+ * <p>
+ * A swap file is prefetched once the active queue holds fewer FlowFiles than are expected to be consumed in twice the time that the
+ * previous prefetch took, and in any case once it holds no more than a minimum number of FlowFiles. At most one swap file per queue
+ * is held in memory this way.
+ * </p>
+ *
+ * <p>
+ * The contents are only used if the background read has completed by the time the active queue runs out. Otherwise the read is
+ * cancelled and the swap file is read synchronously, so that the queue's write lock is never held while waiting on the executor.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe. With the exception of the background read itself, all methods must be called while holding the
+ * queue's write lock.
+ * </p>
+ */
+class SwapInPrefetcher {
+    private static final Logger logger = LoggerFactory.getLogger(SwapInPrefetcher.class);
+
+    private static final long DEFAULT_SWAP_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(500L);
+    private static final long RATE_SAMPLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+    private static final double RATE_SMOOTHING_FACTOR = 0.3D;
+
+    private final ExecutorService executor;
+    private final FlowFileSwapManager swapManager;
+    private final FlowFileQueue flowFileQueue;
+    private final int minimumPrefetchCount;
+
+    private String prefetchLocation;
+    private Future<SwapContents> prefetchFuture;
+    private volatile long swapInNanos = DEFAULT_SWAP_IN_NANOS;
+
+    private int lastActiveCount = -1;
+    private long sampleStartNanos;
+    private int consumedInSample;
+    private double consumedPerNano;
+
+    /**
+     * @param executor the executor used to read swap files in the background, or <code>null</code> to disable prefetching
+     * @param swapManager the swap manager used to read swap files
+     * @param flowFileQueue the queue whose swap files are read
+     * @param minimumPrefetchCount the number of FlowFiles in the active queue at or below which the next swap file is always prefetched
+     */
+    SwapInPrefetcher(final ExecutorService executor, final FlowFileSwapManager swapManager, final FlowFileQueue flowFileQueue, final int minimumPrefetchCount) {
+        this.executor = executor;
+        this.swapManager = swapManager;
+        this.flowFileQueue = flowFileQueue;
+        this.minimumPrefetchCount = minimumPrefetchCount;
+    }
+
+    /**
+     * Records the number of FlowFiles that are currently in the active queue and, if the active queue is expected to run out before the
+     * next swap file could be read, begins reading that swap file in the background
+     *
+     * @param activeCount the number of FlowFiles in the active queue
+     * @param nextSwapLocation the location of the swap file that will be swapped in next
+     */
+    void onActiveQueueSize(final int activeCount, final String nextSwapLocation) {
+        if (executor == null) {
+            return;
+        }
+
+        updateConsumptionRate(activeCount);
+
+        if (prefetchFuture != null) {
+            if (nextSwapLocation.equals(prefetchLocation)) {
+                return;
+            }
+
+            // The swap file that was prefetched is no longer the next one to be swapped in, so its contents are of no use.
+            cancel();
+        }
+
+        final double expectedConsumption = consumedPerNano * swapInNanos * 2;
+        if (activeCount > minimumPrefetchCount && activeCount > expectedConsumption) {
+            return;
+        }
+
+        logger.debug("Prefetching Swap File {} for {} with {} FlowFiles remaining in the active queue", nextSwapLocation, flowFileQueue, activeCount);
+        prefetchLocation = nextSwapLocation;
+        try {
+            prefetchFuture = executor.submit(() -> prefetch(nextSwapLocation));
+        } catch (final RejectedExecutionException e) {
+            logger.debug("Unable to prefetch Swap File {} for {} because the executor has been shut down", nextSwapLocation, flowFileQueue);
+            prefetchLocation = null;
+        }
+    }
+
+    private SwapContents prefetch(final String swapLocation) throws Exception {
+        final long start = System.nanoTime();
+        final SwapContents swapContents = swapManager.peek(swapLocation, flowFileQueue);
+        swapInNanos = Math.max(1L, System.nanoTime() - start);
+        return swapContents;
+    }
+
+    private void updateConsumptionRate(final int activeCount) {
+        final long now = System.nanoTime();
+        if (lastActiveCount < 0) {
+            lastActiveCount = activeCount;
+            sampleStartNanos = now;
+            return;
+        }
+
+        consumedInSample += Math.max(0, lastActiveCount - activeCount);
+        lastActiveCount = activeCount;
+
+        final long sampleNanos = now - sampleStartNanos;
+        if (sampleNanos >= RATE_SAMPLE_NANOS) {
+            final double sampleRate = (double) consumedInSample / sampleNanos;
+            consumedPerNano = consumedPerNano == 0D ? sampleRate : RATE_SMOOTHING_FACTOR * sampleRate + (1 - RATE_SMOOTHING_FACTOR) * consumedPerNano;
+            consumedInSample = 0;
+            sampleStartNanos = now;
+        }
+    }
+
+    /**
+     * Returns the prefetched contents of the swap file at the given location if they have finished being read. This method never waits
+     * for the background read, as the caller holds the queue's write lock.
+     *
+     * @param swapLocation the location of the swap file that is being swapped in
+     * @return the contents of the swap file, or <code>null</code> if the swap file was not prefetched, has not yet been read, or could not be
+     *         read in the background, in which case it should be read again so that any failure is handled by the caller
+     */
+    SwapContents take(final String swapLocation) {
+        if (prefetchFuture == null) {
+            return null;
+        }
+
+        if (!swapLocation.equals(prefetchLocation)) {
+            cancel();
+            return null;
+        }
+
+        final Future<SwapContents> future = prefetchFuture;
+        prefetchFuture = null;
+        prefetchLocation = null;
+        lastActiveCount = -1;
+
+        if (!future.isDone()) {
+            logger.debug("Prefetch of Swap File {} for {} has not completed; it will be read synchronously", swapLocation, flowFileQueue);
+            future.cancel(false);
+            return null;
+        }
+
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            logger.debug("Failed to prefetch Swap File {} for {}; it will be read again", swapLocation, flowFileQueue, e.getCause());
+            return null;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Discards any swap file contents that have been or are being prefetched
+     */
+    void cancel() {
+        if (prefetchFuture != null) {
+            prefetchFuture.cancel(false);
+        }
+
+        prefetchFuture = null;
+        prefetchLocation = null;
+    }
+}
@@ -49,6 +49,7 @@ import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -92,8 +93,16 @@ public class SwappablePriorityQueue {
     private final Map<String, Long> minQueueDateInSwapLocation = new HashMap<>();
     private final Map<String, Long> totalQueueDateInSwapLocation = new HashMap<>();
 
+    // Reads the next swap file in the background while the active queue drains. Guarded by lock.
+    private final SwapInPrefetcher swapInPrefetcher;
+
     public SwappablePriorityQueue(final FlowFileSwapManager swapManager, final int swapThreshold, final EventReporter eventReporter, final FlowFileQueue flowFileQueue,
         final DropFlowFileAction dropAction, final String swapPartitionName) {
+        this(swapManager, swapThreshold, eventReporter, flowFileQueue, dropAction, swapPartitionName, null);
+    }
+
+    public SwappablePriorityQueue(final FlowFileSwapManager swapManager, final int swapThreshold, final EventReporter eventReporter, final FlowFileQueue flowFileQueue,
+        final DropFlowFileAction dropAction, final String swapPartitionName, final ExecutorService swapInPrefetchExecutor) {
         this.swapManager = swapManager;
         this.swapThreshold = swapThreshold;
 
@@ -103,6 +112,7 @@ public class SwappablePriorityQueue {
         this.flowFileQueue = flowFileQueue;
         this.dropAction = dropAction;
         this.swapPartitionName = swapPartitionName;
+        this.swapInPrefetcher = new SwapInPrefetcher(swapInPrefetchExecutor, swapManager, flowFileQueue, SWAP_RECORD_POLL_SIZE / 10);
 
         final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(true);
         readLock = new TimedLock(lock.readLock(), flowFileQueue.getIdentifier() + " Read Lock", 100);
@@ -291,6 +301,10 @@ public class SwappablePriorityQueue {
         // Swap Queue to the Active Queue. However, we don't do this if there are FlowFiles already swapped out
         // to disk, because we want them to be swapped back in in the same order that they were swapped out.
         if (!activeQueue.isEmpty()) {
+            // If FlowFiles are swapped out, give the prefetcher a chance to start reading the next swap file before the active queue runs out.
+            if (!swapLocations.isEmpty()) {
+                swapInPrefetcher.onActiveQueueSize(activeQueue.size(), swapLocations.get(0));
+            }
             return;
         }
 
@@ -358,7 +372,12 @@ public class SwappablePriorityQueue {
         SwapContents swapContents;
         try {
             logger.debug("Attempting to swap in {}; all swap locations = {}", swapLocation, swapLocations);
-            swapContents = swapManager.swapIn(swapLocation, flowFileQueue);
+            final SwapContents prefetchedContents = swapInPrefetcher.take(swapLocation);
+            if (prefetchedContents == null) {
+                swapContents = swapManager.swapIn(swapLocation, flowFileQueue);
+            } else {
+                swapContents = swapManager.swapIn(swapLocation, flowFileQueue, prefetchedContents);
+            }
             swapLocations.remove(0);
             minQueueDateInSwapLocation.remove(swapLocation);
             totalQueueDateInSwapLocation.remove(swapLocation);
@@ -778,6 +797,7 @@ public class SwappablePriorityQueue {
 
         writeLock.lock();
         try {
+            swapInPrefetcher.cancel();
             dropRequest.setState(DropFlowFileState.DROPPING_FLOWFILES);
             logger.debug("For DropFlowFileRequest {}, original size is {}", requestIdentifier, size());
 
@@ -1149,6 +1169,7 @@ public class SwappablePriorityQueue {
     public FlowFileQueueContents packageForRebalance(final String newPartitionName) {
         writeLock.lock();
         try {
+            swapInPrefetcher.cancel();
             final List<FlowFileRecord> activeRecords = new ArrayList<>(this.activeQueue);
 
             final List<String> updatedSwapLocations = new ArrayList<>(swapLocations.size());
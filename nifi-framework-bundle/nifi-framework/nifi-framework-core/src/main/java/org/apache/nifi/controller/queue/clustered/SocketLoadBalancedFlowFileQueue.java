@@ -87,6 +87,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -106,6 +107,7 @@ public class SocketLoadBalancedFlowFileQueue extends AbstractFlowFileQueue imple
     private final LocalQueuePartition localPartition;
     private final RebalancingPartition rebalancingPartition;
     private final FlowFileSwapManager swapManager;
+    private final ExecutorService swapInPrefetchExecutor;
     private final EventReporter eventReporter;
     private final ClusterCoordinator clusterCoordinator;
     private final AsyncLoadBalanceClientRegistry clientRegistry;
@@ -128,17 +130,25 @@ public class SocketLoadBalancedFlowFileQueue extends AbstractFlowFileQueue imple
                                            final ProvenanceEventRepository provRepo, final ContentRepository contentRepo, final ResourceClaimManager resourceClaimManager,
                                            final ClusterCoordinator clusterCoordinator, final AsyncLoadBalanceClientRegistry clientRegistry, final FlowFileSwapManager swapManager,
                                            final int swapThreshold, final EventReporter eventReporter) {
+        this(identifier, scheduler, flowFileRepo, provRepo, contentRepo, resourceClaimManager, clusterCoordinator, clientRegistry, swapManager, swapThreshold, eventReporter, null);
+    }
+
+    public SocketLoadBalancedFlowFileQueue(final String identifier, final ProcessScheduler scheduler, final FlowFileRepository flowFileRepo,
+                                           final ProvenanceEventRepository provRepo, final ContentRepository contentRepo, final ResourceClaimManager resourceClaimManager,
+                                           final ClusterCoordinator clusterCoordinator, final AsyncLoadBalanceClientRegistry clientRegistry, final FlowFileSwapManager swapManager,
+                                           final int swapThreshold, final EventReporter eventReporter, final ExecutorService swapInPrefetchExecutor) {
 
         super(identifier, scheduler, flowFileRepo, provRepo, resourceClaimManager);
         this.eventReporter = eventReporter;
         this.swapManager = swapManager;
+        this.swapInPrefetchExecutor = swapInPrefetchExecutor;
         this.flowFileRepo = flowFileRepo;
         this.provRepo = provRepo;
         this.contentRepo = contentRepo;
         this.clusterCoordinator = clusterCoordinator;
         this.clientRegistry = clientRegistry;
 
-        localPartition = new SwappablePriorityQueueLocalPartition(swapManager, swapThreshold, eventReporter, this, this::drop);
+        localPartition = new SwappablePriorityQueueLocalPartition(swapManager, swapThreshold, eventReporter, this, this::drop, swapInPrefetchExecutor);
         rebalancingPartition = new StandardRebalancingPartition(swapManager, swapThreshold, eventReporter, this, this::drop);
 
         // Create a RemoteQueuePartition for each node
@@ -370,7 +380,7 @@ public class SocketLoadBalancedFlowFileQueue extends AbstractFlowFileQueue imple
     }
 
     private QueuePartition createRemotePartition(final NodeIdentifier nodeId) {
-        final SwappablePriorityQueue partitionQueue = new SwappablePriorityQueue(swapManager, NODE_SWAP_THRESHOLD, eventReporter, this, this::drop, nodeId.getId());
+        final SwappablePriorityQueue partitionQueue = new SwappablePriorityQueue(swapManager, NODE_SWAP_THRESHOLD, eventReporter, this, this::drop, nodeId.getId(), swapInPrefetchExecutor);
 
         final TransferFailureDestination failureDestination = new TransferFailureDestination() {
             @Override
@@ -39,6 +39,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -53,7 +54,12 @@ public class SwappablePriorityQueueLocalPartition implements LocalQueuePartition
 
     public SwappablePriorityQueueLocalPartition(final FlowFileSwapManager swapManager, final int swapThreshold, final EventReporter eventReporter,
             final FlowFileQueue flowFileQueue, final DropFlowFileAction dropAction) {
-        this.priorityQueue = new SwappablePriorityQueue(swapManager, swapThreshold, eventReporter, flowFileQueue, dropAction, SWAP_PARTITION_NAME);
+        this(swapManager, swapThreshold, eventReporter, flowFileQueue, dropAction, null);
+    }
+
+    public SwappablePriorityQueueLocalPartition(final FlowFileSwapManager swapManager, final int swapThreshold, final EventReporter eventReporter,
+            final FlowFileQueue flowFileQueue, final DropFlowFileAction dropAction, final ExecutorService swapInPrefetchExecutor) {
+        this.priorityQueue = new SwappablePriorityQueue(swapManager, swapThreshold, eventReporter, flowFileQueue, dropAction, SWAP_PARTITION_NAME, swapInPrefetchExecutor);
         this.flowFileQueue = flowFileQueue;
         this.description = "SwappablePriorityQueueLocalPartition[queueId=" + flowFileQueue.getIdentifier() + "]";
     }
@@ -304,5 +304,15 @@ public class BatchingSessionFactory implements ProcessSessionFactory {
         public OutputStream write(final FlowFile source) {
             return session.write(source);
         }
+
+        @Override
+        public void cacheContentView(final FlowFile flowFile, final Object view, final long estimatedSize) {
+            session.cacheContentView(flowFile, view, estimatedSize);
+        }
+
+        @Override
+        public <T> T takeContentView(final FlowFile flowFile, final Class<T> viewType) {
+            return session.takeContentView(flowFile, viewType);
+        }
     }
 }
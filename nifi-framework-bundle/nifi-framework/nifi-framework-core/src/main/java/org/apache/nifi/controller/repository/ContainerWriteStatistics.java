@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks how quickly content is being written to a single container of the {@link FileSystemRepository}: an exponentially
+ * weighted moving average of the time taken to write each byte and of the size of each write, along with the number of writes
+ * and bytes that are currently in flight. Latency is normalized per byte so that containers receiving writes of different sizes
+ * can be compared. This class is thread-safe.
+ */
+class ContainerWriteStatistics {
+    private static final double SMOOTHING_FACTOR = 0.05D;
+
+    private final AtomicLong averageNanosPerByteBits = new AtomicLong(Double.doubleToLongBits(0D));
+    private final AtomicLong averageWriteBytesBits = new AtomicLong(Double.doubleToLongBits(0D));
+    private final AtomicLong inFlightBytes = new AtomicLong(0L);
+    private final AtomicLong inFlightWrites = new AtomicLong(0L);
+
+    void beginWrite(final long bytes) {
+        inFlightBytes.addAndGet(bytes);
+        inFlightWrites.incrementAndGet();
+    }
+
+    void endWrite(final long bytes, final long nanos) {
+        inFlightBytes.addAndGet(-bytes);
+        inFlightWrites.decrementAndGet();
+
+        if (bytes > 0) {
+            updateAverage(averageNanosPerByteBits, (double) nanos / bytes);
+            updateAverage(averageWriteBytesBits, bytes);
+        }
+    }
+
+    private static void updateAverage(final AtomicLong averageBits, final double sample) {
+        long previousBits;
+        long updatedBits;
+        do {
+            previousBits = averageBits.get();
+            final double previous = Double.longBitsToDouble(previousBits);
+            final double updated = previous == 0D ? sample : previous + SMOOTHING_FACTOR * (sample - previous);
+            updatedBits = Double.doubleToLongBits(updated);
+        } while (!averageBits.compareAndSet(previousBits, updatedBits));
+    }
+
+    /**
+     * @return the moving average of the number of nanoseconds taken to write each byte to the container
+     */
+    double getAverageNanosPerByte() {
+        return Double.longBitsToDouble(averageNanosPerByteBits.get());
+    }
+
+    long getInFlightBytes() {
+        return inFlightBytes.get();
+    }
+
+    long getInFlightWrites() {
+        return inFlightWrites.get();
+    }
+
+    /**
+     * @return an estimate of how long a new write of average size to the container would take, assuming that it has to wait for the bytes
+     *         that are in flight to be written first
+     */
+    double getExpectedWriteNanos() {
+        final double averageWriteBytes = Double.longBitsToDouble(averageWriteBytesBits.get());
+        return getAverageNanosPerByte() * (inFlightBytes.get() + averageWriteBytes);
+    }
+}
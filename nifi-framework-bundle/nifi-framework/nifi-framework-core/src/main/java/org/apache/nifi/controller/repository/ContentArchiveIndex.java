@@ -0,0 +1,439 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <p>
+ * An append-only index of the files that have been moved into the archive directories of a single container of the
+ * {@link FileSystemRepository}. Entries are appended in the order in which claims are archived and are consumed from the
+ * head of the index as the archived files are destroyed. This allows archive expiration to determine which files should be
+ * removed next without walking the archive directories.
+ * </p>
+ *
+ * <p>
+ * The index is stored in the root of the container as {@value #INDEX_FILENAME}. The file consists of an encoding version followed by
+ * one record per archived file: the time at which the file was archived, the size of the file, and the path of the file relative to the container.
+ * Because entries are only ever removed from the head, removal is recorded by persisting the offset of the first live entry to
+ * {@value #HEAD_FILENAME}. Once the removed entries account for the majority of the file, the remaining entries are rewritten to a new file.
+ * </p>
+ *
+ * <p>
+ * At most {@value #MAX_ENTRIES_IN_MEMORY} entries are held in memory at any time; the remainder are read from disk sequentially as the
+ * head of the index is consumed. If the offset of the head is lost, entries whose files have already been destroyed may be returned again,
+ * so callers must tolerate entries that refer to files that no longer exist.
+ * </p>
+ *
+ * <p>
+ * Because each entry records the time at which its file was archived, the order in which entries are added is also the order of
+ * their timestamps, so the head of the index is normally the entry that expires first. Files that are found by walking the
+ * archive directories are added via {@link #addScanned(String, long, long)} between {@link #startScan()} and {@link #endScan()},
+ * which skips any file that was archived, and therefore indexed, while the walk was in progress.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+class ContentArchiveIndex implements Closeable {
+    static final String INDEX_FILENAME = "archive.index";
+    static final String HEAD_FILENAME = "archive.index.head";
+
+    private static final int ENCODING_VERSION = 1;
+    private static final int HEADER_LENGTH = 4;
+    private static final int ENTRY_OVERHEAD = 8 + 8 + 2;
+    private static final int MAX_ENTRIES_IN_MEMORY = 100_000;
+    private static final long MIN_COMPACTION_BYTES = 10L * 1024 * 1024;
+
+    private final Path indexFile;
+    private final Path headFile;
+    private final Deque<Entry> loadedEntries = new ArrayDeque<>();
+
+    private OutputStream out;
+    private Set<String> pathsAddedDuringScan;
+    private long headOffset;
+    private long readOffset;
+    private long writeOffset;
+    private long entryCount;
+
+    ContentArchiveIndex(final Path containerPath) throws IOException {
+        this.indexFile = containerPath.resolve(INDEX_FILENAME);
+        this.headFile = containerPath.resolve(HEAD_FILENAME);
+
+        if (!recover()) {
+            reset();
+        }
+    }
+
+    /**
+     * Appends an entry to the index for a file that has been archived
+     *
+     * @param relativePath the path of the archived file, relative to the container
+     * @param size the size of the archived file, in bytes
+     * @param timestamp the time at which the file was archived, which is used to determine when the archived file expires
+     * @throws IOException if unable to write to the index
+     */
+    synchronized void add(final String relativePath, final long size, final long timestamp) throws IOException {
+        final byte[] pathBytes = relativePath.getBytes(StandardCharsets.UTF_8);
+        if (pathBytes.length > 0xFFFF) {
+            throw new IOException("Cannot add " + relativePath + " to the archive index because the path is too long");
+        }
+
+        final DataOutputStream dos = new DataOutputStream(out);
+        dos.writeLong(timestamp);
+        dos.writeLong(size);
+        dos.writeShort(pathBytes.length);
+        dos.write(pathBytes);
+
+        if (pathsAddedDuringScan != null) {
+            pathsAddedDuringScan.add(relativePath);
+        }
+
+        final boolean fullyLoaded = readOffset == writeOffset;
+        final Entry entry = new Entry(relativePath, size, timestamp, ENTRY_OVERHEAD + pathBytes.length);
+        writeOffset += entry.getLength();
+        entryCount++;
+
+        // If nothing is waiting to be read from disk, keep the entry in memory so that it does not need to be read back.
+        if (fullyLoaded && loadedEntries.size() < MAX_ENTRIES_IN_MEMORY) {
+            loadedEntries.addLast(entry);
+            readOffset = writeOffset;
+        }
+    }
+
+    /**
+     * Begins recording the paths of the entries that are added, so that {@link #addScanned(String, long, long)} does not add a
+     * second entry for a file that is archived while the archive directories are being walked
+     */
+    synchronized void startScan() {
+        pathsAddedDuringScan = new HashSet<>();
+    }
+
+    /**
+     * Appends an entry to the index for an archived file that was found by walking the archive directories, unless an entry
+     * for the same file has been added since {@link #startScan()} was called
+     *
+     * @param relativePath the path of the archived file, relative to the container
+     * @param size the size of the archived file, in bytes
+     * @param timestamp the timestamp that is used to determine when the archived file expires
+     * @return <code>true</code> if the entry was added, <code>false</code> if the file was already indexed
+     * @throws IOException if unable to write to the index
+     */
+    synchronized boolean addScanned(final String relativePath, final long size, final long timestamp) throws IOException {
+        if (pathsAddedDuringScan != null && pathsAddedDuringScan.contains(relativePath)) {
+            return false;
+        }
+
+        add(relativePath, size, timestamp);
+        return true;
+    }
+
+    /**
+     * Stops recording the paths of the entries that are added
+     */
+    synchronized void endScan() {
+        pathsAddedDuringScan = null;
+    }
+
+    /**
+     * @return the oldest entry in the index, or <code>null</code> if the index is empty
+     * @throws IOException if unable to read from the index
+     */
+    synchronized Entry peek() throws IOException {
+        if (loadedEntries.isEmpty() && readOffset < writeOffset) {
+            loadEntries();
+        }
+
+        return loadedEntries.peekFirst();
+    }
+
+    /**
+     * Removes and returns the oldest entry in the index
+     *
+     * @return the entry that was removed, or <code>null</code> if the index is empty
+     * @throws IOException if unable to read from the index
+     */
+    synchronized Entry poll() throws IOException {
+        final Entry entry = peek();
+        if (entry == null) {
+            return null;
+        }
+
+        loadedEntries.removeFirst();
+        headOffset += entry.getLength();
+        entryCount--;
+        return entry;
+    }
+
+    synchronized long size() {
+        return entryCount;
+    }
+
+    synchronized boolean isEmpty() {
+        return entryCount == 0;
+    }
+
+    /**
+     * Flushes any buffered entries to disk
+     *
+     * @throws IOException if unable to write to the index
+     */
+    synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Flushes any buffered entries, persists the position of the head of the index, and compacts the index if the entries
+     * that have been removed account for the majority of the file.
+     *
+     * @throws IOException if unable to write to the index
+     */
+    synchronized void checkpoint() throws IOException {
+        out.flush();
+
+        final long removedBytes = headOffset - HEADER_LENGTH;
+        if (removedBytes >= MIN_COMPACTION_BYTES && removedBytes > (writeOffset - HEADER_LENGTH) / 2) {
+            compact();
+        } else {
+            writeHead();
+        }
+    }
+
+    /**
+     * Discards all entries and truncates the index
+     *
+     * @throws IOException if unable to write to the index
+     */
+    synchronized void reset() throws IOException {
+        if (out != null) {
+            out.close();
+        }
+
+        try (final DataOutputStream dos = new DataOutputStream(Files.newOutputStream(indexFile))) {
+            dos.writeInt(ENCODING_VERSION);
+        }
+
+        loadedEntries.clear();
+        headOffset = HEADER_LENGTH;
+        readOffset = HEADER_LENGTH;
+        writeOffset = HEADER_LENGTH;
+        entryCount = 0;
+
+        writeHead();
+        openForAppend();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            checkpoint();
+        } finally {
+            out.close();
+        }
+    }
+
+    private boolean recover() throws IOException {
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+
+        final long fileLength = Files.size(indexFile);
+        if (fileLength < HEADER_LENGTH) {
+            return false;
+        }
+
+        long recoveredHead = HEADER_LENGTH;
+        if (Files.exists(headFile)) {
+            try (final DataInputStream in = new DataInputStream(Files.newInputStream(headFile))) {
+                recoveredHead = in.readLong();
+            } catch (final EOFException eof) {
+                recoveredHead = HEADER_LENGTH;
+            }
+        }
+
+        if (recoveredHead < HEADER_LENGTH || recoveredHead > fileLength) {
+            return false;
+        }
+
+        loadedEntries.clear();
+        entryCount = 0;
+        readOffset = recoveredHead;
+
+        long offset = recoveredHead;
+        try (final FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            if (in.readInt() != ENCODING_VERSION) {
+                return false;
+            }
+
+            channel.position(recoveredHead);
+            final DataInputStream entryIn = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            while (offset < fileLength) {
+                final Entry entry;
+                try {
+                    entry = readEntry(entryIn);
+                } catch (final EOFException eof) {
+                    // The last entry was only partially written; it will be truncated below.
+                    break;
+                }
+
+                offset += entry.getLength();
+                entryCount++;
+
+                if (loadedEntries.size() < MAX_ENTRIES_IN_MEMORY) {
+                    loadedEntries.addLast(entry);
+                    readOffset = offset;
+                }
+            }
+        }
+
+        if (offset < fileLength) {
+            try (final FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+                channel.truncate(offset);
+            }
+        }
+
+        headOffset = recoveredHead;
+        writeOffset = offset;
+        openForAppend();
+        return true;
+    }
+
+    private void loadEntries() throws IOException {
+        out.flush();
+
+        try (final FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            channel.position(readOffset);
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            while (readOffset < writeOffset && loadedEntries.size() < MAX_ENTRIES_IN_MEMORY) {
+                final Entry entry = readEntry(in);
+                loadedEntries.addLast(entry);
+                readOffset += entry.getLength();
+            }
+        }
+    }
+
+    private void compact() throws IOException {
+        out.close();
+
+        final Path compactedFile = indexFile.resolveSibling(INDEX_FILENAME + ".compact");
+        try (final FileChannel source = FileChannel.open(indexFile, StandardOpenOption.READ);
+             final FileChannel destination = FileChannel.open(compactedFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).putInt(ENCODING_VERSION).flip();
+            while (header.hasRemaining()) {
+                destination.write(header);
+            }
+
+            long position = headOffset;
+            while (position < writeOffset) {
+                position += source.transferTo(position, writeOffset - position, destination);
+            }
+
+            destination.force(true);
+        }
+
+        final long removedBytes = headOffset - HEADER_LENGTH;
+        headOffset = HEADER_LENGTH;
+        readOffset -= removedBytes;
+        writeOffset -= removedBytes;
+
+        // Persist the new head before replacing the index. If we fail in between, the old index is read from its beginning,
+        // which only results in entries for files that have already been destroyed.
+        writeHead();
+        Files.move(compactedFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        openForAppend();
+    }
+
+    private void writeHead() throws IOException {
+        final Path tempFile = headFile.resolveSibling(HEAD_FILENAME + ".tmp");
+        try (final DataOutputStream dos = new DataOutputStream(Files.newOutputStream(tempFile))) {
+            dos.writeLong(headOffset);
+        }
+
+        Files.move(tempFile, headFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void openForAppend() throws IOException {
+        out = new BufferedOutputStream(Files.newOutputStream(indexFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    private static Entry readEntry(final DataInputStream in) throws IOException {
+        final long timestamp = in.readLong();
+        final long size = in.readLong();
+        final int pathLength = in.readUnsignedShort();
+        final byte[] pathBytes = new byte[pathLength];
+        in.readFully(pathBytes);
+
+        return new Entry(new String(pathBytes, StandardCharsets.UTF_8), size, timestamp, ENTRY_OVERHEAD + pathLength);
+    }
+
+    static class Entry {
+        private final String relativePath;
+        private final long size;
+        private final long timestamp;
+        private final int length;
+
+        Entry(final String relativePath, final long size, final long timestamp, final int length) {
+            this.relativePath = relativePath;
+            this.size = size;
+            this.timestamp = timestamp;
+            this.length = length;
+        }
+
+        String getRelativePath() {
+            return relativePath;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        long getTimestamp() {
+            return timestamp;
+        }
+
+        private int getLength() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return "ArchiveIndexEntry[path=" + relativePath + ", size=" + size + ", timestamp=" + timestamp + "]";
+        }
+    }
+}
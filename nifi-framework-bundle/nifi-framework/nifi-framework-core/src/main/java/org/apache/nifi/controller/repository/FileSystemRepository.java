@@ -26,6 +26,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
@@ -33,6 +34,7 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -91,6 +93,7 @@ public class FileSystemRepository implements ContentRepository {
     // unnecessarily large resource claim files
     public static final String APPENDABLE_CLAIM_LENGTH_CAP = "100 MB";
     public static final Pattern MAX_ARCHIVE_SIZE_PATTERN = Pattern.compile("\\d{1,2}%");
+    private static final int ADAPTIVE_SELECTION_PROBE_INTERVAL = 16;
     private static final Logger LOG = LoggerFactory.getLogger(FileSystemRepository.class);
 
     private final Logger archiveExpirationLog = LoggerFactory.getLogger(FileSystemRepository.class.getName() + ".archive.expiration");
@@ -126,8 +129,15 @@ public class FileSystemRepository implements ContentRepository {
     private ResourceClaimManager resourceClaimManager; // effectively final
     private EventReporter eventReporter;
 
-    // Map of container to archived files that should be deleted next.
-    private final Map<String, BlockingQueue<ArchiveInfo>> archivedFiles = new HashMap<>();
+    // Map of container to the index of archived files, in the order in which they should be deleted.
+    private final Map<String, ContentArchiveIndex> archiveIndexes = new HashMap<>();
+
+    // Map of container to the writer that writes its content in the background, if write-behind is enabled.
+    private final Map<String, WriteBehindContentWriter> writeBehindWriters = new HashMap<>();
+
+    // Map of container to statistics about how quickly content is being written to it.
+    private final Map<String, ContainerWriteStatistics> containerWriteStatistics = new HashMap<>();
+    private final ContainerSelectionStrategy containerSelectionStrategy;
 
 
     private final NiFiProperties nifiProperties;
@@ -158,9 +168,16 @@ public class FileSystemRepository implements ContentRepository {
         this.containerNames = new ArrayList<>(containers.keySet());
         index = new AtomicLong(0L);
 
+        this.containerSelectionStrategy = getContainerSelectionStrategy(nifiProperties);
+        LOG.info("Initializing FileSystemRepository with Container Selection Strategy {}", containerSelectionStrategy);
+
         for (final String containerName : containerNames) {
             reclaimable.put(containerName, new LinkedBlockingQueue<>(10000));
-            archivedFiles.put(containerName, new LinkedBlockingQueue<>(100000));
+
+            // Writes are only timed when the statistics are used to select containers, so that other strategies do not pay for them
+            if (containerSelectionStrategy == ContainerSelectionStrategy.ADAPTIVE) {
+                containerWriteStatistics.put(containerName, new ContainerWriteStatistics());
+            }
         }
 
         final String enableArchiving = nifiProperties.getProperty(NiFiProperties.CONTENT_ARCHIVE_ENABLED);
@@ -232,6 +249,15 @@ public class FileSystemRepository implements ContentRepository {
         LOG.info("Initializing FileSystemRepository with 'Always Sync' set to {}", alwaysSync);
         initializeRepository();
 
+        if (Boolean.parseBoolean(nifiProperties.getProperty(NiFiProperties.CONTENT_WRITE_BEHIND_ENABLED))) {
+            final String bufferSize = nifiProperties.getProperty(NiFiProperties.CONTENT_WRITE_BEHIND_BUFFER_SIZE, NiFiProperties.DEFAULT_CONTENT_WRITE_BEHIND_BUFFER_SIZE);
+            final long maxBufferedBytes = DataUnit.parseDataSize(bufferSize, DataUnit.B).longValue();
+            for (final String containerName : containerNames) {
+                writeBehindWriters.put(containerName, new WriteBehindContentWriter(containerName, maxBufferedBytes, containerWriteStatistics.get(containerName)));
+            }
+            LOG.info("Content will be written in the background, buffering up to {} per Container", bufferSize);
+        }
+
         containerCleanupExecutor = new FlowEngine(containers.size(), "Cleanup FileSystemRepository Container", true);
     }
 
@@ -275,6 +301,29 @@ public class FileSystemRepository implements ContentRepository {
             } catch (final IOException ignored) {
             }
         }
+
+        for (final WriteBehindContentWriter writeBehindWriter : writeBehindWriters.values()) {
+            writeBehindWriter.close();
+        }
+
+        for (final Map.Entry<String, ContentArchiveIndex> entry : archiveIndexes.entrySet()) {
+            try {
+                entry.getValue().close();
+            } catch (final IOException ioe) {
+                LOG.warn("Failed to close archive index for Container {}", entry.getKey(), ioe);
+            }
+        }
+    }
+
+    private static ContainerSelectionStrategy getContainerSelectionStrategy(final NiFiProperties nifiProperties) {
+        final String strategy = nifiProperties.getProperty(NiFiProperties.CONTENT_CONTAINER_SELECTION_STRATEGY, NiFiProperties.DEFAULT_CONTENT_CONTAINER_SELECTION_STRATEGY).trim();
+        for (final ContainerSelectionStrategy candidate : ContainerSelectionStrategy.values()) {
+            if (candidate.name().equalsIgnoreCase(strategy)) {
+                return candidate;
+            }
+        }
+
+        throw new IllegalArgumentException("Invalid value '" + strategy + "' for property " + NiFiProperties.CONTENT_CONTAINER_SELECTION_STRATEGY + "; valid values are ROUND_ROBIN, ADAPTIVE");
     }
 
     private static double getRatio(final String value) {
@@ -333,6 +382,57 @@ public class FileSystemRepository implements ContentRepository {
 
         containers.clear();
         containers.putAll(realPathMap);
+
+        // Open the index of archived files for each container. If the index does not agree with the contents of the archive
+        // directories (for instance, because it did not previously exist or entries were lost on an unclean shutdown), rebuild it
+        // from the archive directories now. Newly archived claims are appended to the index, so unindexed files would otherwise
+        // sit behind all of them and not be expired by age.
+        for (final Map.Entry<String, Path> container : realPathMap.entrySet()) {
+            final String containerName = container.getKey();
+            if (!minUsableContainerBytesForArchive.containsKey(containerName)) {
+                continue;
+            }
+
+            final ContentArchiveIndex archiveIndex = new ContentArchiveIndex(container.getValue());
+            final long archiveCount = containerStateMap.get(containerName).getArchiveCount();
+            if (archiveIndex.size() != archiveCount) {
+                LOG.info("Archive index for Container {} contains {} entries but found {} archived files; archive index will be rebuilt", containerName, archiveIndex.size(), archiveCount);
+                rebuildArchiveIndex(containerName, container.getValue(), archiveIndex);
+            }
+
+            archiveIndexes.put(containerName, archiveIndex);
+        }
+    }
+
+    private void rebuildArchiveIndex(final String containerName, final Path containerPath, final ContentArchiveIndex archiveIndex) throws IOException {
+        final long start = System.nanoTime();
+        final List<ArchiveInfo> archived = new ArrayList<>();
+        for (int i = 0; i < SECTIONS_PER_CONTAINER; i++) {
+            final Path archiveDir = containerPath.resolve(String.valueOf(i)).resolve(ARCHIVE_DIR_NAME);
+            if (!Files.isDirectory(archiveDir)) {
+                continue;
+            }
+
+            try (final DirectoryStream<Path> files = Files.newDirectoryStream(archiveDir)) {
+                for (final Path file : files) {
+                    final BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attrs.isRegularFile()) {
+                        archived.add(new ArchiveInfo(containerPath, file, attrs.size(), attrs.lastModifiedTime().toMillis()));
+                    }
+                }
+            }
+        }
+
+        // Archived files are stamped with the time at which they were archived, so sorting by that restores the archival order.
+        archived.sort(Comparator.comparing(ArchiveInfo::getLastModTime));
+
+        archiveIndex.reset();
+        for (final ArchiveInfo archiveInfo : archived) {
+            archiveIndex.add(archiveInfo.getRelativePath(), archiveInfo.getSize(), archiveInfo.getLastModTime());
+        }
+        archiveIndex.checkpoint();
+
+        LOG.info("Rebuilt archive index for Container {} with {} entries in {} millis", containerName, archived.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 
     private void scanArchiveDirectories(final File containerDir, final ContainerState containerState) {
@@ -491,7 +591,31 @@ public class FileSystemRepository implements ContentRepository {
         }
     }
 
+    /**
+     * @param containerName the name of the container
+     * @return the moving average of the number of nanoseconds taken to write each byte to the given container, or -1 if the container is unknown
+     *         or write statistics are not collected because the ADAPTIVE container selection strategy is not configured
+     */
+    public double getContainerAverageWriteNanosPerByte(final String containerName) {
+        final ContainerWriteStatistics statistics = containerWriteStatistics.get(containerName);
+        return statistics == null ? -1D : statistics.getAverageNanosPerByte();
+    }
+
+    /**
+     * @param containerName the name of the container
+     * @return the number of bytes that are currently being written to the given container, or -1 if the container is unknown or write statistics
+     *         are not collected because the ADAPTIVE container selection strategy is not configured
+     */
+    public long getContainerInFlightBytes(final String containerName) {
+        final ContainerWriteStatistics statistics = containerWriteStatistics.get(containerName);
+        return statistics == null ? -1L : statistics.getInFlightBytes();
+    }
+
     // Visible for testing
+    ContainerWriteStatistics getContainerWriteStatistics(final String containerName) {
+        return containerWriteStatistics.get(containerName);
+    }
+
     long getArchiveCount(String containerName) {
         final ContainerState containerState = containerStateMap.get(containerName);
         if (containerState == null) {
@@ -634,18 +758,42 @@ public class FileSystemRepository implements ContentRepository {
         if (pair == null) {
             final long currentIndex = index.incrementAndGet();
 
+            // When selecting adaptively, still take the next container in turn every so often so that the statistics of
+            // a container that was previously slow are refreshed and it is used again once it recovers.
+            final boolean adaptive = containerSelectionStrategy == ContainerSelectionStrategy.ADAPTIVE && currentIndex % ADAPTIVE_SELECTION_PROBE_INTERVAL != 0;
+
             String containerName = null;
             boolean waitRequired = true;
             ContainerState containerState = null;
+            double lowestExpectedWriteNanos = Double.MAX_VALUE;
             for (long containerIndex = currentIndex; containerIndex < currentIndex + containers.size(); containerIndex++) {
                 final long modulatedContainerIndex = containerIndex % containers.size();
-                containerName = containerNames.get((int) modulatedContainerIndex);
+                final String candidateName = containerNames.get((int) modulatedContainerIndex);
+                final ContainerState candidateState = containerStateMap.get(candidateName);
+
+                if (candidateState.isWaitRequired()) {
+                    if (waitRequired) {
+                        containerName = candidateName;
+                        containerState = candidateState;
+                    }
+                    continue;
+                }
 
-                containerState = containerStateMap.get(containerName);
-                if (!containerState.isWaitRequired()) {
+                if (!adaptive) {
+                    containerName = candidateName;
+                    containerState = candidateState;
                     waitRequired = false;
                     break;
                 }
+
+                // Steer the new Resource Claim toward the container that we expect to be able to write to the soonest.
+                final double expectedWriteNanos = containerWriteStatistics.get(candidateName).getExpectedWriteNanos();
+                if (waitRequired || expectedWriteNanos < lowestExpectedWriteNanos) {
+                    containerName = candidateName;
+                    containerState = candidateState;
+                    lowestExpectedWriteNanos = expectedWriteNanos;
+                    waitRequired = false;
+                }
             }
 
             if (waitRequired) {
@@ -670,7 +818,9 @@ public class FileSystemRepository implements ContentRepository {
                 throw new IOException("Could not determine file to write to for " + resourceClaim);
             }
             final File file = resourceClaimPath.toFile();
-            ByteCountingOutputStream claimStream = new SynchronizedByteCountingOutputStream(new FileOutputStream(file, true), file.length());
+            final WriteBehindContentWriter writeBehindWriter = writeBehindWriters.get(containerName);
+            final OutputStream fileOut = writeBehindWriter == null ? new FileOutputStream(file, true) : writeBehindWriter.newOutputStream(resourceClaimPath);
+            ByteCountingOutputStream claimStream = new SynchronizedByteCountingOutputStream(fileOut, file.length());
             writableClaimStreams.put(resourceClaim, claimStream);
 
             incrementClaimantCount(resourceClaim, true);
@@ -1023,6 +1173,14 @@ public class FileSystemRepository implements ContentRepository {
             FileUtils.deleteFilesInDir(path.toFile(), null, LOG, true);
         }
 
+        for (final Map.Entry<String, ContentArchiveIndex> entry : archiveIndexes.entrySet()) {
+            try {
+                entry.getValue().reset();
+            } catch (final IOException ioe) {
+                throw new RepositoryPurgeException("Failed to reset archive index for Container " + entry.getKey(), ioe);
+            }
+        }
+
         for (final Path path : containers.values()) {
             if (!Files.exists(path)) {
                 throw new RepositoryPurgeException("File " + path.toFile().getAbsolutePath() + " does not exist");
@@ -1183,8 +1341,15 @@ public class FileSystemRepository implements ContentRepository {
             return false;
         }
 
+        // Index the file before moving it so that an archived file is never missing from the index.
+        final long archiveTime = System.currentTimeMillis();
+        if (!indexArchivedFile(curPath, archivePath, archiveTime)) {
+            return false;
+        }
+
         try {
             Files.move(curPath, archivePath);
+            setArchiveTime(archivePath, archiveTime);
             return true;
         } catch (final NoSuchFileException nsfee) {
             // If the current path exists, try to create archive path and do the move again.
@@ -1198,6 +1363,7 @@ public class FileSystemRepository implements ContentRepository {
                 // for the existence of the directory continually.
                 Files.createDirectories(archivePath.getParent());
                 Files.move(curPath, archivePath);
+                setArchiveTime(archivePath, archiveTime);
                 return true;
             }
 
@@ -1205,37 +1371,52 @@ public class FileSystemRepository implements ContentRepository {
         }
     }
 
-    private long getLastModTime(final File file) {
-        // the content claim identifier is created by concatenating System.currentTimeMillis(), "-", and a one-up number.
-        // However, it used to be just a one-up number. As a result, we can check for the timestamp and if present use it.
-        // If not present, we will use the last modified time.
-        final String filename = file.getName();
-        final int dashIndex = filename.indexOf("-");
-        if (dashIndex > 0) {
-            final String creationTimestamp = filename.substring(0, dashIndex);
+    // The last modified time of an archived file records when it was archived, so that the archive index can be rebuilt in archival order.
+    private void setArchiveTime(final Path archivePath, final long archiveTime) {
+        try {
+            Files.setLastModifiedTime(archivePath, FileTime.fromMillis(archiveTime));
+        } catch (final IOException ioe) {
+            LOG.debug("Failed to set last modified time of archived file {}", archivePath, ioe);
+        }
+    }
+
+    private boolean indexArchivedFile(final Path curPath, final Path archivePath, final long archiveTime) throws IOException {
+        for (final Map.Entry<String, Path> container : containers.entrySet()) {
+            final Path containerPath = container.getValue();
+            if (!curPath.startsWith(containerPath)) {
+                continue;
+            }
+
+            final ContentArchiveIndex archiveIndex = archiveIndexes.get(container.getKey());
+            if (archiveIndex == null) {
+                return true;
+            }
+
+            final long size;
             try {
-                return Long.parseLong(creationTimestamp);
-            } catch (final NumberFormatException ignored) {
+                size = Files.size(curPath);
+            } catch (final NoSuchFileException nsfe) {
+                // The content was removed or has already been archived.
+                return false;
             }
-        }
 
-        return file.lastModified();
-    }
+            archiveIndex.add(containerPath.relativize(archivePath).toString(), size, archiveTime);
+            return true;
+        }
 
-    private long getLastModTime(final Path file) throws IOException {
-        return getLastModTime(file.toFile());
+        return true;
     }
 
-    private boolean deleteBasedOnTimestamp(final BlockingQueue<ArchiveInfo> fileQueue, final long removalTimeThreshold) throws IOException {
+    private boolean deleteBasedOnTimestamp(final ContentArchiveIndex archiveIndex, final long removalTimeThreshold) throws IOException {
         // check next file's last mod time.
-        final ArchiveInfo nextFile = fileQueue.peek();
+        final ContentArchiveIndex.Entry nextFile = archiveIndex.peek();
         if (nextFile == null) {
             // Continue on to queue up the files, in case the next file must be destroyed based on time.
             return false;
         }
 
         // If the last mod time indicates that it should be removed, just continue loop.
-        final long oldestArchiveDate = getLastModTime(nextFile.toPath());
+        final long oldestArchiveDate = nextFile.getTimestamp();
         return (oldestArchiveDate <= removalTimeThreshold);
     }
 
@@ -1254,10 +1435,10 @@ public class FileSystemRepository implements ContentRepository {
         final long usableSpace = getContainerUsableSpace(containerName);
         final ContainerState containerState = containerStateMap.get(containerName);
 
-        // First, delete files from our queue
+        // First, delete files from the archive index
         final long startNanos = System.nanoTime();
         final long toFree = minRequiredSpace - usableSpace;
-        final BlockingQueue<ArchiveInfo> fileQueue = archivedFiles.get(containerName);
+        final ContentArchiveIndex archiveIndex = archiveIndexes.get(containerName);
         if (archiveExpirationLog.isDebugEnabled()) {
             if (toFree < 0) {
                 archiveExpirationLog.debug("Currently {} bytes free for Container {}; requirement is {} byte free, so no need to free space until an additional {} bytes are used",
@@ -1268,44 +1449,43 @@ public class FileSystemRepository implements ContentRepository {
             }
         }
 
-        ArchiveInfo toDelete;
+        ContentArchiveIndex.Entry toDelete;
         int deleteCount = 0;
         long freed = 0L;
-        while ((toDelete = fileQueue.peek()) != null) {
+        while ((toDelete = archiveIndex.peek()) != null) {
             try {
                 final long fileSize = toDelete.getSize();
 
                 removalTimeThreshold = System.currentTimeMillis() - maxArchiveMillis;
 
-                // we use fileQueue.peek above instead of fileQueue.poll() because we don't always want to
-                // remove the head of the queue. Instead, we want to remove it only if we plan to delete it.
+                // we use archiveIndex.peek above instead of archiveIndex.poll() because we don't always want to
+                // remove the head of the index. Instead, we want to remove it only if we plan to delete it.
                 // In order to accomplish this, we just peek at the head and check if it should be deleted.
                 // If so, then we call poll() to remove it
-                if (freed < toFree || getLastModTime(toDelete.toPath()) < removalTimeThreshold) {
-                    toDelete = fileQueue.poll(); // remove the head of the queue, which is already stored in 'toDelete'
-                    if (toDelete == null) {
-                        continue;
+                if (freed < toFree || toDelete.getTimestamp() < removalTimeThreshold) {
+                    archiveIndex.poll(); // remove the head of the index, which is already stored in 'toDelete'
+
+                    // The index may refer to a file that has already been removed, so only account for files that we actually delete.
+                    if (Files.deleteIfExists(container.resolve(toDelete.getRelativePath()))) {
+                        containerState.decrementArchiveCount();
+                        LOG.debug("Deleted archived ContentClaim {} from Container {} because the archival size was exceeding the max configured size", toDelete.getRelativePath(), containerName);
+                        freed += fileSize;
+                        deleteCount++;
                     }
-
-                    Files.deleteIfExists(toDelete.toPath());
-                    containerState.decrementArchiveCount();
-                    LOG.debug("Deleted archived ContentClaim with ID {} from Container {} because the archival size was exceeding the max configured size", toDelete.getName(), containerName);
-                    freed += fileSize;
-                    deleteCount++;
                 }
 
                 // If we've freed up enough space, we're done... unless the next file needs to be destroyed based on time.
                 if (freed >= toFree) {
                     // If the last mod time indicates that it should be removed, just continue loop.
-                    if (deleteBasedOnTimestamp(fileQueue, removalTimeThreshold)) {
+                    if (deleteBasedOnTimestamp(archiveIndex, removalTimeThreshold)) {
                         archiveExpirationLog.debug("Freed enough space ({} bytes freed, needed to free {} bytes) but will continue to expire data based on timestamp", freed, toFree);
                         continue;
                     }
 
                     archiveExpirationLog.debug("Freed enough space ({} bytes freed, needed to free {} bytes). Finished expiring data", freed, toFree);
 
-                    final ArchiveInfo archiveInfo = fileQueue.peek();
-                    final long oldestArchiveDate = archiveInfo == null ? System.currentTimeMillis() : getLastModTime(archiveInfo.toPath());
+                    final ContentArchiveIndex.Entry oldestEntry = archiveIndex.peek();
+                    final long oldestArchiveDate = oldestEntry == null ? System.currentTimeMillis() : oldestEntry.getTimestamp();
 
                     // Otherwise, we're done. Return the last mod time of the oldest file in the container's archive.
                     final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
@@ -1324,115 +1504,125 @@ public class FileSystemRepository implements ContentRepository {
             }
         }
 
-        // Go through each container and grab the archived data into a List
+        // The index has been exhausted. Any archived files that remain were not indexed (for instance, because the index was
+        // rebuilt on startup), so go through each container and grab the archived data into a List. This should be cheap,
+        // as an empty index means that there should be little or nothing left in the archive.
         archiveExpirationLog.debug("Searching for more archived data to expire");
-        final StopWatch stopWatch = new StopWatch(true);
-        final AtomicLong expiredFilesDeleted = new AtomicLong(0L);
-        final AtomicLong expiredBytesDeleted = new AtomicLong(0L);
-        for (int i = 0; i < SECTIONS_PER_CONTAINER; i++) {
-            final Path sectionContainer = container.resolve(String.valueOf(i));
-            final Path archive = sectionContainer.resolve("archive");
-            if (!Files.exists(archive)) {
-                continue;
-            }
-
-            try {
-                final long timestampThreshold = removalTimeThreshold;
+        // Claims that are archived while the directories are walked are indexed by archive(), so those must not be indexed twice.
+        archiveIndex.startScan();
+        try {
+            final StopWatch stopWatch = new StopWatch(true);
+            final AtomicLong expiredFilesDeleted = new AtomicLong(0L);
+            final AtomicLong expiredBytesDeleted = new AtomicLong(0L);
+            for (int i = 0; i < SECTIONS_PER_CONTAINER; i++) {
+                final Path sectionContainer = container.resolve(String.valueOf(i));
+                final Path archive = sectionContainer.resolve("archive");
+                if (!Files.exists(archive)) {
+                    continue;
+                }
 
-                Files.walkFileTree(archive, new SimpleFileVisitor<>() {
-                    @Override
-                    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
-                        if (attrs.isDirectory()) {
-                            return FileVisitResult.CONTINUE;
-                        }
+                try {
+                    final long timestampThreshold = removalTimeThreshold;
 
-                        final long lastModTime = getLastModTime(file);
-                        if (lastModTime < timestampThreshold) {
-                            try {
-                                expiredFilesDeleted.incrementAndGet();
-                                expiredBytesDeleted.addAndGet(file.toFile().length());
+                    Files.walkFileTree(archive, new SimpleFileVisitor<>() {
+                        @Override
+                        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                            if (attrs.isDirectory()) {
+                                return FileVisitResult.CONTINUE;
+                            }
 
-                                Files.deleteIfExists(file);
-                                containerState.decrementArchiveCount();
-                                LOG.debug("Deleted archived ContentClaim with ID {} from Container {} because it was older than the configured max archival duration",
-                                        file.toFile().getName(), containerName);
-                            } catch (final IOException ioe) {
-                                LOG.warn("Failed to remove archived ContentClaim with ID {} from Container {}", file.toFile().getName(), containerName, ioe);
+                            final long lastModTime = attrs.lastModifiedTime().toMillis();
+                            if (lastModTime < timestampThreshold) {
+                                try {
+                                    expiredFilesDeleted.incrementAndGet();
+                                    expiredBytesDeleted.addAndGet(file.toFile().length());
+
+                                    Files.deleteIfExists(file);
+                                    containerState.decrementArchiveCount();
+                                    LOG.debug("Deleted archived ContentClaim with ID {} from Container {} because it was older than the configured max archival duration",
+                                            file.toFile().getName(), containerName);
+                                } catch (final IOException ioe) {
+                                    LOG.warn("Failed to remove archived ContentClaim with ID {} from Container {}", file.toFile().getName(), containerName, ioe);
+                                }
+                            } else {
+                                notYetExceedingThreshold.add(new ArchiveInfo(container, file, attrs.size(), lastModTime));
                             }
-                        } else if (usableSpace < minRequiredSpace) {
-                            notYetExceedingThreshold.add(new ArchiveInfo(container, file, attrs.size(), lastModTime));
-                        }
 
-                        return FileVisitResult.CONTINUE;
-                    }
-                });
-            } catch (final IOException ioe) {
-                LOG.warn("Failed to cleanup archived files in {}", archive, ioe);
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+                } catch (final IOException ioe) {
+                    LOG.warn("Failed to cleanup archived files in {}", archive, ioe);
+                }
             }
-        }
-        final long deleteExpiredMillis = stopWatch.getElapsed(TimeUnit.MILLISECONDS);
+            final long deleteExpiredMillis = stopWatch.getElapsed(TimeUnit.MILLISECONDS);
 
-        // Sort the list according to last modified time
-        notYetExceedingThreshold.sort(Comparator.comparing(ArchiveInfo::getLastModTime));
+            // Sort the list according to last modified time
+            notYetExceedingThreshold.sort(Comparator.comparing(ArchiveInfo::getLastModTime));
 
-        final long sortRemainingMillis = stopWatch.getElapsed(TimeUnit.MILLISECONDS) - deleteExpiredMillis;
+            final long sortRemainingMillis = stopWatch.getElapsed(TimeUnit.MILLISECONDS) - deleteExpiredMillis;
 
-        // Delete the oldest data
-        archiveExpirationLog.debug("Deleting data based on timestamp");
-        int archiveFilesDeleted = 0;
-        long archiveBytesDeleted = 0L;
-        for (final ArchiveInfo archiveInfo : notYetExceedingThreshold) {
-            try {
-                final Path path = archiveInfo.toPath();
-                Files.deleteIfExists(path);
-                containerState.decrementArchiveCount();
-                archiveBytesDeleted += archiveInfo.getSize();
-                LOG.debug("Deleted archived ContentClaim with ID {} from Container {} because the archival size was exceeding the max configured size", archiveInfo.getName(), containerName);
-
-                // Check if we've freed enough space every 25 files that we destroy
-                if (++archiveFilesDeleted % 25 == 0) {
-                    if (getContainerUsableSpace(containerName) > minRequiredSpace) { // check if we can stop now
-                        LOG.debug("Finished cleaning up archive for Container {}", containerName);
-                        break;
+            // Delete the oldest data
+            archiveExpirationLog.debug("Deleting data based on timestamp");
+            int archiveFilesDeleted = 0;
+            long archiveBytesDeleted = 0L;
+            final List<ArchiveInfo> toDeleteForSpace = usableSpace < minRequiredSpace ? notYetExceedingThreshold : Collections.emptyList();
+            for (final ArchiveInfo archiveInfo : toDeleteForSpace) {
+                try {
+                    final Path path = archiveInfo.toPath();
+                    Files.deleteIfExists(path);
+                    containerState.decrementArchiveCount();
+                    archiveBytesDeleted += archiveInfo.getSize();
+                    LOG.debug("Deleted archived ContentClaim with ID {} from Container {} because the archival size was exceeding the max configured size", archiveInfo.getName(), containerName);
+
+                    // Check if we've freed enough space every 25 files that we destroy
+                    if (++archiveFilesDeleted % 25 == 0) {
+                        if (getContainerUsableSpace(containerName) > minRequiredSpace) { // check if we can stop now
+                            LOG.debug("Finished cleaning up archive for Container {}", containerName);
+                            break;
+                        }
                     }
-                }
 
-                // If deleting a huge number of files, it can take a while. This may occur when users have a very large number of tiny
-                // FlowFiles and also have the nifi.content.claim.max.appendable.size property set to a low value. In such a case, this
-                // process may block processors from performing their job. As a result, we want to periodically log something to let
-                // users know what is going on, so that the system doesn't appear to just completely freeze up periodically.
-                if (archiveFilesDeleted % 25_000 == 0 && archiveFilesDeleted > 0) {
-                    LOG.info("So far in this iteration, successfully deleted {} files ({}) from archive because the Content Repository size was exceeding the max configured size. Will continue " +
-                                    "deleting files from the archive until the usage drops below the threshold or until all {} archived files have been removed",
-                            archiveFilesDeleted, FormatUtils.formatDataSize(archiveBytesDeleted), notYetExceedingThreshold.size());
+                    // If deleting a huge number of files, it can take a while. This may occur when users have a very large number of tiny
+                    // FlowFiles and also have the nifi.content.claim.max.appendable.size property set to a low value. In such a case, this
+                    // process may block processors from performing their job. As a result, we want to periodically log something to let
+                    // users know what is going on, so that the system doesn't appear to just completely freeze up periodically.
+                    if (archiveFilesDeleted % 25_000 == 0 && archiveFilesDeleted > 0) {
+                        LOG.info("So far in this iteration, successfully deleted {} files ({}) from archive because the Content Repository size was exceeding the max configured size. Will continue " +
+                                        "deleting files from the archive until the usage drops below the threshold or until all {} archived files have been removed",
+                                archiveFilesDeleted, FormatUtils.formatDataSize(archiveBytesDeleted), notYetExceedingThreshold.size());
+                    }
+                } catch (final IOException ioe) {
+                    LOG.warn("Failed to delete {} from archive", archiveInfo, ioe);
                 }
-            } catch (final IOException ioe) {
-                LOG.warn("Failed to delete {} from archive", archiveInfo, ioe);
             }
-        }
 
-        // Remove the first 'counter' elements from the list because those were removed.
-        notYetExceedingThreshold.subList(0, archiveFilesDeleted).clear();
-        LOG.info("Successfully deleted {} files ({}) from archive", (archiveFilesDeleted + expiredFilesDeleted.get()), FormatUtils.formatDataSize(archiveBytesDeleted + expiredBytesDeleted.get()));
+            // Remove the first 'counter' elements from the list because those were removed.
+            notYetExceedingThreshold.subList(0, archiveFilesDeleted).clear();
+            LOG.info("Successfully deleted {} files ({}) from archive", (archiveFilesDeleted + expiredFilesDeleted.get()), FormatUtils.formatDataSize(archiveBytesDeleted + expiredBytesDeleted.get()));
 
-        final long deleteOldestMillis = stopWatch.getElapsed(TimeUnit.MILLISECONDS) - sortRemainingMillis - deleteExpiredMillis;
+            final long deleteOldestMillis = stopWatch.getElapsed(TimeUnit.MILLISECONDS) - sortRemainingMillis - deleteExpiredMillis;
 
-        long oldestContainerArchive;
-        if (notYetExceedingThreshold.isEmpty()) {
-            oldestContainerArchive = System.currentTimeMillis();
-        } else {
-            oldestContainerArchive = notYetExceedingThreshold.get(0).getLastModTime();
-        }
+            long oldestContainerArchive;
+            if (notYetExceedingThreshold.isEmpty()) {
+                oldestContainerArchive = System.currentTimeMillis();
+            } else {
+                oldestContainerArchive = notYetExceedingThreshold.get(0).getLastModTime();
+            }
 
-        // Queue up the files in the order that they should be destroyed so that we don't have to scan the directories for a while.
-        for (final ArchiveInfo toEnqueue : notYetExceedingThreshold.subList(0, Math.min(100000, notYetExceedingThreshold.size()))) {
-            fileQueue.offer(toEnqueue);
-        }
+            // Index the files in the order that they should be destroyed so that we don't have to scan the directories again. These entries
+            // follow any that were added while the directories were walked, as the index is kept in the order in which entries are added.
+            for (final ArchiveInfo toIndex : notYetExceedingThreshold) {
+                archiveIndex.addScanned(toIndex.getRelativePath(), toIndex.getSize(), toIndex.getLastModTime());
+            }
 
-        final long cleanupMillis = stopWatch.getElapsed(TimeUnit.MILLISECONDS) - deleteOldestMillis - sortRemainingMillis - deleteExpiredMillis;
-        LOG.debug("Oldest Archive Date for Container {} is {}; delete expired = {} ms, sort remaining = {} ms, delete oldest = {} ms, cleanup = {} ms",
-                containerName, new Date(oldestContainerArchive), deleteExpiredMillis, sortRemainingMillis, deleteOldestMillis, cleanupMillis);
-        return;
+            final long cleanupMillis = stopWatch.getElapsed(TimeUnit.MILLISECONDS) - deleteOldestMillis - sortRemainingMillis - deleteExpiredMillis;
+            LOG.debug("Oldest Archive Date for Container {} is {}; delete expired = {} ms, sort remaining = {} ms, delete oldest = {} ms, cleanup = {} ms",
+                    containerName, new Date(oldestContainerArchive), deleteExpiredMillis, sortRemainingMillis, deleteOldestMillis, cleanupMillis);
+            return;
+        } finally {
+            archiveIndex.endScan();
+        }
     }
 
     private class ArchiveOrDestroyDestructableClaims implements Runnable {
@@ -1473,6 +1663,15 @@ public class FileSystemRepository implements ContentRepository {
                             }
                         }
 
+                        final ContentArchiveIndex archiveIndex = archiveIndexes.get(container);
+                        if (archiveIndex != null) {
+                            try {
+                                archiveIndex.flush();
+                            } catch (final IOException ioe) {
+                                LOG.warn("Failed to flush archive index for Container {}", container, ioe);
+                            }
+                        }
+
                         final long nanos = System.nanoTime() - start;
                         final long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
 
@@ -1522,6 +1721,10 @@ public class FileSystemRepository implements ContentRepository {
             return lastModTime;
         }
 
+        public String getRelativePath() {
+            return relativePath;
+        }
+
         public Path toPath() {
             return containerPath.resolve(relativePath);
         }
@@ -1544,6 +1747,11 @@ public class FileSystemRepository implements ContentRepository {
                 try {
                     destroyExpiredArchives(containerName, containerPath);
 
+                    final ContentArchiveIndex archiveIndex = archiveIndexes.get(containerName);
+                    if (archiveIndex != null) {
+                        archiveIndex.checkpoint();
+                    }
+
                     final ContainerState containerState = containerStateMap.get(containerName);
                     containerState.signalCreationReady(); // indicate that we've finished cleaning up the archive.
                 } catch (final IOException ioe) {
@@ -1768,6 +1976,11 @@ public class FileSystemRepository implements ContentRepository {
 
 
 
+    private enum ContainerSelectionStrategy {
+        ROUND_ROBIN,
+        ADAPTIVE
+    }
+
     protected class ContentRepositoryOutputStream extends ContentClaimOutputStream {
         protected StandardContentClaim scc;
 
@@ -1778,6 +1991,10 @@ public class FileSystemRepository implements ContentRepository {
         protected boolean recycle;
         protected boolean closed;
 
+        // Writes are timed here only if statistics are collected and the writes are not handed off to a WriteBehindContentWriter,
+        // which records its own statistics.
+        private final ContainerWriteStatistics writeStatistics;
+
         public ContentRepositoryOutputStream(StandardContentClaim scc, ByteCountingOutputStream bcos, int initialLength) {
             this.scc = scc;
             this.bcos = bcos;
@@ -1785,6 +2002,24 @@ public class FileSystemRepository implements ContentRepository {
             bytesWritten = 0L;
             recycle = true;
             closed = false;
+
+            final String containerName = scc.getResourceClaim().getContainer();
+            writeStatistics = writeBehindWriters.containsKey(containerName) ? null : containerWriteStatistics.get(containerName);
+        }
+
+        private long beginWrite(final long bytes) {
+            if (writeStatistics == null) {
+                return 0L;
+            }
+
+            writeStatistics.beginWrite(bytes);
+            return System.nanoTime();
+        }
+
+        private void endWrite(final long bytes, final long startNanos) {
+            if (writeStatistics != null) {
+                writeStatistics.endWrite(bytes, System.nanoTime() - startNanos);
+            }
         }
 
         @Override
@@ -1798,11 +2033,14 @@ public class FileSystemRepository implements ContentRepository {
                 throw new IOException("Stream is closed");
             }
 
+            final long startNanos = beginWrite(1);
             try {
                 bcos.write(b);
             } catch (final IOException ioe) {
                 recycle = false;
                 throw new IOException("Failed to write to " + this, ioe);
+            } finally {
+                endWrite(1, startNanos);
             }
 
             bytesWritten++;
@@ -1815,11 +2053,14 @@ public class FileSystemRepository implements ContentRepository {
                 throw new IOException("Stream is closed");
             }
 
+            final long startNanos = beginWrite(b.length);
             try {
                 bcos.write(b);
             } catch (final IOException ioe) {
                 recycle = false;
                 throw new IOException("Failed to write to " + this, ioe);
+            } finally {
+                endWrite(b.length, startNanos);
             }
 
             bytesWritten += b.length;
@@ -1832,11 +2073,14 @@ public class FileSystemRepository implements ContentRepository {
                 throw new IOException("Stream is closed");
             }
 
+            final long startNanos = beginWrite(len);
             try {
                 bcos.write(b, off, len);
             } catch (final IOException ioe) {
                 recycle = false;
                 throw new IOException("Failed to write to " + this, ioe);
+            } finally {
+                endWrite(len, startNanos);
             }
 
             bytesWritten += len;
@@ -1861,8 +2105,22 @@ public class FileSystemRepository implements ContentRepository {
 
             closed = true;
 
-            if (alwaysSync) {
-                ((FileOutputStream) bcos.getWrappedStream()).getFD().sync();
+            IOException writeFailure = null;
+            final OutputStream fileOut = bcos.getWrappedStream();
+            if (fileOut instanceof WriteBehindContentWriter.WriteBehindOutputStream writeBehindOut) {
+                // Wait for content that is still being written in the background so that the claim can be read once this stream is closed.
+                try {
+                    if (alwaysSync) {
+                        writeBehindOut.sync();
+                    } else {
+                        writeBehindOut.flush();
+                    }
+                } catch (final IOException ioe) {
+                    recycle = false;
+                    writeFailure = ioe;
+                }
+            } else if (alwaysSync) {
+                ((FileOutputStream) fileOut).getFD().sync();
             }
 
             if (scc.getLength() < 0) {
@@ -1917,6 +2175,10 @@ public class FileSystemRepository implements ContentRepository {
                     LOG.trace("Stack trace: ", new RuntimeException("Stack Trace for closing " + this));
                 }
             }
+
+            if (writeFailure != null) {
+                throw new IOException("Failed to write to " + this, writeFailure);
+            }
         }
 
 
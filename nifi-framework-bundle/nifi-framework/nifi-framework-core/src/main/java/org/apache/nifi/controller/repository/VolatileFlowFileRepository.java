@@ -24,7 +24,9 @@ import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
@@ -96,9 +98,15 @@ public class VolatileFlowFileRepository implements FlowFileRepository {
 
     @Override
     public void updateRepository(final Collection<RepositoryRecord> records) throws IOException {
+        final Map<ResourceClaim, Integer> claimantCountAdjustments = new HashMap<>();
         for (final RepositoryRecord record : records) {
-            updateClaimCounts(record);
+            updateClaimCounts(record, claimantCountAdjustments);
+        }
+        if (!claimantCountAdjustments.isEmpty()) {
+            claimManager.adjustClaimantCounts(claimantCountAdjustments);
+        }
 
+        for (final RepositoryRecord record : records) {
             if (record.getType() == RepositoryRecordType.DELETE) {
                 // For any DELETE record that we have, if current claim's claimant count <= 0, mark it as destructable
                 if (record.getCurrentClaim() != null && getClaimantCount(record.getCurrentClaim()) <= 0) {
@@ -118,27 +126,27 @@ public class VolatileFlowFileRepository implements FlowFileRepository {
         }
     }
 
-    private void updateClaimCounts(final RepositoryRecord record) {
+    private void updateClaimCounts(final RepositoryRecord record, final Map<ResourceClaim, Integer> claimantCountAdjustments) {
         final ContentClaim currentClaim = record.getCurrentClaim();
         final ContentClaim originalClaim = record.getOriginalClaim();
         final boolean claimChanged = !Objects.equals(currentClaim, originalClaim);
 
         if (record.getType() == RepositoryRecordType.DELETE || record.getType() == RepositoryRecordType.CONTENTMISSING) {
-            decrementClaimCount(currentClaim);
+            decrementClaimCount(currentClaim, claimantCountAdjustments);
         }
 
         if (claimChanged) {
             // records which have been updated - remove original if exists
-            decrementClaimCount(originalClaim);
+            decrementClaimCount(originalClaim, claimantCountAdjustments);
         }
     }
 
-    private void decrementClaimCount(final ContentClaim claim) {
-        if (claim == null) {
+    private void decrementClaimCount(final ContentClaim claim, final Map<ResourceClaim, Integer> claimantCountAdjustments) {
+        if (claim == null || claim.getResourceClaim() == null) {
             return;
         }
 
-        claimManager.decrementClaimantCount(claim.getResourceClaim());
+        claimantCountAdjustments.merge(claim.getResourceClaim(), -1, Integer::sum);
     }
 
     @Override
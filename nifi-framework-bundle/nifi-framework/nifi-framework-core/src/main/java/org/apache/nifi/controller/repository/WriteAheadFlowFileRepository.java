@@ -48,7 +48,10 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -481,9 +484,16 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
         final Set<String> swapLocationsAdded = new HashSet<>();
         final Set<String> swapLocationsRemoved = new HashSet<>();
 
+        // Aggregate the claimant count changes so that each Resource Claim's count is updated once, rather than once per FlowFile
+        final Map<ResourceClaim, Integer> claimantCountAdjustments = new HashMap<>();
         for (final RepositoryRecord record : repositoryRecords) {
-            updateClaimCounts(record);
+            updateClaimCounts(record, claimantCountAdjustments);
+        }
+        if (!claimantCountAdjustments.isEmpty()) {
+            claimManager.adjustClaimantCounts(claimantCountAdjustments);
+        }
 
+        for (final RepositoryRecord record : repositoryRecords) {
             if (record.getType() == RepositoryRecordType.DELETE) {
                 // For any DELETE record that we have, if claim is destructible, mark it so
                 if (record.getCurrentClaim() != null && isDestructable(record.getCurrentClaim())) {
@@ -546,26 +556,26 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
         }
     }
 
-    private void updateClaimCounts(final RepositoryRecord record) {
+    private void updateClaimCounts(final RepositoryRecord record, final Map<ResourceClaim, Integer> claimantCountAdjustments) {
         final ContentClaim currentClaim = record.getCurrentClaim();
         final ContentClaim originalClaim = record.getOriginalClaim();
 
         if (record.getType() == RepositoryRecordType.DELETE || record.getType() == RepositoryRecordType.CONTENTMISSING) {
-            decrementClaimCount(currentClaim);
+            decrementClaimCount(currentClaim, claimantCountAdjustments);
         }
 
         if (record.isContentModified()) {
             // records which have been updated - remove original if exists
-            decrementClaimCount(originalClaim);
+            decrementClaimCount(originalClaim, claimantCountAdjustments);
         }
     }
 
-    private void decrementClaimCount(final ContentClaim claim) {
-        if (claim == null) {
+    private void decrementClaimCount(final ContentClaim claim, final Map<ResourceClaim, Integer> claimantCountAdjustments) {
+        if (claim == null || claim.getResourceClaim() == null) {
             return;
         }
 
-        claimManager.decrementClaimantCount(claim.getResourceClaim());
+        claimantCountAdjustments.merge(claim.getResourceClaim(), -1, Integer::sum);
     }
 
 
@@ -751,6 +761,7 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
         }
 
         final List<SerializedRepositoryRecord> dropRecords = new ArrayList<>();
+        final Map<FlowFileQueue, List<SerializedRepositoryRecord>> recordsByQueue = new HashMap<>();
         int numFlowFilesMissingQueue = 0;
         long maxId = 0;
         for (final SerializedRepositoryRecord record : recordList) {
@@ -803,13 +814,16 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
                 }
 
                 continue;
-            } else if (claim != null) {
-                claimManager.incrementClaimantCount(claim.getResourceClaim());
             }
 
-            flowFileQueue.put(record.getFlowFileRecord());
+            recordsByQueue.computeIfAbsent(flowFileQueue, queue -> new ArrayList<>()).add(record);
         }
 
+        final long populateStart = System.nanoTime();
+        populateQueues(recordsByQueue);
+        final long populateMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - populateStart);
+        logger.info("Populated {} FlowFile Queues with recovered FlowFiles in {} milliseconds", recordsByQueue.size(), populateMillis);
+
         // If recoveredRecords has been populated it need to be nulled out now because it is no longer useful and can be garbage collected.
         recoveredRecords = null;
 
@@ -852,6 +866,66 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
         return maxId;
     }
 
+    /**
+     * Places the recovered FlowFiles into their queues. Each queue is populated by a single thread, in bulk, so that queues
+     * with many FlowFiles do not contend with one another for locks, and so that a queue's lock is obtained once rather than
+     * once per FlowFile.
+     *
+     * @param recordsByQueue the recovered records, grouped by the queue that they belong to
+     * @throws IOException if unable to populate any of the queues
+     */
+    private void populateQueues(final Map<FlowFileQueue, List<SerializedRepositoryRecord>> recordsByQueue) throws IOException {
+        final int threadCount = Math.min(recordsByQueue.size(), Runtime.getRuntime().availableProcessors());
+        if (threadCount <= 1) {
+            recordsByQueue.forEach(this::populateQueue);
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount, new ThreadFactory() {
+            private final AtomicLong threadIndex = new AtomicLong(0L);
+
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread t = Executors.defaultThreadFactory().newThread(r);
+                t.setName("Populate FlowFile Queues-" + threadIndex.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>(recordsByQueue.size());
+            recordsByQueue.forEach((queue, records) -> futures.add(executor.submit(() -> populateQueue(queue, records))));
+
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while populating FlowFile Queues with recovered FlowFiles", e);
+        } catch (final ExecutionException e) {
+            throw new IOException("Failed to populate FlowFile Queues with recovered FlowFiles", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void populateQueue(final FlowFileQueue queue, final List<SerializedRepositoryRecord> records) {
+        final List<FlowFileRecord> flowFiles = new ArrayList<>(records.size());
+        final Map<ResourceClaim, Integer> claimantCountAdjustments = new HashMap<>();
+        for (final SerializedRepositoryRecord record : records) {
+            final ContentClaim claim = record.getContentClaim();
+            if (claim != null && claim.getResourceClaim() != null) {
+                claimantCountAdjustments.merge(claim.getResourceClaim(), 1, Integer::sum);
+            }
+
+            flowFiles.add(record.getFlowFileRecord());
+        }
+
+        claimManager.adjustClaimantCounts(claimantCountAdjustments);
+        queue.putAll(flowFiles);
+    }
+
     private boolean isRetainOrphanedFlowFiles() {
         return retainOrphanedFlowFiles;
     }
@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <p>
+ * Writes content to the files of a single container of the {@link FileSystemRepository} on a background thread, so that the
+ * threads that produce the content do not block on disk I/O while writing it. Content is copied into direct buffers, and at most a
+ * configured number of bytes may be pending at any time. Once that limit is reached, writers wait for pending content to be
+ * written before they are able to write more. Each stream fills its current buffer before handing it to the background thread,
+ * so small writes share a buffer rather than each taking one.
+ * </p>
+ *
+ * <p>
+ * The streams that are returned by {@link #newOutputStream(Path)} act as barriers: when {@link OutputStream#flush()} or
+ * {@link OutputStream#close()} returns, all content that was written to the stream has been written to the file.
+ * </p>
+ */
+class WriteBehindContentWriter implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindContentWriter.class);
+
+    static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_BUFFERS_PER_WRITE = 64;
+
+    private final String containerName;
+    // Null if write statistics are not collected for the container
+    private final ContainerWriteStatistics writeStatistics;
+    private final Semaphore availablePendingBytes;
+    private final Queue<ByteBuffer> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    // Streams enqueue under the read lock and close() stops the writer under the write lock, so nothing is enqueued after the final drain
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private final Lock enqueueLock = runningLock.readLock();
+    private final Lock stopLock = runningLock.writeLock();
+    private volatile boolean running = true;
+
+    WriteBehindContentWriter(final String containerName, final long maxBufferedBytes, final ContainerWriteStatistics writeStatistics) {
+        this.containerName = containerName;
+        this.writeStatistics = writeStatistics;
+        this.availablePendingBytes = new Semaphore((int) Math.max(BUFFER_SIZE, Math.min(Integer.MAX_VALUE, maxBufferedBytes)));
+
+        writerThread = new Thread(this::writePendingContent, "Write-Behind Content Writer for " + containerName);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Creates an OutputStream that appends to the given file, writing the content on this writer's background thread
+     *
+     * @param file the file to append to
+     * @return an OutputStream for writing to the file
+     * @throws IOException if unable to open the file
+     */
+    WriteBehindOutputStream newOutputStream(final Path file) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new WriteBehindOutputStream(channel);
+    }
+
+    @Override
+    public void close() {
+        stopLock.lock();
+        try {
+            running = false;
+        } finally {
+            stopLock.unlock();
+        }
+
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+
+        // If the writer thread did not drain the queue, write anything that remains on this thread
+        PendingWrite pendingWrite;
+        while ((pendingWrite = pendingWrites.poll()) != null) {
+            writeAll(List.of(pendingWrite));
+        }
+    }
+
+    private void writePendingContent() {
+        final List<PendingWrite> batch = new ArrayList<>();
+
+        while (running || !pendingWrites.isEmpty()) {
+            try {
+                final PendingWrite first = pendingWrites.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                pendingWrites.drainTo(batch, 1023);
+                writeBatch(batch);
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                logger.warn("Write-Behind Content Writer for Container {} interrupted", containerName);
+                return;
+            } catch (final Throwable t) {
+                logger.error("Write-Behind Content Writer for Container {} failed to write content", containerName, t);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(final List<PendingWrite> batch) {
+        // Consecutive writes to the same stream are combined into a single gathering write
+        int start = 0;
+        for (int i = 1; i <= batch.size(); i++) {
+            if (i == batch.size() || batch.get(i).stream != batch.get(start).stream || i - start == MAX_BUFFERS_PER_WRITE) {
+                writeAll(batch.subList(start, i));
+                start = i;
+            }
+        }
+    }
+
+    private void writeAll(final List<PendingWrite> writes) {
+        final WriteBehindOutputStream stream = writes.get(0).stream;
+        final long startNanos = System.nanoTime();
+
+        try {
+            if (stream.getFailure() == null) {
+                final ByteBuffer[] buffers = new ByteBuffer[writes.size()];
+                long remaining = 0L;
+                for (int i = 0; i < buffers.length; i++) {
+                    buffers[i] = writes.get(i).buffer;
+                    remaining += buffers[i].remaining();
+                }
+
+                while (remaining > 0) {
+                    remaining -= stream.channel.write(buffers);
+                }
+            }
+        } catch (final IOException ioe) {
+            stream.failed(ioe);
+        } finally {
+            if (writeStatistics != null) {
+                recordStatistics(writes, System.nanoTime() - startNanos);
+            }
+
+            for (final PendingWrite write : writes) {
+                releaseBuffer(write.buffer);
+            }
+
+            stream.completed(writes.size());
+        }
+    }
+
+    private void recordStatistics(final List<PendingWrite> writes, final long elapsedNanos) {
+        long totalBytes = 0L;
+        for (final PendingWrite write : writes) {
+            totalBytes += write.buffer.limit();
+        }
+
+        // The buffers are written together, so attribute the elapsed time to each of them in proportion to its size
+        for (final PendingWrite write : writes) {
+            final long bytes = write.buffer.limit();
+            writeStatistics.endWrite(bytes, totalBytes == 0L ? 0L : elapsedNanos * bytes / totalBytes);
+        }
+    }
+
+    private ByteBuffer acquireBuffer() {
+        final ByteBuffer buffer = freeBuffers.poll();
+        return buffer == null ? ByteBuffer.allocateDirect(BUFFER_SIZE) : buffer.clear();
+    }
+
+    private void reservePendingBytes(final int bytes) throws InterruptedIOException {
+        try {
+            availablePendingBytes.acquire(bytes);
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for buffered content to be written to Container " + containerName);
+        }
+    }
+
+    private void enqueue(final PendingWrite pendingWrite) {
+        enqueueLock.lock();
+        try {
+            if (running) {
+                pendingWrites.add(pendingWrite);
+                return;
+            }
+        } finally {
+            enqueueLock.unlock();
+        }
+
+        // The background thread has been stopped, so write the content on this thread
+        writeAll(List.of(pendingWrite));
+    }
+
+    private void releaseBuffer(final ByteBuffer buffer) {
+        final int bytes = buffer.limit();
+        freeBuffers.offer(buffer);
+        availablePendingBytes.release(bytes);
+    }
+
+    private static class PendingWrite {
+        private final WriteBehindOutputStream stream;
+        private final ByteBuffer buffer;
+
+        private PendingWrite(final WriteBehindOutputStream stream, final ByteBuffer buffer) {
+            this.stream = stream;
+            this.buffer = buffer;
+        }
+    }
+
+    class WriteBehindOutputStream extends OutputStream {
+        private final FileChannel channel;
+        // The buffer that is currently being filled by the thread writing to this stream, or null if there is none
+        private ByteBuffer currentBuffer;
+        private int pendingCount = 0;
+        private IOException failure;
+        private boolean closed = false;
+
+        private WriteBehindOutputStream(final FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            checkFailure();
+
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                if (currentBuffer == null) {
+                    currentBuffer = acquireBuffer();
+                }
+
+                final int length = Math.min(remaining, currentBuffer.remaining());
+                currentBuffer.put(b, offset, length);
+                if (!currentBuffer.hasRemaining()) {
+                    submitCurrentBuffer();
+                }
+
+                offset += length;
+                remaining -= length;
+            }
+        }
+
+        private void submitCurrentBuffer() throws InterruptedIOException {
+            final ByteBuffer buffer = currentBuffer;
+            if (buffer == null) {
+                return;
+            }
+            currentBuffer = null;
+
+            if (buffer.position() == 0) {
+                freeBuffers.offer(buffer);
+                return;
+            }
+
+            buffer.flip();
+            try {
+                reservePendingBytes(buffer.limit());
+            } catch (final InterruptedIOException iioe) {
+                freeBuffers.offer(buffer);
+                failed(iioe);
+                throw iioe;
+            }
+
+            synchronized (this) {
+                pendingCount++;
+            }
+            if (writeStatistics != null) {
+                writeStatistics.beginWrite(buffer.limit());
+            }
+
+            enqueue(new PendingWrite(this, buffer));
+        }
+
+        /**
+         * Waits for all content that has been written to this stream to be written to the file
+         *
+         * @throws IOException if any content could not be written to the file
+         */
+        @Override
+        public void flush() throws IOException {
+            submitCurrentBuffer();
+            awaitPendingWrites();
+            checkFailure();
+        }
+
+        /**
+         * Waits for all content that has been written to this stream to be written to the file and then forces it to disk
+         *
+         * @throws IOException if any content could not be written or forced to disk
+         */
+        void sync() throws IOException {
+            flush();
+            channel.force(false);
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+
+            try {
+                submitCurrentBuffer();
+                awaitPendingWrites();
+            } finally {
+                channel.close();
+            }
+        }
+
+        private synchronized void awaitPendingWrites() throws InterruptedIOException {
+            while (pendingCount > 0) {
+                try {
+                    wait();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for content to be written to Container " + containerName);
+                }
+            }
+        }
+
+        private synchronized void completed(final int count) {
+            pendingCount -= count;
+            if (pendingCount <= 0) {
+                notifyAll();
+            }
+        }
+
+        private synchronized void failed(final IOException ioe) {
+            if (failure == null) {
+                failure = ioe;
+            }
+        }
+
+        private synchronized IOException getFailure() {
+            return failure;
+        }
+
+        private void checkFailure() throws IOException {
+            final IOException ioe = getFailure();
+            if (ioe != null) {
+                throw new IOException("Failed to write content to Container " + containerName, ioe);
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.apache.nifi.components.state.StateManager;
 import org.apache.nifi.components.state.StateManagerProvider;
 import org.apache.nifi.connectable.Connectable;
 import org.apache.nifi.controller.repository.ContentRepository;
+import org.apache.nifi.controller.repository.ContentViewCache;
 import org.apache.nifi.controller.repository.CounterRepository;
 import org.apache.nifi.controller.repository.FlowFileEventRepository;
 import org.apache.nifi.controller.repository.FlowFileRepository;
@@ -37,11 +38,19 @@ public class RepositoryContextFactory {
     private final CounterRepository counterRepo;
     private final ProvenanceRepository provenanceRepo;
     private final StateManagerProvider stateManagerProvider;
+    private final ContentViewCache contentViewCache;
 
     public RepositoryContextFactory(final ContentRepository contentRepository, final FlowFileRepository flowFileRepository,
             final FlowFileEventRepository flowFileEventRepository, final CounterRepository counterRepository,
             final ProvenanceRepository provenanceRepository, final StateManagerProvider stateManagerProvider) {
+        this(contentRepository, flowFileRepository, flowFileEventRepository, counterRepository, provenanceRepository, stateManagerProvider, null);
+    }
+
+    public RepositoryContextFactory(final ContentRepository contentRepository, final FlowFileRepository flowFileRepository,
+            final FlowFileEventRepository flowFileEventRepository, final CounterRepository counterRepository,
+            final ProvenanceRepository provenanceRepository, final StateManagerProvider stateManagerProvider, final ContentViewCache contentViewCache) {
 
+        this.contentViewCache = contentViewCache;
         this.contentRepo = contentRepository;
         this.flowFileRepo = flowFileRepository;
         this.flowFileEventRepo = flowFileEventRepository;
@@ -52,7 +61,7 @@ public class RepositoryContextFactory {
 
     public RepositoryContext newProcessContext(final Connectable connectable, final AtomicLong connectionIndex) {
         final StateManager stateManager = stateManagerProvider.getStateManager(connectable.getIdentifier());
-        return new StandardRepositoryContext(connectable, connectionIndex, contentRepo, flowFileRepo, flowFileEventRepo, counterRepo, provenanceRepo, stateManager);
+        return new StandardRepositoryContext(connectable, connectionIndex, contentRepo, flowFileRepo, flowFileEventRepo, counterRepo, provenanceRepo, stateManager, contentViewCache);
     }
 
     public ContentRepository getContentRepository() {
@@ -66,4 +75,11 @@ public class RepositoryContextFactory {
     public ProvenanceRepository getProvenanceRepository() {
         return provenanceRepo;
     }
+
+    /**
+     * @return the cache of in-memory content views, or <code>null</code> if caching content views is disabled
+     */
+    public ContentViewCache getContentViewCache() {
+        return contentViewCache;
+    }
 }
@@ -20,22 +20,90 @@ package org.apache.nifi.controller.state;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.nifi.components.state.StateMap;
 import org.wali.SerDe;
 import org.wali.UpdateType;
 
+/**
+ * SerDe for component state. Snapshots always contain the full state of each component, while journaled edits
+ * (as of version 1) contain only the entries that were added, changed, or removed whenever that is smaller than
+ * writing the full state. Each checkpoint therefore compacts the deltas that were written since the previous one.
+ */
 public class StateMapSerDe implements SerDe<StateMapUpdate> {
     private static final long EMPTY_VERSION = -1;
 
-    private static final int VERSION = 0;
+    private static final int VERSION = 1;
+
+    private static final int FIRST_DELTA_VERSION = 1;
+
+    private static final int ENCODING_FULL = 0;
+    private static final int ENCODING_DELTA = 1;
 
     @Override
     public void serializeEdit(final StateMapUpdate previousRecordState, final StateMapUpdate newRecordState, final DataOutputStream out) throws IOException {
-        serializeRecord(newRecordState, out);
+        out.writeUTF(newRecordState.getComponentId());
+        out.writeUTF(newRecordState.getUpdateType().name());
+        if (newRecordState.getUpdateType() == UpdateType.DELETE) {
+            return;
+        }
+
+        final StateMap stateMap = newRecordState.getStateMap();
+        final long recordVersion = stateMap.getStateVersion().map(Long::parseLong).orElse(EMPTY_VERSION);
+        out.writeLong(recordVersion);
+
+        final Map<String, String> map = stateMap.toMap();
+        final StateDelta delta = createDelta(previousRecordState, newRecordState);
+        if (delta == null || delta.size() >= map.size()) {
+            out.writeByte(ENCODING_FULL);
+            writeEntries(map, out);
+            return;
+        }
+
+        out.writeByte(ENCODING_DELTA);
+        writeEntries(delta.updatedEntries(), out);
+        out.writeInt(delta.removedKeys().size());
+        for (final String removedKey : delta.removedKeys()) {
+            writeNullableString(removedKey, out);
+        }
+    }
+
+    private StateDelta createDelta(final StateMapUpdate previousRecordState, final StateMapUpdate newRecordState) {
+        // A delta can only be applied on recovery if the journal or snapshot already holds a state for the component
+        if (previousRecordState == null || previousRecordState.getUpdateType() == UpdateType.DELETE || previousRecordState.getStateMap() == null) {
+            return null;
+        }
+
+        if (newRecordState.isDeltaKnown()) {
+            return new StateDelta(newRecordState.getUpdatedEntries(), newRecordState.getRemovedKeys());
+        }
+
+        final Map<String, String> previousMap = previousRecordState.getStateMap().toMap();
+        final Map<String, String> newMap = newRecordState.getStateMap().toMap();
+
+        final Map<String, String> updatedEntries = new HashMap<>();
+        for (final Map.Entry<String, String> entry : newMap.entrySet()) {
+            final String key = entry.getKey();
+            if (!previousMap.containsKey(key) || !Objects.equals(previousMap.get(key), entry.getValue())) {
+                updatedEntries.put(key, entry.getValue());
+            }
+        }
+
+        final Set<String> removedKeys = new HashSet<>();
+        for (final String key : previousMap.keySet()) {
+            if (!newMap.containsKey(key)) {
+                removedKeys.add(key);
+            }
+        }
+
+        return new StateDelta(updatedEntries, removedKeys);
     }
 
     @Override
@@ -50,26 +118,64 @@ public class StateMapSerDe implements SerDe<StateMapUpdate> {
         final long recordVersion = stateMap.getStateVersion().map(Long::parseLong).orElse(EMPTY_VERSION);
         out.writeLong(recordVersion);
 
-        final Map<String, String> map = stateMap.toMap();
+        writeEntries(stateMap.toMap(), out);
+    }
+
+    private void writeEntries(final Map<String, String> map, final DataOutputStream out) throws IOException {
         out.writeInt(map.size());
         for (final Map.Entry<String, String> entry : map.entrySet()) {
-            final boolean hasKey = entry.getKey() != null;
-            final boolean hasValue = entry.getValue() != null;
-            out.writeBoolean(hasKey);
-            if (hasKey) {
-                out.writeUTF(entry.getKey());
-            }
+            writeNullableString(entry.getKey(), out);
+            writeNullableString(entry.getValue(), out);
+        }
+    }
 
-            out.writeBoolean(hasValue);
-            if (hasValue) {
-                out.writeUTF(entry.getValue());
-            }
+    private void writeNullableString(final String value, final DataOutputStream out) throws IOException {
+        final boolean hasValue = value != null;
+        out.writeBoolean(hasValue);
+        if (hasValue) {
+            out.writeUTF(value);
         }
     }
 
     @Override
     public StateMapUpdate deserializeEdit(final DataInputStream in, final Map<Object, StateMapUpdate> currentRecordStates, final int version) throws IOException {
-        return deserializeRecord(in, version);
+        if (version < FIRST_DELTA_VERSION) {
+            return deserializeRecord(in, version);
+        }
+
+        final String componentId = in.readUTF();
+        final String updateTypeName = in.readUTF();
+        final UpdateType updateType = UpdateType.valueOf(updateTypeName);
+        if (updateType == UpdateType.DELETE) {
+            return new StateMapUpdate(null, componentId, updateType);
+        }
+
+        final long recordVersion = in.readLong();
+        final int encoding = in.readByte();
+        final Map<String, String> stateValues;
+        switch (encoding) {
+            case ENCODING_FULL:
+                stateValues = readEntries(in);
+                break;
+            case ENCODING_DELTA:
+                final Map<String, String> updatedEntries = readEntries(in);
+                final int numRemoved = in.readInt();
+
+                final StateMapUpdate currentRecordState = currentRecordStates.get(componentId);
+                final Map<String, String> currentValues = (currentRecordState == null || currentRecordState.getStateMap() == null)
+                    ? Collections.emptyMap() : currentRecordState.getStateMap().toMap();
+                stateValues = new HashMap<>(currentValues);
+                for (int i = 0; i < numRemoved; i++) {
+                    stateValues.remove(readNullableString(in));
+                }
+                stateValues.putAll(updatedEntries);
+                break;
+            default:
+                throw new IOException("Failed to deserialize state for component " + componentId + " because encoding " + encoding + " is not known");
+        }
+
+        final String stateVersion = String.valueOf(recordVersion);
+        return new StateMapUpdate(new StandardStateMap(stateValues, Optional.of(stateVersion)), componentId, updateType);
     }
 
     @Override
@@ -82,18 +188,27 @@ public class StateMapSerDe implements SerDe<StateMapUpdate> {
         }
 
         final long recordVersion = in.readLong();
+        final Map<String, String> stateValues = readEntries(in);
+
+        final String stateVersion = String.valueOf(recordVersion);
+        return new StateMapUpdate(new StandardStateMap(stateValues, Optional.of(stateVersion)), componentId, updateType);
+    }
+
+    private Map<String, String> readEntries(final DataInputStream in) throws IOException {
         final int numEntries = in.readInt();
         final Map<String, String> stateValues = new HashMap<>(numEntries);
         for (int i = 0; i < numEntries; i++) {
-            final boolean hasKey = in.readBoolean();
-            final String key = hasKey ? in.readUTF() : null;
-            final boolean hasValue = in.readBoolean();
-            final String value = hasValue ? in.readUTF() : null;
+            final String key = readNullableString(in);
+            final String value = readNullableString(in);
             stateValues.put(key, value);
         }
 
-        final String stateVersion = String.valueOf(recordVersion);
-        return new StateMapUpdate(new StandardStateMap(stateValues, Optional.of(stateVersion)), componentId, updateType);
+        return stateValues;
+    }
+
+    private String readNullableString(final DataInputStream in) throws IOException {
+        final boolean hasValue = in.readBoolean();
+        return hasValue ? in.readUTF() : null;
     }
 
     @Override
@@ -115,4 +230,10 @@ public class StateMapSerDe implements SerDe<StateMapUpdate> {
     public int getVersion() {
         return VERSION;
     }
+
+    private record StateDelta(Map<String, String> updatedEntries, Set<String> removedKeys) {
+        int size() {
+            return updatedEntries.size() + removedKeys.size();
+        }
+    }
 }
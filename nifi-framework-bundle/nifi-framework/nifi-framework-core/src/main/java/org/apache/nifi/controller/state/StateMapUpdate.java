@@ -20,15 +20,37 @@ package org.apache.nifi.controller.state;
 import org.apache.nifi.components.state.StateMap;
 import org.wali.UpdateType;
 
+import java.util.Map;
+import java.util.Set;
+
 public class StateMapUpdate {
     private final StateMap stateMap;
     private final String componentId;
     private final UpdateType updateType;
+    private final Map<String, String> updatedEntries;
+    private final Set<String> removedKeys;
 
     public StateMapUpdate(final StateMap stateMap, final String componentId, final UpdateType updateType) {
+        this(stateMap, componentId, updateType, null, null);
+    }
+
+    /**
+     * Creates an update that also carries the entries that were changed relative to the previous state of the component,
+     * allowing the update to be journaled as a delta rather than as a full copy of the state.
+     *
+     * @param stateMap the full state of the component after the update
+     * @param componentId the identifier of the component
+     * @param updateType the type of update
+     * @param updatedEntries the entries that were added or changed by this update, or <code>null</code> if not known
+     * @param removedKeys the keys that were removed by this update, or <code>null</code> if not known
+     */
+    public StateMapUpdate(final StateMap stateMap, final String componentId, final UpdateType updateType,
+                          final Map<String, String> updatedEntries, final Set<String> removedKeys) {
         this.stateMap = stateMap;
         this.componentId = componentId;
         this.updateType = updateType;
+        this.updatedEntries = updatedEntries;
+        this.removedKeys = removedKeys;
     }
 
     public StateMap getStateMap() {
@@ -42,4 +64,16 @@ public class StateMapUpdate {
     public UpdateType getUpdateType() {
         return updateType;
     }
+
+    public Map<String, String> getUpdatedEntries() {
+        return updatedEntries;
+    }
+
+    public Set<String> getRemovedKeys() {
+        return removedKeys;
+    }
+
+    public boolean isDeltaKnown() {
+        return updatedEntries != null && removedKeys != null;
+    }
 }
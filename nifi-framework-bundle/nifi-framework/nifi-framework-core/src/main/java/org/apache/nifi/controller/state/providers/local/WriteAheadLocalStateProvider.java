@@ -23,9 +23,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
@@ -212,6 +214,11 @@ public class WriteAheadLocalStateProvider extends AbstractStateProvider {
         return getProvider(componentId).replace(oldValue, newValue);
     }
 
+    @Override
+    public boolean replaceEntries(final StateMap oldValue, final Map<String, String> updatedEntries, final Set<String> removedKeys, final String componentId) throws IOException {
+        return getProvider(componentId).replaceEntries(oldValue, updatedEntries, removedKeys);
+    }
+
     @Override
     public void clear(final String componentId) throws IOException {
         getProvider(componentId).clear();
@@ -280,6 +287,23 @@ public class WriteAheadLocalStateProvider extends AbstractStateProvider {
             return true;
         }
 
+        // see above explanation as to why this method is synchronized. The changed entries are carried along with the update so that
+        // only they are written to the journal; the full state is still written at each checkpoint.
+        public synchronized boolean replaceEntries(final StateMap oldValue, final Map<String, String> updatedEntries, final Set<String> removedKeys) throws IOException {
+            if (stateMap != oldValue) {
+                return false;
+            }
+
+            final Map<String, String> newValue = new HashMap<>(oldValue.toMap());
+            removedKeys.forEach(newValue::remove);
+            newValue.putAll(updatedEntries);
+
+            stateMap = new StandardStateMap(newValue, Optional.of(getIncrementedVersion()));
+            final StateMapUpdate updateRecord = new StateMapUpdate(stateMap, componentId, UpdateType.UPDATE, new HashMap<>(updatedEntries), new HashSet<>(removedKeys));
+            wal.update(Collections.singleton(updateRecord), alwaysSync);
+            return true;
+        }
+
         public synchronized void clear() throws IOException {
             stateMap = new StandardStateMap(null, Optional.of(getIncrementedVersion()));
             final StateMapUpdate update = new StateMapUpdate(stateMap, componentId, UpdateType.UPDATE);
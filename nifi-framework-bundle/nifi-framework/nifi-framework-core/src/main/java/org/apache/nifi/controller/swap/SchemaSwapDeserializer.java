@@ -18,11 +18,13 @@
 package org.apache.nifi.controller.swap;
 
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
 import org.apache.nifi.controller.queue.FlowFileQueue;
 import org.apache.nifi.controller.repository.FlowFileRecord;
 import org.apache.nifi.controller.repository.SwapContents;
@@ -40,19 +42,34 @@ import org.apache.nifi.repository.schema.SchemaRecordReader;
 
 public class SchemaSwapDeserializer implements SwapDeserializer {
     private final FieldCache fieldCache;
+    private final boolean compressed;
 
     public SchemaSwapDeserializer() {
         this(new NoOpFieldCache());
     }
 
     public SchemaSwapDeserializer(final FieldCache fieldCache) {
+        this(fieldCache, false);
+    }
+
+    /**
+     * @param fieldCache the cache to use for deserialized field values
+     * @param compressed whether the swap file was written with {@link SchemaSwapSerializer#LZ4_SERIALIZATION_NAME compression}, in which case
+     *            the Swap Summary and the FlowFiles are stored as separate records and the FlowFiles are LZ4-compressed
+     */
+    public SchemaSwapDeserializer(final FieldCache fieldCache, final boolean compressed) {
         this.fieldCache = fieldCache;
+        this.compressed = compressed;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public SwapContents deserializeFlowFiles(final DataInputStream in, final String swapLocation, final FlowFileQueue queue, final ResourceClaimManager claimManager) throws IOException {
         final RecordSchema schema = RecordSchema.readFrom(in);
+        if (compressed) {
+            return deserializeCompressedFlowFiles(schema, in, claimManager);
+        }
+
         final SchemaRecordReader reader = SchemaRecordReader.fromSchema(schema, fieldCache);
 
         final Record parentRecord = reader.readRecord(in);
@@ -69,9 +86,39 @@ public class SchemaSwapDeserializer implements SwapDeserializer {
         return new StandardSwapContents(swapSummary, flowFiles);
     }
 
+    @SuppressWarnings("unchecked")
+    private SwapContents deserializeCompressedFlowFiles(final RecordSchema schema, final DataInputStream in, final ResourceClaimManager claimManager) throws IOException {
+        final SwapSummary swapSummary = readSwapSummary(schema, in, claimManager);
+
+        final List<RecordField> flowFileFields = schema.getField(SwapSchema.FLOWFILE_CONTENTS).getSubFields();
+        final RecordField contentsField = new ComplexRecordField(SwapSchema.FLOWFILE_CONTENTS, Repetition.ZERO_OR_MORE, flowFileFields);
+        final SchemaRecordReader reader = SchemaRecordReader.fromSchema(new RecordSchema(contentsField), fieldCache);
+
+        final Record contentsRecord;
+        try (final FramedLZ4CompressorInputStream decompressedIn = new FramedLZ4CompressorInputStream(in)) {
+            contentsRecord = reader.readRecord(decompressedIn);
+        }
+
+        if (contentsRecord == null) {
+            throw new EOFException("Swap File ended before any FlowFiles could be read");
+        }
+
+        final List<Record> flowFileRecords = (List<Record>) contentsRecord.getFieldValue(SwapSchema.FLOWFILE_CONTENTS);
+        final List<FlowFileRecord> flowFiles = new ArrayList<>(flowFileRecords.size());
+        for (final Record record : flowFileRecords) {
+            flowFiles.add(FlowFileRecordFieldMap.getFlowFile(record, claimManager));
+        }
+
+        return new StandardSwapContents(swapSummary, flowFiles);
+    }
+
     @Override
     public SwapSummary getSwapSummary(final DataInputStream in, final String swapLocation, final ResourceClaimManager claimManager) throws IOException {
         final RecordSchema schema = RecordSchema.readFrom(in);
+        return readSwapSummary(schema, in, claimManager);
+    }
+
+    private SwapSummary readSwapSummary(final RecordSchema schema, final DataInputStream in, final ResourceClaimManager claimManager) throws IOException {
         final List<RecordField> summaryFields = schema.getField(SwapSchema.SWAP_SUMMARY).getSubFields();
         final RecordField summaryRecordField = new ComplexRecordField(SwapSchema.SWAP_SUMMARY, Repetition.EXACTLY_ONE, summaryFields);
         final RecordSchema summarySchema = new RecordSchema(Collections.singletonList(summaryRecordField));
@@ -85,4 +132,8 @@ public class SchemaSwapDeserializer implements SwapDeserializer {
     public static String getSerializationName() {
         return SchemaSwapSerializer.SERIALIZATION_NAME;
     }
+
+    public static String getCompressedSerializationName() {
+        return SchemaSwapSerializer.LZ4_SERIALIZATION_NAME;
+    }
 }
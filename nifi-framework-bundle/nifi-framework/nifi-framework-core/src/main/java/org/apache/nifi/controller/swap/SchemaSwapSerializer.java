@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
 import org.apache.nifi.controller.queue.FlowFileQueue;
 import org.apache.nifi.controller.queue.QueueSize;
 import org.apache.nifi.controller.repository.FlowFileRecord;
@@ -43,11 +44,26 @@ import org.apache.nifi.repository.schema.Repetition;
 import org.apache.nifi.repository.schema.SchemaRecordWriter;
 import org.apache.nifi.repository.schema.SimpleRecordField;
 
+/**
+ * Writes swap files as a schema followed by a record holding the Swap Summary and the FlowFiles. When compression is enabled,
+ * the Swap Summary is written as its own uncompressed record and only the FlowFiles that follow it are LZ4-compressed, so that
+ * the summary can still be read without decompressing or deserializing any FlowFile.
+ */
 public class SchemaSwapSerializer implements SwapSerializer {
     static final String SERIALIZATION_NAME = "Schema Swap Serialization";
+    static final String LZ4_SERIALIZATION_NAME = "LZ4 Schema Swap Serialization";
 
     private final RecordSchema schema = SwapSchema.FULL_SWAP_FILE_SCHEMA_V3;
     private final RecordSchema flowFileSchema = new RecordSchema(schema.getField(SwapSchema.FLOWFILE_CONTENTS).getSubFields());
+    private final boolean compressed;
+
+    public SchemaSwapSerializer() {
+        this(false);
+    }
+
+    public SchemaSwapSerializer(final boolean compressed) {
+        this.compressed = compressed;
+    }
 
     @Override
     public void serializeFlowFiles(final List<FlowFileRecord> toSwap, final FlowFileQueue queue, final String swapLocation, final OutputStream out) throws IOException {
@@ -85,6 +101,18 @@ public class SchemaSwapSerializer implements SwapSerializer {
         // Create a simple record to hold the summary and the flowfile contents
         final RecordField summaryField = new SimpleRecordField(SwapSchema.SWAP_SUMMARY, FieldType.COMPLEX, Repetition.EXACTLY_ONE);
         final RecordField contentsField = new ComplexRecordField(SwapSchema.FLOWFILE_CONTENTS, Repetition.ZERO_OR_MORE, FlowFileSchema.FLOWFILE_SCHEMA_V2.getFields());
+        final SchemaRecordWriter writer = new SchemaRecordWriter();
+
+        if (compressed) {
+            writer.writeRecord(new FieldMapRecord(Map.of(summaryField, summaryRecord), new RecordSchema(summaryField)), out);
+
+            final FramedLZ4CompressorOutputStream compressedOut = new FramedLZ4CompressorOutputStream(out);
+            writer.writeRecord(new FieldMapRecord(Map.of(contentsField, flowFileRecords), new RecordSchema(contentsField)), compressedOut);
+            compressedOut.finish();
+            out.flush();
+            return;
+        }
+
         final List<RecordField> fields = new ArrayList<>(2);
         fields.add(summaryField);
         fields.add(contentsField);
@@ -94,14 +122,13 @@ public class SchemaSwapSerializer implements SwapSerializer {
         swapFileMap.put(contentsField, flowFileRecords);
         final Record swapFileRecord = new FieldMapRecord(swapFileMap, new RecordSchema(fields));
 
-        final SchemaRecordWriter writer = new SchemaRecordWriter();
         writer.writeRecord(swapFileRecord, out);
         out.flush();
     }
 
     @Override
     public String getSerializationName() {
-        return SERIALIZATION_NAME;
+        return compressed ? LZ4_SERIALIZATION_NAME : SERIALIZATION_NAME;
     }
 
 }
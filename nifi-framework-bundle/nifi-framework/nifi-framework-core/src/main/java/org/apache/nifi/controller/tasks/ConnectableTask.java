@@ -49,6 +49,7 @@ import org.apache.nifi.processor.StandardProcessContext;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.exception.TerminatedTaskException;
 import org.apache.nifi.util.Connectables;
+import org.apache.nifi.util.concurrency.TimedLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,6 +75,7 @@ public class ConnectableTask {
     private final FlowController flowController;
     private final int numRelationships;
     private final ThreadMXBean threadMXBean;
+    private final com.sun.management.ThreadMXBean allocationMXBean;
     private final AtomicLong invocations = new AtomicLong(0L);
     private volatile SampledMetrics sampledMetrics = new SampledMetrics();
     private final int perfTrackingNthIteration;
@@ -87,6 +89,7 @@ public class ConnectableTask {
         this.numRelationships = connectable.getRelationships().size();
         this.flowController = flowController;
         this.threadMXBean = ManagementFactory.getThreadMXBean();
+        this.allocationMXBean = getAllocationMXBean(threadMXBean);
 
         final StateManager stateManager = new TaskTerminationAwareStateManager(flowController.getStateManagerProvider().getStateManager(connectable.getIdentifier()), lifecycleState::isTerminated);
         if (connectable instanceof ProcessorNode) {
@@ -203,12 +206,16 @@ public class ConnectableTask {
         final boolean measureCpuTime = measureExpensiveMetrics && threadMXBean.isCurrentThreadCpuTimeSupported();
         final long startCpuTime;
         final long startGcMillis;
+        final long startAllocatedBytes;
         if (measureCpuTime) {
             startCpuTime = threadMXBean.getCurrentThreadCpuTime();
             startGcMillis = flowController.getGarbageCollectionLog().getTotalGarbageCollectionMillis();
+            startAllocatedBytes = allocationMXBean == null ? 0L : allocationMXBean.getCurrentThreadAllocatedBytes();
+            TimedLock.startTrackingWaitTime();
         } else {
             startCpuTime = 0L;
             startGcMillis = 0L;
+            startAllocatedBytes = 0L;
         }
 
         final PerformanceTracker performanceTracker = measureExpensiveMetrics ? new NanoTimePerformanceTracker() : new NopPerformanceTracker();
@@ -299,11 +306,16 @@ public class ConnectableTask {
                 }
 
                 try {
-                    updateEventRepo(startNanos, startCpuTime, startGcMillis, invocationCount, measureCpuTime, performanceTracker);
+                    updateEventRepo(startNanos, startCpuTime, startGcMillis, startAllocatedBytes, invocationCount, measureCpuTime, performanceTracker);
                 } catch (final IOException e) {
                     logger.error("Unable to update FlowFileEvent Repository for {}; statistics may be inaccurate.", connectable.getRunnableComponent(), e);
                 }
             } finally {
+                if (measureCpuTime) {
+                    // Ensure that lock wait tracking does not outlive this invocation if the event repository could not be updated
+                    TimedLock.stopTrackingWaitTime();
+                }
+
                 lifecycleState.decrementActiveThreadCount();
                 Thread.currentThread().setName(originalThreadName);
             }
@@ -312,8 +324,8 @@ public class ConnectableTask {
         return InvocationResult.DO_NOT_YIELD;
     }
 
-    private void updateEventRepo(final long startNanoTime, final long startCpuTime, final long startGcMillis, final int invocationCount, final boolean measureCpuTime,
-                                 final PerformanceTracker performanceTracker)
+    private void updateEventRepo(final long startNanoTime, final long startCpuTime, final long startGcMillis, final long startAllocatedBytes, final int invocationCount,
+                                 final boolean measureCpuTime, final PerformanceTracker performanceTracker)
                 throws IOException {
         final long processingNanos = System.nanoTime() - startNanoTime;
         final StandardFlowFileEvent flowFileEvent = new StandardFlowFileEvent();
@@ -324,7 +336,7 @@ public class ConnectableTask {
         // total CPU nanos measured as well as total processing time for those iterations. This gives us a ratio of CPU time vs. total time.
         // We can then use that to extrapolate an approximate CPU Time.
         if (measureCpuTime) {
-            updatePerformanceTrackingMetrics(flowFileEvent, performanceTracker, startCpuTime, startGcMillis, processingNanos);
+            updatePerformanceTrackingMetrics(flowFileEvent, performanceTracker, startCpuTime, startGcMillis, startAllocatedBytes, processingNanos);
         } else {
             estimatePerformanceTrackingMetrics(flowFileEvent, processingNanos);
         }
@@ -341,12 +353,16 @@ public class ConnectableTask {
         flowFileEvent.setContentWriteNanoseconds((long) (processingRatio * currentMetrics.getWriteNanos()));
         flowFileEvent.setSessionCommitNanos((long) (processingRatio * currentMetrics.getSessionCommitNanos()));
         flowFileEvent.setGarbageCollectionMillis((long) (processingRatio * currentMetrics.getGcMillis()));
+        flowFileEvent.setAllocatedBytes((long) (processingRatio * currentMetrics.getAllocatedBytes()));
+        flowFileEvent.setLockWaitNanoseconds((long) (processingRatio * currentMetrics.getLockWaitNanos()));
     }
 
     private void updatePerformanceTrackingMetrics(final StandardFlowFileEvent flowFileEvent, final PerformanceTracker performanceTracker, final long startCpuTime,
-                                                  final long startGcMillis, final long processingNanos) {
+                                                  final long startGcMillis, final long startAllocatedBytes, final long processingNanos) {
         final long cpuTime = threadMXBean.getCurrentThreadCpuTime();
         final long cpuNanos = cpuTime - startCpuTime;
+        final long allocatedBytes = allocationMXBean == null ? 0L : Math.max(0L, allocationMXBean.getCurrentThreadAllocatedBytes() - startAllocatedBytes);
+        final long lockWaitNanos = TimedLock.stopTrackingWaitTime();
 
         final long endGcMillis = flowController.getGarbageCollectionLog().getTotalGarbageCollectionMillis();
         final long gcMillis = endGcMillis - startGcMillis;
@@ -356,6 +372,8 @@ public class ConnectableTask {
         flowFileEvent.setContentReadNanoseconds(performanceTracker.getContentReadNanos());
         flowFileEvent.setSessionCommitNanos(performanceTracker.getSessionCommitNanos());
         flowFileEvent.setGarbageCollectionMillis(gcMillis);
+        flowFileEvent.setAllocatedBytes(allocatedBytes);
+        flowFileEvent.setLockWaitNanoseconds(lockWaitNanos);
 
         final SampledMetrics previousMetrics = sampledMetrics;
         final SampledMetrics updatedMetrics = new SampledMetrics();
@@ -365,9 +383,21 @@ public class ConnectableTask {
         updatedMetrics.setWriteNanos(previousMetrics.getWriteNanos() + performanceTracker.getContentWriteNanos());
         updatedMetrics.setSessionCommitNanos(previousMetrics.getSessionCommitNanos() + performanceTracker.getSessionCommitNanos());
         updatedMetrics.setGcMillis(gcMillis);
+        updatedMetrics.setAllocatedBytes(previousMetrics.getAllocatedBytes() + allocatedBytes);
+        updatedMetrics.setLockWaitNanos(previousMetrics.getLockWaitNanos() + lockWaitNanos);
         this.sampledMetrics = updatedMetrics;
     }
 
+    private static com.sun.management.ThreadMXBean getAllocationMXBean(final ThreadMXBean threadMXBean) {
+        // Per-thread allocation counters are a HotSpot extension; fall back to not reporting allocations when unavailable
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean allocationMXBean
+                && allocationMXBean.isThreadAllocatedMemorySupported() && allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+            return allocationMXBean;
+        }
+
+        return null;
+    }
+
     private boolean isMeasureExpensiveMetrics(final long invocationCount) {
         if (perfTrackingNthIteration == 0) { // A value of 0 indicates we should never track performance metrics.
             return false;
@@ -387,6 +417,8 @@ public class ConnectableTask {
         private long writeNanos = 0L;
         private long sessionCommitNanos = 0L;
         private long gcMillis = 0L;
+        private long allocatedBytes = 0L;
+        private long lockWaitNanos = 0L;
 
         public long getProcessingNanosSampled() {
             return processingNanosSampled;
@@ -435,5 +467,21 @@ public class ConnectableTask {
         public void setGcMillis(final long gcMillis) {
             this.gcMillis = gcMillis;
         }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public void setAllocatedBytes(final long allocatedBytes) {
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public long getLockWaitNanos() {
+            return lockWaitNanos;
+        }
+
+        public void setLockWaitNanos(final long lockWaitNanos) {
+            this.lockWaitNanos = lockWaitNanos;
+        }
     }
 }
@@ -23,6 +23,7 @@ import org.apache.nifi.diagnostics.DiagnosticsDumpElement;
 import org.apache.nifi.diagnostics.DiagnosticsFactory;
 import org.apache.nifi.diagnostics.StandardDiagnosticsDump;
 import org.apache.nifi.diagnostics.ThreadDumpTask;
+import org.apache.nifi.diagnostics.bootstrap.tasks.AuthorizationCacheDiagnosticTask;
 import org.apache.nifi.diagnostics.bootstrap.tasks.ClusterDiagnosticTask;
 import org.apache.nifi.diagnostics.bootstrap.tasks.ComponentCountTask;
 import org.apache.nifi.diagnostics.bootstrap.tasks.ContentRepositoryScanTask;
@@ -80,6 +81,7 @@ public class BootstrapDiagnosticsFactory implements DiagnosticsFactory {
         tasks.add(new ProcessorTimingDiagnosticTask(flowController.getFlowFileEventRepository(), flowController.getFlowManager()));
         tasks.add(new LongRunningProcessorTask(flowController));
         tasks.add(new ClusterDiagnosticTask(flowController));
+        tasks.add(new AuthorizationCacheDiagnosticTask(flowController.getAuthorizer()));
         tasks.add(new GarbageCollectionDiagnosticTask(flowController));
         tasks.add(new MemoryPoolPeakUsageTask());
         tasks.add(new RepositoryDiagnosticTask(flowController));
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.diagnostics.bootstrap.tasks;
+
+import org.apache.nifi.authorization.AuthorizationDecisionCache;
+import org.apache.nifi.authorization.Authorizer;
+import org.apache.nifi.authorization.CachingManagedAuthorizer;
+import org.apache.nifi.diagnostics.DiagnosticTask;
+import org.apache.nifi.diagnostics.DiagnosticsDumpElement;
+import org.apache.nifi.diagnostics.StandardDiagnosticsDumpElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AuthorizationCacheDiagnosticTask implements DiagnosticTask {
+    private final Authorizer authorizer;
+
+    public AuthorizationCacheDiagnosticTask(final Authorizer authorizer) {
+        this.authorizer = authorizer;
+    }
+
+    @Override
+    public DiagnosticsDumpElement captureDump(final boolean verbose) {
+        final List<String> details = new ArrayList<>();
+
+        final AuthorizationDecisionCache decisionCache = authorizer instanceof CachingManagedAuthorizer ? ((CachingManagedAuthorizer) authorizer).getDecisionCache() : null;
+        if (decisionCache == null) {
+            details.add("Authorization decisions are not cached");
+        } else {
+            details.add("Cached Decisions: " + decisionCache.getSize());
+            details.add("Hits: " + decisionCache.getHitCount());
+            details.add("Misses: " + decisionCache.getMissCount());
+            details.add("Hit Rate: " + String.format("%.2f%%", decisionCache.getHitRate() * 100));
+            details.add("Invalidations: " + decisionCache.getInvalidationCount());
+        }
+
+        return new StandardDiagnosticsDumpElement("Authorization Cache", details);
+    }
+}
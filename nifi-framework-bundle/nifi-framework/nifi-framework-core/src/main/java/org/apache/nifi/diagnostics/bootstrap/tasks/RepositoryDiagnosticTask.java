@@ -18,6 +18,8 @@ package org.apache.nifi.diagnostics.bootstrap.tasks;
 
 import org.apache.nifi.controller.FlowController;
 import org.apache.nifi.controller.repository.ContentRepository;
+import org.apache.nifi.controller.repository.ContentViewCache;
+import org.apache.nifi.controller.repository.FileSystemRepository;
 import org.apache.nifi.controller.repository.FlowFileRepository;
 import org.apache.nifi.controller.scheduling.RepositoryContextFactory;
 import org.apache.nifi.controller.status.ProcessGroupStatus;
@@ -59,6 +61,12 @@ public class RepositoryDiagnosticTask implements DiagnosticTask {
             details.add("Failed to gather details about Content Repository");
         }
 
+        final ContentViewCache contentViewCache = contextFactory.getContentViewCache();
+        if (contentViewCache != null) {
+            details.add("");
+            captureDiagnostics(contentViewCache, details);
+        }
+
         try {
             details.add("");
             captureDiagnostics(contextFactory.getProvenanceRepository(), details);
@@ -82,12 +90,26 @@ public class RepositoryDiagnosticTask implements DiagnosticTask {
             details.add("Content Repository <" + containerName + "> File Store: " + repository.getContainerFileStoreName(containerName));
             details.add("Content Repository <" + containerName + "> Storage Capacity: " + FormatUtils.formatDataSize(repository.getContainerCapacity(containerName)));
             details.add("Content Repository <" + containerName + "> Usable Space: " + FormatUtils.formatDataSize(repository.getContainerUsableSpace(containerName)));
+
+            // Write statistics are only collected when the ADAPTIVE container selection strategy is configured
+            if (repository instanceof FileSystemRepository fileSystemRepository && fileSystemRepository.getContainerInFlightBytes(containerName) >= 0) {
+                details.add("Content Repository <" + containerName + "> Average Write Latency: "
+                    + String.format("%.2f nanos per byte", fileSystemRepository.getContainerAverageWriteNanosPerByte(containerName)));
+                details.add("Content Repository <" + containerName + "> In-Flight Bytes: " + FormatUtils.formatDataSize(fileSystemRepository.getContainerInFlightBytes(containerName)));
+            }
         }
 
         details.add("Bytes Read (Last 5 mins): " + FormatUtils.formatDataSize(status.getBytesRead()));
         details.add("Bytes Written (Last 5 mins): " + FormatUtils.formatDataSize(status.getBytesWritten()));
     }
 
+    private void captureDiagnostics(final ContentViewCache contentViewCache, final List<String> details) {
+        details.add("Content View Cache Views: " + contentViewCache.getCachedViewCount());
+        details.add("Content View Cache Size: " + FormatUtils.formatDataSize(contentViewCache.getCachedBytes()));
+        details.add("Content View Cache Hits: " + contentViewCache.getHitCount());
+        details.add("Content View Cache Misses: " + contentViewCache.getMissCount());
+    }
+
     private void captureDiagnostics(final ProvenanceRepository repository, final List<String> details) throws IOException {
         details.add("Provenance Repository Implementation: " + repository.getClass().getName());
         for (final String containerName : repository.getContainerNames()) {
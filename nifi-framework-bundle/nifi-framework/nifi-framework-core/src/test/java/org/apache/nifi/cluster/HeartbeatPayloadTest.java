@@ -16,12 +16,24 @@
  */
 package org.apache.nifi.cluster;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
 
+import org.apache.nifi.cluster.coordination.node.DisconnectionCode;
+import org.apache.nifi.cluster.coordination.node.NodeConnectionState;
+import org.apache.nifi.cluster.coordination.node.NodeConnectionStatus;
 import org.apache.nifi.cluster.protocol.HeartbeatPayload;
+import org.apache.nifi.cluster.protocol.NodeIdentifier;
+import org.apache.nifi.controller.status.ProcessGroupStatus;
+import org.apache.nifi.controller.status.ProcessorStatus;
 import org.apache.nifi.util.NiFiProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -68,4 +80,109 @@ public class HeartbeatPayloadTest {
         assertEquals(activeThreadCount, newPayload.getActiveThreadCount());
         assertEquals(totalFlowFileCount, newPayload.getTotalFlowFileCount());
     }
+
+    @Test
+    public void testBinaryMarshalling() {
+        final List<NodeConnectionStatus> clusterStatus = createClusterStatus();
+        payload.setActiveThreadCount(activeThreadCount);
+        payload.setTotalFlowFileCount(totalFlowFileCount);
+        payload.setTotalFlowFileBytes(1024L);
+        payload.setSystemStartTime(12345L);
+        payload.setRevisionUpdateCount(7L);
+        payload.setClusterStatus(clusterStatus);
+
+        final byte[] binaryBytes = payload.marshalBinary();
+        assertTrue(binaryBytes.length < payload.marshal().length);
+
+        final HeartbeatPayload newPayload = HeartbeatPayload.unmarshal(binaryBytes);
+        assertEquals(activeThreadCount, newPayload.getActiveThreadCount());
+        assertEquals(totalFlowFileCount, newPayload.getTotalFlowFileCount());
+        assertEquals(1024L, newPayload.getTotalFlowFileBytes());
+        assertEquals(12345L, newPayload.getSystemStartTime());
+        assertEquals(7L, newPayload.getRevisionUpdateCount());
+        assertNull(newPayload.getClusterStatusDigest());
+
+        final List<NodeConnectionStatus> newClusterStatus = newPayload.getClusterStatus();
+        assertEquals(clusterStatus, newClusterStatus);
+        for (int i = 0; i < clusterStatus.size(); i++) {
+            final NodeConnectionStatus expected = clusterStatus.get(i);
+            final NodeConnectionStatus actual = newClusterStatus.get(i);
+            assertEquals(expected.getUpdateIdentifier(), actual.getUpdateIdentifier());
+            assertEquals(expected.getDisconnectCode(), actual.getDisconnectCode());
+            assertEquals(expected.getReason(), actual.getReason());
+            assertEquals(expected.getNodeIdentifier().getLoadBalancePort(), actual.getNodeIdentifier().getLoadBalancePort());
+            assertEquals(expected.getNodeIdentifier().getSiteToSitePort(), actual.getNodeIdentifier().getSiteToSitePort());
+        }
+    }
+
+    @Test
+    public void testBinaryMarshallingWithClusterStatusDigest() {
+        final byte[] digest = HeartbeatPayload.computeClusterStatusDigest(createClusterStatus());
+        payload.setClusterStatusDigest(digest);
+
+        final HeartbeatPayload newPayload = HeartbeatPayload.unmarshal(payload.marshalBinary());
+        assertNull(newPayload.getClusterStatus());
+        assertArrayEquals(digest, newPayload.getClusterStatusDigest());
+    }
+
+    @Test
+    public void testBinaryMarshallingWithFlowStatus() {
+        final ProcessGroupStatus flowStatus = createFlowStatus();
+        payload.setActiveThreadCount(activeThreadCount);
+        payload.setFlowStatus(HeartbeatPayload.encodeFlowStatus(flowStatus));
+
+        final HeartbeatPayload newPayload = HeartbeatPayload.unmarshal(payload.marshalBinary());
+        assertEquals(activeThreadCount, newPayload.getActiveThreadCount());
+
+        final ProcessGroupStatus newFlowStatus = HeartbeatPayload.decodeFlowStatus(newPayload.getFlowStatus());
+        assertEquals(flowStatus.getId(), newFlowStatus.getId());
+        assertEquals(flowStatus.getQueuedCount(), newFlowStatus.getQueuedCount());
+
+        final ProcessorStatus processorStatus = newFlowStatus.getProcessorStatus().iterator().next();
+        assertEquals("processor-1", processorStatus.getId());
+        assertEquals(42, processorStatus.getFlowFilesReceived());
+    }
+
+    @Test
+    public void testMarshallingWithFlowStatus() {
+        final byte[] flowStatus = HeartbeatPayload.encodeFlowStatus(createFlowStatus());
+        payload.setFlowStatus(flowStatus);
+
+        HeartbeatPayload.marshal(payload, marshalledBytes);
+        final HeartbeatPayload newPayload = HeartbeatPayload.unmarshal(new ByteArrayInputStream(marshalledBytes.toByteArray()));
+        assertArrayEquals(flowStatus, newPayload.getFlowStatus());
+    }
+
+    @Test
+    public void testClusterStatusDigest() {
+        final List<NodeConnectionStatus> clusterStatus = createClusterStatus();
+        final byte[] digest = HeartbeatPayload.computeClusterStatusDigest(clusterStatus);
+
+        final List<NodeConnectionStatus> reversed = Arrays.asList(clusterStatus.get(1), clusterStatus.get(0));
+        assertArrayEquals(digest, HeartbeatPayload.computeClusterStatusDigest(reversed));
+
+        final List<NodeConnectionStatus> changed = List.of(clusterStatus.get(0), new NodeConnectionStatus(clusterStatus.get(1).getNodeIdentifier(), NodeConnectionState.CONNECTED));
+        assertFalse(Arrays.equals(digest, HeartbeatPayload.computeClusterStatusDigest(changed)));
+    }
+
+    private ProcessGroupStatus createFlowStatus() {
+        final ProcessorStatus processorStatus = new ProcessorStatus();
+        processorStatus.setId("processor-1");
+        processorStatus.setGroupId("root");
+        processorStatus.setFlowFilesReceived(42);
+
+        final ProcessGroupStatus flowStatus = new ProcessGroupStatus();
+        flowStatus.setId("root");
+        flowStatus.setQueuedCount(5);
+        flowStatus.setProcessorStatus(List.of(processorStatus));
+        return flowStatus;
+    }
+
+    private List<NodeConnectionStatus> createClusterStatus() {
+        final NodeIdentifier nodeOne = new NodeIdentifier("node-1", "localhost", 8443, "localhost", 11443, "localhost", 6342, "localhost", 10443, 8443, true);
+        final NodeIdentifier nodeTwo = new NodeIdentifier("node-2", "remotehost", 8443, "remotehost", 11443, null, null, null, false);
+        return List.of(
+            new NodeConnectionStatus(nodeOne, NodeConnectionState.CONNECTED),
+            new NodeConnectionStatus(nodeTwo, DisconnectionCode.LACK_OF_HEARTBEAT, "No heartbeat received"));
+    }
 }
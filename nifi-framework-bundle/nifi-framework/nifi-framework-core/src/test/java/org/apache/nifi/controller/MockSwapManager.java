@@ -31,18 +31,19 @@ import org.apache.nifi.controller.swap.StandardSwapSummary;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class MockSwapManager implements FlowFileSwapManager {
-    public final Map<String, List<FlowFileRecord>> swappedOut = new HashMap<>();
+    public final Map<String, List<FlowFileRecord>> swappedOut = new ConcurrentHashMap<>();
     public int swapOutCalledCount = 0;
     public int swapInCalledCount = 0;
+    public int prefetchedSwapInCalledCount = 0;
 
     public int incompleteSwapFileRecordsToInclude = -1;
 
@@ -129,6 +130,12 @@ public class MockSwapManager implements FlowFileSwapManager {
         return new StandardSwapContents(getSwapSummary(swapLocation), swappedOut.remove(swapLocation));
     }
 
+    @Override
+    public SwapContents swapIn(final String swapLocation, final FlowFileQueue flowFileQueue, final SwapContents peekedContents) throws IOException {
+        prefetchedSwapInCalledCount++;
+        return swapIn(swapLocation, flowFileQueue);
+    }
+
     @Override
     public List<String> recoverSwapLocations(FlowFileQueue flowFileQueue, final String partitionName) throws IOException {
         return swappedOut.keySet().stream()
@@ -20,6 +20,7 @@ import org.apache.nifi.controller.queue.FlowFileQueue;
 import org.apache.nifi.controller.repository.FlowFileRecord;
 import org.apache.nifi.controller.repository.FlowFileRepository;
 import org.apache.nifi.controller.repository.SwapContents;
+import org.apache.nifi.controller.repository.SwapSummary;
 import org.apache.nifi.controller.repository.SwapManagerInitializationContext;
 import org.apache.nifi.controller.repository.claim.ResourceClaim;
 import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
@@ -93,6 +94,34 @@ public class TestFileSystemSwapManager {
         }
     }
 
+    @Test
+    public void testCompressedSwapFileReadByAnySwapManager() throws IOException {
+        final FlowFileQueue flowFileQueue = mock(FlowFileQueue.class);
+        when(flowFileQueue.getIdentifier()).thenReturn("87bb99fe-412c-49f6-a441-d1b0af4e20b4");
+
+        final FlowFileRepository flowFileRepo = mock(FlowFileRepository.class);
+        final FileSystemSwapManager compressingSwapManager = createSwapManager(flowFileRepo, true);
+
+        final List<FlowFileRecord> flowFileRecords = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            flowFileRecords.add(new MockFlowFileRecord(i));
+        }
+
+        final String swapLocation = compressingSwapManager.swapOut(flowFileRecords, flowFileQueue, "partition-1");
+
+        final FileSystemSwapManager swapManager = createSwapManager(flowFileRepo, false);
+        final SwapSummary swapSummary = swapManager.getSwapSummary(swapLocation);
+        assertEquals(10000, swapSummary.getQueueSize().getObjectCount());
+        assertEquals(flowFileRecords.getLast().getId(), swapSummary.getMaxFlowFileId());
+
+        final SwapContents swapContents = swapManager.peek(swapLocation, flowFileQueue);
+        assertEquals(10000, swapContents.getFlowFiles().size());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(flowFileRecords.get(i).getId(), swapContents.getFlowFiles().get(i).getId());
+            assertEquals(i, swapContents.getFlowFiles().get(i).getSize());
+        }
+    }
+
     @Test
     public void testFailureOnRepoSwapOut() throws IOException {
         final FlowFileQueue flowFileQueue = mock(FlowFileQueue.class);
@@ -172,7 +201,11 @@ public class TestFileSystemSwapManager {
     public Path temporaryFolder;
 
     private FileSystemSwapManager createSwapManager(final FlowFileRepository flowFileRepo) {
-        final FileSystemSwapManager swapManager = new FileSystemSwapManager(temporaryFolder);
+        return createSwapManager(flowFileRepo, false);
+    }
+
+    private FileSystemSwapManager createSwapManager(final FlowFileRepository flowFileRepo, final boolean compressSwapFiles) {
+        final FileSystemSwapManager swapManager = new FileSystemSwapManager(temporaryFolder, compressSwapFiles);
         final ResourceClaimManager resourceClaimManager = new NopResourceClaimManager();
         swapManager.initialize(new SwapManagerInitializationContext() {
             @Override
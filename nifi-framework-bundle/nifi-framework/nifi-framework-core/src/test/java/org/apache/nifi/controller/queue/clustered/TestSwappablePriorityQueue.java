@@ -42,6 +42,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -482,6 +486,65 @@ public class TestSwappablePriorityQueue {
         }
     }
 
+    @Test
+    public void testSwapInUsesPrefetchedSwapFile() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        queue = new SwappablePriorityQueue(swapManager, 10000, eventReporter, flowFileQueue, dropAction, "local", executor);
+
+        for (int i = 1; i <= 20000; i++) {
+            queue.put(new MockFlowFileRecord());
+        }
+
+        assertEquals(1, swapManager.swappedOut.size());
+
+        final Set<FlowFileRecord> exp = new HashSet<>();
+        assertEquals(9500, queue.poll(9500, exp, 500000).size());
+        assertEquals(500, queue.poll(500, exp, 500000).size());
+        assertEquals(0, swapManager.swapInCalledCount);
+
+        // Wait for the background read to finish so that the swap-in picks up the prefetched contents
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertNotNull(queue.poll(exp, 500000));
+        assertEquals(1, swapManager.swapInCalledCount);
+        assertEquals(1, swapManager.prefetchedSwapInCalledCount);
+        assertEquals(9999, queue.getQueueDiagnostics().getActiveQueueSize().getObjectCount());
+        assertEquals(0, queue.getFlowFileQueueSize().getSwapFileCount());
+        assertTrue(swapManager.swappedOut.isEmpty());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testSwapInDoesNotWaitForIncompletePrefetch() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Occupy the only prefetch thread so that the prefetch never completes before the swap-in
+            executor.submit(() -> {
+                release.await();
+                return null;
+            });
+            queue = new SwappablePriorityQueue(swapManager, 10000, eventReporter, flowFileQueue, dropAction, "local", executor);
+
+            for (int i = 1; i <= 20000; i++) {
+                queue.put(new MockFlowFileRecord());
+            }
+
+            final Set<FlowFileRecord> exp = new HashSet<>();
+            assertEquals(10000, queue.poll(10000, exp, 500000).size());
+
+            assertNotNull(queue.poll(exp, 500000));
+            assertEquals(1, swapManager.swapInCalledCount);
+            assertEquals(0, swapManager.prefetchedSwapInCalledCount);
+            assertEquals(9999, queue.getQueueDiagnostics().getActiveQueueSize().getObjectCount());
+            assertTrue(swapManager.swappedOut.isEmpty());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testSwapIn() {
         for (int i = 1; i <= 20000; i++) {
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestContainerWriteStatistics {
+
+    @Test
+    public void testInFlightWrites() {
+        final ContainerWriteStatistics statistics = new ContainerWriteStatistics();
+        statistics.beginWrite(100);
+        statistics.beginWrite(50);
+        assertEquals(150, statistics.getInFlightBytes());
+        assertEquals(2, statistics.getInFlightWrites());
+
+        statistics.endWrite(100, 1000);
+        assertEquals(50, statistics.getInFlightBytes());
+        assertEquals(1, statistics.getInFlightWrites());
+
+        statistics.endWrite(50, 1000);
+        assertEquals(0, statistics.getInFlightBytes());
+        assertEquals(0, statistics.getInFlightWrites());
+    }
+
+    @Test
+    public void testAverageNanosPerByte() {
+        final ContainerWriteStatistics statistics = new ContainerWriteStatistics();
+        assertEquals(0D, statistics.getAverageNanosPerByte());
+
+        statistics.beginWrite(10);
+        statistics.endWrite(10, 1000);
+        assertEquals(100D, statistics.getAverageNanosPerByte());
+
+        // Larger writes that take proportionally longer do not change the latency per byte
+        statistics.beginWrite(1000);
+        statistics.endWrite(1000, 100_000);
+        assertEquals(100D, statistics.getAverageNanosPerByte());
+
+        for (int i = 0; i < 100; i++) {
+            statistics.beginWrite(10);
+            statistics.endWrite(10, 2000);
+        }
+
+        final double average = statistics.getAverageNanosPerByte();
+        assertTrue(average > 190D && average <= 200D);
+    }
+
+    @Test
+    public void testEmptyWriteDoesNotAffectAverage() {
+        final ContainerWriteStatistics statistics = new ContainerWriteStatistics();
+        statistics.beginWrite(10);
+        statistics.endWrite(10, 1000);
+
+        statistics.beginWrite(0);
+        statistics.endWrite(0, 1000);
+        assertEquals(100D, statistics.getAverageNanosPerByte());
+    }
+
+    @Test
+    public void testExpectedWriteNanosAccountsForInFlightBytes() {
+        final ContainerWriteStatistics statistics = new ContainerWriteStatistics();
+        statistics.beginWrite(10);
+        statistics.endWrite(10, 1000);
+        assertEquals(1000D, statistics.getExpectedWriteNanos());
+
+        statistics.beginWrite(10);
+        statistics.beginWrite(20);
+        assertEquals(4000D, statistics.getExpectedWriteNanos());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestContentArchiveIndex {
+
+    @TempDir
+    private Path containerPath;
+
+    @Test
+    public void testEntriesReturnedInOrder() throws IOException {
+        try (final ContentArchiveIndex index = new ContentArchiveIndex(containerPath)) {
+            assertTrue(index.isEmpty());
+            assertNull(index.peek());
+
+            index.add("0/archive/1", 10L, 100L);
+            index.add("1/archive/2", 20L, 200L);
+            assertEquals(2, index.size());
+
+            final ContentArchiveIndex.Entry first = index.poll();
+            assertEquals("0/archive/1", first.getRelativePath());
+            assertEquals(10L, first.getSize());
+            assertEquals(100L, first.getTimestamp());
+
+            assertEquals("1/archive/2", index.peek().getRelativePath());
+            assertEquals("1/archive/2", index.poll().getRelativePath());
+            assertNull(index.poll());
+            assertTrue(index.isEmpty());
+        }
+    }
+
+    @Test
+    public void testScannedEntriesNotDuplicated() throws IOException {
+        try (final ContentArchiveIndex index = new ContentArchiveIndex(containerPath)) {
+            index.add("0/archive/1", 10L, 100L);
+
+            index.startScan();
+            index.add("0/archive/2", 20L, 200L);
+            assertFalse(index.addScanned("0/archive/2", 20L, 200L));
+            assertTrue(index.addScanned("1/archive/3", 30L, 50L));
+            index.endScan();
+
+            assertEquals(3, index.size());
+            assertEquals("0/archive/1", index.poll().getRelativePath());
+            assertEquals("0/archive/2", index.poll().getRelativePath());
+            assertEquals("1/archive/3", index.poll().getRelativePath());
+            assertNull(index.poll());
+
+            // Once the scan has ended, paths are no longer tracked
+            assertTrue(index.addScanned("0/archive/2", 20L, 200L));
+        }
+    }
+
+    @Test
+    public void testRecoverAfterClose() throws IOException {
+        try (final ContentArchiveIndex index = new ContentArchiveIndex(containerPath)) {
+            for (int i = 0; i < 5; i++) {
+                index.add("0/archive/" + i, i, i);
+            }
+
+            index.poll();
+            index.poll();
+        }
+
+        try (final ContentArchiveIndex index = new ContentArchiveIndex(containerPath)) {
+            assertEquals(3, index.size());
+            for (int i = 2; i < 5; i++) {
+                assertEquals("0/archive/" + i, index.poll().getRelativePath());
+            }
+            assertNull(index.poll());
+        }
+    }
+
+    @Test
+    public void testPartiallyWrittenEntryDiscarded() throws IOException {
+        try (final ContentArchiveIndex index = new ContentArchiveIndex(containerPath)) {
+            index.add("0/archive/1", 1L, 1L);
+            index.add("0/archive/2", 2L, 2L);
+        }
+
+        final Path indexFile = containerPath.resolve(ContentArchiveIndex.INDEX_FILENAME);
+        try (final FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(indexFile) - 3);
+        }
+
+        try (final ContentArchiveIndex index = new ContentArchiveIndex(containerPath)) {
+            assertEquals(1, index.size());
+            index.add("0/archive/3", 3L, 3L);
+        }
+
+        try (final ContentArchiveIndex index = new ContentArchiveIndex(containerPath)) {
+            assertEquals("0/archive/1", index.poll().getRelativePath());
+            assertEquals("0/archive/3", index.poll().getRelativePath());
+            assertNull(index.poll());
+        }
+    }
+
+    @Test
+    public void testLargeIndexReadFromDiskAndCompacted() throws IOException {
+        final int entryCount = 400_000;
+        final Path indexFile = containerPath.resolve(ContentArchiveIndex.INDEX_FILENAME);
+
+        try (final ContentArchiveIndex index = new ContentArchiveIndex(containerPath)) {
+            for (int i = 0; i < entryCount; i++) {
+                index.add("0/archive/" + i, i, i);
+            }
+            index.checkpoint();
+            final long uncompactedSize = Files.size(indexFile);
+
+            for (int i = 0; i < entryCount - 10; i++) {
+                assertEquals(i, index.poll().getTimestamp());
+            }
+            index.checkpoint();
+            assertTrue(Files.size(indexFile) < uncompactedSize / 10);
+
+            index.add("0/archive/last", 1L, 1L);
+        }
+
+        try (final ContentArchiveIndex index = new ContentArchiveIndex(containerPath)) {
+            assertEquals(11, index.size());
+            for (int i = entryCount - 10; i < entryCount; i++) {
+                assertEquals(i, index.poll().getTimestamp());
+            }
+            assertEquals("0/archive/last", index.poll().getRelativePath());
+            assertNull(index.poll());
+        }
+    }
+
+    @Test
+    public void testReset() throws IOException {
+        try (final ContentArchiveIndex index = new ContentArchiveIndex(containerPath)) {
+            index.add("0/archive/1", 1L, 1L);
+            index.reset();
+            assertTrue(index.isEmpty());
+        }
+
+        try (final ContentArchiveIndex index = new ContentArchiveIndex(containerPath)) {
+            assertTrue(index.isEmpty());
+        }
+    }
+}
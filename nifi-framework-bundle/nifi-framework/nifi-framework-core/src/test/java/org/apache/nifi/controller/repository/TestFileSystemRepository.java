@@ -30,8 +30,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -62,6 +64,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -226,6 +229,33 @@ public class TestFileSystemRepository {
         }
     }
 
+    @Test
+    @Timeout(value = 30)
+    public void testUnindexedArchivedClaimsIndexedOnStartup() throws IOException, InterruptedException {
+        final Map<String, String> propertyOverrides = new HashMap<>();
+        propertyOverrides.put(NiFiProperties.CONTENT_ARCHIVE_MAX_RETENTION_PERIOD, "10 mins");
+        propertyOverrides.put(NiFiProperties.CONTENT_ARCHIVE_CLEANUP_FREQUENCY, "1 sec");
+        propertyOverrides.put(NiFiProperties.CONTENT_ARCHIVE_MAX_USAGE_PERCENTAGE, "99%");
+        recreateRepositoryWithPropertyOverrides(propertyOverrides);
+        repository.shutdown();
+
+        final Path containerPath = nifiProperties.getContentRepositoryPaths().values().iterator().next();
+        final Path archiveDir = Files.createDirectories(containerPath.resolve("0").resolve("archive"));
+        final Path expiredFile = Files.writeString(archiveDir.resolve("expired"), "Hello World");
+        Files.setLastModifiedTime(expiredFile, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+        final Path retainedFile = Files.writeString(archiveDir.resolve("retained"), "Hello World");
+
+        // Restart without purging so that the archived files are found on startup but are not in the archive index
+        repository = new FileSystemRepository(nifiProperties);
+        repository.initialize(new StandardContentRepositoryContext(claimManager, EventReporter.NO_OP));
+        assertEquals(2, repository.getArchiveCount(nifiProperties.getContentRepositoryPaths().keySet().iterator().next()));
+
+        while (Files.exists(expiredFile)) {
+            Thread.sleep(50L);
+        }
+        assertTrue(Files.exists(retainedFile));
+    }
+
     private void recreateRepositoryWithPropertyOverrides(final Map<String, String> propertyOverrides) throws IOException {
         repository.shutdown();
         nifiProperties = NiFiProperties.createBasicNiFiProperties(TestFileSystemRepository.class.getResource("/conf/nifi.properties").getFile(), propertyOverrides);
@@ -427,6 +457,100 @@ public class TestFileSystemRepository {
         assertNotSame(claim1.getResourceClaim(), claim2.getResourceClaim());
     }
 
+    @Test
+    public void testWriteBehind() throws IOException {
+        final Map<String, String> overrides = new HashMap<>();
+        overrides.put(NiFiProperties.CONTENT_WRITE_BEHIND_ENABLED, "true");
+        overrides.put(NiFiProperties.CONTENT_WRITE_BEHIND_BUFFER_SIZE, "64 KB");
+        recreateRepositoryWithPropertyOverrides(overrides);
+
+        final byte[] content = new byte[1024 * 1024];
+        new Random().nextBytes(content);
+
+        final ContentClaim claim1 = repository.create(false);
+        try (final OutputStream out = repository.write(claim1)) {
+            out.write(content, 0, 1000);
+            out.write(content, 1000, content.length - 1000);
+        }
+
+        final ContentClaim claim2 = repository.create(false);
+        try (final OutputStream out = repository.write(claim2)) {
+            out.write(content, 0, 10);
+            out.flush();
+            assertEquals(claim2.getOffset() + 10, Files.size(repository.getPath(claim2, true)));
+        }
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (final InputStream in = repository.read(claim1)) {
+            StreamUtils.copy(in, baos);
+        }
+        assertArrayEquals(content, baos.toByteArray());
+
+        baos.reset();
+        try (final InputStream in = repository.read(claim2)) {
+            StreamUtils.copy(in, baos);
+        }
+        assertArrayEquals(Arrays.copyOf(content, 10), baos.toByteArray());
+    }
+
+    @Test
+    public void testWriteStatisticsNotCollectedWithRoundRobinSelection() throws IOException {
+        final ContentClaim claim = repository.create(false);
+        try (final OutputStream out = repository.write(claim)) {
+            out.write(new byte[1024]);
+        }
+
+        assertNull(repository.getContainerWriteStatistics("default"));
+        assertEquals(-1, repository.getContainerInFlightBytes("default"));
+        assertEquals(-1D, repository.getContainerAverageWriteNanosPerByte("default"));
+    }
+
+    @Test
+    public void testAdaptiveContainerSelectionAvoidsSlowContainer() throws IOException {
+        final Map<String, String> overrides = new HashMap<>();
+        overrides.put(NiFiProperties.REPOSITORY_CONTENT_PREFIX + "other", "./target/content_repository_other");
+        overrides.put(NiFiProperties.CONTENT_CONTAINER_SELECTION_STRATEGY, "ADAPTIVE");
+        recreateRepositoryWithPropertyOverrides(overrides);
+
+        try {
+            final ContainerWriteStatistics slowStatistics = repository.getContainerWriteStatistics("default");
+            slowStatistics.beginWrite(1024);
+            slowStatistics.endWrite(1024, TimeUnit.SECONDS.toNanos(1));
+            slowStatistics.beginWrite(1024);
+
+            final ContainerWriteStatistics fastStatistics = repository.getContainerWriteStatistics("other");
+            fastStatistics.beginWrite(1024);
+            fastStatistics.endWrite(1024, TimeUnit.MICROSECONDS.toNanos(10));
+
+            int slowContainerClaims = 0;
+            for (int i = 0; i < 64; i++) {
+                final ContentClaim claim = repository.create(false);
+                if (claim.getResourceClaim().getContainer().equals("default")) {
+                    slowContainerClaims++;
+                }
+
+                // Write enough to prevent the Resource Claim from being reused for the next Content Claim
+                try (final OutputStream out = repository.write(claim)) {
+                    out.write(new byte[(int) DataUnit.MB.toB(1)]);
+                }
+            }
+
+            // Only the claims that periodically probe the slow container should be written to it
+            assertTrue(slowContainerClaims > 0);
+            assertTrue(slowContainerClaims <= 64 / 16);
+            assertEquals(1024, repository.getContainerInFlightBytes("default"));
+        } finally {
+            repository.shutdown();
+            DiskUtils.deleteRecursively(new File("target/content_repository_other"));
+        }
+    }
+
+    @Test
+    public void testInvalidContainerSelectionStrategy() {
+        final Map<String, String> overrides = Map.of(NiFiProperties.CONTENT_CONTAINER_SELECTION_STRATEGY, "FASTEST");
+        assertThrows(IllegalArgumentException.class, () -> recreateRepositoryWithPropertyOverrides(overrides));
+    }
+
     @Test
     public void testWriteWithNoContent() throws IOException {
         final ContentClaim claim1 = repository.create(false);
@@ -75,6 +75,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
@@ -634,6 +635,10 @@ public class TestWriteAheadFlowFileRepository {
             flowFileCollection.add((FlowFileRecord) invocation.getArguments()[0]);
             return null;
         }).when(queue).put(any(FlowFileRecord.class));
+        doAnswer((Answer<Object>) invocation -> {
+            flowFileCollection.addAll((Collection<FlowFileRecord>) invocation.getArguments()[0]);
+            return null;
+        }).when(queue).putAll(anyCollection());
 
         when(connection.getFlowFileQueue()).thenReturn(queue);
 
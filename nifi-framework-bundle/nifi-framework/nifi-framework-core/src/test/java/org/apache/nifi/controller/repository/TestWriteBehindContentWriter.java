@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestWriteBehindContentWriter {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @Timeout(30)
+    public void testSmallWritesShareBuffer() throws IOException {
+        final ContainerWriteStatistics statistics = new ContainerWriteStatistics();
+        try (final WriteBehindContentWriter writer = new WriteBehindContentWriter("default", WriteBehindContentWriter.BUFFER_SIZE, statistics)) {
+            final Path file = tempDir.resolve("content");
+            try (final OutputStream out = writer.newOutputStream(file)) {
+                for (int i = 0; i < 100; i++) {
+                    out.write(i);
+                }
+
+                // Nothing is handed to the background thread until the buffer is full or the stream is flushed
+                assertEquals(0L, statistics.getInFlightWrites());
+                assertEquals(0L, Files.size(file));
+
+                out.flush();
+                assertEquals(100L, Files.size(file));
+            }
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    public void testOpenStreamsDoNotHoldPendingCapacity() throws IOException {
+        try (final WriteBehindContentWriter writer = new WriteBehindContentWriter("default", WriteBehindContentWriter.BUFFER_SIZE, null)) {
+            final List<OutputStream> streams = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                final OutputStream out = writer.newOutputStream(tempDir.resolve("content-" + i));
+                out.write(new byte[10]);
+                streams.add(out);
+            }
+
+            for (final OutputStream out : streams) {
+                out.close();
+            }
+
+            for (int i = 0; i < 10; i++) {
+                assertEquals(10L, Files.size(tempDir.resolve("content-" + i)));
+            }
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    public void testWritesCompleteWhenClosedConcurrently() throws Exception {
+        final int streamCount = 4;
+        final int writeCount = 1000;
+        final byte[] content = new byte[WriteBehindContentWriter.BUFFER_SIZE];
+
+        final ExecutorService executor = Executors.newFixedThreadPool(streamCount);
+        try {
+            final WriteBehindContentWriter writer = new WriteBehindContentWriter("default", 4L * WriteBehindContentWriter.BUFFER_SIZE, null);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < streamCount; i++) {
+                final Path file = tempDir.resolve("content-" + i);
+                futures.add(executor.submit(() -> {
+                    try (final OutputStream out = writer.newOutputStream(file)) {
+                        for (int j = 0; j < writeCount; j++) {
+                            out.write(content);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            writer.close();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+
+            for (int i = 0; i < streamCount; i++) {
+                assertEquals((long) writeCount * content.length, Files.size(tempDir.resolve("content-" + i)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -70,4 +71,49 @@ public class TestStateMapSerDe {
         assertEquals(version, stateVersion.get());
         assertEquals(stateValues, recoveredStateMap.toMap());
     }
+
+    @Test
+    public void testEditRoundTripWithDelta() throws IOException {
+        final String componentId = "1234";
+        final StateMapSerDe serde = new StateMapSerDe();
+
+        final Map<String, String> previousValues = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            previousValues.put("key-" + i, "value-" + i);
+        }
+        final StateMapUpdate previous = new StateMapUpdate(new StandardStateMap(previousValues, Optional.of("1")), componentId, UpdateType.UPDATE);
+
+        final Map<String, String> newValues = new HashMap<>(previousValues);
+        newValues.remove("key-1");
+        newValues.put("key-2", "updated");
+        newValues.put("key-100", "value-100");
+        final StateMapUpdate current = new StateMapUpdate(new StandardStateMap(newValues, Optional.of("2")), componentId, UpdateType.UPDATE);
+
+        final byte[] diffEdit = serializeEdit(serde, previous, current);
+        final byte[] fullEdit = serializeEdit(serde, null, current);
+        assertTrue(diffEdit.length < fullEdit.length);
+
+        final StateMapUpdate explicitDelta = new StateMapUpdate(current.getStateMap(), componentId, UpdateType.UPDATE,
+            Map.of("key-2", "updated", "key-100", "value-100"), Set.of("key-1"));
+        final byte[] explicitEdit = serializeEdit(serde, previous, explicitDelta);
+        assertEquals(diffEdit.length, explicitEdit.length);
+
+        final Map<Object, StateMapUpdate> currentRecordStates = Map.of(componentId, previous);
+        for (final byte[] edit : new byte[][] {diffEdit, fullEdit, explicitEdit}) {
+            try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(edit))) {
+                final StateMapUpdate update = serde.deserializeEdit(in, currentRecordStates, serde.getVersion());
+                assertEquals(componentId, update.getComponentId());
+                assertEquals(Optional.of("2"), update.getStateMap().getStateVersion());
+                assertEquals(newValues, update.getStateMap().toMap());
+            }
+        }
+    }
+
+    private byte[] serializeEdit(final StateMapSerDe serde, final StateMapUpdate previous, final StateMapUpdate current) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(baos)) {
+            serde.serializeEdit(previous, current, out);
+        }
+        return baos.toByteArray();
+    }
 }
@@ -21,6 +21,7 @@ import org.apache.nifi.parameter.ParameterLookup;
 import org.apache.nifi.attribute.expression.language.StandardPropertyValue;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.components.PropertyValue;
+import org.apache.nifi.components.state.StateMap;
 import org.apache.nifi.components.state.StateProvider;
 import org.apache.nifi.components.state.StateProviderInitializationContext;
 import org.apache.nifi.controller.state.StateMapUpdate;
@@ -28,6 +29,7 @@ import org.apache.nifi.controller.state.providers.AbstractTestStateProvider;
 import org.apache.nifi.logging.ComponentLog;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.wali.WriteAheadRepository;
 
 import javax.net.ssl.SSLContext;
@@ -36,17 +38,28 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class TestWriteAheadLocalStateProvider extends AbstractTestStateProvider {
     private StateProvider provider;
     private WriteAheadRepository<StateMapUpdate> wal;
+    private String path;
 
     @BeforeEach
     public void setup() throws IOException {
-        provider = new WriteAheadLocalStateProvider();
+        path = "target/local-state-provider/" + UUID.randomUUID().toString();
+        provider = createProvider();
+    }
+
+    private StateProvider createProvider() throws IOException {
+        final StateProvider provider = new WriteAheadLocalStateProvider();
         final Map<PropertyDescriptor, PropertyValue> properties = new HashMap<>();
-        properties.put(WriteAheadLocalStateProvider.PATH, new StandardPropertyValue("target/local-state-provider/" + UUID.randomUUID().toString(), null, ParameterLookup.EMPTY));
+        properties.put(WriteAheadLocalStateProvider.PATH, new StandardPropertyValue(path, null, ParameterLookup.EMPTY));
         properties.put(WriteAheadLocalStateProvider.ALWAYS_SYNC, new StandardPropertyValue("false", null, ParameterLookup.EMPTY));
         properties.put(WriteAheadLocalStateProvider.CHECKPOINT_INTERVAL, new StandardPropertyValue("2 mins", null, ParameterLookup.EMPTY));
         properties.put(WriteAheadLocalStateProvider.NUM_PARTITIONS, new StandardPropertyValue("16", null, ParameterLookup.EMPTY));
@@ -90,6 +103,7 @@ public class TestWriteAheadLocalStateProvider extends AbstractTestStateProvider
                 return null;
             }
         });
+        return provider;
     }
 
     @AfterEach
@@ -105,4 +119,24 @@ public class TestWriteAheadLocalStateProvider extends AbstractTestStateProvider
     protected StateProvider getProvider() {
         return provider;
     }
+
+    @Test
+    public void testReplaceEntriesRecoveredFromJournal() throws IOException {
+        provider.setState(Map.of("a", "1", "b", "2", "c", "3"), componentId);
+
+        final StateMap initial = provider.getState(componentId);
+        assertTrue(provider.replaceEntries(initial, Map.of("b", "20", "d", "4"), Set.of("a"), componentId));
+        assertFalse(provider.replaceEntries(initial, Map.of("e", "5"), Set.of(), componentId));
+
+        final StateMap updated = provider.getState(componentId);
+        final Map<String, String> expected = Map.of("b", "20", "c", "3", "d", "4");
+        assertEquals(expected, updated.toMap());
+
+        provider.shutdown();
+        provider = createProvider();
+
+        final StateMap recovered = provider.getState(componentId);
+        assertEquals(expected, recovered.toMap());
+        assertEquals(updated.getStateVersion(), recovered.getStateVersion());
+    }
 }
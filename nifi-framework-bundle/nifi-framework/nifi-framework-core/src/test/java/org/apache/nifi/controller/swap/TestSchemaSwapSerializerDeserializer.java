@@ -26,6 +26,7 @@ import org.apache.nifi.controller.repository.claim.ResourceClaim;
 import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
 import org.apache.nifi.controller.repository.claim.StandardResourceClaimManager;
 import org.apache.nifi.flowfile.FlowFile;
+import org.apache.nifi.repository.schema.NoOpFieldCache;
 import org.apache.nifi.stream.io.NullOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -165,6 +166,62 @@ public class TestSchemaSwapSerializerDeserializer {
         }
     }
 
+    @Test
+    public void testRoundTripCompressedSwapFile() throws IOException {
+        final ResourceClaimManager resourceClaimManager = new StandardResourceClaimManager();
+
+        final List<FlowFileRecord> toSwap = new ArrayList<>(10000);
+        final Map<String, String> attrs = new HashMap<>();
+        long size = 0L;
+        for (int i = 0; i < 10000; i++) {
+            attrs.put("i", String.valueOf(i));
+            toSwap.add(new MockFlowFile(attrs, i, resourceClaimManager));
+            size += i;
+        }
+
+        final FlowFileQueue flowFileQueue = Mockito.mock(FlowFileQueue.class);
+        Mockito.when(flowFileQueue.getIdentifier()).thenReturn("87bb99fe-412c-49f6-a441-d1b0af4e20b4");
+
+        final String swapLocation = "target/testRoundTripCompressed.swap";
+        final File swapFile = new File(swapLocation);
+        Files.deleteIfExists(swapFile.toPath());
+
+        final SwapSerializer serializer = new SchemaSwapSerializer(true);
+        assertEquals(SchemaSwapDeserializer.getCompressedSerializationName(), serializer.getSerializationName());
+        try (final OutputStream fos = new FileOutputStream(swapFile);
+            final OutputStream out = new BufferedOutputStream(fos)) {
+            serializer.serializeFlowFiles(toSwap, flowFileQueue, swapLocation, out);
+        }
+
+        final SwapDeserializer deserializer = new SchemaSwapDeserializer(new NoOpFieldCache(), true);
+        final SwapSummary swapSummary;
+        try (final InputStream fis = new FileInputStream(swapFile);
+            final DataInputStream dis = new DataInputStream(new BufferedInputStream(fis))) {
+            swapSummary = deserializer.getSwapSummary(dis, swapLocation, resourceClaimManager);
+        }
+
+        assertEquals(10000, swapSummary.getQueueSize().getObjectCount());
+        assertEquals(size, swapSummary.getQueueSize().getByteCount());
+        assertEquals(9999, swapSummary.getMaxFlowFileId().intValue());
+        assertEquals(10000, swapSummary.getResourceClaims().size());
+
+        final SwapContents contents;
+        try (final InputStream fis = new FileInputStream(swapFile);
+            final DataInputStream dis = new DataInputStream(new BufferedInputStream(fis))) {
+            contents = deserializer.deserializeFlowFiles(dis, swapLocation, flowFileQueue, resourceClaimManager);
+        }
+
+        assertEquals(10000, contents.getSummary().getQueueSize().getObjectCount());
+        assertEquals(10000, contents.getFlowFiles().size());
+
+        int counter = 0;
+        for (final FlowFileRecord flowFile : contents.getFlowFiles()) {
+            final int i = counter++;
+            assertEquals(String.valueOf(i), flowFile.getAttribute("i"));
+            assertEquals(i, flowFile.getSize());
+        }
+    }
+
     @Test
     @Disabled("For manual testing, in order to ensure that changes do not negatively impact performance")
     public void testWritePerformance() throws IOException, InterruptedException {
@@ -58,9 +58,13 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -68,13 +72,22 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.HexFormat;
 import java.util.Objects;
+import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scans through the classpath to load all FlowFileProcessors, FlowFileComparators, and ReportingTasks using the service provider API and running through all classloaders (root, NARs).
@@ -86,6 +99,8 @@ public class StandardExtensionDiscoveringManager implements ExtensionDiscovering
 
     private static final Logger logger = LoggerFactory.getLogger(StandardExtensionDiscoveringManager.class);
     private static final String PYTHON_TYPE_PREFIX = "python.";
+    private static final String EXTENSION_MANIFEST_FILENAME = "nar-extensions.properties";
+    private static final String EXTENSION_MANIFEST_DIGEST_KEY = "nar.digest";
 
     // Maps a service definition (interface) to those classes that implement the interface
     private final Map<Class, Set<ExtensionDefinition>> definitionMap = new HashMap<>();
@@ -153,15 +168,23 @@ public class StandardExtensionDiscoveringManager implements ExtensionDiscovering
         // get the current context class loader
         ClassLoader currentContextClassLoader = Thread.currentThread().getContextClassLoader();
 
+        // Scanning the Service Files of each bundle is independent of every other bundle, so it is done concurrently. The extensions
+        // are then registered on this thread in the iteration order of the given bundles so that registration remains deterministic.
+        final Map<Bundle, Future<Map<Class, Set<String>>>> scannedBundles = scanBundles(narBundles);
+
         // consider each nar class loader
-        for (final Bundle bundle : narBundles) {
+        for (final Map.Entry<Bundle, Future<Map<Class, Set<String>>>> entry : scannedBundles.entrySet()) {
+            final Bundle bundle = entry.getKey();
+
             // Must set the context class loader to the nar classloader itself
             // so that static initialization techniques that depend on the context class loader will work properly
             final ClassLoader ncl = bundle.getClassLoader();
             Thread.currentThread().setContextClassLoader(ncl);
 
+            final Map<Class, Set<String>> implementationClassNames = getScanResult(bundle, entry.getValue());
+
             final long loadStart = System.currentTimeMillis();
-            loadExtensions(bundle);
+            registerExtensions(bundle, implementationClassNames);
             final long loadMillis = System.currentTimeMillis() - loadStart;
             if (logDetails) {
                 logger.info("Loaded extensions for {} in {} millis", bundle.getBundleDetails(), loadMillis);
@@ -278,12 +301,190 @@ public class StandardExtensionDiscoveringManager implements ExtensionDiscovering
     }
 
 
+    /**
+     * Scans the Service Files of the given bundles using a pool bounded by the number of available processors.
+     *
+     * @param bundles the bundles to scan
+     * @return the bundles, in iteration order, mapped to the result of scanning each
+     */
+    private Map<Bundle, Future<Map<Class, Set<String>>>> scanBundles(final Set<Bundle> bundles) {
+        final Map<Bundle, Future<Map<Class, Set<String>>>> scannedBundles = new LinkedHashMap<>();
+        if (bundles.isEmpty()) {
+            return scannedBundles;
+        }
+
+        final int threadCount = Math.min(bundles.size(), Runtime.getRuntime().availableProcessors());
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount, new DiscoveryThreadFactory());
+        try {
+            for (final Bundle bundle : bundles) {
+                scannedBundles.put(bundle, executor.submit(() -> {
+                    final Thread currentThread = Thread.currentThread();
+                    final ClassLoader currentContextClassLoader = currentThread.getContextClassLoader();
+                    currentThread.setContextClassLoader(bundle.getClassLoader());
+                    try {
+                        final long scanStart = System.currentTimeMillis();
+                        final Map<Class, Set<String>> implementationClassNames = scanServiceFiles(bundle);
+                        logger.debug("Scanned Service Files for {} in {} millis", bundle.getBundleDetails(), System.currentTimeMillis() - scanStart);
+                        return implementationClassNames;
+                    } finally {
+                        currentThread.setContextClassLoader(currentContextClassLoader);
+                    }
+                }));
+            }
+        } finally {
+            // previously submitted tasks are still executed; the threads terminate once the queue is drained
+            executor.shutdown();
+        }
+
+        return scannedBundles;
+    }
+
+    private Map<Class, Set<String>> getScanResult(final Bundle bundle, final Future<Map<Class, Set<String>>> future) {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new RuntimeException("Failed to scan extensions from bundle " + bundle, cause);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while scanning extensions from bundle " + bundle, e);
+        }
+    }
+
     /**
      * Loads extensions from the specified bundle.
      *
      * @param bundle from which to load extensions
      */
     private void loadExtensions(final Bundle bundle) {
+        registerExtensions(bundle, scanServiceFiles(bundle));
+    }
+
+    /**
+     * Reads the Service Files of the specified bundle for each of the known extension types. If the bundle was unpacked from a NAR,
+     * the result is cached in the NAR's working directory along with the NAR's digest, and the cached result is used as long as
+     * the digest has not changed, so that the bundle's class loader does not need to be searched on every restart.
+     *
+     * @param bundle the bundle to scan
+     * @return the names of the implementation classes defined by the bundle for each extension type
+     */
+    private Map<Class, Set<String>> scanServiceFiles(final Bundle bundle) {
+        final String narDigest = getNarDigest(bundle);
+        if (narDigest != null) {
+            final Map<Class, Set<String>> cachedClassNames = readExtensionManifest(bundle, narDigest);
+            if (cachedClassNames != null) {
+                logger.debug("Using cached extension manifest for {}", bundle.getBundleDetails());
+                return cachedClassNames;
+            }
+        }
+
+        final Map<Class, Set<String>> implementationClassNamesByType = readServiceFiles(bundle);
+        if (narDigest != null) {
+            writeExtensionManifest(bundle, narDigest, implementationClassNamesByType);
+        }
+
+        return implementationClassNamesByType;
+    }
+
+    private String getNarDigest(final Bundle bundle) {
+        final File workingDirectory = bundle.getBundleDetails().getWorkingDirectory();
+        if (workingDirectory == null) {
+            return null;
+        }
+
+        final Path digestFile = workingDirectory.toPath().resolve(NarUnpacker.HASH_FILENAME);
+        if (!Files.isRegularFile(digestFile)) {
+            return null;
+        }
+
+        try {
+            return HexFormat.of().formatHex(Files.readAllBytes(digestFile));
+        } catch (final IOException e) {
+            logger.debug("Unable to read NAR digest for {}", bundle.getBundleDetails(), e);
+            return null;
+        }
+    }
+
+    private Map<Class, Set<String>> readExtensionManifest(final Bundle bundle, final String narDigest) {
+        final Path manifestFile = bundle.getBundleDetails().getWorkingDirectory().toPath().resolve(EXTENSION_MANIFEST_FILENAME);
+        if (!Files.isRegularFile(manifestFile)) {
+            return null;
+        }
+
+        final Properties manifest = new Properties();
+        try (final InputStream in = Files.newInputStream(manifestFile)) {
+            manifest.load(in);
+        } catch (final IOException e) {
+            logger.warn("Unable to read extension manifest for {}; will scan the bundle instead", bundle.getBundleDetails(), e);
+            return null;
+        }
+
+        if (!narDigest.equals(manifest.getProperty(EXTENSION_MANIFEST_DIGEST_KEY))) {
+            return null;
+        }
+
+        final Map<Class, Set<String>> implementationClassNamesByType = new LinkedHashMap<>();
+        for (final Class extensionType : definitionMap.keySet()) {
+            // If the manifest was written before this extension type was known, the bundle must be scanned again
+            final String classNames = manifest.getProperty(extensionType.getName());
+            if (classNames == null) {
+                return null;
+            }
+
+            final Set<String> implementationClassNames = new LinkedHashSet<>();
+            for (final String className : classNames.split(",")) {
+                if (!className.isBlank()) {
+                    implementationClassNames.add(className.trim());
+                }
+            }
+
+            if (!implementationClassNames.isEmpty()) {
+                implementationClassNamesByType.put(extensionType, implementationClassNames);
+            }
+        }
+
+        return implementationClassNamesByType;
+    }
+
+    private void writeExtensionManifest(final Bundle bundle, final String narDigest, final Map<Class, Set<String>> implementationClassNamesByType) {
+        final Properties manifest = new Properties();
+        manifest.setProperty(EXTENSION_MANIFEST_DIGEST_KEY, narDigest);
+        for (final Class extensionType : definitionMap.keySet()) {
+            final Set<String> implementationClassNames = implementationClassNamesByType.getOrDefault(extensionType, Collections.emptySet());
+            manifest.setProperty(extensionType.getName(), String.join(",", implementationClassNames));
+        }
+
+        final Path workingDirectory = bundle.getBundleDetails().getWorkingDirectory().toPath();
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(workingDirectory, EXTENSION_MANIFEST_FILENAME, ".tmp");
+            try (final OutputStream out = Files.newOutputStream(tempFile)) {
+                manifest.store(out, "Extensions discovered in " + bundle.getBundleDetails().getCoordinate());
+            }
+            Files.move(tempFile, workingDirectory.resolve(EXTENSION_MANIFEST_FILENAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            logger.warn("Unable to write extension manifest for {}; the bundle will be scanned again on restart", bundle.getBundleDetails(), e);
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private void deleteQuietly(final Path file) {
+        if (file == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            logger.debug("Unable to delete {}", file, e);
+        }
+    }
+
+    private Map<Class, Set<String>> readServiceFiles(final Bundle bundle) {
+        final Map<Class, Set<String>> implementationClassNamesByType = new LinkedHashMap<>();
         for (final Class extensionType : definitionMap.keySet()) {
             final String serviceType = extensionType.getName();
 
@@ -294,21 +495,36 @@ public class StandardExtensionDiscoveringManager implements ExtensionDiscovering
                 for (final URL serviceResourceUrl : serviceResourceUrls) {
                     final Set<String> implementationClassNames = getServiceFileImplementationClassNames(serviceResourceUrl);
                     logger.debug("Bundle {} defines {} implementations of interface {}", bundle, implementationClassNames.size(), serviceType);
-
-                    for (final String implementationClassName : implementationClassNames) {
-                        try {
-                            loadExtension(implementationClassName, extensionType, bundle);
-                            logger.debug("Successfully loaded {} {} from {}", extensionType.getSimpleName(), implementationClassName, bundle);
-                        } catch (final Exception e) {
-                            logger.error("Failed to register {} of type {} in bundle {}", extensionType.getSimpleName(), implementationClassName, bundle, e);
-                        }
-                    }
+                    implementationClassNamesByType.computeIfAbsent(extensionType, key -> new LinkedHashSet<>()).addAll(implementationClassNames);
                 }
             } catch (final IOException e) {
                 throw new RuntimeException("Failed to get resources of type " + serviceType + " from bundle " + bundle);
             }
         }
 
+        return implementationClassNamesByType;
+    }
+
+    /**
+     * Registers the given implementation classes as extensions provided by the specified bundle.
+     *
+     * @param bundle the bundle providing the extensions
+     * @param implementationClassNamesByType the names of the implementation classes for each extension type
+     */
+    private void registerExtensions(final Bundle bundle, final Map<Class, Set<String>> implementationClassNamesByType) {
+        for (final Map.Entry<Class, Set<String>> entry : implementationClassNamesByType.entrySet()) {
+            final Class extensionType = entry.getKey();
+
+            for (final String implementationClassName : entry.getValue()) {
+                try {
+                    loadExtension(implementationClassName, extensionType, bundle);
+                    logger.debug("Successfully loaded {} {} from {}", extensionType.getSimpleName(), implementationClassName, bundle);
+                } catch (final Exception e) {
+                    logger.error("Failed to register {} of type {} in bundle {}", extensionType.getSimpleName(), implementationClassName, bundle, e);
+                }
+            }
+        }
+
         classLoaderBundleLookup.put(bundle.getClassLoader(), bundle);
     }
 
@@ -879,4 +1095,17 @@ public class StandardExtensionDiscoveringManager implements ExtensionDiscovering
             return Objects.hash(bundle, classloaderIsolationKey);
         }
     }
+
+    private static class DiscoveryThreadFactory implements ThreadFactory {
+        private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+        private final AtomicInteger threadCount = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread t = defaultFactory.newThread(r);
+            t.setName("Extension Discovery-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
 }
@@ -36,6 +36,8 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -245,6 +247,58 @@ public class NarUnpackerTest {
         assertArrayEquals(HTML.getBytes(StandardCharsets.UTF_8), documentationBytes);
     }
 
+    @Test
+    public void testUnpackNarsDuplicateNamesInOrder(@TempDir final Path tempDir) throws IOException {
+        final Path firstLibDir = Files.createDirectories(tempDir.resolve("lib"));
+        final Path secondLibDir = Files.createDirectories(tempDir.resolve("lib2"));
+        final File workingDir = tempDir.resolve("work").toFile();
+
+        final File jettyNar = copyNar("lib/nifi-jetty-nar.nar", firstLibDir);
+        final File firstDummyNar = copyNar("lib/dummy-one.nar", firstLibDir);
+        final File secondDummyNar = copyNar("lib/dummy-one.nar", secondLibDir);
+        final File dummyTwoNar = copyNar("lib2/dummy-two.nar", secondLibDir);
+
+        final Map<File, File> narWorkingDirectories = new LinkedHashMap<>();
+        narWorkingDirectories.put(jettyNar, workingDir);
+        narWorkingDirectories.put(firstDummyNar, workingDir);
+        narWorkingDirectories.put(secondDummyNar, workingDir);
+        narWorkingDirectories.put(dummyTwoNar, workingDir);
+
+        final Map<File, File> unpackedNars = NarUnpacker.unpackNars(narWorkingDirectories, true, NarUnpackMode.UNPACK_INDIVIDUAL_JARS);
+
+        assertEquals(List.copyOf(narWorkingDirectories.keySet()), List.copyOf(unpackedNars.keySet()));
+        final File dummyUnpackedDir = new File(workingDir, "dummy-one.nar-unpacked");
+        assertEquals(dummyUnpackedDir, unpackedNars.get(firstDummyNar));
+        assertEquals(dummyUnpackedDir, unpackedNars.get(secondDummyNar));
+        assertEquals(new File(workingDir, "nifi-jetty-nar.nar-unpacked"), unpackedNars.get(jettyNar));
+        assertEquals(new File(workingDir, "dummy-two.nar-unpacked"), unpackedNars.get(dummyTwoNar));
+    }
+
+    @Test
+    public void testUnpackNarsPreservesOrder(@TempDir final Path tempDir) throws IOException {
+        final Path libDir = Files.createDirectories(tempDir.resolve("lib"));
+        final File workingDir = tempDir.resolve("work").toFile();
+
+        final Map<File, File> narWorkingDirectories = new LinkedHashMap<>();
+        for (int i = 9; i >= 0; i--) {
+            final File narFile = libDir.resolve("dummy-" + i + ".nar").toFile();
+            Files.copy(Paths.get("./target/NarUnpacker/lib/dummy-one.nar"), narFile.toPath());
+            narWorkingDirectories.put(narFile, workingDir);
+        }
+
+        final Map<File, File> unpackedNars = NarUnpacker.unpackNars(narWorkingDirectories, true, NarUnpackMode.UNPACK_INDIVIDUAL_JARS);
+
+        assertEquals(List.copyOf(narWorkingDirectories.keySet()), List.copyOf(unpackedNars.keySet()));
+        for (final Map.Entry<File, File> entry : unpackedNars.entrySet()) {
+            assertEquals(new File(workingDir, entry.getKey().getName() + "-unpacked"), entry.getValue());
+        }
+    }
+
+    private File copyNar(final String resourcePath, final Path libDir) throws IOException {
+        final Path source = Paths.get("./target/NarUnpacker").resolve(resourcePath);
+        return Files.copy(source, libDir.resolve(source.getFileName())).toFile();
+    }
+
     private void writeComponentJar(final File componentJar) throws IOException {
         try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(componentJar))) {
             final JarEntry processorJarEntry = new JarEntry(PROCESSOR_PATH);
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.nar;
+
+import org.apache.nifi.bundle.Bundle;
+import org.apache.nifi.bundle.BundleCoordinate;
+import org.apache.nifi.bundle.BundleDetails;
+import org.apache.nifi.processor.Processor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StandardExtensionDiscoveringManagerTest {
+
+    private static final String PROCESSOR_SERVICES_PATH = "META-INF/services/" + Processor.class.getName();
+
+    private static final String PROCESSOR = "org.apache.nifi.processors.DiscoveredProcessor";
+
+    private static final String MANIFEST_FILENAME = "nar-extensions.properties";
+
+    private static final BundleCoordinate COORDINATE = new BundleCoordinate("org.apache.nifi", "nifi-test-nar", "1.0.0");
+
+    @Test
+    public void testExtensionManifestWrittenAndReused(@TempDir final Path tempDir) throws IOException {
+        final Path workingDirectory = tempDir.resolve("nifi-test-nar.nar-unpacked");
+        final Path classesDirectory = workingDirectory.resolve("classes");
+        final Path servicesFile = classesDirectory.resolve(PROCESSOR_SERVICES_PATH);
+        Files.createDirectories(servicesFile.getParent());
+        Files.writeString(servicesFile, PROCESSOR + System.lineSeparator(), StandardCharsets.UTF_8);
+        Files.write(workingDirectory.resolve(NarUnpacker.HASH_FILENAME), new byte[] {1, 2, 3});
+
+        try (final URLClassLoader classLoader = createClassLoader(classesDirectory)) {
+            assertEquals(Set.of(PROCESSOR), discoverProcessors(workingDirectory, classLoader));
+        }
+        assertTrue(Files.isRegularFile(workingDirectory.resolve(MANIFEST_FILENAME)));
+
+        // The services file is no longer visible, so the processor can only have come from the manifest
+        Files.delete(servicesFile);
+        try (final URLClassLoader classLoader = createClassLoader(classesDirectory)) {
+            assertEquals(Set.of(PROCESSOR), discoverProcessors(workingDirectory, classLoader));
+        }
+
+        // A changed digest invalidates the manifest
+        Files.write(workingDirectory.resolve(NarUnpacker.HASH_FILENAME), new byte[] {4, 5, 6});
+        try (final URLClassLoader classLoader = createClassLoader(classesDirectory)) {
+            assertEquals(Set.of(), discoverProcessors(workingDirectory, classLoader));
+        }
+    }
+
+    @Test
+    public void testExtensionsRegisteredInBundleOrder(@TempDir final Path tempDir) throws IOException {
+        final Set<Bundle> bundles = new LinkedHashSet<>();
+        final List<BundleCoordinate> expectedCoordinates = new ArrayList<>();
+        final List<URLClassLoader> classLoaders = new ArrayList<>();
+        try {
+            for (int version = 9; version >= 0; version--) {
+                final BundleCoordinate coordinate = new BundleCoordinate(COORDINATE.getGroup(), COORDINATE.getId(), version + ".0.0");
+                final Path workingDirectory = tempDir.resolve(coordinate.getVersion());
+                final Path classesDirectory = workingDirectory.resolve("classes");
+                final Path servicesFile = classesDirectory.resolve(PROCESSOR_SERVICES_PATH);
+                Files.createDirectories(servicesFile.getParent());
+                Files.writeString(servicesFile, PROCESSOR + System.lineSeparator(), StandardCharsets.UTF_8);
+
+                final URLClassLoader classLoader = createClassLoader(classesDirectory);
+                classLoaders.add(classLoader);
+                final BundleDetails bundleDetails = new BundleDetails.Builder()
+                    .coordinate(coordinate)
+                    .workingDir(workingDirectory.toFile())
+                    .build();
+                bundles.add(new Bundle(bundleDetails, classLoader));
+                expectedCoordinates.add(coordinate);
+            }
+
+            final StandardExtensionDiscoveringManager extensionManager = new StandardExtensionDiscoveringManager();
+            extensionManager.discoverExtensions(bundles, false);
+
+            final List<BundleCoordinate> registeredCoordinates = extensionManager.getBundles(PROCESSOR).stream()
+                .map(bundle -> bundle.getBundleDetails().getCoordinate())
+                .toList();
+            assertEquals(expectedCoordinates, registeredCoordinates);
+        } finally {
+            for (final URLClassLoader classLoader : classLoaders) {
+                classLoader.close();
+            }
+        }
+    }
+
+    private Set<String> discoverProcessors(final Path workingDirectory, final ClassLoader classLoader) {
+        final BundleDetails bundleDetails = new BundleDetails.Builder()
+            .coordinate(COORDINATE)
+            .workingDir(workingDirectory.toFile())
+            .build();
+
+        final StandardExtensionDiscoveringManager extensionManager = new StandardExtensionDiscoveringManager();
+        extensionManager.discoverExtensions(Set.of(new Bundle(bundleDetails, classLoader)), false);
+
+        return extensionManager.getExtensions(Processor.class).stream()
+            .map(ExtensionDefinition::getImplementationClassName)
+            .collect(Collectors.toSet());
+    }
+
+    private URLClassLoader createClassLoader(final Path classesDirectory) throws IOException {
+        return new URLClassLoader(new URL[] {classesDirectory.toUri().toURL()}, getClass().getClassLoader());
+    }
+}
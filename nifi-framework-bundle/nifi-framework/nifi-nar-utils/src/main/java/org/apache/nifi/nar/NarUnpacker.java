@@ -44,10 +44,17 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
@@ -64,7 +71,7 @@ public final class NarUnpacker {
     private static final String JAR_DOCUMENTATION_ROOT_PATH = "docs";
 
     private static final Logger logger = LoggerFactory.getLogger(NarUnpacker.class);
-    private static final String HASH_FILENAME = "nar-digest";
+    public static final String HASH_FILENAME = "nar-digest";
     private static final FileFilter NAR_FILTER = pathname -> {
         final String nameToTest = pathname.getName().toLowerCase();
         return nameToTest.endsWith(".nar") && pathname.isFile();
@@ -128,13 +135,16 @@ public final class NarUnpacker {
             if (!narFiles.isEmpty()) {
                 final long startTime = System.nanoTime();
                 logger.info("Expanding {} NAR files started", narFiles.size());
+
+                // Read the coordinates of all NARs first so that the framework and Jetty NARs are identified before anything is expanded
+                File frameworkNar = null;
+                File jettyNar = null;
+                final Map<File, File> narWorkingDirectories = new LinkedHashMap<>();
                 for (File narFile : narFiles) {
                     if (!narFile.canRead()) {
                         throw new IllegalStateException("Unable to read NAR file: " + narFile.getAbsolutePath());
                     }
 
-                    logger.debug("Expanding NAR file: {}", narFile.getAbsolutePath());
-
                     // get the manifest for this nar
                     try (final JarFile nar = new JarFile(narFile)) {
                         BundleCoordinate bundleCoordinate = createBundleCoordinate(nar.getManifest());
@@ -146,28 +156,38 @@ public final class NarUnpacker {
 
                         // determine if this is the framework
                         if (frameworkNarId != null && frameworkNarId.equals(bundleCoordinate.getId())) {
-                            if (unpackedFramework != null) {
+                            if (frameworkNar != null) {
                                 throw new IllegalStateException("Multiple framework NARs discovered. Only one framework is permitted.");
                             }
 
-                            // unpack the framework nar
-                            unpackedFramework = unpackNar(narFile, frameworkWorkingDir, verifyHash, unpackMode);
+                            frameworkNar = narFile;
+                            narWorkingDirectories.put(narFile, frameworkWorkingDir);
                         } else if (NarClassLoaders.JETTY_NAR_ID.equals(bundleCoordinate.getId())) {
-                            if (unpackedJetty != null) {
+                            if (jettyNar != null) {
                                 throw new IllegalStateException("Multiple Jetty NARs discovered. Only one Jetty NAR is permitted.");
                             }
 
-                            // unpack and record the Jetty nar
-                            unpackedJetty = unpackNar(narFile, extensionsWorkingDir, verifyHash, unpackMode);
-                            unpackedExtensions.add(unpackedJetty);
+                            jettyNar = narFile;
+                            narWorkingDirectories.put(narFile, extensionsWorkingDir);
                         } else {
-                            // unpack and record the extension nar
-                            final File unpackedExtension = unpackNar(narFile, extensionsWorkingDir, verifyHash, unpackMode);
-                            unpackedExtensions.add(unpackedExtension);
+                            narWorkingDirectories.put(narFile, extensionsWorkingDir);
                         }
                     }
                 }
 
+                final Map<File, File> unpackedNarDirectories = unpackNars(narWorkingDirectories, verifyHash, unpackMode);
+                for (final Map.Entry<File, File> entry : unpackedNarDirectories.entrySet()) {
+                    final File narFile = entry.getKey();
+                    if (narFile.equals(frameworkNar)) {
+                        unpackedFramework = entry.getValue();
+                    } else {
+                        if (narFile.equals(jettyNar)) {
+                            unpackedJetty = entry.getValue();
+                        }
+                        unpackedExtensions.add(entry.getValue());
+                    }
+                }
+
                 if (requireFrameworkNar) {
                     // ensure we've found the framework nar
                     if (unpackedFramework == null) {
@@ -229,6 +249,74 @@ public final class NarUnpacker {
         return null;
     }
 
+    /**
+     * Unpacks (or verifies the digest of previously unpacked) NARs using a pool bounded by the number of available processors.
+     * Hashing and expanding a NAR is independent of every other NAR, so this is where most of the startup time is spent.
+     * NARs with the same file name in different library directories share a working directory, so those are unpacked one
+     * after another, in the order given.
+     *
+     * @param narWorkingDirectories the NAR files to unpack, mapped to the base working directory for each
+     * @param verifyHash whether to verify the digest of NARs that were previously unpacked
+     * @param unpackMode specifies how the contents of the NARs should be unpacked
+     * @return the NAR files mapped to their unpacked directories, in the same order as the given map
+     * @throws IOException if unable to unpack any of the NARs
+     */
+    static Map<File, File> unpackNars(final Map<File, File> narWorkingDirectories, final boolean verifyHash, final NarUnpackMode unpackMode) throws IOException {
+        final Map<File, Map<File, File>> narsByUnpackedDirectory = new LinkedHashMap<>();
+        for (final Map.Entry<File, File> entry : narWorkingDirectories.entrySet()) {
+            final File unpackedDirectory = new File(entry.getValue(), entry.getKey().getName() + "-unpacked");
+            narsByUnpackedDirectory.computeIfAbsent(unpackedDirectory, key -> new LinkedHashMap<>()).put(entry.getKey(), entry.getValue());
+        }
+
+        final int threadCount = Math.max(1, Math.min(narsByUnpackedDirectory.size(), Runtime.getRuntime().availableProcessors()));
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount, new UnpackThreadFactory());
+        try {
+            final Map<File, Future<Map<File, File>>> futures = new HashMap<>();
+            for (final Map.Entry<File, Map<File, File>> entry : narsByUnpackedDirectory.entrySet()) {
+                final Map<File, File> nars = entry.getValue();
+                futures.put(entry.getKey(), executor.submit(() -> {
+                    final Map<File, File> unpackedNars = new HashMap<>();
+                    for (final Map.Entry<File, File> nar : nars.entrySet()) {
+                        unpackedNars.put(nar.getKey(), unpackNarTimed(nar.getKey(), nar.getValue(), verifyHash, unpackMode));
+                    }
+                    return unpackedNars;
+                }));
+            }
+
+            final Map<File, File> unpackedNars = new LinkedHashMap<>();
+            for (final Map.Entry<File, File> entry : narWorkingDirectories.entrySet()) {
+                final File narFile = entry.getKey();
+                final File unpackedDirectory = new File(entry.getValue(), narFile.getName() + "-unpacked");
+                try {
+                    unpackedNars.put(narFile, futures.get(unpackedDirectory).get().get(narFile));
+                } catch (final ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof IOException ioe) {
+                        throw ioe;
+                    } else if (cause instanceof RuntimeException re) {
+                        throw re;
+                    }
+                    throw new IOException("Failed to unpack NAR " + narFile.getAbsolutePath(), cause);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while unpacking NAR " + narFile.getAbsolutePath(), e);
+                }
+            }
+
+            return unpackedNars;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static File unpackNarTimed(final File narFile, final File baseWorkingDirectory, final boolean verifyHash, final NarUnpackMode unpackMode) throws IOException {
+        logger.debug("Expanding NAR file: {}", narFile.getAbsolutePath());
+        final long start = System.nanoTime();
+        final File unpackedNar = unpackNar(narFile, baseWorkingDirectory, verifyHash, unpackMode);
+        logger.info("Expanded NAR [{}] in {} millis", narFile.getName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return unpackedNar;
+    }
+
     /**
      * Creates a map containing the nar directory mapped to it's bundle-coordinate.
      * @param extensionsWorkingDir where to find extensions
@@ -678,4 +766,17 @@ public final class NarUnpacker {
 
     private NarUnpacker() {
     }
+
+    private static class UnpackThreadFactory implements ThreadFactory {
+        private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+        private final AtomicInteger threadCount = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread t = defaultFactory.newThread(r);
+            t.setName("NAR Unpacker-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
 }
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * An immutable attribute map that records only the attributes that were added, changed, or removed relative to a
+ * parent map, which it shares rather than copies. A FlowFile that is derived from another FlowFile and changes one
+ * attribute therefore costs one small map instead of a copy of every attribute, and the parent's keys and values are
+ * not duplicated on the heap.
+ * </p>
+ *
+ * <p>
+ * Lookups consult each layer in turn, so once a chain of overlays reaches {@value #MAX_DEPTH} layers, or a layer
+ * changes a large share of its parent's attributes, the result is flattened into a single map.
+ * </p>
+ */
+final class OverlayAttributeMap extends AbstractMap<String, String> {
+    static final int MAX_DEPTH = 6;
+
+    private final Map<String, String> parent;
+    private final Map<String, String> updated;
+    private final Set<String> removed;
+    private final int depth;
+    private final int size;
+
+    private OverlayAttributeMap(final Map<String, String> parent, final Map<String, String> updated, final Set<String> removed, final int depth, final int size) {
+        this.parent = parent;
+        this.updated = updated;
+        this.removed = removed;
+        this.depth = depth;
+        this.size = size;
+    }
+
+    /**
+     * Creates a map holding the attributes of the given parent with the given changes applied. Neither the parent nor the
+     * given collections may be modified afterward.
+     *
+     * @param parent the attributes to start from, or <code>null</code> for none
+     * @param updated the attributes that were added or changed, or <code>null</code> for none
+     * @param removed the keys of parent attributes that were removed and not added again, or <code>null</code> for none
+     * @return the resulting attributes
+     */
+    static Map<String, String> create(final Map<String, String> parent, final Map<String, String> updated, final Set<String> removed) {
+        final Map<String, String> base = parent == null ? Collections.emptyMap() : parent;
+        final int updatedCount = updated == null ? 0 : updated.size();
+        final int removedCount = removed == null ? 0 : removed.size();
+        if (updatedCount == 0 && removedCount == 0) {
+            return base;
+        }
+
+        if (base.isEmpty() && removedCount == 0) {
+            return updated;
+        }
+
+        final int depth = base instanceof OverlayAttributeMap ? ((OverlayAttributeMap) base).depth + 1 : 1;
+        if (depth > MAX_DEPTH || (updatedCount + removedCount) * 2 > base.size()) {
+            final Map<String, String> flattened = new HashMap<>(base);
+            if (removed != null) {
+                flattened.keySet().removeAll(removed);
+            }
+            if (updated != null) {
+                flattened.putAll(updated);
+            }
+            return flattened;
+        }
+
+        int addedCount = 0;
+        if (updated != null) {
+            for (final String key : updated.keySet()) {
+                if (!base.containsKey(key)) {
+                    addedCount++;
+                }
+            }
+        }
+
+        return new OverlayAttributeMap(base,
+            updated == null ? Collections.emptyMap() : updated,
+            removed == null ? Collections.emptySet() : removed,
+            depth, base.size() - removedCount + addedCount);
+    }
+
+    @Override
+    public String get(final Object key) {
+        final String value = updated.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        return removed.contains(key) ? null : parent.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return updated.containsKey(key) || (!removed.contains(key) && parent.containsKey(key));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new OverlayIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Iterates over the updated attributes and then over the parent's attributes that were neither updated nor removed
+     */
+    private class OverlayIterator implements Iterator<Entry<String, String>> {
+        private final Iterator<Entry<String, String>> updatedIterator = updated.entrySet().iterator();
+        private final Iterator<Entry<String, String>> parentIterator = parent.entrySet().iterator();
+        private Entry<String, String> next;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+
+            if (updatedIterator.hasNext()) {
+                next = updatedIterator.next();
+                return true;
+            }
+
+            while (parentIterator.hasNext()) {
+                final Entry<String, String> candidate = parentIterator.next();
+                final String key = candidate.getKey();
+                if (!updated.containsKey(key) && !removed.contains(key)) {
+                    next = candidate;
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Entry<String, String> entry = next;
+            next = null;
+            return new SimpleImmutableEntry<>(entry);
+        }
+    }
+}
@@ -24,10 +24,11 @@ import org.apache.nifi.controller.repository.claim.ContentClaim;
 import org.apache.nifi.flowfile.FlowFile;
 import org.apache.nifi.flowfile.attributes.CoreAttributes;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -183,7 +184,8 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
         private long bLastQueueDate = System.currentTimeMillis();
         private long bQueueDateIndex = 0L;
         private Map<String, String> bAttributes;
-        private boolean bAttributesCopied = false;
+        private Map<String, String> bUpdatedAttributes;
+        private Set<String> bRemovedAttributes;
 
         public Builder id(final long id) {
             bId = id;
@@ -213,28 +215,42 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
             return this;
         }
 
-        private Map<String, String> initializeAttributes() {
-            if (bAttributes == null) {
-                bAttributes = new HashMap<>();
-                bAttributesCopied = true;
-            } else if (!bAttributesCopied) {
-                bAttributes = new HashMap<>(bAttributes);
-                bAttributesCopied = true;
+        private void putAttribute(final String key, final String value) {
+            if (bUpdatedAttributes == null) {
+                bUpdatedAttributes = new HashMap<>(4);
             }
+            bUpdatedAttributes.put(key, value);
 
-            return bAttributes;
+            if (bRemovedAttributes != null) {
+                bRemovedAttributes.remove(key);
+            }
+        }
+
+        private void removeAttribute(final String key) {
+            if (CoreAttributes.UUID.key().equals(key)) {
+                return;
+            }
+
+            if (bUpdatedAttributes != null) {
+                bUpdatedAttributes.remove(key);
+            }
+
+            if (bAttributes != null && bAttributes.containsKey(key)) {
+                if (bRemovedAttributes == null) {
+                    bRemovedAttributes = new HashSet<>(4);
+                }
+                bRemovedAttributes.add(key);
+            }
         }
 
         public Builder addAttribute(final String key, final String value) {
             if (key != null && value != null) {
-                initializeAttributes().put(FlowFile.KeyValidator.validateKey(key), value);
+                putAttribute(FlowFile.KeyValidator.validateKey(key), value);
             }
             return this;
         }
 
         public Builder addAttributes(final Map<String, String> attributes) {
-            final Map<String, String> initializedAttributes = initializeAttributes();
-
             if (null != attributes) {
                 for (final String key : attributes.keySet()) {
                     FlowFile.KeyValidator.validateKey(key);
@@ -243,21 +259,32 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
                     final String key = entry.getKey();
                     final String value = entry.getValue();
                     if (key != null && value != null) {
-                        initializedAttributes.put(key, value);
+                        putAttribute(key, value);
                     }
                 }
             }
             return this;
         }
 
+        /**
+         * Uses the given Map as the attributes of the FlowFile, discarding any attributes previously added or removed, without
+         * copying it. This is intended for attributes that were just deserialized, whose keys have already been validated; the
+         * caller must not modify the Map afterward.
+         *
+         * @param attributes the attributes of the FlowFile
+         * @return this Builder
+         */
+        public Builder adoptAttributes(final Map<String, String> attributes) {
+            bAttributes = attributes;
+            bUpdatedAttributes = null;
+            bRemovedAttributes = null;
+            return this;
+        }
+
         public Builder removeAttributes(final String... keys) {
             if (keys != null) {
                 for (final String key : keys) {
-                    if (CoreAttributes.UUID.key().equals(key)) {
-                        continue;
-                    }
-
-                    initializeAttributes().remove(key);
+                    removeAttribute(key);
                 }
             }
             return this;
@@ -266,11 +293,7 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
         public Builder removeAttributes(final Set<String> keys) {
             if (keys != null) {
                 for (final String key : keys) {
-                    if (CoreAttributes.UUID.key().equals(key)) {
-                        continue;
-                    }
-
-                    initializeAttributes().remove(key);
+                    removeAttribute(key);
                 }
             }
             return this;
@@ -278,18 +301,25 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
 
         public Builder removeAttributes(final Pattern keyPattern) {
             if (keyPattern != null) {
-                final Iterator<String> iterator = initializeAttributes().keySet().iterator();
-                while (iterator.hasNext()) {
-                    final String key = iterator.next();
-
-                    if (CoreAttributes.UUID.key().equals(key)) {
-                        continue;
+                final List<String> matchingKeys = new ArrayList<>();
+                if (bAttributes != null) {
+                    for (final String key : bAttributes.keySet()) {
+                        if (keyPattern.matcher(key).matches() && (bRemovedAttributes == null || !bRemovedAttributes.contains(key))) {
+                            matchingKeys.add(key);
+                        }
                     }
-
-                    if (keyPattern.matcher(key).matches()) {
-                        iterator.remove();
+                }
+                if (bUpdatedAttributes != null) {
+                    for (final String key : bUpdatedAttributes.keySet()) {
+                        if (keyPattern.matcher(key).matches()) {
+                            matchingKeys.add(key);
+                        }
                     }
                 }
+
+                for (final String key : matchingKeys) {
+                    removeAttribute(key);
+                }
             }
             return this;
         }
@@ -326,8 +356,10 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
             // a Processor that continually calls session.append() for instance will have a FlowFile whose attributes
             // Map is wrapped thousands of times until it hits a StackOverflowError. We want the getter to return
             // UnmodifiableMap, though, so that Processors cannot directly modify that Map.
+            // The attributes that are added or removed afterward are layered over this Map rather than applied to a copy of it.
             bAttributes = specFlowFile instanceof StandardFlowFileRecord ? ((StandardFlowFileRecord) specFlowFile).attributes : specFlowFile.getAttributes();
-            bAttributesCopied = false;
+            bUpdatedAttributes = null;
+            bRemovedAttributes = null;
             bClaim = specFlowFile.getContentClaim();
             bClaimOffset = specFlowFile.getContentClaimOffset();
             bLastQueueDate = specFlowFile.getLastQueueDate();
@@ -337,6 +369,10 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
         }
 
         public FlowFileRecord build() {
+            // The built FlowFile owns the resulting Map, so any further changes made through this Builder start a new layer over it
+            bAttributes = OverlayAttributeMap.create(bAttributes, bUpdatedAttributes, bRemovedAttributes);
+            bUpdatedAttributes = null;
+            bRemovedAttributes = null;
             return new StandardFlowFileRecord(this);
         }
     }
@@ -20,10 +20,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
-import java.util.concurrent.BlockingQueue;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -31,7 +32,12 @@ public class StandardResourceClaimManager implements ResourceClaimManager {
 
     private static final Logger logger = LoggerFactory.getLogger(StandardResourceClaimManager.class);
     private final ConcurrentMap<ResourceClaim, ClaimCount> claimantCounts = new ConcurrentHashMap<>();
-    private final BlockingQueue<ResourceClaim> destructableClaims = new LinkedBlockingQueue<>(50000);
+
+    // An unbounded, lock-free queue so that threads committing FlowFile Repository updates never wait on the Content Repository's cleanup.
+    // The set of queued claims ensures that each claim is queued at most once, which bounds the queue by the number of Resource Claims and
+    // allows checking whether a claim is queued without scanning the queue.
+    private final LinkedTransferQueue<ResourceClaim> destructableClaims = new LinkedTransferQueue<>();
+    private final Set<ResourceClaim> queuedDestructableClaims = ConcurrentHashMap.newKeySet();
 
     @Override
     public ResourceClaim newResourceClaim(final String container, final String section, final String id, final boolean lossTolerant, final boolean writable) {
@@ -94,20 +100,65 @@ public class StandardResourceClaimManager implements ResourceClaimManager {
                 return -1;
             }
 
-            final int newClaimantCount = counter.getCount().decrementAndGet();
-            if (newClaimantCount < 0) {
-                logger.error("Decremented claimant count for {} to {}", claim, newClaimantCount);
-            } else {
-                logger.debug("Decrementing claimant count for {} to {}", claim, newClaimantCount);
+            return decrementClaimantCount(claim, counter, 1);
+        }
+    }
+
+    // must be called while synchronized on the claim
+    private int decrementClaimantCount(final ResourceClaim claim, final ClaimCount counter, final int decrement) {
+        final int newClaimantCount = counter.getCount().addAndGet(-decrement);
+        if (newClaimantCount < 0) {
+            logger.error("Decremented claimant count for {} to {}", claim, newClaimantCount);
+        } else {
+            logger.debug("Decrementing claimant count for {} to {}", claim, newClaimantCount);
+        }
+
+        // If the claim is no longer referenced, we want to remove it. We consider the claim to be "no longer referenced"
+        // if the count is 0 and it is no longer writable (if it's writable, it may still be writable by the Content Repository,
+        // even though no existing FlowFile is referencing the claim).
+        if (newClaimantCount == 0 && !claim.isWritable()) {
+            removeClaimantCount(claim);
+        }
+        return newClaimantCount;
+    }
+
+    // must be called while synchronized on the claim
+    private int incrementClaimantCount(final ResourceClaim claim, final boolean newClaim, final int increment) {
+        final AtomicInteger counter = getCounter(claim);
+
+        final int newClaimantCount = counter.addAndGet(increment);
+        logger.debug("Incrementing claimant count for {} to {}", claim, newClaimantCount);
+
+        // If the claimant count moved from 0 to a positive value, remove it from the queue of destructable claims.
+        if (!newClaim && newClaimantCount == increment && queuedDestructableClaims.remove(claim)) {
+            destructableClaims.remove(claim);
+        }
+        return newClaimantCount;
+    }
+
+    @Override
+    public void adjustClaimantCounts(final Map<ResourceClaim, Integer> adjustments) {
+        for (final Map.Entry<ResourceClaim, Integer> entry : adjustments.entrySet()) {
+            final ResourceClaim claim = entry.getKey();
+            final int adjustment = entry.getValue();
+            if (claim == null || adjustment == 0) {
+                continue;
             }
 
-            // If the claim is no longer referenced, we want to remove it. We consider the claim to be "no longer referenced"
-            // if the count is 0 and it is no longer writable (if it's writable, it may still be writable by the Content Repository,
-            // even though no existing FlowFile is referencing the claim).
-            if (newClaimantCount == 0 && !claim.isWritable()) {
-                removeClaimantCount(claim);
+            synchronized (claim) {
+                if (adjustment > 0) {
+                    incrementClaimantCount(claim, false, adjustment);
+                    continue;
+                }
+
+                final ClaimCount counter = claimantCounts.get(claim);
+                if (counter == null) {
+                    logger.warn("Decrementing claimant count for {} by {} but claimant count is not known", claim, -adjustment);
+                    continue;
+                }
+
+                decrementClaimantCount(claim, counter, -adjustment);
             }
-            return newClaimantCount;
         }
     }
 
@@ -128,16 +179,7 @@ public class StandardResourceClaimManager implements ResourceClaimManager {
         }
 
         synchronized (claim) {
-            final AtomicInteger counter = getCounter(claim);
-
-            final int newClaimantCount = counter.incrementAndGet();
-            logger.debug("Incrementing claimant count for {} to {}", claim, newClaimantCount);
-
-            // If the claimant count moved from 0 to 1, remove it from the queue of destructable claims.
-            if (!newClaim && newClaimantCount == 1) {
-                destructableClaims.remove(claim);
-            }
-            return newClaimantCount;
+            return incrementClaimantCount(claim, newClaim, 1);
         }
     }
 
@@ -153,17 +195,21 @@ public class StandardResourceClaimManager implements ResourceClaimManager {
             }
 
             logger.debug("Marking claim {} as destructable", claim);
-            try {
-                while (!destructableClaims.offer(claim, 30, TimeUnit.MINUTES)) {
-                }
-            } catch (final InterruptedException ie) {
+            if (queuedDestructableClaims.add(claim)) {
+                destructableClaims.offer(claim);
             }
         }
     }
 
     @Override
     public void drainDestructableClaims(final Collection<ResourceClaim> destination, final int maxElements) {
-        final int drainedCount = destructableClaims.drainTo(destination, maxElements);
+        int drainedCount = 0;
+        ResourceClaim claim;
+        while (drainedCount < maxElements && (claim = destructableClaims.poll()) != null) {
+            dequeued(claim, destination);
+            drainedCount++;
+        }
+
         logger.debug("Drained {} destructable claims to {}", drainedCount, destination);
     }
 
@@ -172,13 +218,18 @@ public class StandardResourceClaimManager implements ResourceClaimManager {
         try {
             final ResourceClaim firstClaim = destructableClaims.poll(timeout, unit);
             if (firstClaim != null) {
-                destination.add(firstClaim);
-                destructableClaims.drainTo(destination, maxElements - 1);
+                dequeued(firstClaim, destination);
+                drainDestructableClaims(destination, maxElements - 1);
             }
         } catch (final InterruptedException e) {
         }
     }
 
+    private void dequeued(final ResourceClaim claim, final Collection<ResourceClaim> destination) {
+        queuedDestructableClaims.remove(claim);
+        destination.add(claim);
+    }
+
     @Override
     public void purge() {
         claimantCounts.clear();
@@ -208,9 +259,7 @@ public class StandardResourceClaimManager implements ResourceClaimManager {
             return false;
         }
 
-        synchronized (claim) {
-            return destructableClaims.contains(claim);
-        }
+        return queuedDestructableClaims.contains(claim);
     }
 
 
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class TestStandardFlowFileRecord {
+
+    @Test
+    public void testDerivedFlowFileSharesUnchangedAttributes() {
+        final FlowFileRecord original = createFlowFile(20);
+
+        final FlowFileRecord derived = new StandardFlowFileRecord.Builder()
+            .fromFlowFile(original)
+            .addAttribute("attr-3", "updated")
+            .addAttribute("added", "new")
+            .removeAttributes("attr-5")
+            .build();
+
+        final Map<String, String> expected = new HashMap<>(original.getAttributes());
+        expected.put("attr-3", "updated");
+        expected.put("added", "new");
+        expected.remove("attr-5");
+
+        assertEquals(expected, derived.getAttributes());
+        assertEquals(expected.size(), derived.getAttributes().size());
+        assertEquals("updated", derived.getAttribute("attr-3"));
+        assertNull(derived.getAttribute("attr-5"));
+        assertFalse(derived.getAttributes().containsKey("attr-5"));
+
+        assertEquals("value-3", original.getAttribute("attr-3"));
+        assertEquals("value-5", original.getAttribute("attr-5"));
+        assertNull(original.getAttribute("added"));
+    }
+
+    @Test
+    public void testOverlayCreatedOnlyForChanges() {
+        final Map<String, String> parent = createAttributes(20);
+
+        assertSame(parent, OverlayAttributeMap.create(parent, null, null));
+        assertSame(parent, OverlayAttributeMap.create(parent, new HashMap<>(), Set.of()));
+        assertInstanceOf(OverlayAttributeMap.class, OverlayAttributeMap.create(parent, Map.of("attr-1", "updated"), null));
+        assertFalse(OverlayAttributeMap.create(parent, createAttributes(15), null) instanceof OverlayAttributeMap);
+    }
+
+    @Test
+    public void testRemoveAndAddAgain() {
+        final FlowFileRecord original = createFlowFile(20);
+        final FlowFileRecord derived = new StandardFlowFileRecord.Builder()
+            .fromFlowFile(original)
+            .removeAttributes(Set.of("attr-1", "attr-2"))
+            .addAttribute("attr-1", "restored")
+            .addAttribute("attr-7", "changed")
+            .removeAttributes("attr-7")
+            .build();
+
+        final Map<String, String> expected = new HashMap<>(original.getAttributes());
+        expected.put("attr-1", "restored");
+        expected.remove("attr-2");
+        expected.remove("attr-7");
+
+        assertEquals(expected, derived.getAttributes());
+        assertEquals(expected.size(), derived.getAttributes().size());
+    }
+
+    @Test
+    public void testRemoveAttributesByPattern() {
+        final FlowFileRecord original = createFlowFile(20);
+        final FlowFileRecord derived = new StandardFlowFileRecord.Builder()
+            .fromFlowFile(original)
+            .addAttribute("attr-100", "added")
+            .removeAttributes(Pattern.compile("attr-1.*|uuid"))
+            .build();
+
+        final Map<String, String> expected = new HashMap<>(original.getAttributes());
+        expected.keySet().removeIf(key -> key.startsWith("attr-1"));
+
+        assertEquals(expected, derived.getAttributes());
+        assertEquals("1234", derived.getAttribute("uuid"));
+    }
+
+    @Test
+    public void testLongChainFlattened() {
+        Map<String, String> attributes = createAttributes(20);
+        for (int i = 0; i < OverlayAttributeMap.MAX_DEPTH; i++) {
+            attributes = OverlayAttributeMap.create(attributes, Map.of("counter", String.valueOf(i)), null);
+            assertInstanceOf(OverlayAttributeMap.class, attributes);
+        }
+
+        attributes = OverlayAttributeMap.create(attributes, Map.of("counter", "last"), Set.of("attr-0"));
+        assertInstanceOf(HashMap.class, attributes);
+        assertEquals(20, attributes.size());
+        assertEquals("last", attributes.get("counter"));
+        assertNull(attributes.get("attr-0"));
+
+        FlowFileRecord flowFile = createFlowFile(20);
+        for (int i = 0; i < OverlayAttributeMap.MAX_DEPTH * 3; i++) {
+            flowFile = new StandardFlowFileRecord.Builder()
+                .fromFlowFile(flowFile)
+                .addAttribute("counter", String.valueOf(i))
+                .build();
+        }
+
+        assertEquals(String.valueOf(OverlayAttributeMap.MAX_DEPTH * 3 - 1), flowFile.getAttribute("counter"));
+        assertEquals(22, flowFile.getAttributes().size());
+    }
+
+    @Test
+    public void testBuilderReuseDoesNotModifyBuiltFlowFile() {
+        final StandardFlowFileRecord.Builder builder = new StandardFlowFileRecord.Builder()
+            .addAttribute("uuid", "1234")
+            .addAttribute("a", "1");
+        final FlowFileRecord first = builder.build();
+
+        builder.addAttribute("b", "2").removeAttributes("a");
+        final FlowFileRecord second = builder.build();
+
+        assertEquals(Map.of("uuid", "1234", "a", "1"), first.getAttributes());
+        assertEquals(Map.of("uuid", "1234", "b", "2"), second.getAttributes());
+    }
+
+    @Test
+    public void testAdoptAttributes() {
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put("uuid", "1234");
+        attributes.put("filename", "file.txt");
+
+        final FlowFileRecord flowFile = new StandardFlowFileRecord.Builder()
+            .addAttribute("discarded", "true")
+            .adoptAttributes(attributes)
+            .build();
+
+        assertEquals(attributes, flowFile.getAttributes());
+    }
+
+    private Map<String, String> createAttributes(final int attributeCount) {
+        final Map<String, String> attributes = new HashMap<>();
+        for (int i = 0; i < attributeCount; i++) {
+            attributes.put("attr-" + i, "value-" + i);
+        }
+        return attributes;
+    }
+
+    private FlowFileRecord createFlowFile(final int attributeCount) {
+        final StandardFlowFileRecord.Builder builder = new StandardFlowFileRecord.Builder()
+            .id(1L)
+            .addAttribute("uuid", "1234");
+        for (int i = 0; i < attributeCount; i++) {
+            builder.addAttribute("attr-" + i, "value-" + i);
+        }
+        return builder.build();
+    }
+}
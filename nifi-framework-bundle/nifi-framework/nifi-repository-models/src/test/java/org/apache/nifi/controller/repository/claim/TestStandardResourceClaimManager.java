@@ -18,10 +18,14 @@
 package org.apache.nifi.controller.repository.claim;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
@@ -50,10 +54,57 @@ public class TestStandardResourceClaimManager {
 
         backgroundThread.start();
 
-        Thread.sleep(10);
-        assertEquals(0, manager.getClaimantCount(lastClaim));
-        assertNull(future.getNow(null));
-        manager.drainDestructableClaims(new ArrayList<>(), 1);
+        // Marking a claim destructable must not wait for the destructable claims to be drained
         assertSame(completedObject, future.get());
+        assertEquals(0, manager.getClaimantCount(lastClaim));
+        assertTrue(manager.isDestructable(lastClaim));
+
+        final List<ResourceClaim> drained = new ArrayList<>();
+        manager.drainDestructableClaims(drained, 50001);
+        assertEquals(50001, drained.size());
+        assertFalse(manager.isDestructable(lastClaim));
+    }
+
+    @Test
+    public void testClaimQueuedOnceWhenMarkedDestructableRepeatedly() {
+        final StandardResourceClaimManager manager = new StandardResourceClaimManager();
+        final ResourceClaim claim = manager.newResourceClaim("container", "section", "1", false, false);
+
+        manager.markDestructable(claim);
+        manager.markDestructable(claim);
+
+        final List<ResourceClaim> drained = new ArrayList<>();
+        manager.drainDestructableClaims(drained, 10);
+        assertEquals(List.of(claim), drained);
+    }
+
+    @Test
+    public void testAdjustClaimantCounts() {
+        final StandardResourceClaimManager manager = new StandardResourceClaimManager();
+        final ResourceClaim first = manager.newResourceClaim("container", "section", "1", false, false);
+        final ResourceClaim second = manager.newResourceClaim("container", "section", "2", false, false);
+        manager.markDestructable(second);
+        assertTrue(manager.isDestructable(second));
+
+        final Map<ResourceClaim, Integer> increments = new HashMap<>();
+        increments.put(first, 5);
+        increments.put(second, 2);
+        manager.adjustClaimantCounts(increments);
+
+        assertEquals(5, manager.getClaimantCount(first));
+        assertEquals(2, manager.getClaimantCount(second));
+        assertFalse(manager.isDestructable(second));
+
+        final Map<ResourceClaim, Integer> decrements = new HashMap<>();
+        decrements.put(first, -3);
+        decrements.put(second, -2);
+        manager.adjustClaimantCounts(decrements);
+
+        assertEquals(2, manager.getClaimantCount(first));
+        assertEquals(0, manager.getClaimantCount(second));
+
+        final List<ResourceClaim> drained = new ArrayList<>();
+        manager.drainDestructableClaims(drained, 10);
+        assertTrue(drained.isEmpty());
     }
 }
@@ -166,6 +166,27 @@ public class NiFiMetricsRegistry extends AbstractMetricsRegistry {
                 .labelNames("processor_name", "counter_name", "processor_id", "instance")
                 .register(registry));
 
+        nameToGaugeMap.put("PROCESSOR_CPU_DURATION",  Gauge.build()
+                .name("nifi_processor_cpu_duration")
+                .help("The estimated number of milliseconds of CPU time that the processor has used in the past 5 minutes. "
+                        + "Reported only when performance tracking is enabled")
+                .labelNames("instance", "component_type", "component_name", "component_id", "parent_id")
+                .register(registry));
+
+        nameToGaugeMap.put("PROCESSOR_ALLOCATED_BYTES",  Gauge.build()
+                .name("nifi_processor_allocated_bytes")
+                .help("The estimated number of bytes of heap that the processor has allocated in the past 5 minutes. "
+                        + "Reported only when performance tracking is enabled")
+                .labelNames("instance", "component_type", "component_name", "component_id", "parent_id")
+                .register(registry));
+
+        nameToGaugeMap.put("PROCESSOR_LOCK_WAIT_DURATION",  Gauge.build()
+                .name("nifi_processor_lock_wait_duration")
+                .help("The estimated number of milliseconds that the processor has spent waiting to obtain framework locks in the past 5 minutes. "
+                        + "Reported only when performance tracking is enabled")
+                .labelNames("instance", "component_type", "component_name", "component_id", "parent_id")
+                .register(registry));
+
         // Connection metrics
         nameToGaugeMap.put("BACKPRESSURE_BYTES_THRESHOLD",  Gauge.build()
                 .name("nifi_backpressure_bytes_threshold")
@@ -261,6 +282,16 @@ public class NiFiMetricsRegistry extends AbstractMetricsRegistry {
                 .labelNames("instance", "component_type", "component_name", "component_id", "parent_id", "repo_identifier")
                 .register(registry));
 
+        nameToGaugeMap.put("CONTENT_REPO_WRITE_NANOS_PER_BYTE", Gauge.build().name("nifi_content_repo_write_nanos_per_byte")
+                .help("Moving average of the content repository write latency in nanoseconds per byte")
+                .labelNames("instance", "component_type", "component_name", "component_id", "parent_id", "repo_identifier")
+                .register(registry));
+
+        nameToGaugeMap.put("CONTENT_REPO_IN_FLIGHT_BYTES", Gauge.build().name("nifi_content_repo_in_flight_bytes")
+                .help("Content repository bytes currently being written")
+                .labelNames("instance", "component_type", "component_name", "component_id", "parent_id", "repo_identifier")
+                .register(registry));
+
         nameToGaugeMap.put("PROVENANCE_REPO_TOTAL_SPACE_BYTES", Gauge.build().name("nifi_provenance_repo_total_space_bytes")
                 .help("Provenance repository total space in bytes")
                 .labelNames("instance", "component_type", "component_name", "component_id", "parent_id", "repo_identifier")
@@ -275,5 +306,20 @@ public class NiFiMetricsRegistry extends AbstractMetricsRegistry {
                 .help("Provenance repository free space in bytes")
                 .labelNames("instance", "component_type", "component_name", "component_id", "parent_id", "repo_identifier")
                 .register(registry));
+
+        nameToGaugeMap.put("AUTHORIZATION_CACHE_HIT_COUNT", Gauge.build().name("nifi_authorization_cache_hit_count")
+                .help("Number of authorization decisions answered from the authorizer cache")
+                .labelNames("instance")
+                .register(registry));
+
+        nameToGaugeMap.put("AUTHORIZATION_CACHE_MISS_COUNT", Gauge.build().name("nifi_authorization_cache_miss_count")
+                .help("Number of authorization decisions evaluated because they were not in the authorizer cache")
+                .labelNames("instance")
+                .register(registry));
+
+        nameToGaugeMap.put("AUTHORIZATION_CACHE_HIT_RATIO", Gauge.build().name("nifi_authorization_cache_hit_ratio")
+                .help("Ratio of authorization decisions answered from the authorizer cache. Values are between 0 and 1")
+                .labelNames("instance")
+                .register(registry));
     }
 }
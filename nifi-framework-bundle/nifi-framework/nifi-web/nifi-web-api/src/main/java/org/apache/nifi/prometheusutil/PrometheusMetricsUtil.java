@@ -18,7 +18,12 @@
 package org.apache.nifi.prometheusutil;
 
 import io.prometheus.client.CollectorRegistry;
+import org.apache.nifi.authorization.AuthorizationDecisionCache;
+import org.apache.nifi.authorization.Authorizer;
+import org.apache.nifi.authorization.CachingManagedAuthorizer;
 import org.apache.nifi.components.AllowableValue;
+import org.apache.nifi.controller.repository.ContentRepository;
+import org.apache.nifi.controller.repository.FileSystemRepository;
 import org.apache.nifi.controller.status.ConnectionStatus;
 import org.apache.nifi.controller.status.PortStatus;
 import org.apache.nifi.controller.status.ProcessGroupStatus;
@@ -124,6 +129,13 @@ public class PrometheusMetricsUtil {
                 nifiMetricsRegistry.setDataPoint(processorStatus.getAverageLineageDuration(), "AVERAGE_LINEAGE_DURATION",
                         instanceId, procComponentType, procComponentName, procComponentId, parentId, "", "", "", "");
 
+                nifiMetricsRegistry.setDataPoint(TimeUnit.NANOSECONDS.toMillis(processorStatus.getCpuNanos()), "PROCESSOR_CPU_DURATION",
+                        instanceId, procComponentType, procComponentName, procComponentId, parentId);
+                nifiMetricsRegistry.setDataPoint(processorStatus.getAllocatedBytes(), "PROCESSOR_ALLOCATED_BYTES",
+                        instanceId, procComponentType, procComponentName, procComponentId, parentId);
+                nifiMetricsRegistry.setDataPoint(TimeUnit.NANOSECONDS.toMillis(processorStatus.getLockWaitNanos()), "PROCESSOR_LOCK_WAIT_DURATION",
+                        instanceId, procComponentType, procComponentName, procComponentId, parentId);
+
                 nifiMetricsRegistry.setDataPoint(status.getActiveThreadCount() == null ? 0 : status.getActiveThreadCount(), "AMOUNT_THREADS_TOTAL_ACTIVE",
                         instanceId, procComponentType, procComponentName, procComponentId, parentId);
                 nifiMetricsRegistry.setDataPoint(status.getTerminatedThreadCount() == null ? 0 : status.getTerminatedThreadCount(), "AMOUNT_THREADS_TOTAL_TERMINATED",
@@ -498,6 +510,38 @@ public class PrometheusMetricsUtil {
         return nifiMetricsRegistry.getRegistry();
     }
 
+    public static CollectorRegistry createContentRepositoryWriteMetrics(final NiFiMetricsRegistry nifiMetricsRegistry, final ContentRepository contentRepository,
+                                                                        final String instanceId, final String componentType, final String componentName,
+                                                                        final String componentId, final String parentId) {
+        if (contentRepository instanceof FileSystemRepository fileSystemRepository) {
+            for (final String containerName : fileSystemRepository.getContainerNames()) {
+                // Write statistics are only collected when the ADAPTIVE container selection strategy is configured
+                final long inFlightBytes = fileSystemRepository.getContainerInFlightBytes(containerName);
+                if (inFlightBytes < 0) {
+                    continue;
+                }
+
+                nifiMetricsRegistry.setDataPoint(fileSystemRepository.getContainerAverageWriteNanosPerByte(containerName), "CONTENT_REPO_WRITE_NANOS_PER_BYTE",
+                        instanceId, componentType, componentName, componentId, parentId, containerName);
+                nifiMetricsRegistry.setDataPoint(inFlightBytes, "CONTENT_REPO_IN_FLIGHT_BYTES",
+                        instanceId, componentType, componentName, componentId, parentId, containerName);
+            }
+        }
+
+        return nifiMetricsRegistry.getRegistry();
+    }
+
+    public static CollectorRegistry createAuthorizationCacheMetrics(final NiFiMetricsRegistry nifiMetricsRegistry, final Authorizer authorizer, final String instanceId) {
+        final AuthorizationDecisionCache decisionCache = authorizer instanceof CachingManagedAuthorizer cachingAuthorizer ? cachingAuthorizer.getDecisionCache() : null;
+        if (decisionCache != null) {
+            nifiMetricsRegistry.setDataPoint(decisionCache.getHitCount(), "AUTHORIZATION_CACHE_HIT_COUNT", instanceId);
+            nifiMetricsRegistry.setDataPoint(decisionCache.getMissCount(), "AUTHORIZATION_CACHE_MISS_COUNT", instanceId);
+            nifiMetricsRegistry.setDataPoint(decisionCache.getHitRate(), "AUTHORIZATION_CACHE_HIT_RATIO", instanceId);
+        }
+
+        return nifiMetricsRegistry.getRegistry();
+    }
+
     private static void addStorageUsageMetric(final NiFiMetricsRegistry nifiMetricsRegistry, final StorageUsage storageUsage, final String instanceId,
                                                                        final String componentType, final String componentName, final String componentId, final String parentId,
                                                                        final String totalSpaceLabel, final String freeSpaceLabel, final String usedSpaceLabel) {
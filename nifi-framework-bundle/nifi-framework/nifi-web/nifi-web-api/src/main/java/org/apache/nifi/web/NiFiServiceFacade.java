@@ -35,6 +35,7 @@ import org.apache.nifi.flow.VersionedProcessGroup;
 import org.apache.nifi.groups.ProcessGroup;
 import org.apache.nifi.parameter.ParameterContext;
 import org.apache.nifi.parameter.ParameterGroupConfiguration;
+import org.apache.nifi.provenance.ProvenanceAggregateQuery;
 import org.apache.nifi.registry.flow.FlowLocation;
 import org.apache.nifi.registry.flow.FlowSnapshotContainer;
 import org.apache.nifi.registry.flow.FlowVersionLocation;
@@ -82,6 +83,7 @@ import org.apache.nifi.web.api.dto.UserGroupDTO;
 import org.apache.nifi.web.api.dto.VersionControlInformationDTO;
 import org.apache.nifi.web.api.dto.action.HistoryDTO;
 import org.apache.nifi.web.api.dto.action.HistoryQueryDTO;
+import org.apache.nifi.web.api.dto.provenance.ProvenanceAggregateDTO;
 import org.apache.nifi.web.api.dto.provenance.ProvenanceDTO;
 import org.apache.nifi.web.api.dto.provenance.ProvenanceEventDTO;
 import org.apache.nifi.web.api.dto.provenance.ProvenanceOptionsDTO;
@@ -287,6 +289,14 @@ public interface NiFiServiceFacade {
      */
     ProvenanceOptionsDTO getProvenanceSearchOptions();
 
+    /**
+     * Aggregates provenance events into time buckets.
+     *
+     * @param query the aggregate query
+     * @return aggregates
+     */
+    List<ProvenanceAggregateDTO> getProvenanceAggregates(ProvenanceAggregateQuery query);
+
     /**
      * Submits a lineage request.
      *
@@ -400,6 +410,15 @@ public interface NiFiServiceFacade {
      */
     ProcessGroupStatusEntity getProcessGroupStatus(String groupId, boolean recursive);
 
+    /**
+     * Returns the process group status aggregated across the cluster from the status that each node reported in its most recent heartbeat.
+     *
+     * @param groupId group
+     * @param recursive whether the status of descendant groups should be included
+     * @return The process group status, or <code>null</code> if the reported status is not available or not recent enough for every connected node
+     */
+    ProcessGroupStatusEntity getReportedProcessGroupStatus(String groupId, boolean recursive);
+
     /**
      * Gets the process group status history.
      *
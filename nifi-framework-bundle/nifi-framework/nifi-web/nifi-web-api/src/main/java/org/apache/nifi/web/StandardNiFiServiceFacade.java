@@ -55,6 +55,7 @@ import org.apache.nifi.cluster.coordination.node.NodeConnectionState;
 import org.apache.nifi.cluster.coordination.node.NodeConnectionStatus;
 import org.apache.nifi.cluster.coordination.node.OffloadCode;
 import org.apache.nifi.cluster.event.NodeEvent;
+import org.apache.nifi.cluster.manager.StatusMerger;
 import org.apache.nifi.cluster.manager.exception.IllegalNodeDeletionException;
 import org.apache.nifi.cluster.manager.exception.UnknownNodeException;
 import org.apache.nifi.cluster.protocol.NodeIdentifier;
@@ -143,6 +144,7 @@ import org.apache.nifi.prometheusutil.ConnectionAnalyticsMetricsRegistry;
 import org.apache.nifi.prometheusutil.JvmMetricsRegistry;
 import org.apache.nifi.prometheusutil.NiFiMetricsRegistry;
 import org.apache.nifi.prometheusutil.PrometheusMetricsUtil;
+import org.apache.nifi.provenance.ProvenanceAggregateQuery;
 import org.apache.nifi.registry.flow.FlowLocation;
 import org.apache.nifi.registry.flow.FlowRegistryBranch;
 import org.apache.nifi.registry.flow.FlowRegistryBucket;
@@ -183,6 +185,7 @@ import org.apache.nifi.reporting.ComponentType;
 import org.apache.nifi.reporting.VerifiableReportingTask;
 import org.apache.nifi.util.BundleUtils;
 import org.apache.nifi.util.FlowDifferenceFilters;
+import org.apache.nifi.util.FormatUtils;
 import org.apache.nifi.util.NiFiProperties;
 import org.apache.nifi.util.StringUtils;
 import org.apache.nifi.validation.RuleViolation;
@@ -264,6 +267,7 @@ import org.apache.nifi.web.api.dto.diagnostics.JVMDiagnosticsDTO;
 import org.apache.nifi.web.api.dto.diagnostics.JVMDiagnosticsSnapshotDTO;
 import org.apache.nifi.web.api.dto.diagnostics.ProcessorDiagnosticsDTO;
 import org.apache.nifi.web.api.dto.flow.FlowDTO;
+import org.apache.nifi.web.api.dto.provenance.ProvenanceAggregateDTO;
 import org.apache.nifi.web.api.dto.provenance.ProvenanceDTO;
 import org.apache.nifi.web.api.dto.provenance.ProvenanceEventDTO;
 import org.apache.nifi.web.api.dto.provenance.ProvenanceOptionsDTO;
@@ -371,6 +375,7 @@ import org.apache.nifi.web.revision.StandardRevisionClaim;
 import org.apache.nifi.web.revision.StandardRevisionUpdate;
 import org.apache.nifi.web.revision.UpdateRevisionTask;
 import org.apache.nifi.web.util.PredictionBasedParallelProcessingService;
+import org.apache.nifi.web.util.ReportedStatusRedactor;
 import org.apache.nifi.web.util.SnippetUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -3638,6 +3643,11 @@ public class StandardNiFiServiceFacade implements NiFiServiceFacade {
         return controllerFacade.getProvenanceSearchOptions();
     }
 
+    @Override
+    public List<ProvenanceAggregateDTO> getProvenanceAggregates(final ProvenanceAggregateQuery query) {
+        return controllerFacade.getProvenanceAggregates(query);
+    }
+
     @Override
     public ProvenanceEventDTO getProvenanceEvent(final Long id) {
         return controllerFacade.getProvenanceEvent(id);
@@ -3662,6 +3672,72 @@ public class StandardNiFiServiceFacade implements NiFiServiceFacade {
         return entityFactory.createProcessGroupStatusEntity(dto, permissions);
     }
 
+    @Override
+    public ProcessGroupStatusEntity getReportedProcessGroupStatus(final String groupId, final boolean recursive) {
+        final String maxAge = properties.getClusterProtocolHeartbeatStatusMaxAge();
+        if (StringUtils.isBlank(maxAge) || clusterCoordinator == null || heartbeatMonitor == null) {
+            return null;
+        }
+
+        final ProcessGroup processGroup = processGroupDAO.getProcessGroup(groupId);
+        final ProcessGroupStatus localStatus = controllerFacade.getProcessGroupStatus(groupId);
+        final NodeIdentifier localNodeId = clusterCoordinator.getLocalNodeIdentifier();
+        final long oldestTimestamp = System.currentTimeMillis() - FormatUtils.getTimeDuration(maxAge, TimeUnit.MILLISECONDS);
+
+        // every connected node must have recently reported a status that covers the same components as the locally generated status
+        boolean localNodeConnected = false;
+        final Map<NodeIdentifier, ProcessGroupStatus> reportedStatuses = new LinkedHashMap<>();
+        for (final NodeIdentifier nodeId : clusterCoordinator.getNodeIdentifiers(NodeConnectionState.CONNECTED)) {
+            if (nodeId.equals(localNodeId)) {
+                localNodeConnected = true;
+                continue;
+            }
+
+            final NodeHeartbeat heartbeat = heartbeatMonitor.getLatestHeartbeat(nodeId);
+            if (heartbeat == null || heartbeat.getTimestamp() < oldestTimestamp) {
+                return null;
+            }
+
+            final ProcessGroupStatus reportedStatus = ReportedStatusRedactor.findGroupStatus(heartbeat.getFlowStatus(), processGroup.getIdentifier());
+            if (!ReportedStatusRedactor.isCovered(reportedStatus, localStatus)) {
+                return null;
+            }
+            reportedStatuses.put(nodeId, reportedStatus);
+        }
+
+        if (!localNodeConnected) {
+            return null;
+        }
+
+        final PermissionsDTO permissions = dtoFactory.createPermissionsDto(processGroup);
+        final ProcessGroupStatusDTO dto = dtoFactory.createProcessGroupStatusDto(processGroup, localStatus);
+        dto.setNodeSnapshots(new ArrayList<>());
+
+        final NodeProcessGroupStatusSnapshotDTO localNodeSnapshot = new NodeProcessGroupStatusSnapshotDTO();
+        localNodeSnapshot.setStatusSnapshot(dto.getAggregateSnapshot().clone());
+        localNodeSnapshot.setAddress(localNodeId.getApiAddress());
+        localNodeSnapshot.setApiPort(localNodeId.getApiPort());
+        localNodeSnapshot.setNodeId(localNodeId.getId());
+        dto.getNodeSnapshots().add(localNodeSnapshot);
+
+        for (final Map.Entry<NodeIdentifier, ProcessGroupStatus> entry : reportedStatuses.entrySet()) {
+            final NodeIdentifier nodeId = entry.getKey();
+            final ProcessGroupStatusDTO nodeDto = dtoFactory.createProcessGroupStatusDto(processGroup, entry.getValue());
+            ReportedStatusRedactor.redact(nodeDto.getAggregateSnapshot(), localNodeSnapshot.getStatusSnapshot());
+            StatusMerger.merge(dto, permissions.getCanRead(), nodeDto, permissions.getCanRead(), nodeId.getId(), nodeId.getApiAddress(), nodeId.getApiPort());
+        }
+
+        // prune the response as necessary
+        if (!recursive) {
+            pruneChildGroups(dto.getAggregateSnapshot());
+            for (final NodeProcessGroupStatusSnapshotDTO nodeSnapshot : dto.getNodeSnapshots()) {
+                pruneChildGroups(nodeSnapshot.getStatusSnapshot());
+            }
+        }
+
+        return entityFactory.createProcessGroupStatusEntity(dto, permissions);
+    }
+
     private void pruneChildGroups(final ProcessGroupStatusSnapshotDTO snapshot) {
         for (final ProcessGroupStatusSnapshotEntity childProcessGroupStatusEntity : snapshot.getProcessGroupStatusSnapshots()) {
             final ProcessGroupStatusSnapshotDTO childProcessGroupStatus = childProcessGroupStatusEntity.getProcessGroupStatusSnapshot();
@@ -4816,8 +4892,9 @@ public class StandardNiFiServiceFacade implements NiFiServiceFacade {
         // Get the Process Group Status but we only need a status depth of one because for any child process group,
         // we ignore the status of each individual components. I.e., if Process Group A has child Group B, and child Group B
         // has a Processor, we don't care about the individual stats of that Processor because the ProcessGroupFlowEntity
-        // doesn't include that anyway. So we can avoid including the information in the status that is returned.
-        final ProcessGroupStatus groupStatus = controllerFacade.getProcessGroupStatus(groupId, 1);
+        // doesn't include that anyway. So we can avoid including the information in the status that is returned. The status is shared with any
+        // other request for the same group by the same user within the current tick, as the canvas is frequently refreshed by several clients.
+        final ProcessGroupStatus groupStatus = controllerFacade.getProcessGroupStatusSnapshot(groupId, 1);
         final PermissionsDTO permissions = dtoFactory.createPermissionsDto(processGroup);
         return entityFactory.createProcessGroupFlowEntity(dtoFactory.createProcessGroupFlowDto(processGroup, groupStatus, revisionManager, this::getProcessGroupBulletins, uiOnly), permissions);
     }
@@ -6308,6 +6385,11 @@ public class StandardNiFiServiceFacade implements NiFiServiceFacade {
 
         PrometheusMetricsUtil.createStorageUsageMetrics(nifiMetricsRegistry, flowFileRepositoryUsage, contentRepositoryUsage, provenanceRepositoryUsage,
                 instanceId, ROOT_PROCESS_GROUP, rootPGName, rootPGId, "");
+        PrometheusMetricsUtil.createContentRepositoryWriteMetrics(nifiMetricsRegistry, controllerFacade.getContentRepository(),
+                instanceId, ROOT_PROCESS_GROUP, rootPGName, rootPGId, "");
+
+        // Add the authorization decision cache statistics, if decisions are cached
+        PrometheusMetricsUtil.createAuthorizationCacheMetrics(nifiMetricsRegistry, authorizer, instanceId);
 
         //Add total task duration for root to the NiFi metrics registry
         // The latest aggregated status history is the last element in the list so we need the last element only
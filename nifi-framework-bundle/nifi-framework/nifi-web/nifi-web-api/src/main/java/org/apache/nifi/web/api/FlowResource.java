@@ -109,6 +109,7 @@ import org.apache.nifi.web.api.entity.ParameterProvidersEntity;
 import org.apache.nifi.web.api.entity.PortStatusEntity;
 import org.apache.nifi.web.api.entity.PrioritizerTypesEntity;
 import org.apache.nifi.web.api.entity.ProcessGroupEntity;
+import org.apache.nifi.web.api.entity.ProcessGroupFlowChangesEntity;
 import org.apache.nifi.web.api.entity.ProcessGroupFlowEntity;
 import org.apache.nifi.web.api.entity.ProcessGroupStatusEntity;
 import org.apache.nifi.web.api.entity.ProcessorStatusEntity;
@@ -134,6 +135,8 @@ import org.apache.nifi.web.api.request.FlowMetricsProducer;
 import org.apache.nifi.web.api.request.FlowMetricsRegistry;
 import org.apache.nifi.web.api.request.IntegerParameter;
 import org.apache.nifi.web.api.request.LongParameter;
+import org.apache.nifi.web.util.ParameterUpdateManager;
+import org.apache.nifi.web.util.ProcessGroupFlowChangeTracker;
 
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DefaultValue;
@@ -147,10 +150,13 @@ import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
 import org.apache.nifi.web.util.PaginationHelper;
 
+import java.net.URI;
 import java.text.Collator;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
@@ -201,6 +207,8 @@ public class FlowResource extends ApplicationResource {
     private ReportingTaskResource reportingTaskResource;
     private ParameterProviderResource parameterProviderResource;
 
+    private final ProcessGroupFlowChangeTracker flowChangeTracker = new ProcessGroupFlowChangeTracker();
+
     public FlowResource() {
         super();
     }
@@ -403,6 +411,75 @@ public class FlowResource extends ApplicationResource {
         return generateOkResponse(entity).build();
     }
 
+    /**
+     * Retrieves the components of the specified group that have changed since the specified flow version.
+     *
+     * @param groupId The id of the process group.
+     * @param sinceVersion The flow version previously returned to the client.
+     * @return A processGroupFlowChangesEntity.
+     * @throws InterruptedException if interrupted
+     */
+    @GET
+    @Consumes(MediaType.WILDCARD)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("process-groups/{id}/changes")
+    @Operation(
+            summary = "Gets the components of a process group that have changed since a given flow version",
+            responses = @ApiResponse(content = @Content(schema = @Schema(implementation = ProcessGroupFlowChangesEntity.class))),
+            security = {
+                    @SecurityRequirement(name = "Read - /flow")
+            },
+            description = "Returns only the components whose revision, status, bulletins, or permissions have changed since the flow version provided by the since query "
+                    + "parameter, along with the identifiers of any components that have been removed. If the since query parameter is not provided, or refers to a flow "
+                    + "version that is no longer known to the server, every component is returned and the response is marked as a full refresh. The uiOnly query parameter "
+                    + "has the same meaning as it does when getting the full process group."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "400", description = "NiFi was unable to complete the request because it was invalid. The request should not be retried without modification."),
+                    @ApiResponse(responseCode = "401", description = "Client could not be authenticated."),
+                    @ApiResponse(responseCode = "403", description = "Client is not authorized to make this request."),
+                    @ApiResponse(responseCode = "404", description = "The specified resource could not be found."),
+                    @ApiResponse(responseCode = "409", description = "The request was valid but NiFi was not in the appropriate state to process it.")
+            }
+    )
+    public Response getFlowChanges(
+            @Parameter(
+                    description = "The process group id."
+            )
+            @PathParam("id") final String groupId,
+            @Parameter(
+                    description = "The flow version returned by the previous request."
+            )
+            @QueryParam("since") final String sinceVersion,
+            @QueryParam("uiOnly") @DefaultValue("false") final boolean uiOnly) throws InterruptedException {
+
+        authorizeFlow();
+
+        final ProcessGroupFlowEntity flowEntity;
+        if (isReplicateRequest()) {
+            // the changes are determined here from the merged flow, as the changes seen by each node cannot be merged
+            final URI flowUri = uriInfo.getBaseUriBuilder().path("flow").path("process-groups").path(groupId).build();
+            final MultivaluedMap<String, String> parameters = new MultivaluedHashMap<>();
+            parameters.putSingle("uiOnly", String.valueOf(uiOnly));
+
+            final NodeResponse nodeResponse = replicateNodeResponse(flowUri, HttpMethod.GET, parameters, null);
+            if (nodeResponse.getStatus() != Response.Status.OK.getStatusCode()) {
+                return nodeResponse.getResponse();
+            }
+
+            flowEntity = ParameterUpdateManager.getResponseEntity(nodeResponse, ProcessGroupFlowEntity.class);
+        } else {
+            flowEntity = serviceFacade.getProcessGroupFlow(groupId, uiOnly);
+            populateRemainingFlowContent(flowEntity.getProcessGroupFlow());
+        }
+
+        // the flow is filtered according to the permissions of the user so changes are tracked per user
+        final String trackingKey = String.join(",", NiFiUserUtils.buildProxiedEntitiesChain(NiFiUserUtils.getNiFiUser())) + "/" + groupId + "/" + uiOnly;
+        final ProcessGroupFlowChangesEntity entity = flowChangeTracker.getChanges(trackingKey, sinceVersion, flowEntity);
+        return generateOkResponse(entity).build();
+    }
+
     @GET
     @Consumes(MediaType.WILDCARD)
     @Produces(MediaType.APPLICATION_JSON)
@@ -2670,6 +2747,17 @@ public class FlowResource extends ApplicationResource {
         if (isReplicateRequest()) {
             // determine where this request should be sent
             if (clusterNodeId == null) {
+                // the cluster coordinator serves the status from what the nodes reported in their heartbeats when it is recent enough
+                if (getReplicationTarget() == ReplicationTarget.CLUSTER_NODES) {
+                    final ProcessGroupStatusEntity reportedEntity = serviceFacade.getReportedProcessGroupStatus(groupId, recursive);
+                    if (reportedEntity != null) {
+                        if (!nodewise) {
+                            reportedEntity.getProcessGroupStatus().setNodeSnapshots(null);
+                        }
+                        return generateOkResponse(reportedEntity).build();
+                    }
+                }
+
                 final NodeResponse nodeResponse = replicateNodeResponse(HttpMethod.GET);
                 final ProcessGroupStatusEntity entity = (ProcessGroupStatusEntity) nodeResponse.getUpdatedEntity();
 
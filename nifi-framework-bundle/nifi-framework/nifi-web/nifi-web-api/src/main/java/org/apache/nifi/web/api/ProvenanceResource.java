@@ -18,7 +18,10 @@ package org.apache.nifi.web.api;
 
 import java.net.URI;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -44,7 +47,12 @@ import org.apache.nifi.authorization.Authorizer;
 import org.apache.nifi.authorization.RequestAction;
 import org.apache.nifi.authorization.resource.Authorizable;
 import org.apache.nifi.authorization.user.NiFiUserUtils;
+import org.apache.nifi.provenance.ProvenanceAggregateDimension;
+import org.apache.nifi.provenance.ProvenanceAggregateQuery;
+import org.apache.nifi.provenance.ProvenanceEventType;
+import org.apache.nifi.util.FormatUtils;
 import org.apache.nifi.web.NiFiServiceFacade;
+import org.apache.nifi.web.api.dto.provenance.ProvenanceAggregateDTO;
 import org.apache.nifi.web.api.dto.provenance.ProvenanceDTO;
 import org.apache.nifi.web.api.dto.provenance.ProvenanceOptionsDTO;
 import org.apache.nifi.web.api.dto.provenance.lineage.LineageDTO;
@@ -52,6 +60,7 @@ import org.apache.nifi.web.api.dto.provenance.lineage.LineageRequestDTO;
 import org.apache.nifi.web.api.dto.provenance.lineage.LineageResultsDTO;
 import org.apache.nifi.web.api.entity.ComponentEntity;
 import org.apache.nifi.web.api.entity.LineageEntity;
+import org.apache.nifi.web.api.entity.ProvenanceAggregatesEntity;
 import org.apache.nifi.web.api.entity.ProvenanceEntity;
 import org.apache.nifi.web.api.entity.ProvenanceOptionsEntity;
 
@@ -140,6 +149,135 @@ public class ProvenanceResource extends ApplicationResource {
         return noCache(Response.ok(entity)).build();
     }
 
+    /**
+     * Gets provenance event counts and byte totals aggregated into time buckets. When clustered the
+     * request is replicated to every node and the per-node results are summed, unless a specific node is requested.
+     *
+     * @param startTime the start of the time range in milliseconds since epoch, inclusive
+     * @param endTime the end of the time range in milliseconds since epoch, exclusive
+     * @param bucketSize the width of each time bucket
+     * @param groupBy the dimensions to group by
+     * @param componentIds the components to include
+     * @param eventTypes the event types to include
+     * @param clusterNodeId the node to query, or null for the entire cluster
+     * @return A provenanceAggregatesEntity
+     */
+    @GET
+    @Consumes(MediaType.WILDCARD)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("aggregates")
+    @Operation(
+            summary = "Gets provenance event counts and byte totals aggregated into time buckets",
+            description = "Returns no aggregates unless the provenance analytics store is enabled. Only events for components whose provenance data "
+                    + "the user is authorized to view are included. The time range may span at most " + ProvenanceAggregateQuery.MAX_BUCKET_COUNT + " buckets.",
+            responses = @ApiResponse(content = @Content(schema = @Schema(implementation = ProvenanceAggregatesEntity.class))),
+            security = {
+                    @SecurityRequirement(name = "Read - /provenance")
+            }
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "400", description = "NiFi was unable to complete the request because it was invalid. The request should not be retried without modification."),
+                    @ApiResponse(responseCode = "401", description = "Client could not be authenticated."),
+                    @ApiResponse(responseCode = "403", description = "Client is not authorized to make this request."),
+                    @ApiResponse(responseCode = "409", description = "The request was valid but NiFi was not in the appropriate state to process it.")
+            }
+    )
+    public Response getProvenanceAggregates(
+            @Parameter(
+                    description = "The start of the time range in milliseconds since epoch, inclusive. Defaults to one hour before the end time."
+            )
+            @QueryParam("startTime") final Long startTime,
+            @Parameter(
+                    description = "The end of the time range in milliseconds since epoch, exclusive. Defaults to the current time."
+            )
+            @QueryParam("endTime") final Long endTime,
+            @Parameter(
+                    description = "The width of each time bucket, such as '1 min' or '1 hour'."
+            )
+            @QueryParam("bucketSize") @DefaultValue("1 min") final String bucketSize,
+            @Parameter(
+                    description = "The dimensions to group by: COMPONENT_ID, COMPONENT_TYPE or EVENT_TYPE. May be repeated."
+            )
+            @QueryParam("groupBy") final List<String> groupBy,
+            @Parameter(
+                    description = "Restricts the results to the specified component. May be repeated."
+            )
+            @QueryParam("componentId") final List<String> componentIds,
+            @Parameter(
+                    description = "Restricts the results to the specified event type. May be repeated."
+            )
+            @QueryParam("eventType") final List<String> eventTypes,
+            @Parameter(
+                    description = "The id of the node to query. If not specified, the results from all nodes are combined."
+            )
+            @QueryParam("clusterNodeId") final String clusterNodeId) {
+
+        authorizeProvenanceRequest();
+
+        if (isReplicateRequest()) {
+            if (clusterNodeId == null) {
+                return replicate(HttpMethod.GET);
+            } else {
+                return replicate(HttpMethod.GET, clusterNodeId);
+            }
+        }
+
+        final ProvenanceAggregateQuery query = createAggregateQuery(startTime, endTime, bucketSize, groupBy, componentIds, eventTypes);
+        final List<ProvenanceAggregateDTO> aggregates = serviceFacade.getProvenanceAggregates(query);
+
+        // create the response entity
+        final ProvenanceAggregatesEntity entity = new ProvenanceAggregatesEntity();
+        entity.setAggregates(aggregates);
+
+        // generate the response
+        return noCache(Response.ok(entity)).build();
+    }
+
+    private ProvenanceAggregateQuery createAggregateQuery(final Long startTime, final Long endTime, final String bucketSize, final List<String> groupBy,
+                                                          final List<String> componentIds, final List<String> eventTypes) {
+        final long end = endTime == null ? System.currentTimeMillis() : endTime;
+        final long start = startTime == null ? end - TimeUnit.HOURS.toMillis(1) : startTime;
+
+        final long bucketMillis;
+        try {
+            bucketMillis = Math.round(FormatUtils.getPreciseTimeDuration(bucketSize, TimeUnit.MILLISECONDS));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid bucket size: " + bucketSize, e);
+        }
+
+        final ProvenanceAggregateQuery.Builder builder = new ProvenanceAggregateQuery.Builder()
+                .startTime(start)
+                .endTime(end)
+                .bucketSize(bucketMillis, TimeUnit.MILLISECONDS);
+
+        if (groupBy != null) {
+            for (final String dimension : groupBy) {
+                try {
+                    builder.groupBy(ProvenanceAggregateDimension.valueOf(dimension.trim().toUpperCase(Locale.ROOT)));
+                } catch (final IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid group by dimension: " + dimension, e);
+                }
+            }
+        }
+
+        if (componentIds != null) {
+            componentIds.forEach(builder::componentId);
+        }
+
+        if (eventTypes != null) {
+            for (final String eventType : eventTypes) {
+                try {
+                    builder.eventType(ProvenanceEventType.valueOf(eventType.trim().toUpperCase(Locale.ROOT)));
+                } catch (final IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid event type: " + eventType, e);
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
     /**
      * Creates provenance using the specified query criteria.
      *
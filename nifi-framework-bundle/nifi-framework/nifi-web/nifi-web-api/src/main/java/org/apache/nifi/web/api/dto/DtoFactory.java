@@ -1255,6 +1255,9 @@ public final class DtoFactory {
        snapshot.setTaskCount(procStatus.getInvocations());
        snapshot.setTasksDurationNanos(procStatus.getProcessingNanos());
        snapshot.setTasksDuration(FormatUtils.formatHoursMinutesSeconds(procStatus.getProcessingNanos(), TimeUnit.NANOSECONDS));
+       snapshot.setCpuDurationNanos(procStatus.getCpuNanos());
+       snapshot.setAllocatedBytes(procStatus.getAllocatedBytes());
+       snapshot.setLockWaitDurationNanos(procStatus.getLockWaitNanos());
 
        // determine the run status
        snapshot.setRunStatus(procStatus.getRunStatus().toString());
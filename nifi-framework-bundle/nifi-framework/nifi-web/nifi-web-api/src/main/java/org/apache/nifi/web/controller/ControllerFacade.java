@@ -49,6 +49,7 @@ import org.apache.nifi.controller.ReportingTaskNode;
 import org.apache.nifi.controller.flow.FlowManager;
 import org.apache.nifi.controller.label.Label;
 import org.apache.nifi.controller.repository.ContentNotFoundException;
+import org.apache.nifi.controller.repository.ContentRepository;
 import org.apache.nifi.controller.repository.FlowFileEventRepository;
 import org.apache.nifi.controller.repository.claim.ContentDirection;
 import org.apache.nifi.controller.serialization.StandardVersionedReportingTaskImporter;
@@ -79,6 +80,8 @@ import org.apache.nifi.nar.ExtensionManager;
 import org.apache.nifi.parameter.ParameterProvider;
 import org.apache.nifi.processor.Processor;
 import org.apache.nifi.processor.Relationship;
+import org.apache.nifi.provenance.ProvenanceAggregate;
+import org.apache.nifi.provenance.ProvenanceAggregateQuery;
 import org.apache.nifi.provenance.ProvenanceEventRecord;
 import org.apache.nifi.provenance.ProvenanceRepository;
 import org.apache.nifi.provenance.SearchableFields;
@@ -107,6 +110,7 @@ import org.apache.nifi.web.api.dto.DocumentedTypeDTO;
 import org.apache.nifi.web.api.dto.DtoFactory;
 import org.apache.nifi.web.api.dto.diagnostics.ProcessorDiagnosticsDTO;
 import org.apache.nifi.web.api.dto.provenance.AttributeDTO;
+import org.apache.nifi.web.api.dto.provenance.ProvenanceAggregateDTO;
 import org.apache.nifi.web.api.dto.provenance.ProvenanceDTO;
 import org.apache.nifi.web.api.dto.provenance.ProvenanceEventDTO;
 import org.apache.nifi.web.api.dto.provenance.ProvenanceOptionsDTO;
@@ -133,6 +137,7 @@ import java.text.Collator;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
@@ -145,7 +150,9 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TimeZone;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -154,6 +161,9 @@ public class ControllerFacade implements Authorizable {
 
     private static final Logger logger = LoggerFactory.getLogger(ControllerFacade.class);
 
+    private static final long STATUS_SNAPSHOT_TICK_MILLIS = 1000L;
+    private static final int MAX_STATUS_SNAPSHOTS = 1000;
+
     // nifi components
     private FlowController flowController;
     private FlowService flowService;
@@ -166,6 +176,12 @@ public class ControllerFacade implements Authorizable {
     private ControllerSearchService controllerSearchService;
     private RuntimeManifestService runtimeManifestService;
 
+    // status snapshots shared by all requests for the same group and user within a single tick
+    private final Map<StatusSnapshotKey, StatusSnapshot> statusSnapshots = new ConcurrentHashMap<>();
+
+    // whether the warning about unsupported provenance aggregate queries has been logged
+    private final AtomicBoolean aggregateQueryUnsupportedLogged = new AtomicBoolean(false);
+
     private ProcessGroup getRootGroup() {
         return flowController.getFlowManager().getRootGroup();
     }
@@ -687,6 +703,34 @@ public class ControllerFacade implements Authorizable {
         return processGroupStatus;
     }
 
+    /**
+     * Gets a snapshot of the status for the specified process group. Unlike {@link #getProcessGroupStatus(String, int)}, the status is only computed once per
+     * tick for a given group and user, and subsequent requests within the same tick are given the same snapshot. The returned status must not be modified.
+     *
+     * @param groupId group id
+     * @param recursiveStatusDepth the number of levels deep that we want to go before deciding to stop including component statuses
+     * @return the status for the specified process group
+     */
+    public ProcessGroupStatus getProcessGroupStatusSnapshot(final String groupId, final int recursiveStatusDepth) {
+        final NiFiUser user = NiFiUserUtils.getNiFiUser();
+        final long tick = System.currentTimeMillis() / STATUS_SNAPSHOT_TICK_MILLIS;
+
+        // the status is filtered according to the permissions of the user so the snapshot is specific to the user
+        final StatusSnapshotKey key = new StatusSnapshotKey(groupId, recursiveStatusDepth, NiFiUserUtils.buildProxiedEntitiesChain(user), user == null ? null : user.getAllGroups());
+        final StatusSnapshot snapshot = statusSnapshots.get(key);
+        if (snapshot != null && snapshot.tick() == tick) {
+            return snapshot.status();
+        }
+
+        final ProcessGroupStatus processGroupStatus = getProcessGroupStatus(groupId, recursiveStatusDepth);
+        if (statusSnapshots.size() >= MAX_STATUS_SNAPSHOTS) {
+            statusSnapshots.values().removeIf(existing -> existing.tick() != tick);
+        }
+        statusSnapshots.put(key, new StatusSnapshot(tick, processGroupStatus));
+
+        return processGroupStatus;
+    }
+
     /**
      * Gets the status for the specified processor.
      *
@@ -1514,6 +1558,44 @@ public class ControllerFacade implements Authorizable {
         }
     }
 
+    /**
+     * Aggregates provenance events according to the specified query. Only events for components
+     * whose provenance data the current user is authorized to read are included.
+     *
+     * @param query the aggregate query
+     * @return the aggregates, ordered by bucket and then by grouping key
+     */
+    public List<ProvenanceAggregateDTO> getProvenanceAggregates(final ProvenanceAggregateQuery query) {
+        final ProvenanceRepository provenanceRepository = flowController.getProvenanceRepository();
+        if (!provenanceRepository.isAggregateQuerySupported()) {
+            if (aggregateQueryUnsupportedLogged.compareAndSet(false, true)) {
+                logger.warn("Provenance aggregate queries return no results because the configured Provenance Repository {} does not support them; "
+                    + "aggregate queries require the {} with the {} property set to true", provenanceRepository.getClass().getSimpleName(),
+                    "WriteAheadProvenanceRepository", NiFiProperties.PROVENANCE_ANALYTICS_ENABLED);
+            }
+            return Collections.emptyList();
+        }
+
+        try {
+            final List<ProvenanceAggregate> aggregates = provenanceRepository.aggregateEvents(query, NiFiUserUtils.getNiFiUser());
+
+            final List<ProvenanceAggregateDTO> dtos = new ArrayList<>(aggregates.size());
+            for (final ProvenanceAggregate aggregate : aggregates) {
+                final ProvenanceAggregateDTO dto = new ProvenanceAggregateDTO();
+                dto.setBucketStart(new Date(aggregate.getBucketStart()));
+                dto.setComponentId(aggregate.getComponentId());
+                dto.setComponentType(aggregate.getComponentType());
+                dto.setEventType(aggregate.getEventType() == null ? null : aggregate.getEventType().name());
+                dto.setEventCount(aggregate.getEventCount());
+                dto.setTotalBytes(aggregate.getTotalBytes());
+                dtos.add(dto);
+            }
+            return dtos;
+        } catch (final IOException ioe) {
+            throw new NiFiCoreException("An error occurred while aggregating provenance events.", ioe);
+        }
+    }
+
     /**
      * Creates a ProvenanceEventDTO for the specified ProvenanceEventRecord. This should only be invoked once the
      * current user has been authorized for access to this provenance event.
@@ -1762,6 +1844,14 @@ public class ControllerFacade implements Authorizable {
         return flowController.getEventAccess().getFlowFileRepositoryStorageUsage();
     }
 
+    /**
+     * Returns the content repository
+     * @return the content repository
+     */
+    public ContentRepository getContentRepository() {
+        return flowController.getRepositoryContextFactory().getContentRepository();
+    }
+
     public VersionedReportingTaskImporter createReportingTaskImporter() {
         return new StandardVersionedReportingTaskImporter(flowController);
     }
@@ -1801,4 +1891,10 @@ public class ControllerFacade implements Authorizable {
     public void setRuntimeManifestService(RuntimeManifestService runtimeManifestService) {
         this.runtimeManifestService = runtimeManifestService;
     }
+
+    private record StatusSnapshotKey(String groupId, int recursiveStatusDepth, List<String> proxiedEntitiesChain, Set<String> groups) {
+    }
+
+    private record StatusSnapshot(long tick, ProcessGroupStatus status) {
+    }
 }
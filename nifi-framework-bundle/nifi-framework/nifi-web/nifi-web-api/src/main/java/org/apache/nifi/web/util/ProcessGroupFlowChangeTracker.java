@@ -0,0 +1,332 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.web.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.nifi.web.api.dto.ConnectionDTO;
+import org.apache.nifi.web.api.dto.PortDTO;
+import org.apache.nifi.web.api.dto.ProcessorDTO;
+import org.apache.nifi.web.api.dto.RevisionDTO;
+import org.apache.nifi.web.api.dto.flow.FlowDTO;
+import org.apache.nifi.web.api.dto.flow.ProcessGroupFlowDTO;
+import org.apache.nifi.web.api.entity.ComponentEntity;
+import org.apache.nifi.web.api.entity.ConnectionEntity;
+import org.apache.nifi.web.api.entity.PortEntity;
+import org.apache.nifi.web.api.entity.ProcessGroupFlowChangesEntity;
+import org.apache.nifi.web.api.entity.ProcessGroupFlowEntity;
+import org.apache.nifi.web.api.entity.ProcessorEntity;
+import org.apache.nifi.web.api.entity.RemoteProcessGroupEntity;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the versions of Process Group flows that have been returned to clients so that subsequent requests need only include the components
+ * that have been added, changed, or removed since a given version. Each component is reduced to a fingerprint, so a component is considered
+ * changed whenever its revision, status, bulletins, or permissions differ from the requested version. The configuration of a component only
+ * changes along with its revision, so it is fingerprinted once per revision rather than on every request, and only the parts of the entity that
+ * change without a revision, such as status and validation state, are fingerprinted each time. Versions are held in memory for a bounded number
+ * of flows, and a request for an unknown version always results in a full refresh.
+ */
+public class ProcessGroupFlowChangeTracker {
+
+    private static final int DEFAULT_MAX_TRACKED_FLOWS = 256;
+    private static final int DEFAULT_MAX_VERSIONS_PER_FLOW = 8;
+
+    private static final String VERSION_SEPARATOR = "-";
+
+    // fields that change on every status refresh regardless of whether the component itself has changed
+    private static final Set<String> IGNORED_FIELDS = Set.of("statsLastRefreshed");
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // serializes component entities without their configuration, which is fingerprinted separately once per revision
+    private static final ObjectMapper UNREVISIONED_MAPPER = new ObjectMapper().addMixIn(ComponentEntity.class, ConfigurationExcludedMixin.class);
+
+    private final String epoch = UUID.randomUUID().toString().replace("-", "");
+    private final AtomicLong versionCounter = new AtomicLong();
+    private final int maxVersionsPerFlow;
+    private final Map<String, TrackedFlow> trackedFlows;
+
+    public ProcessGroupFlowChangeTracker() {
+        this(DEFAULT_MAX_TRACKED_FLOWS, DEFAULT_MAX_VERSIONS_PER_FLOW);
+    }
+
+    public ProcessGroupFlowChangeTracker(final int maxTrackedFlows, final int maxVersionsPerFlow) {
+        if (maxTrackedFlows < 1) {
+            throw new IllegalArgumentException("Max Tracked Flows must be at least 1");
+        }
+        if (maxVersionsPerFlow < 1) {
+            throw new IllegalArgumentException("Max Versions per Flow must be at least 1");
+        }
+
+        this.maxVersionsPerFlow = maxVersionsPerFlow;
+        this.trackedFlows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, TrackedFlow> eldest) {
+                return size() > maxTrackedFlows;
+            }
+        };
+    }
+
+    /**
+     * Determines which components of the given flow have changed since the specified version.
+     *
+     * @param trackingKey the key identifying the flow being tracked. As the contents of a flow depend on the permissions of the user requesting it,
+     *                    this key should identify both the Process Group and the user
+     * @param sinceVersion the flow version previously returned to the client, or <code>null</code> if the client has no prior version
+     * @param flowEntity the current flow
+     * @return an entity describing the components that were added, changed, or removed since the specified version
+     */
+    public ProcessGroupFlowChangesEntity getChanges(final String trackingKey, final String sinceVersion, final ProcessGroupFlowEntity flowEntity) {
+        final ProcessGroupFlowDTO processGroupFlow = flowEntity.getProcessGroupFlow();
+        final TrackedFlow trackedFlow;
+        synchronized (trackedFlows) {
+            trackedFlow = trackedFlows.computeIfAbsent(trackingKey, key -> new TrackedFlow(maxVersionsPerFlow));
+        }
+
+        final Map<String, Long> fingerprints = new HashMap<>();
+        forEachComponent(processGroupFlow.getFlow(), component -> fingerprints.put(component.getId(), fingerprint(component, trackedFlow.configurationFingerprints)));
+        trackedFlow.configurationFingerprints.keySet().retainAll(fingerprints.keySet());
+
+        final Long previousVersion = parseVersion(sinceVersion);
+        final Map<String, Long> previousFingerprints;
+        final long currentVersion;
+        synchronized (trackedFlows) {
+            final Map<Long, Map<String, Long>> versions = trackedFlow.versions;
+            previousFingerprints = previousVersion == null ? null : versions.get(previousVersion);
+            if (previousFingerprints != null && previousFingerprints.equals(fingerprints)) {
+                // nothing has changed so the client's version remains current
+                currentVersion = previousVersion;
+            } else {
+                currentVersion = versionCounter.incrementAndGet();
+                versions.put(currentVersion, fingerprints);
+            }
+        }
+
+        final ProcessGroupFlowChangesEntity changesEntity = new ProcessGroupFlowChangesEntity();
+        changesEntity.setFlowVersion(epoch + VERSION_SEPARATOR + currentVersion);
+        changesEntity.setPermissions(flowEntity.getPermissions());
+
+        if (previousFingerprints == null) {
+            changesEntity.setFullRefresh(true);
+            changesEntity.setProcessGroupFlow(processGroupFlow);
+            changesEntity.setRemovedComponentIds(new HashSet<>());
+            return changesEntity;
+        }
+
+        final Set<String> removedComponentIds = new HashSet<>(previousFingerprints.keySet());
+        removedComponentIds.removeAll(fingerprints.keySet());
+
+        changesEntity.setFullRefresh(false);
+        changesEntity.setProcessGroupFlow(createChangedFlow(processGroupFlow, fingerprints, previousFingerprints));
+        changesEntity.setRemovedComponentIds(removedComponentIds);
+        return changesEntity;
+    }
+
+    private Long parseVersion(final String version) {
+        if (version == null) {
+            return null;
+        }
+
+        final int separatorIndex = version.lastIndexOf(VERSION_SEPARATOR);
+        if (separatorIndex < 0 || !epoch.equals(version.substring(0, separatorIndex))) {
+            // the version was issued by a different tracker, most likely before a restart
+            return null;
+        }
+
+        try {
+            return Long.parseLong(version.substring(separatorIndex + 1));
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private ProcessGroupFlowDTO createChangedFlow(final ProcessGroupFlowDTO processGroupFlow, final Map<String, Long> fingerprints, final Map<String, Long> previousFingerprints) {
+        final ProcessGroupFlowDTO changedFlow = new ProcessGroupFlowDTO();
+        changedFlow.setId(processGroupFlow.getId());
+        changedFlow.setUri(processGroupFlow.getUri());
+        changedFlow.setParentGroupId(processGroupFlow.getParentGroupId());
+        changedFlow.setParameterContext(processGroupFlow.getParameterContext());
+        changedFlow.setBreadcrumb(processGroupFlow.getBreadcrumb());
+        changedFlow.setLastRefreshed(processGroupFlow.getLastRefreshed());
+
+        final FlowDTO flow = processGroupFlow.getFlow();
+        if (flow == null) {
+            return changedFlow;
+        }
+
+        final FlowDTO changedComponents = new FlowDTO();
+        changedComponents.setProcessGroups(retainChanged(flow.getProcessGroups(), fingerprints, previousFingerprints));
+        changedComponents.setRemoteProcessGroups(retainChanged(flow.getRemoteProcessGroups(), fingerprints, previousFingerprints));
+        changedComponents.setProcessors(retainChanged(flow.getProcessors(), fingerprints, previousFingerprints));
+        changedComponents.setInputPorts(retainChanged(flow.getInputPorts(), fingerprints, previousFingerprints));
+        changedComponents.setOutputPorts(retainChanged(flow.getOutputPorts(), fingerprints, previousFingerprints));
+        changedComponents.setConnections(retainChanged(flow.getConnections(), fingerprints, previousFingerprints));
+        changedComponents.setLabels(retainChanged(flow.getLabels(), fingerprints, previousFingerprints));
+        changedComponents.setFunnels(retainChanged(flow.getFunnels(), fingerprints, previousFingerprints));
+        changedFlow.setFlow(changedComponents);
+        return changedFlow;
+    }
+
+    private <T extends ComponentEntity> Set<T> retainChanged(final Set<T> components, final Map<String, Long> fingerprints, final Map<String, Long> previousFingerprints) {
+        final Set<T> changed = new LinkedHashSet<>();
+        if (components == null) {
+            return changed;
+        }
+
+        for (final T component : components) {
+            final Long previousFingerprint = previousFingerprints.get(component.getId());
+            if (previousFingerprint == null || !previousFingerprint.equals(fingerprints.get(component.getId()))) {
+                changed.add(component);
+            }
+        }
+        return changed;
+    }
+
+    private void forEachComponent(final FlowDTO flow, final Consumer<ComponentEntity> action) {
+        if (flow == null) {
+            return;
+        }
+
+        forEach(flow.getProcessGroups(), action);
+        forEach(flow.getRemoteProcessGroups(), action);
+        forEach(flow.getProcessors(), action);
+        forEach(flow.getInputPorts(), action);
+        forEach(flow.getOutputPorts(), action);
+        forEach(flow.getConnections(), action);
+        forEach(flow.getLabels(), action);
+        forEach(flow.getFunnels(), action);
+    }
+
+    private void forEach(final Collection<? extends ComponentEntity> components, final Consumer<ComponentEntity> action) {
+        if (components != null) {
+            components.forEach(action);
+        }
+    }
+
+    private long fingerprint(final ComponentEntity component, final Map<String, ConfigurationFingerprint> configurationFingerprints) {
+        final long unrevisionedFingerprint = fingerprint(UNREVISIONED_MAPPER, component) * 31 + getUnrevisionedConfiguration(component).hashCode();
+        return unrevisionedFingerprint * 31 + getConfigurationFingerprint(component, configurationFingerprints);
+    }
+
+    private long getConfigurationFingerprint(final ComponentEntity component, final Map<String, ConfigurationFingerprint> configurationFingerprints) {
+        final RevisionDTO revision = component.getRevision();
+
+        // the remote flow of a Remote Process Group is refreshed in the background without changing its revision
+        if (revision == null || revision.getVersion() == null || component instanceof RemoteProcessGroupEntity) {
+            return fingerprint(MAPPER, component);
+        }
+
+        final ConfigurationFingerprint cached = configurationFingerprints.get(component.getId());
+        if (cached != null && cached.revisionVersion() == revision.getVersion()) {
+            return cached.fingerprint();
+        }
+
+        final long fingerprint = fingerprint(MAPPER, component);
+        configurationFingerprints.put(component.getId(), new ConfigurationFingerprint(revision.getVersion(), fingerprint));
+        return fingerprint;
+    }
+
+    /**
+     * Returns the parts of a component's configuration that may change without its revision changing, as they are derived from the state of the
+     * component or of other components.
+     */
+    private List<Object> getUnrevisionedConfiguration(final ComponentEntity component) {
+        if (component instanceof ProcessorEntity processorEntity && processorEntity.getComponent() != null) {
+            final ProcessorDTO processor = processorEntity.getComponent();
+            return Arrays.asList(processor.getState(), processor.getValidationStatus(), processor.getValidationErrors());
+        }
+        if (component instanceof PortEntity portEntity && portEntity.getComponent() != null) {
+            final PortDTO port = portEntity.getComponent();
+            return Arrays.asList(port.getState(), port.isTransmitting(), port.getValidationErrors());
+        }
+        if (component instanceof ConnectionEntity connectionEntity && connectionEntity.getComponent() != null) {
+            final ConnectionDTO connection = connectionEntity.getComponent();
+            return Arrays.asList(connection.getAvailableRelationships());
+        }
+        return List.of();
+    }
+
+    private long fingerprint(final ObjectMapper mapper, final ComponentEntity component) {
+        final JsonNode tree = mapper.valueToTree(component);
+        removeIgnoredFields(tree);
+
+        final byte[] serialized;
+        try {
+            serialized = MAPPER.writeValueAsBytes(tree);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Failed to compute fingerprint for component " + component.getId(), e);
+        }
+
+        long hash = FNV_OFFSET_BASIS;
+        for (final byte b : serialized) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private void removeIgnoredFields(final JsonNode node) {
+        if (node instanceof ObjectNode objectNode) {
+            objectNode.remove(IGNORED_FIELDS);
+        }
+
+        for (final JsonNode child : node) {
+            removeIgnoredFields(child);
+        }
+    }
+
+    private static class TrackedFlow {
+        private final Map<Long, Map<String, Long>> versions;
+        private final Map<String, ConfigurationFingerprint> configurationFingerprints = new ConcurrentHashMap<>();
+
+        private TrackedFlow(final int maxVersions) {
+            this.versions = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Long, Map<String, Long>> eldest) {
+                    return size() > maxVersions;
+                }
+            };
+        }
+    }
+
+    private record ConfigurationFingerprint(long revisionVersion, long fingerprint) {
+    }
+
+    @JsonIgnoreProperties({"component"})
+    private abstract static class ConfigurationExcludedMixin {
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.web.util;
+
+import org.apache.nifi.controller.status.ConnectionStatus;
+import org.apache.nifi.controller.status.PortStatus;
+import org.apache.nifi.controller.status.ProcessGroupStatus;
+import org.apache.nifi.controller.status.ProcessorStatus;
+import org.apache.nifi.controller.status.RemoteProcessGroupStatus;
+import org.apache.nifi.web.api.dto.status.ConnectionStatusSnapshotDTO;
+import org.apache.nifi.web.api.dto.status.PortStatusSnapshotDTO;
+import org.apache.nifi.web.api.dto.status.ProcessGroupStatusSnapshotDTO;
+import org.apache.nifi.web.api.dto.status.ProcessorStatusSnapshotDTO;
+import org.apache.nifi.web.api.dto.status.RemoteProcessGroupStatusSnapshotDTO;
+import org.apache.nifi.web.api.entity.ConnectionStatusSnapshotEntity;
+import org.apache.nifi.web.api.entity.PortStatusSnapshotEntity;
+import org.apache.nifi.web.api.entity.ProcessGroupStatusSnapshotEntity;
+import org.apache.nifi.web.api.entity.ProcessorStatusSnapshotEntity;
+import org.apache.nifi.web.api.entity.RemoteProcessGroupStatusSnapshotEntity;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Filters the unfiltered Process Group status that a node reports in its heartbeats so that it only reveals what the current user is permitted
+ * to see. As every node runs the same flow, the status generated locally for the user serves as the reference for which names and details
+ * must be withheld.
+ */
+public final class ReportedStatusRedactor {
+
+    private ReportedStatusRedactor() {
+    }
+
+    /**
+     * Determines whether the reported status describes only components that are also described by the reference status. The reported status
+     * is not modified, so it is safe to call on a status that is shared between requests.
+     *
+     * @param reported the unfiltered status reported by a node
+     * @param reference the status of the same Process Group that was generated locally for the current user
+     * @return <code>true</code> if every component in the reported status is present in the reference status
+     */
+    public static boolean isCovered(final ProcessGroupStatus reported, final ProcessGroupStatus reference) {
+        if (reported == null || reference == null || !reference.getId().equals(reported.getId())) {
+            return false;
+        }
+
+        if (!isCovered(reported.getProcessorStatus(), reference.getProcessorStatus(), ProcessorStatus::getId)
+                || !isCovered(reported.getConnectionStatus(), reference.getConnectionStatus(), ConnectionStatus::getId)
+                || !isCovered(reported.getInputPortStatus(), reference.getInputPortStatus(), PortStatus::getId)
+                || !isCovered(reported.getOutputPortStatus(), reference.getOutputPortStatus(), PortStatus::getId)
+                || !isCovered(reported.getRemoteProcessGroupStatus(), reference.getRemoteProcessGroupStatus(), RemoteProcessGroupStatus::getId)) {
+            return false;
+        }
+
+        final Map<String, ProcessGroupStatus> referenceChildGroups = mapById(reference.getProcessGroupStatus(), ProcessGroupStatus::getId);
+        for (final ProcessGroupStatus childGroup : nullToEmpty(reported.getProcessGroupStatus())) {
+            if (!isCovered(childGroup, referenceChildGroups.get(childGroup.getId()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Redacts the snapshot created from a reported status in place so that names and details match the snapshot created from the reference
+     * status. The reported status must have been verified with {@link #isCovered(ProcessGroupStatus, ProcessGroupStatus)} beforehand.
+     *
+     * @param reported the snapshot created from the status reported by a node
+     * @param reference the snapshot created from the status that was generated locally for the current user
+     */
+    public static void redact(final ProcessGroupStatusSnapshotDTO reported, final ProcessGroupStatusSnapshotDTO reference) {
+        reported.setName(reference.getName());
+
+        final Map<String, ProcessorStatusSnapshotDTO> referenceProcessors = mapSnapshots(reference.getProcessorStatusSnapshots(),
+                ProcessorStatusSnapshotEntity::getProcessorStatusSnapshot, ProcessorStatusSnapshotDTO::getId);
+        for (final ProcessorStatusSnapshotEntity entity : nullToEmpty(reported.getProcessorStatusSnapshots())) {
+            final ProcessorStatusSnapshotDTO processor = entity.getProcessorStatusSnapshot();
+            final ProcessorStatusSnapshotDTO referenceProcessor = referenceProcessors.get(processor.getId());
+            processor.setName(referenceProcessor.getName());
+            processor.setType(referenceProcessor.getType());
+        }
+
+        final Map<String, ConnectionStatusSnapshotDTO> referenceConnections = mapSnapshots(reference.getConnectionStatusSnapshots(),
+                ConnectionStatusSnapshotEntity::getConnectionStatusSnapshot, ConnectionStatusSnapshotDTO::getId);
+        for (final ConnectionStatusSnapshotEntity entity : nullToEmpty(reported.getConnectionStatusSnapshots())) {
+            final ConnectionStatusSnapshotDTO connection = entity.getConnectionStatusSnapshot();
+            final ConnectionStatusSnapshotDTO referenceConnection = referenceConnections.get(connection.getId());
+            connection.setName(referenceConnection.getName());
+            connection.setSourceName(referenceConnection.getSourceName());
+            connection.setDestinationName(referenceConnection.getDestinationName());
+        }
+
+        redactPorts(reported.getInputPortStatusSnapshots(), reference.getInputPortStatusSnapshots());
+        redactPorts(reported.getOutputPortStatusSnapshots(), reference.getOutputPortStatusSnapshots());
+
+        final Map<String, RemoteProcessGroupStatusSnapshotDTO> referenceRemoteGroups = mapSnapshots(reference.getRemoteProcessGroupStatusSnapshots(),
+                RemoteProcessGroupStatusSnapshotEntity::getRemoteProcessGroupStatusSnapshot, RemoteProcessGroupStatusSnapshotDTO::getId);
+        for (final RemoteProcessGroupStatusSnapshotEntity entity : nullToEmpty(reported.getRemoteProcessGroupStatusSnapshots())) {
+            final RemoteProcessGroupStatusSnapshotDTO remoteGroup = entity.getRemoteProcessGroupStatusSnapshot();
+            final RemoteProcessGroupStatusSnapshotDTO referenceRemoteGroup = referenceRemoteGroups.get(remoteGroup.getId());
+            remoteGroup.setName(referenceRemoteGroup.getName());
+            remoteGroup.setTargetUri(referenceRemoteGroup.getTargetUri());
+        }
+
+        final Map<String, ProcessGroupStatusSnapshotDTO> referenceChildGroups = mapSnapshots(reference.getProcessGroupStatusSnapshots(),
+                ProcessGroupStatusSnapshotEntity::getProcessGroupStatusSnapshot, ProcessGroupStatusSnapshotDTO::getId);
+        for (final ProcessGroupStatusSnapshotEntity entity : nullToEmpty(reported.getProcessGroupStatusSnapshots())) {
+            final ProcessGroupStatusSnapshotDTO childGroup = entity.getProcessGroupStatusSnapshot();
+            redact(childGroup, referenceChildGroups.get(childGroup.getId()));
+        }
+    }
+
+    /**
+     * Finds the status of the specified Process Group within the given status.
+     *
+     * @param status the status to search
+     * @param groupId the id of the Process Group
+     * @return the status of the Process Group, or <code>null</code> if not found
+     */
+    public static ProcessGroupStatus findGroupStatus(final ProcessGroupStatus status, final String groupId) {
+        if (status == null) {
+            return null;
+        }
+        if (groupId.equals(status.getId())) {
+            return status;
+        }
+
+        for (final ProcessGroupStatus childGroup : nullToEmpty(status.getProcessGroupStatus())) {
+            final ProcessGroupStatus found = findGroupStatus(childGroup, groupId);
+            if (found != null) {
+                return found;
+            }
+        }
+
+        return null;
+    }
+
+    private static void redactPorts(final Collection<PortStatusSnapshotEntity> reported, final Collection<PortStatusSnapshotEntity> reference) {
+        final Map<String, PortStatusSnapshotDTO> referencePorts = mapSnapshots(reference, PortStatusSnapshotEntity::getPortStatusSnapshot, PortStatusSnapshotDTO::getId);
+        for (final PortStatusSnapshotEntity entity : nullToEmpty(reported)) {
+            final PortStatusSnapshotDTO port = entity.getPortStatusSnapshot();
+            port.setName(referencePorts.get(port.getId()).getName());
+        }
+    }
+
+    private static <T> boolean isCovered(final Collection<T> reported, final Collection<T> reference, final Function<T, String> getId) {
+        final Map<String, T> referenceById = mapById(reference, getId);
+        for (final T status : nullToEmpty(reported)) {
+            if (!referenceById.containsKey(getId.apply(status))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <E, T> Map<String, T> mapSnapshots(final Collection<E> entities, final Function<E, T> getSnapshot, final Function<T, String> getId) {
+        final Map<String, T> snapshotsById = new HashMap<>();
+        for (final E entity : nullToEmpty(entities)) {
+            final T snapshot = getSnapshot.apply(entity);
+            snapshotsById.put(getId.apply(snapshot), snapshot);
+        }
+        return snapshotsById;
+    }
+
+    private static <T> Map<String, T> mapById(final Collection<T> statuses, final Function<T, String> getId) {
+        final Map<String, T> statusesById = new HashMap<>();
+        for (final T status : nullToEmpty(statuses)) {
+            statusesById.put(getId.apply(status), status);
+        }
+        return statusesById;
+    }
+
+    private static <T> Collection<T> nullToEmpty(final Collection<T> collection) {
+        return collection == null ? Collections.emptyList() : collection;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.web.util;
+
+import org.apache.nifi.web.api.dto.ProcessorDTO;
+import org.apache.nifi.web.api.dto.RevisionDTO;
+import org.apache.nifi.web.api.dto.flow.FlowDTO;
+import org.apache.nifi.web.api.dto.flow.ProcessGroupFlowDTO;
+import org.apache.nifi.web.api.dto.status.ProcessorStatusDTO;
+import org.apache.nifi.web.api.dto.status.ProcessorStatusSnapshotDTO;
+import org.apache.nifi.web.api.entity.LabelEntity;
+import org.apache.nifi.web.api.entity.ProcessGroupFlowChangesEntity;
+import org.apache.nifi.web.api.entity.ProcessGroupFlowEntity;
+import org.apache.nifi.web.api.entity.ProcessorEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProcessGroupFlowChangeTrackerTest {
+
+    private static final String GROUP_ID = "group";
+
+    private static final String TRACKING_KEY = "user/group";
+
+    private static final String PROCESSOR_ID = "processor";
+
+    private static final String LABEL_ID = "label";
+
+    private ProcessGroupFlowChangeTracker tracker;
+
+    @BeforeEach
+    void setTracker() {
+        tracker = new ProcessGroupFlowChangeTracker();
+    }
+
+    @Test
+    void testGetChangesWithoutVersion() {
+        final ProcessGroupFlowChangesEntity changes = tracker.getChanges(TRACKING_KEY, null, createFlowEntity(createProcessor(1, 0), createLabel(1)));
+
+        assertTrue(changes.getFullRefresh());
+        assertEquals(1, changes.getProcessGroupFlow().getFlow().getProcessors().size());
+        assertEquals(1, changes.getProcessGroupFlow().getFlow().getLabels().size());
+        assertTrue(changes.getRemovedComponentIds().isEmpty());
+    }
+
+    @Test
+    void testGetChangesUnchanged() {
+        final String version = tracker.getChanges(TRACKING_KEY, null, createFlowEntity(createProcessor(1, 0), createLabel(1))).getFlowVersion();
+
+        final ProcessGroupFlowEntity refreshed = createFlowEntity(createProcessor(1, 0), createLabel(1));
+        refreshed.getProcessGroupFlow().getFlow().getProcessors().iterator().next().getStatus().setStatsLastRefreshed(new Date(System.currentTimeMillis() + 1000));
+        final ProcessGroupFlowChangesEntity changes = tracker.getChanges(TRACKING_KEY, version, refreshed);
+
+        assertFalse(changes.getFullRefresh());
+        assertEquals(version, changes.getFlowVersion());
+        assertTrue(changes.getProcessGroupFlow().getFlow().getProcessors().isEmpty());
+        assertTrue(changes.getProcessGroupFlow().getFlow().getLabels().isEmpty());
+        assertTrue(changes.getRemovedComponentIds().isEmpty());
+    }
+
+    @Test
+    void testGetChangesStatusChanged() {
+        final String version = tracker.getChanges(TRACKING_KEY, null, createFlowEntity(createProcessor(1, 0), createLabel(1))).getFlowVersion();
+
+        final ProcessGroupFlowChangesEntity changes = tracker.getChanges(TRACKING_KEY, version, createFlowEntity(createProcessor(1, 5), createLabel(1)));
+
+        assertFalse(changes.getFullRefresh());
+        assertNotEquals(version, changes.getFlowVersion());
+        assertEquals(PROCESSOR_ID, changes.getProcessGroupFlow().getFlow().getProcessors().iterator().next().getId());
+        assertTrue(changes.getProcessGroupFlow().getFlow().getLabels().isEmpty());
+    }
+
+    @Test
+    void testGetChangesConfigurationFingerprintedOncePerRevision() {
+        final String version = tracker.getChanges(TRACKING_KEY, null, createFlowEntity(createProcessor(1, 0), createLabel(1))).getFlowVersion();
+
+        // configuration only changes along with the revision, so it is not serialized again while the revision is unchanged
+        final ProcessorEntity renamed = createProcessor(1, 0);
+        renamed.getComponent().setName("Renamed");
+        final ProcessGroupFlowChangesEntity unchanged = tracker.getChanges(TRACKING_KEY, version, createFlowEntity(renamed, createLabel(1)));
+        assertEquals(version, unchanged.getFlowVersion());
+
+        final ProcessorEntity revised = createProcessor(2, 0);
+        revised.getComponent().setName("Renamed");
+        final ProcessGroupFlowChangesEntity changes = tracker.getChanges(TRACKING_KEY, version, createFlowEntity(revised, createLabel(1)));
+        assertNotEquals(version, changes.getFlowVersion());
+        assertEquals("Renamed", changes.getProcessGroupFlow().getFlow().getProcessors().iterator().next().getComponent().getName());
+    }
+
+    @Test
+    void testGetChangesValidationStatusChanged() {
+        final String version = tracker.getChanges(TRACKING_KEY, null, createFlowEntity(createProcessor(1, 0), createLabel(1))).getFlowVersion();
+
+        final ProcessorEntity invalid = createProcessor(1, 0);
+        invalid.getComponent().setValidationStatus(ProcessorDTO.INVALID);
+        final ProcessGroupFlowChangesEntity changes = tracker.getChanges(TRACKING_KEY, version, createFlowEntity(invalid, createLabel(1)));
+
+        assertNotEquals(version, changes.getFlowVersion());
+        assertEquals(1, changes.getProcessGroupFlow().getFlow().getProcessors().size());
+        assertTrue(changes.getProcessGroupFlow().getFlow().getLabels().isEmpty());
+    }
+
+    @Test
+    void testGetChangesRevisionChangedAndRemoved() {
+        final String version = tracker.getChanges(TRACKING_KEY, null, createFlowEntity(createProcessor(1, 0), createLabel(1))).getFlowVersion();
+
+        final ProcessGroupFlowChangesEntity changes = tracker.getChanges(TRACKING_KEY, version, createFlowEntity(createProcessor(2, 0), null));
+
+        assertFalse(changes.getFullRefresh());
+        assertEquals(1, changes.getProcessGroupFlow().getFlow().getProcessors().size());
+        assertEquals(Set.of(LABEL_ID), changes.getRemovedComponentIds());
+    }
+
+    @Test
+    void testGetChangesFromPreviousVersion() {
+        final String firstVersion = tracker.getChanges(TRACKING_KEY, null, createFlowEntity(createProcessor(1, 0), createLabel(1))).getFlowVersion();
+        tracker.getChanges(TRACKING_KEY, firstVersion, createFlowEntity(createProcessor(2, 0), createLabel(1)));
+
+        final ProcessGroupFlowChangesEntity changes = tracker.getChanges(TRACKING_KEY, firstVersion, createFlowEntity(createProcessor(2, 0), createLabel(2)));
+
+        assertFalse(changes.getFullRefresh());
+        assertEquals(1, changes.getProcessGroupFlow().getFlow().getProcessors().size());
+        assertEquals(1, changes.getProcessGroupFlow().getFlow().getLabels().size());
+    }
+
+    @Test
+    void testGetChangesUnknownVersion() {
+        tracker.getChanges(TRACKING_KEY, null, createFlowEntity(createProcessor(1, 0), createLabel(1)));
+
+        final ProcessGroupFlowChangesEntity changes = tracker.getChanges(TRACKING_KEY, "unknown-1", createFlowEntity(createProcessor(1, 0), createLabel(1)));
+
+        assertTrue(changes.getFullRefresh());
+        assertEquals(1, changes.getProcessGroupFlow().getFlow().getProcessors().size());
+    }
+
+    @Test
+    void testGetChangesOtherTrackingKey() {
+        final String version = tracker.getChanges(TRACKING_KEY, null, createFlowEntity(createProcessor(1, 0), createLabel(1))).getFlowVersion();
+
+        final ProcessGroupFlowChangesEntity changes = tracker.getChanges("other/group", version, createFlowEntity(createProcessor(1, 0), createLabel(1)));
+
+        assertTrue(changes.getFullRefresh());
+    }
+
+    @Test
+    void testGetChangesExpiredVersion() {
+        tracker = new ProcessGroupFlowChangeTracker(1, 1);
+        final String version = tracker.getChanges(TRACKING_KEY, null, createFlowEntity(createProcessor(1, 0), createLabel(1))).getFlowVersion();
+        tracker.getChanges(TRACKING_KEY, version, createFlowEntity(createProcessor(2, 0), createLabel(1)));
+
+        final ProcessGroupFlowChangesEntity changes = tracker.getChanges(TRACKING_KEY, version, createFlowEntity(createProcessor(2, 0), createLabel(1)));
+
+        assertTrue(changes.getFullRefresh());
+    }
+
+    private ProcessGroupFlowEntity createFlowEntity(final ProcessorEntity processor, final LabelEntity label) {
+        final FlowDTO flow = new FlowDTO();
+        flow.getProcessors().add(processor);
+        if (label != null) {
+            flow.getLabels().add(label);
+        }
+
+        final ProcessGroupFlowDTO processGroupFlow = new ProcessGroupFlowDTO();
+        processGroupFlow.setId(GROUP_ID);
+        processGroupFlow.setFlow(flow);
+
+        final ProcessGroupFlowEntity flowEntity = new ProcessGroupFlowEntity();
+        flowEntity.setProcessGroupFlow(processGroupFlow);
+        return flowEntity;
+    }
+
+    private ProcessorEntity createProcessor(final long revisionVersion, final int activeThreadCount) {
+        final ProcessorStatusSnapshotDTO snapshot = new ProcessorStatusSnapshotDTO();
+        snapshot.setActiveThreadCount(activeThreadCount);
+
+        final ProcessorStatusDTO status = new ProcessorStatusDTO();
+        status.setId(PROCESSOR_ID);
+        status.setStatsLastRefreshed(new Date());
+        status.setAggregateSnapshot(snapshot);
+
+        final ProcessorDTO component = new ProcessorDTO();
+        component.setId(PROCESSOR_ID);
+        component.setName("Processor");
+        component.setValidationStatus(ProcessorDTO.VALID);
+
+        final ProcessorEntity processor = new ProcessorEntity();
+        processor.setId(PROCESSOR_ID);
+        processor.setComponent(component);
+        processor.setRevision(createRevision(revisionVersion));
+        processor.setStatus(status);
+        return processor;
+    }
+
+    private LabelEntity createLabel(final long revisionVersion) {
+        final LabelEntity label = new LabelEntity();
+        label.setId(LABEL_ID);
+        label.setRevision(createRevision(revisionVersion));
+        return label;
+    }
+
+    private RevisionDTO createRevision(final long version) {
+        final RevisionDTO revision = new RevisionDTO();
+        revision.setVersion(version);
+        return revision;
+    }
+}
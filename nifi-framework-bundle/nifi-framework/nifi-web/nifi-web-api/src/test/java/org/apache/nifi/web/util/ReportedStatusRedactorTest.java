@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.web.util;
+
+import org.apache.nifi.controller.status.ConnectionStatus;
+import org.apache.nifi.controller.status.ProcessGroupStatus;
+import org.apache.nifi.controller.status.ProcessorStatus;
+import org.apache.nifi.web.api.dto.status.ConnectionStatusSnapshotDTO;
+import org.apache.nifi.web.api.dto.status.ProcessGroupStatusSnapshotDTO;
+import org.apache.nifi.web.api.dto.status.ProcessorStatusSnapshotDTO;
+import org.apache.nifi.web.api.entity.ConnectionStatusSnapshotEntity;
+import org.apache.nifi.web.api.entity.ProcessGroupStatusSnapshotEntity;
+import org.apache.nifi.web.api.entity.ProcessorStatusSnapshotEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportedStatusRedactorTest {
+
+    private static final String ROOT_ID = "root";
+
+    private static final String CHILD_ID = "child";
+
+    private static final String PROCESSOR_ID = "processor";
+
+    private static final String CONNECTION_ID = "connection";
+
+    @Test
+    void testIsCovered() {
+        final ProcessGroupStatus reported = createGroupStatus(ROOT_ID, List.of(PROCESSOR_ID), List.of(createGroupStatus(CHILD_ID, List.of(), List.of())));
+        final ProcessGroupStatus reference = createGroupStatus(ROOT_ID, List.of(PROCESSOR_ID), List.of(createGroupStatus(CHILD_ID, List.of(), List.of())));
+
+        assertTrue(ReportedStatusRedactor.isCovered(reported, reference));
+    }
+
+    @Test
+    void testIsCoveredWithUnknownProcessor() {
+        final ProcessGroupStatus reported = createGroupStatus(ROOT_ID, List.of(PROCESSOR_ID, "added"), List.of());
+        final ProcessGroupStatus reference = createGroupStatus(ROOT_ID, List.of(PROCESSOR_ID), List.of());
+
+        assertFalse(ReportedStatusRedactor.isCovered(reported, reference));
+    }
+
+    @Test
+    void testIsCoveredWithUnknownChildGroup() {
+        final ProcessGroupStatus reported = createGroupStatus(ROOT_ID, List.of(), List.of(createGroupStatus(CHILD_ID, List.of(), List.of())));
+        final ProcessGroupStatus reference = createGroupStatus(ROOT_ID, List.of(), List.of());
+
+        assertFalse(ReportedStatusRedactor.isCovered(reported, reference));
+        assertFalse(ReportedStatusRedactor.isCovered(null, reference));
+    }
+
+    @Test
+    void testRedact() {
+        final ProcessGroupStatusSnapshotDTO reported = createGroupSnapshot(ROOT_ID, "Secret Group", "Secret Processor", "org.example.SecretProcessor", "Secret Connection");
+        final ProcessGroupStatusSnapshotDTO reference = createGroupSnapshot(ROOT_ID, ROOT_ID, PROCESSOR_ID, "Processor", CONNECTION_ID);
+        reported.setProcessGroupStatusSnapshots(List.of(createGroupSnapshotEntity(createGroupSnapshot(CHILD_ID, "Secret Child", "Child Processor", "Child Type", "Child Connection"))));
+        reference.setProcessGroupStatusSnapshots(List.of(createGroupSnapshotEntity(createGroupSnapshot(CHILD_ID, "Child", "Child Processor", "Child Type", "Child Connection"))));
+
+        ReportedStatusRedactor.redact(reported, reference);
+
+        assertEquals(ROOT_ID, reported.getName());
+        final ProcessorStatusSnapshotDTO processor = reported.getProcessorStatusSnapshots().iterator().next().getProcessorStatusSnapshot();
+        assertEquals(PROCESSOR_ID, processor.getName());
+        assertEquals("Processor", processor.getType());
+        assertEquals(7L, processor.getBytesRead());
+
+        final ConnectionStatusSnapshotDTO connection = reported.getConnectionStatusSnapshots().iterator().next().getConnectionStatusSnapshot();
+        assertEquals(CONNECTION_ID, connection.getName());
+        assertEquals(PROCESSOR_ID, connection.getSourceName());
+
+        assertEquals("Child", reported.getProcessGroupStatusSnapshots().iterator().next().getProcessGroupStatusSnapshot().getName());
+    }
+
+    @Test
+    void testFindGroupStatus() {
+        final ProcessGroupStatus child = createGroupStatus(CHILD_ID, List.of(), List.of());
+        final ProcessGroupStatus root = createGroupStatus(ROOT_ID, List.of(), List.of(child));
+
+        assertSame(root, ReportedStatusRedactor.findGroupStatus(root, ROOT_ID));
+        assertSame(child, ReportedStatusRedactor.findGroupStatus(root, CHILD_ID));
+        assertNull(ReportedStatusRedactor.findGroupStatus(root, "missing"));
+    }
+
+    private ProcessGroupStatus createGroupStatus(final String groupId, final List<String> processorIds, final List<ProcessGroupStatus> childGroups) {
+        final ProcessGroupStatus status = new ProcessGroupStatus();
+        status.setId(groupId);
+        status.setName(groupId);
+        status.setProcessorStatus(processorIds.stream().map(processorId -> {
+            final ProcessorStatus processorStatus = new ProcessorStatus();
+            processorStatus.setId(processorId);
+            return processorStatus;
+        }).toList());
+        status.setConnectionStatus(List.<ConnectionStatus>of());
+        status.setProcessGroupStatus(childGroups);
+        return status;
+    }
+
+    private ProcessGroupStatusSnapshotDTO createGroupSnapshot(final String groupId, final String groupName, final String processorName, final String processorType,
+                                                              final String connectionName) {
+        final ProcessorStatusSnapshotDTO processor = new ProcessorStatusSnapshotDTO();
+        processor.setId(groupId + PROCESSOR_ID);
+        processor.setName(processorName);
+        processor.setType(processorType);
+        processor.setBytesRead(7L);
+        final ProcessorStatusSnapshotEntity processorEntity = new ProcessorStatusSnapshotEntity();
+        processorEntity.setProcessorStatusSnapshot(processor);
+
+        final ConnectionStatusSnapshotDTO connection = new ConnectionStatusSnapshotDTO();
+        connection.setId(groupId + CONNECTION_ID);
+        connection.setName(connectionName);
+        connection.setSourceName(processorName);
+        connection.setDestinationName(processorName);
+        final ConnectionStatusSnapshotEntity connectionEntity = new ConnectionStatusSnapshotEntity();
+        connectionEntity.setConnectionStatusSnapshot(connection);
+
+        final ProcessGroupStatusSnapshotDTO snapshot = new ProcessGroupStatusSnapshotDTO();
+        snapshot.setId(groupId);
+        snapshot.setName(groupName);
+        snapshot.setProcessorStatusSnapshots(List.of(processorEntity));
+        snapshot.setConnectionStatusSnapshots(List.of(connectionEntity));
+        return snapshot;
+    }
+
+    private ProcessGroupStatusSnapshotEntity createGroupSnapshotEntity(final ProcessGroupStatusSnapshotDTO snapshot) {
+        final ProcessGroupStatusSnapshotEntity entity = new ProcessGroupStatusSnapshotEntity();
+        entity.setProcessGroupStatusSnapshot(snapshot);
+        return entity;
+    }
+}
@@ -1406,6 +1406,18 @@ public class MockProcessSession implements ProcessSession {
         stateManager.clear(scope);
     }
 
+    @Override
+    public void cacheContentView(FlowFile flowFile, final Object view, final long estimatedSize) {
+        final MockFlowFile mock = validateState(flowFile);
+        sharedState.cacheContentView(mock.getData(), view);
+    }
+
+    @Override
+    public <T> T takeContentView(FlowFile flowFile, final Class<T> viewType) {
+        final MockFlowFile mock = validateState(flowFile);
+        return sharedState.takeContentView(mock.getData(), viewType);
+    }
+
     @Override
     public MockFlowFile penalize(FlowFile flowFile) {
         flowFile = validateState(flowFile);
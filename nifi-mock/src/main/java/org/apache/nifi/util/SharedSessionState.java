@@ -16,6 +16,7 @@
  */
 package org.apache.nifi.util;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -37,6 +38,8 @@ public class SharedSessionState {
     private final ConcurrentMap<String, AtomicLong> counterMap = new ConcurrentHashMap<>();
     // list of provenance events as they were in the provenance repository (events emitted with force=true or committed with the session)
     private final List<ProvenanceEventRecord> events = new ArrayList<>();
+    // in-memory views of FlowFile content, keyed by the content that they represent
+    private final ConcurrentMap<ByteBuffer, Object> contentViews = new ConcurrentHashMap<>();
 
     public SharedSessionState(final Processor processor, final AtomicLong flowFileIdGenerator) {
         flowFileQueue = new MockFlowFileQueue();
@@ -86,4 +89,20 @@ public class SharedSessionState {
         final AtomicLong counterValue = counterMap.get(name);
         return counterValue == null ? null : counterValue.get();
     }
+
+    void cacheContentView(final byte[] content, final Object view) {
+        if (view != null) {
+            contentViews.put(ByteBuffer.wrap(content), view);
+        }
+    }
+
+    <T> T takeContentView(final byte[] content, final Class<T> viewType) {
+        final ByteBuffer key = ByteBuffer.wrap(content);
+        final Object view = contentViews.get(key);
+        if (!viewType.isInstance(view) || !contentViews.remove(key, view)) {
+            return null;
+        }
+
+        return viewType.cast(view);
+    }
 }